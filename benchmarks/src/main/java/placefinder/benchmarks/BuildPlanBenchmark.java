@@ -0,0 +1,63 @@
+package placefinder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import placefinder.entities.FavoriteLocation;
+import placefinder.entities.GeocodeResult;
+import placefinder.entities.Place;
+import placefinder.entities.PreferenceProfile;
+import placefinder.usecases.buildplan.BuildPlanInputData;
+import placefinder.usecases.buildplan.BuildPlanInteractor;
+import placefinder.usecases.buildplan.BuildPlanOutputData;
+import placefinder.usecases.ports.PreferenceGateway;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BuildPlanInteractor scheduling of the selected places into a timeline,
+ * with in-memory gateways.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildPlanBenchmark {
+
+    @Param({"3", "8", "20"})
+    public int selectedPlaces;
+
+    private BuildPlanInteractor interactor;
+    private BuildPlanInputData input;
+    private BuildPlanOutputData last;
+
+    @Setup
+    public void setUp() {
+        PreferenceProfile profile = new PreferenceProfile(1, 3.0, Fixtures.selectedCategories(4));
+        List<Place> places = Fixtures.places(selectedPlaces, 7);
+        interactor = new BuildPlanInteractor(
+                new PreferenceGateway() {
+                    @Override
+                    public PreferenceProfile loadForUser(int userId) { return profile; }
+                    @Override
+                    public void saveForUser(PreferenceProfile p) { }
+                    @Override
+                    public List<FavoriteLocation> listFavorites(int userId) { return List.of(); }
+                    @Override
+                    public FavoriteLocation addFavorite(int userId, String name, String address,
+                                                        double lat, double lon) { return null; }
+                    @Override
+                    public void deleteFavorite(int favoriteId, int userId) { }
+                },
+                query -> new GeocodeResult(43.6532, -79.3832, "Toronto, ON, Canada"),
+                output -> last = output);
+        input = new BuildPlanInputData(1, "Toronto", "2026-06-01", "09:00", places, null);
+    }
+
+    @Benchmark
+    public BuildPlanOutputData buildPlan() {
+        interactor.execute(input);
+        return last;
+    }
+}
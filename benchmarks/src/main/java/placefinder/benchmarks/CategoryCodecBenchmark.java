@@ -0,0 +1,48 @@
+package placefinder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import placefinder.frameworks_drivers.database.CategoryCodec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category (de)serialization as done by SqlitePreferenceGatewayImpl
+ * (parseValid) and SqlitePlanGatewayImpl (parse) on every row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryCodecBenchmark {
+
+    @Param({"1", "4", "12"})
+    public int subCategoriesPerInterest;
+
+    private Map<String, List<String>> categories;
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        categories = Fixtures.selectedCategories(subCategoriesPerInterest);
+        stored = CategoryCodec.serialize(categories);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return CategoryCodec.serialize(categories);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> parsePlanSnapshot() {
+        return CategoryCodec.parse(stored);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> parsePreferences() {
+        return CategoryCodec.parseValid(stored);
+    }
+}
@@ -0,0 +1,54 @@
+package placefinder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import placefinder.entities.DayTripExperienceCategories;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static lookups in DayTripExperienceCategories used by the preferences UI and
+ * when validating stored categories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DayTripCategoriesBenchmark {
+
+    private String mainCategory;
+    private String firstSubCategory;
+    private String lastSubCategory;
+    private String unknownCategory;
+
+    @Setup
+    public void setUp() {
+        mainCategory = "food_and_drink_experiences";
+        List<String> subs = DayTripExperienceCategories.getSubCategories(mainCategory);
+        firstSubCategory = subs.get(0);
+        lastSubCategory = subs.get(subs.size() - 1);
+        unknownCategory = "service.vehicle.fuel";
+    }
+
+    @Benchmark
+    public List<String> getSubCategories() {
+        return DayTripExperienceCategories.getSubCategories(mainCategory);
+    }
+
+    @Benchmark
+    public void getDisplayName(Blackhole bh) {
+        bh.consume(DayTripExperienceCategories.getDisplayName(mainCategory));
+        bh.consume(DayTripExperienceCategories.getDisplayName(lastSubCategory));
+        bh.consume(DayTripExperienceCategories.getDisplayName(unknownCategory));
+    }
+
+    @Benchmark
+    public void isValidCategory(Blackhole bh) {
+        bh.consume(DayTripExperienceCategories.isValidCategory(firstSubCategory));
+        bh.consume(DayTripExperienceCategories.isValidCategory(lastSubCategory));
+        bh.consume(DayTripExperienceCategories.isValidCategory(unknownCategory));
+    }
+}
@@ -0,0 +1,73 @@
+package placefinder.benchmarks;
+
+import placefinder.entities.DayTripExperienceCategories;
+import placefinder.entities.IndoorOutdoorType;
+import placefinder.entities.Place;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Shared inputs for the benchmarks. Everything is seeded so runs are comparable.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Loads one of the checked-in Geoapify responses (40, 200 or 1000 features).
+     */
+    static String geoapifyPayload(int features) {
+        String path = "/fixtures/geoapify-places-" + features + ".json";
+        try (InputStream in = Fixtures.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read fixture " + path, e);
+        }
+    }
+
+    /**
+     * A profile-style selection: every main category with its first {@code perMain} sub-categories.
+     */
+    static Map<String, List<String>> selectedCategories(int perMain) {
+        Map<String, List<String>> selected = new HashMap<>();
+        for (String main : DayTripExperienceCategories.getMainCategories()) {
+            List<String> subs = DayTripExperienceCategories.getSubCategories(main);
+            selected.put(main, new ArrayList<>(subs.subList(0, Math.min(perMain, subs.size()))));
+        }
+        return selected;
+    }
+
+    /**
+     * Places with categories drawn from the real category hierarchy.
+     */
+    static List<Place> places(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> mains = DayTripExperienceCategories.getMainCategories();
+        IndoorOutdoorType[] types = IndoorOutdoorType.values();
+        List<Place> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> subs = DayTripExperienceCategories.getSubCategories(
+                    mains.get(random.nextInt(mains.size())));
+            List<String> categories = new ArrayList<>();
+            categories.add(subs.get(random.nextInt(subs.size())));
+            categories.add(subs.get(random.nextInt(subs.size())));
+            places.add(new Place(
+                    "place-" + i,
+                    "Place " + i,
+                    i + " Example Street, Toronto",
+                    43.65 + random.nextDouble() * 0.05,
+                    -79.38 + random.nextDouble() * 0.05,
+                    random.nextDouble() * 5.0,
+                    types[random.nextInt(types.length)],
+                    categories));
+        }
+        return places;
+    }
+}
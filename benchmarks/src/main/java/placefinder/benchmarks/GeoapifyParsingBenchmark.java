@@ -0,0 +1,36 @@
+package placefinder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import placefinder.frameworks_drivers.api.GeoapifyPlacesService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON parsing, cleaning and classification of a Geoapify /v2/places response,
+ * with the HTTP call replaced by a checked-in payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoapifyParsingBenchmark {
+
+    @Param({"40", "200", "1000"})
+    public int features;
+
+    private GeoapifyPlacesService service;
+
+    @Setup
+    public void setUp() {
+        String payload = Fixtures.geoapifyPayload(features);
+        service = new GeoapifyPlacesService("benchmark", url -> payload);
+    }
+
+    @Benchmark
+    public List<GeoapifyPlacesService.CleanPlace> parseAndClean() throws Exception {
+        return service.searchPlaces(43.6532, -79.3832, 5.0, null);
+    }
+}
@@ -0,0 +1,90 @@
+package placefinder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import placefinder.entities.DailyWeatherGrid;
+import placefinder.entities.GeocodeResult;
+import placefinder.entities.Place;
+import placefinder.entities.PreferenceProfile;
+import placefinder.usecases.ports.PreferenceGateway;
+import placefinder.usecases.searchplaces.SearchPlacesInputData;
+import placefinder.usecases.searchplaces.SearchPlacesInteractor;
+import placefinder.usecases.searchplaces.SearchPlacesOutputData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchPlacesInteractor.execute with in-memory gateways, so the time is
+ * dominated by merging the per-interest results and ranking them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchPlacesRankingBenchmark {
+
+    /** Sub-categories selected per main category in the user's profile. */
+    @Param({"1", "4", "12"})
+    public int subCategoriesPerInterest;
+
+    @Param({"true", "false"})
+    public boolean wet;
+
+    private SearchPlacesInteractor interactor;
+    private SearchPlacesInputData input;
+    private SearchPlacesOutputData last;
+
+    @Setup
+    public void setUp() {
+        Map<String, List<String>> selected = Fixtures.selectedCategories(subCategoriesPerInterest);
+        List<Place> places = Fixtures.places(40, 42);
+        PreferenceProfile profile = new PreferenceProfile(1, 5.0, selected);
+        // Rain or overcast all day, averaging 12 °C
+        int weatherCode = wet ? 61 : 3;
+
+        interactor = new SearchPlacesInteractor(
+                new ProfileOnlyPreferenceGateway(profile),
+                query -> new GeocodeResult(43.6532, -79.3832, "Toronto, ON, Canada"),
+                (lat, lon, radiusKm, categories) -> places,
+                (lats, lons, startDate, endDate) -> {
+                    DailyWeatherGrid grid = new DailyWeatherGrid(lats.length, startDate, endDate);
+                    for (int i = 0; i < lats.length; i++) {
+                        for (int d = 0; d < grid.getDays(); d++) {
+                            grid.set(i, d, 14.0, 10.0, wet ? 80 : 10, 2.0, weatherCode);
+                        }
+                    }
+                    return grid;
+                },
+                output -> last = output);
+        input = new SearchPlacesInputData(1, "Toronto", "2026-06-01");
+    }
+
+    @Benchmark
+    public SearchPlacesOutputData searchAndRank() {
+        interactor.execute(input);
+        return last;
+    }
+
+    private static final class ProfileOnlyPreferenceGateway implements PreferenceGateway {
+        private final PreferenceProfile profile;
+
+        ProfileOnlyPreferenceGateway(PreferenceProfile profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public PreferenceProfile loadForUser(int userId) { return profile; }
+        @Override
+        public void saveForUser(PreferenceProfile profile) { }
+        @Override
+        public List<placefinder.entities.FavoriteLocation> listFavorites(int userId) { return List.of(); }
+        @Override
+        public placefinder.entities.FavoriteLocation addFavorite(int userId, String name, String address,
+                                                                 double lat, double lon) { return null; }
+        @Override
+        public void deleteFavorite(int favoriteId, int userId) { }
+    }
+}
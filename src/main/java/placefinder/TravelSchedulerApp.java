@@ -1,22 +1,43 @@
 package placefinder;
 
 import javax.swing.SwingUtilities;
-
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import placefinder.frameworks_drivers.cache.CachingHourlyWeatherGateway;
+import placefinder.frameworks_drivers.cache.CachingPlanGateway;
+import placefinder.frameworks_drivers.cache.CachingPreferenceGateway;
 import placefinder.frameworks_drivers.database.Database;
 import placefinder.frameworks_drivers.database.SqliteUserGatewayImpl;
 import placefinder.frameworks_drivers.database.SqlitePreferenceGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePlacesGatewayImpl;
 import placefinder.frameworks_drivers.database.SqlitePlanGatewayImpl;
 
 import placefinder.frameworks_drivers.api.OpenCageGeocodingGateway;
 import placefinder.frameworks_drivers.api.GeoApifyPlacesGatewayImpl;
 import placefinder.frameworks_drivers.api.OpenMeteoWeatherGatewayImpl;
 
+import placefinder.frameworks_drivers.metrics.MetricsJmx;
+import placefinder.frameworks_drivers.metrics.MetricsProxy;
+import placefinder.frameworks_drivers.metrics.MetricsReporter;
+import placefinder.frameworks_drivers.metrics.StartupTimings;
+import placefinder.frameworks_drivers.server.ApiServer;
+
 import placefinder.usecases.ports.UserGateway;
 import placefinder.usecases.ports.PreferenceGateway;
 import placefinder.usecases.ports.PlanGateway;
+import placefinder.usecases.ports.PlanChangeListener;
 import placefinder.usecases.ports.GeocodingGateway;
 import placefinder.usecases.ports.PlacesGateway;
 import placefinder.usecases.ports.WeatherGateway;
+import placefinder.usecases.ports.HourlyWeatherGateway;
 
 // login & register
 import placefinder.usecases.login.*;
@@ -45,22 +66,67 @@ import placefinder.frameworks_drivers.view.frames.AppFrame;
 
 public class TravelSchedulerApp {
 
-    public static void main(String[] args) {
+    private static final Logger LOG = LoggerFactory.getLogger(TravelSchedulerApp.class);
+
+    public static void main(String[] args) throws Exception {
 
-        // Ensure database is initialized (triggers static init)
-        try {
-            Database.getConnection().close();
-        } catch (Exception e) {
-            e.printStackTrace();
+        // Headless mode: serve the use cases over HTTP instead of opening the UI
+        if (args.length > 0 && args[0].equals("--server")) {
+            ApiServer.main(args);
+            return;
         }
 
+        StartupTimings.mark("main entered");
+
+        // View model changes reach the panels on the event thread, coalesced per event
+        ObservableViewModel.setDispatcher(SwingUtilities::invokeLater);
+
+        // Independent warm-up work runs in the background while the use cases are wired
+        // and the first frame is built; nothing on the login screen waits for it.
+        ExecutorService startup = Executors.newFixedThreadPool(3, r -> {
+            Thread t = new Thread(r, "startup-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> StartupTimings.phase("database", Database::warmUp), startup)
+                        .whenComplete((ignored, error) -> {
+                            // Nothing works without the schema; stop instead of failing on every action
+                            if (error != null) {
+                                LOG.error("Database setup failed; exiting", error);
+                                System.exit(1);
+                            }
+                        }),
+                CompletableFuture.runAsync(() -> StartupTimings.phase("fonts", AppFrame::preloadFonts), startup),
+                CompletableFuture.runAsync(() -> StartupTimings.phase("metrics", () -> {
+                    MetricsJmx.register();
+                    MetricsReporter.start(1, TimeUnit.MINUTES);
+                }), startup)
+        ).whenComplete((ignored, error) -> {
+            startup.shutdown();
+            StartupTimings.mark("background warm-up finished");
+        });
+
         // ========== GATEWAYS (Frameworks & Drivers) ==========
-        UserGateway userGateway = new SqliteUserGatewayImpl();
-        PreferenceGateway preferenceGateway = new SqlitePreferenceGatewayImpl();
-        PlanGateway planGateway = new SqlitePlanGatewayImpl();
-        GeocodingGateway geocodingGateway = new OpenCageGeocodingGateway();
-        PlacesGateway placesGateway = new GeoApifyPlacesGatewayImpl();
-        WeatherGateway weatherGateway = new OpenMeteoWeatherGatewayImpl();
+        // Each gateway is wrapped so every port method call is timed (see MetricsProxy)
+        UserGateway userGateway = MetricsProxy.wrap(UserGateway.class,
+                new SqliteUserGatewayImpl(), "gateway.user");
+        // Write-through cache in front of SQLite; gateway.preference only times cache misses and writes
+        PreferenceGateway preferenceGateway = new CachingPreferenceGateway(MetricsProxy.wrap(PreferenceGateway.class,
+                new SqlitePreferenceGatewayImpl(), "gateway.preference"));
+        // Read model of each user's plan list; its change events update the dashboard row by row
+        CachingPlanGateway planGateway = new CachingPlanGateway(MetricsProxy.wrap(PlanGateway.class,
+                new SqlitePlanGatewayImpl(), "gateway.plan"));
+        GeocodingGateway geocodingGateway = MetricsProxy.wrap(GeocodingGateway.class,
+                new OpenCageGeocodingGateway(), "gateway.geocoding");
+        PlacesGateway placesGateway = MetricsProxy.wrap(PlacesGateway.class,
+                SqlitePlacesGatewayImpl.isEnabled() ? new SqlitePlacesGatewayImpl() : new GeoApifyPlacesGatewayImpl(),
+                "gateway.places");
+        WeatherGateway weatherGateway = MetricsProxy.wrap(WeatherGateway.class,
+                new OpenMeteoWeatherGatewayImpl(), "gateway.weather");
+        // Rebuilding a plan for the same day and area reuses the forecast
+        HourlyWeatherGateway hourlyWeatherGateway = new CachingHourlyWeatherGateway(MetricsProxy.wrap(
+                HourlyWeatherGateway.class, new OpenMeteoWeatherGatewayImpl(), "gateway.hourlyWeather"));
 
         // ========== VIEW MODELS ==========
         LoginViewModel loginVM = new LoginViewModel();
@@ -77,17 +143,21 @@ public class TravelSchedulerApp {
         LoginOutputBoundary loginPresenter = new LoginOutputBoundary() {
             @Override
             public void present(LoginOutputData outputData) {
-                if (outputData.isSuccess()) {
-                    loginVM.setLoggedInUser(outputData.getUser());
-                    loginVM.setErrorMessage(null);
-                } else {
-                    loginVM.setLoggedInUser(null);
-                    loginVM.setErrorMessage(outputData.getMessage());
-                }
+                loginVM.update(() -> {
+                    if (outputData.isSuccess()) {
+                        loginVM.setLoggedInUser(outputData.getUser());
+                        loginVM.setErrorMessage(null);
+                    } else {
+                        loginVM.setLoggedInUser(null);
+                        loginVM.setErrorMessage(outputData.getMessage());
+                    }
+                });
             }
         };
-        LoginInputBoundary loginInteractor =
-                new LoginInteractor(userGateway, loginPresenter);
+        LoginInputBoundary loginInteractor = MetricsProxy.wrap(
+                LoginInputBoundary.class,
+                new LoginInteractor(userGateway, loginPresenter),
+                "usecase.login");
         LoginController loginController =
                 new LoginController(loginInteractor, loginVM);
 
@@ -95,81 +165,115 @@ public class TravelSchedulerApp {
         RegisterOutputBoundary registerPresenter = new RegisterOutputBoundary() {
             @Override
             public void present(RegisterOutputData outputData) {
-                registerVM.setSuccess(outputData.isSuccess());
-                registerVM.setMessage(outputData.getMessage());
+                registerVM.update(() -> {
+                    registerVM.setSuccess(outputData.isSuccess());
+                    registerVM.setMessage(outputData.getMessage());
+                });
             }
         };
-        RegisterInputBoundary registerInteractor =
-                new RegisterInteractor(userGateway, registerPresenter);
+        RegisterInputBoundary registerInteractor = MetricsProxy.wrap(
+                RegisterInputBoundary.class,
+                new RegisterInteractor(userGateway, registerPresenter),
+                "usecase.register");
         RegisterController registerController =
                 new RegisterController(registerInteractor, registerVM);
 
-        // ---- Preferences (Get / Update / Add / Delete Favorite) ----
+        // ---- Preferences (Get / Update / Add / Delete Favorite / Favorite Weather) ----
 
         GetPreferencesOutputBoundary getPrefsPresenter = new GetPreferencesOutputBoundary() {
             @Override
             public void present(GetPreferencesOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    preferencesVM.setErrorMessage(outputData.getErrorMessage());
-                    return;
-                }
-                preferencesVM.setRadiusKm(outputData.getRadiusKm());
-                preferencesVM.setSelectedCategories(outputData.getSelectedCategories());
-                preferencesVM.setFavorites(outputData.getFavorites());
+                preferencesVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        preferencesVM.setErrorMessage(outputData.getErrorMessage());
+                        return;
+                    }
+                    preferencesVM.setRadiusKm(outputData.getRadiusKm());
+                    preferencesVM.setSelectedCategories(outputData.getSelectedCategories());
+                    preferencesVM.setFavorites(outputData.getFavorites());
+                });
             }
         };
 
         UpdatePreferencesOutputBoundary updatePrefsPresenter = new UpdatePreferencesOutputBoundary() {
             @Override
             public void present(UpdatePreferencesOutputData outputData) {
-                if (outputData.isSuccess()) {
-                    preferencesVM.setMessage(outputData.getMessage());
-                    preferencesVM.setErrorMessage(null);
-                } else {
-                    preferencesVM.setErrorMessage(outputData.getMessage());
-                }
+                preferencesVM.update(() -> {
+                    if (outputData.isSuccess()) {
+                        preferencesVM.setMessage(outputData.getMessage());
+                        preferencesVM.setErrorMessage(null);
+                    } else {
+                        preferencesVM.setErrorMessage(outputData.getMessage());
+                    }
+                });
             }
         };
 
         AddFavoriteOutputBoundary addFavoritePresenter = new AddFavoriteOutputBoundary() {
             @Override
             public void present(AddFavoriteOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    preferencesVM.setErrorMessage(outputData.getErrorMessage());
-                    return;
-                }
-                if (outputData.getFavorite() != null) {
-                    preferencesVM.addFavorite(outputData.getFavorite());
-                }
+                preferencesVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        preferencesVM.setErrorMessage(outputData.getErrorMessage());
+                        return;
+                    }
+                    if (outputData.getFavorite() != null) {
+                        preferencesVM.addFavorite(outputData.getFavorite());
+                    }
+                });
             }
         };
 
         DeleteFavoriteOutputBoundary deleteFavoritePresenter = new DeleteFavoriteOutputBoundary() {
             @Override
             public void present(DeleteFavoriteOutputData outputData) {
-                if (outputData.isSuccess()) {
-                    preferencesVM.setMessage(outputData.getMessage());
-                    preferencesVM.setErrorMessage(null);
-                } else {
-                    preferencesVM.setErrorMessage(outputData.getMessage());
-                }
+                preferencesVM.update(() -> {
+                    if (outputData.isSuccess()) {
+                        preferencesVM.setMessage(outputData.getMessage());
+                        preferencesVM.setErrorMessage(null);
+                    } else {
+                        preferencesVM.setErrorMessage(outputData.getMessage());
+                    }
+                });
             }
         };
 
-        GetPreferencesInputBoundary getPrefsInteractor =
-                new GetPreferencesInteractor(preferenceGateway, getPrefsPresenter);
-        UpdatePreferencesInputBoundary updatePrefsInteractor =
-                new UpdatePreferencesInteractor(preferenceGateway, updatePrefsPresenter);
-        AddFavoriteInputBoundary addFavoriteInteractor =
-                new AddFavoriteInteractor(preferenceGateway, geocodingGateway, addFavoritePresenter);
-        DeleteFavoriteInputBoundary deleteFavoriteInteractor =
-                new DeleteFavoriteInteractor(preferenceGateway, deleteFavoritePresenter);
+        GetPreferencesInputBoundary getPrefsInteractor = MetricsProxy.wrap(
+                GetPreferencesInputBoundary.class,
+                new GetPreferencesInteractor(preferenceGateway, getPrefsPresenter),
+                "usecase.getPreferences");
+        UpdatePreferencesInputBoundary updatePrefsInteractor = MetricsProxy.wrap(
+                UpdatePreferencesInputBoundary.class,
+                new UpdatePreferencesInteractor(preferenceGateway, updatePrefsPresenter),
+                "usecase.updatePreferences");
+        AddFavoriteInputBoundary addFavoriteInteractor = MetricsProxy.wrap(
+                AddFavoriteInputBoundary.class,
+                new AddFavoriteInteractor(preferenceGateway, geocodingGateway, addFavoritePresenter),
+                "usecase.addFavorite");
+        DeleteFavoriteInputBoundary deleteFavoriteInteractor = MetricsProxy.wrap(
+                DeleteFavoriteInputBoundary.class,
+                new DeleteFavoriteInteractor(preferenceGateway, deleteFavoritePresenter),
+                "usecase.deleteFavorite");
+
+        GetFavoriteWeatherOutputBoundary favoriteWeatherPresenter = new GetFavoriteWeatherOutputBoundary() {
+            @Override
+            public void present(GetFavoriteWeatherOutputData outputData) {
+                // On failure the map is empty and the list simply shows no weather
+                preferencesVM.setFavoriteWeather(outputData.getWeatherByFavoriteId());
+            }
+        };
+
+        GetFavoriteWeatherInputBoundary favoriteWeatherInteractor = MetricsProxy.wrap(
+                GetFavoriteWeatherInputBoundary.class,
+                new GetFavoriteWeatherInteractor(preferenceGateway, weatherGateway, favoriteWeatherPresenter),
+                "usecase.getFavoriteWeather");
 
         PreferencesController preferencesController = new PreferencesController(
                 getPrefsInteractor,
                 updatePrefsInteractor,
                 addFavoriteInteractor,
                 deleteFavoriteInteractor,
+                favoriteWeatherInteractor,
                 preferencesVM
         );
 
@@ -178,71 +282,99 @@ public class TravelSchedulerApp {
         SearchPlacesOutputBoundary searchPlacesPresenter = new SearchPlacesOutputBoundary() {
             @Override
             public void present(SearchPlacesOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    planCreationVM.setRecommendedPlaces(java.util.List.of());
-                    planCreationVM.setOriginAddress(null);
-                    planCreationVM.setWeatherUsed(false);
-                    planCreationVM.setErrorMessage(outputData.getErrorMessage());
-                    return;
-                }
-                planCreationVM.setRecommendedPlaces(outputData.getPlaces());
-                planCreationVM.setOriginAddress(outputData.getOriginAddress());
-                planCreationVM.setWeatherUsed(outputData.isWeatherUsed());
-                planCreationVM.setErrorMessage(null);
-                if (!outputData.isWeatherUsed()) {
-                    planCreationVM.setInfoMessage("Weather data unavailable. Results are not weather-optimized.");
-                } else {
-                    planCreationVM.setInfoMessage(null);
-                }
+                planCreationVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        planCreationVM.setRecommendedPlaces(java.util.List.of());
+                        planCreationVM.setOriginAddress(null);
+                        planCreationVM.setWeatherUsed(false);
+                        planCreationVM.setErrorMessage(outputData.getErrorMessage());
+                        return;
+                    }
+                    planCreationVM.setRecommendedPlaces(outputData.getPlaces());
+                    planCreationVM.setOriginAddress(outputData.getOriginAddress());
+                    planCreationVM.setWeatherUsed(outputData.isWeatherUsed());
+                    planCreationVM.setErrorMessage(null);
+                    if (!outputData.isWeatherUsed()) {
+                        planCreationVM.setInfoMessage("Weather data unavailable. Results are not weather-optimized.");
+                    } else {
+                        planCreationVM.setInfoMessage(null);
+                    }
+                });
+            }
+
+            @Override
+            public void presentPartial(SearchPlacesPartialOutputData partialData) {
+                planCreationVM.update(() -> {
+                    planCreationVM.setOriginAddress(partialData.getOriginAddress());
+                    planCreationVM.insertRecommendedPlaces(partialData.getPlaces(), partialData.getPositions());
+                });
             }
         };
 
         BuildPlanOutputBoundary buildPlanPresenter = new BuildPlanOutputBoundary() {
             @Override
             public void present(BuildPlanOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    planCreationVM.setPlanPreview(null);
-                    planCreationVM.setPlanTruncated(false);
-                    planCreationVM.setErrorMessage(outputData.getErrorMessage());
-                    return;
-                }
-                planCreationVM.setPlanPreview(outputData.getPlan());
-                planCreationVM.setPlanTruncated(outputData.isTruncated());
-                if (outputData.isTruncated()) {
-                    planCreationVM.setInfoMessage("Plan exceeds available time; some places were not included.");
-                } else {
-                    planCreationVM.setInfoMessage(null);
-                }
+                planCreationVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        planCreationVM.setPlanPreview(null);
+                        planCreationVM.setPlanTruncated(false);
+                        planCreationVM.setErrorMessage(outputData.getErrorMessage());
+                        return;
+                    }
+                    planCreationVM.setPlanPreview(outputData.getPlan());
+                    planCreationVM.setPlanTruncated(outputData.isTruncated());
+                    if (outputData.isTruncated()) {
+                        planCreationVM.setInfoMessage("Plan exceeds available time; some places were not included.");
+                    } else if (outputData.isReorderedForWeather()) {
+                        planCreationVM.setInfoMessage("Stops were reordered to keep outdoor visits in drier hours.");
+                    } else {
+                        planCreationVM.setInfoMessage(null);
+                    }
+                });
             }
         };
 
         SavePlanOutputBoundary savePlanPresenter = new SavePlanOutputBoundary() {
             @Override
             public void present(SavePlanOutputData outputData) {
-                if (outputData.isSuccess()) {
-                    planCreationVM.setLastSavedPlan(outputData.getPlan());
-                    planCreationVM.setInfoMessage(outputData.getMessage());
-                    planCreationVM.setErrorMessage(null);
-                } else {
-                    planCreationVM.setErrorMessage(outputData.getMessage());
-                }
+                planCreationVM.update(() -> {
+                    if (outputData.isSuccess()) {
+                        // The saved plan carries its id, so saving again updates instead of inserting
+                        planCreationVM.setPlanPreview(outputData.getPlan());
+                        planCreationVM.setLastSavedPlan(outputData.getPlan());
+                        planCreationVM.setInfoMessage(outputData.getMessage());
+                        planCreationVM.setErrorMessage(null);
+                    } else {
+                        planCreationVM.setErrorMessage(outputData.getMessage());
+                    }
+                });
             }
         };
 
-        SearchPlacesInputBoundary searchPlacesInteractor =
+        // Shared so search and build reuse one favorite index per user
+        FavoriteLocationResolver locationResolver =
+                new FavoriteLocationResolver(preferenceGateway, geocodingGateway);
+
+        SearchPlacesInputBoundary searchPlacesInteractor = MetricsProxy.wrap(
+                SearchPlacesInputBoundary.class,
                 new SearchPlacesInteractor(
                         preferenceGateway,
-                        geocodingGateway,
+                        locationResolver,
                         placesGateway,
                         weatherGateway,
                         searchPlacesPresenter
-                );
+                ),
+                "usecase.searchPlaces");
 
-        BuildPlanInputBoundary buildPlanInteractor =
-                new BuildPlanInteractor(preferenceGateway, geocodingGateway, buildPlanPresenter);
+        BuildPlanInputBoundary buildPlanInteractor = MetricsProxy.wrap(
+                BuildPlanInputBoundary.class,
+                new BuildPlanInteractor(preferenceGateway, locationResolver, hourlyWeatherGateway, buildPlanPresenter),
+                "usecase.buildPlan");
 
-        SavePlanInputBoundary savePlanInteractor =
-                new SavePlanInteractor(planGateway, savePlanPresenter);
+        SavePlanInputBoundary savePlanInteractor = MetricsProxy.wrap(
+                SavePlanInputBoundary.class,
+                new SavePlanInteractor(planGateway, savePlanPresenter),
+                "usecase.savePlan");
 
         PlanCreationController planCreationController = new PlanCreationController(
                 searchPlacesInteractor,
@@ -256,25 +388,84 @@ public class TravelSchedulerApp {
         ListPlansOutputBoundary listPlansPresenter = new ListPlansOutputBoundary() {
             @Override
             public void present(ListPlansOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    dashboardVM.setPlans(java.util.List.of());
-                    dashboardVM.setErrorMessage(outputData.getErrorMessage());
-                } else {
-                    dashboardVM.setPlans(outputData.getPlans());
-                    dashboardVM.setErrorMessage(null);
-                }
+                dashboardVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        dashboardVM.setPlans(java.util.List.of());
+                        dashboardVM.setErrorMessage(outputData.getErrorMessage());
+                    } else {
+                        dashboardVM.setPlans(outputData.getPlans());
+                        dashboardVM.setErrorMessage(null);
+                    }
+                    dashboardVM.setAreaFilter(null);
+                    dashboardVM.setSearchQuery(null);
+                });
+            }
+        };
+
+        FindPlansNearOutputBoundary findPlansNearPresenter = new FindPlansNearOutputBoundary() {
+            @Override
+            public void present(FindPlansNearOutputData outputData) {
+                dashboardVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        dashboardVM.setErrorMessage(outputData.getErrorMessage());
+                    } else {
+                        dashboardVM.setPlans(outputData.getPlans());
+                        dashboardVM.setAreaFilter(DashboardController.areaDescription(outputData));
+                        dashboardVM.setSearchQuery(null);
+                        dashboardVM.setErrorMessage(null);
+                    }
+                });
             }
         };
 
+        SearchPlansOutputBoundary searchPlansPresenter = new SearchPlansOutputBoundary() {
+            @Override
+            public void present(SearchPlansOutputData outputData) {
+                dashboardVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        dashboardVM.setErrorMessage(outputData.getErrorMessage());
+                    } else {
+                        dashboardVM.setPlans(outputData.getPlans());
+                        dashboardVM.setSearchQuery(outputData.getQuery());
+                        dashboardVM.setAreaFilter(null);
+                        dashboardVM.setErrorMessage(null);
+                    }
+                });
+            }
+        };
+
+        planGateway.addListener(new PlanChangeListener() {
+            @Override
+            public void planSaved(placefinder.entities.Plan plan) {
+                if (isLoggedIn(plan.getUserId())) {
+                    dashboardVM.planSaved(plan);
+                }
+            }
+
+            @Override
+            public void planDeleted(int planId, int userId) {
+                if (isLoggedIn(userId)) {
+                    dashboardVM.removePlanById(planId);
+                }
+            }
+
+            private boolean isLoggedIn(int userId) {
+                return loginVM.getLoggedInUser() != null
+                        && Integer.valueOf(userId).equals(loginVM.getLoggedInUser().getId());
+            }
+        });
+
         DeletePlanOutputBoundary deletePlanPresenter = new DeletePlanOutputBoundary() {
             @Override
             public void present(DeletePlanOutputData outputData) {
-                if (outputData.isSuccess()) {
-                    dashboardVM.setMessage(outputData.getMessage());
-                    dashboardVM.setErrorMessage(null);
-                } else {
-                    dashboardVM.setErrorMessage(outputData.getMessage());
-                }
+                dashboardVM.update(() -> {
+                    if (outputData.isSuccess()) {
+                        dashboardVM.setMessage(outputData.getMessage());
+                        dashboardVM.setErrorMessage(null);
+                    } else {
+                        dashboardVM.setErrorMessage(outputData.getMessage());
+                    }
+                });
             }
         };
 
@@ -282,43 +473,65 @@ public class TravelSchedulerApp {
                 new ApplyPreferencesFromPlanOutputBoundary() {
                     @Override
                     public void present(ApplyPreferencesFromPlanOutputData outputData) {
-                        if (outputData.isSuccess()) {
-                            dashboardVM.setMessage(outputData.getMessage());
-                            dashboardVM.setErrorMessage(null);
-                        } else {
-                            dashboardVM.setErrorMessage(outputData.getMessage());
-                        }
+                        dashboardVM.update(() -> {
+                            if (outputData.isSuccess()) {
+                                dashboardVM.setMessage(outputData.getMessage());
+                                dashboardVM.setErrorMessage(null);
+                            } else {
+                                dashboardVM.setErrorMessage(outputData.getMessage());
+                            }
+                        });
                     }
                 };
 
         GetPlanDetailsOutputBoundary planDetailsPresenter = new GetPlanDetailsOutputBoundary() {
             @Override
             public void present(GetPlanDetailsOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    planDetailsVM.setPlan(null);
-                    planDetailsVM.setErrorMessage(outputData.getErrorMessage());
-                } else {
-                    planDetailsVM.setPlan(outputData.getPlan());
-                    planDetailsVM.setErrorMessage(null);
-                }
+                planDetailsVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        planDetailsVM.setPlan(null);
+                        planDetailsVM.setErrorMessage(outputData.getErrorMessage());
+                    } else {
+                        planDetailsVM.setPlan(outputData.getPlan());
+                        planDetailsVM.setErrorMessage(null);
+                    }
+                });
             }
         };
 
-        ListPlansInputBoundary listPlansInteractor =
-                new ListPlansInteractor(planGateway, listPlansPresenter);
-        DeletePlanInputBoundary deletePlanInteractor =
-                new DeletePlanInteractor(planGateway, deletePlanPresenter);
-        ApplyPreferencesFromPlanInputBoundary applyPrefsFromPlanInteractor =
+        ListPlansInputBoundary listPlansInteractor = MetricsProxy.wrap(
+                ListPlansInputBoundary.class,
+                new ListPlansInteractor(planGateway, listPlansPresenter),
+                "usecase.listPlans");
+        FindPlansNearInputBoundary findPlansNearInteractor = MetricsProxy.wrap(
+                FindPlansNearInputBoundary.class,
+                new FindPlansNearInteractor(planGateway, locationResolver, findPlansNearPresenter),
+                "usecase.findPlansNear");
+        SearchPlansInputBoundary searchPlansInteractor = MetricsProxy.wrap(
+                SearchPlansInputBoundary.class,
+                new SearchPlansInteractor(planGateway, searchPlansPresenter),
+                "usecase.searchPlans");
+        DeletePlanInputBoundary deletePlanInteractor = MetricsProxy.wrap(
+                DeletePlanInputBoundary.class,
+                new DeletePlanInteractor(planGateway, deletePlanPresenter),
+                "usecase.deletePlan");
+        ApplyPreferencesFromPlanInputBoundary applyPrefsFromPlanInteractor = MetricsProxy.wrap(
+                ApplyPreferencesFromPlanInputBoundary.class,
                 new ApplyPreferencesFromPlanInteractor(
                         planGateway,
                         preferenceGateway,
                         applyPrefsFromPlanPresenter
-                );
-        GetPlanDetailsInputBoundary getPlanDetailsInteractor =
-                new GetPlanDetailsInteractor(planGateway, planDetailsPresenter);
+                ),
+                "usecase.applyPreferencesFromPlan");
+        GetPlanDetailsInputBoundary getPlanDetailsInteractor = MetricsProxy.wrap(
+                GetPlanDetailsInputBoundary.class,
+                new GetPlanDetailsInteractor(planGateway, planDetailsPresenter),
+                "usecase.getPlanDetails");
 
         DashboardController dashboardController = new DashboardController(
                 listPlansInteractor,
+                findPlansNearInteractor,
+                searchPlansInteractor,
                 deletePlanInteractor,
                 applyPrefsFromPlanInteractor,
                 getPlanDetailsInteractor,
@@ -331,23 +544,29 @@ public class TravelSchedulerApp {
         WeatherAdviceOutputBoundary weatherAdvicePresenter = new WeatherAdviceOutputBoundary() {
             @Override
             public void present(WeatherAdviceOutputData outputData) {
-                if (outputData.getErrorMessage() != null) {
-                    weatherAdviceVM.setErrorMessage(outputData.getErrorMessage());
-                    weatherAdviceVM.setSummary(null);
-                    weatherAdviceVM.setAdvice(null);
-                } else {
-                    weatherAdviceVM.setSummary(outputData.getSummary());
-                    weatherAdviceVM.setAdvice(outputData.getAdvice());
-                    weatherAdviceVM.setErrorMessage(null);
-                }
+                weatherAdviceVM.update(() -> {
+                    if (outputData.getErrorMessage() != null) {
+                        weatherAdviceVM.setErrorMessage(outputData.getErrorMessage());
+                        weatherAdviceVM.setSummary(null);
+                        weatherAdviceVM.setAdvice(null);
+                    } else {
+                        weatherAdviceVM.setSummary(outputData.getSummary());
+                        weatherAdviceVM.setAdvice(outputData.getAdvice());
+                        weatherAdviceVM.setErrorMessage(null);
+                    }
+                });
             }
         };
 
-        WeatherAdviceInputBoundary weatherAdviceInteractor =
-                new WeatherAdviceInteractor(geocodingGateway, weatherGateway, weatherAdvicePresenter);
+        WeatherAdviceInputBoundary weatherAdviceInteractor = MetricsProxy.wrap(
+                WeatherAdviceInputBoundary.class,
+                new WeatherAdviceInteractor(geocodingGateway, weatherGateway, weatherAdvicePresenter),
+                "usecase.weatherAdvice");
         WeatherAdviceController weatherAdviceController =
                 new WeatherAdviceController(weatherAdviceInteractor, weatherAdviceVM);
 
+        StartupTimings.mark("use cases wired");
+
         // ========== START UI ==========
         SwingUtilities.invokeLater(() -> {
             AppFrame frame = new AppFrame(
@@ -365,6 +584,13 @@ public class TravelSchedulerApp {
                     planDetailsVM,
                     weatherAdviceVM
             );
+            StartupTimings.mark("frame built");
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    StartupTimings.mark("first frame visible");
+                }
+            });
             frame.setVisible(true);
         });
     }
@@ -0,0 +1,64 @@
+package placefinder.entities;
+
+import java.util.*;
+
+/**
+ * Frozen "main category → sub-categories" maps shared by PreferenceProfile and Plan.
+ *
+ * A frozen map is read-only all the way down, so entities can hand it out and
+ * pass it to each other without copying. Freezing an already frozen map
+ * returns it unchanged.
+ */
+final class CategoryMaps {
+
+    private static final Map<String, List<String>> EMPTY = new Frozen(Map.of());
+
+    private CategoryMaps() {
+    }
+
+    static Map<String, List<String>> freeze(Map<String, List<String>> categories) {
+        if (categories instanceof Frozen) {
+            return categories;
+        }
+        if (categories == null || categories.isEmpty()) {
+            return EMPTY;
+        }
+        // Keep the caller's iteration order; it decides the order interests are searched in
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : categories.entrySet()) {
+            List<String> subs = entry.getValue();
+            copy.put(entry.getKey(), subs == null ? List.of() : List.copyOf(subs));
+        }
+        return new Frozen(copy);
+    }
+
+    private static final class Frozen extends AbstractMap<String, List<String>> {
+        private final Map<String, List<String>> map;
+        private final Set<Entry<String, List<String>>> entries;
+
+        Frozen(Map<String, List<String>> map) {
+            this.map = map;
+            this.entries = Collections.unmodifiableMap(map).entrySet();
+        }
+
+        @Override
+        public Set<Entry<String, List<String>>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public List<String> get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+}
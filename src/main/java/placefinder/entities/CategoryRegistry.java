@@ -0,0 +1,96 @@
+package placefinder.entities;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide table of category names such as "catering.restaurant", each
+ * stored once and identified by a small int.
+ *
+ * Ids are assigned on first sight and never reused, so they are only
+ * meaningful within one run and must not be persisted. Every category also
+ * knows the ids of its dot-separated ancestors ("catering.restaurant.pizza" →
+ * "catering", "catering.restaurant"), which turns "is this place in the
+ * selected category or one of its sub-categories" into int comparisons.
+ */
+public final class CategoryRegistry {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    // Copy-on-write so readers never lock; grows rarely once the common categories are seen
+    private static volatile String[] names = new String[0];
+    private static volatile int[][] ancestors = new int[0][];
+
+    private CategoryRegistry() {
+    }
+
+    /**
+     * @return the id for the category, registering it (and its ancestors) if new
+     */
+    public static int idOf(String category) {
+        Integer id = IDS.get(category);
+        return id != null ? id : register(category);
+    }
+
+    /**
+     * @return ids for the categories, in the same order
+     */
+    public static int[] idsOf(Collection<String> categories) {
+        int[] ids = new int[categories.size()];
+        int i = 0;
+        for (String category : categories) {
+            ids[i++] = idOf(category);
+        }
+        return ids;
+    }
+
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * True if {@code categoryId} is {@code selectedId} or one of its sub-categories.
+     */
+    public static boolean isWithin(int categoryId, int selectedId) {
+        if (categoryId == selectedId) {
+            return true;
+        }
+        for (int ancestor : ancestors[categoryId]) {
+            if (ancestor == selectedId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int size() {
+        return names.length;
+    }
+
+    private static synchronized int register(String category) {
+        Integer existing = IDS.get(category);
+        if (existing != null) {
+            return existing;
+        }
+        Objects.requireNonNull(category, "category");
+
+        List<Integer> parents = new ArrayList<>();
+        for (int dot = category.indexOf('.'); dot > 0; dot = category.indexOf('.', dot + 1)) {
+            parents.add(idOf(category.substring(0, dot)));
+        }
+        int[] parentIds = new int[parents.size()];
+        for (int i = 0; i < parentIds.length; i++) {
+            parentIds[i] = parents.get(i);
+        }
+
+        int id = names.length;
+        String[] grownNames = Arrays.copyOf(names, id + 1);
+        int[][] grownAncestors = Arrays.copyOf(ancestors, id + 1);
+        grownNames[id] = category;
+        grownAncestors[id] = parentIds;
+        // Publish the arrays before the id so a reader holding the id can always resolve it
+        ancestors = grownAncestors;
+        names = grownNames;
+        IDS.put(category, id);
+        return id;
+    }
+}
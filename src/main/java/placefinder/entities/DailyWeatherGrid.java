@@ -0,0 +1,156 @@
+package placefinder.entities;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Daily forecasts for several locations over a run of consecutive dates.
+ *
+ * Values live in flat primitive arrays indexed by {@code location * days + day},
+ * so a grid for dozens of points costs a handful of arrays rather than one
+ * object per point and day. A missing value is NaN (or -1 for the integer
+ * series); a cell is usable only when all five values are present.
+ */
+public class DailyWeatherGrid {
+
+    private final LocalDate startDate;
+    private final int locations;
+    private final int days;
+
+    private final double[] temperatureMax;
+    private final double[] temperatureMin;
+    private final double[] uvIndexMax;
+    private final int[] precipitationProbabilityMax;
+    private final int[] weatherCode;
+
+    /**
+     * An empty grid covering {@code startDate..endDate} inclusive.
+     */
+    public DailyWeatherGrid(int locations, LocalDate startDate, LocalDate endDate) {
+        if (locations < 0 || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid grid: " + locations + " locations, "
+                    + startDate + ".." + endDate);
+        }
+        this.startDate = startDate;
+        this.locations = locations;
+        this.days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+
+        int cells = Math.multiplyExact(locations, days);
+        this.temperatureMax = new double[cells];
+        this.temperatureMin = new double[cells];
+        this.uvIndexMax = new double[cells];
+        this.precipitationProbabilityMax = new int[cells];
+        this.weatherCode = new int[cells];
+        Arrays.fill(temperatureMax, Double.NaN);
+        Arrays.fill(temperatureMin, Double.NaN);
+        Arrays.fill(uvIndexMax, Double.NaN);
+        Arrays.fill(precipitationProbabilityMax, -1);
+        Arrays.fill(weatherCode, -1);
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return startDate.plusDays(days - 1L); }
+    public int getLocations() { return locations; }
+    public int getDays() { return days; }
+
+    /**
+     * @return the day index of the date, or -1 if the grid does not cover it
+     */
+    public int dayOf(LocalDate date) {
+        long day = date.toEpochDay() - startDate.toEpochDay();
+        return day >= 0 && day < days ? (int) day : -1;
+    }
+
+    public void set(int location, int day, double temperatureMax, double temperatureMin,
+                    int precipitationProbabilityMax, double uvIndexMax, int weatherCode) {
+        int i = index(location, day);
+        this.temperatureMax[i] = temperatureMax;
+        this.temperatureMin[i] = temperatureMin;
+        this.precipitationProbabilityMax[i] = precipitationProbabilityMax;
+        this.uvIndexMax[i] = uvIndexMax;
+        this.weatherCode[i] = weatherCode;
+    }
+
+    /**
+     * Copies one cell of another grid into this one.
+     */
+    public void copy(int location, int day, DailyWeatherGrid from, int fromLocation, int fromDay) {
+        int i = from.index(fromLocation, fromDay);
+        set(location, day, from.temperatureMax[i], from.temperatureMin[i],
+                from.precipitationProbabilityMax[i], from.uvIndexMax[i], from.weatherCode[i]);
+    }
+
+    public boolean has(int location, int day) {
+        int i = index(location, day);
+        return !Double.isNaN(temperatureMax[i]) && !Double.isNaN(temperatureMin[i])
+                && !Double.isNaN(uvIndexMax[i])
+                && precipitationProbabilityMax[i] >= 0 && weatherCode[i] >= 0;
+    }
+
+    public double getTemperatureMax(int location, int day) { return temperatureMax[index(location, day)]; }
+    public double getTemperatureMin(int location, int day) { return temperatureMin[index(location, day)]; }
+    public double getUvIndexMax(int location, int day) { return uvIndexMax[index(location, day)]; }
+    public int getPrecipitationProbabilityMax(int location, int day) {
+        return precipitationProbabilityMax[index(location, day)];
+    }
+    public int getWeatherCode(int location, int day) { return weatherCode[index(location, day)]; }
+
+    /**
+     * @return the day's weather at the location, or null if the cell is incomplete
+     */
+    public WeatherSummary summary(int location, int day) {
+        if (!has(location, day)) {
+            return null;
+        }
+        int i = index(location, day);
+        double tempC = (temperatureMax[i] + temperatureMin[i]) / 2.0;
+        int code = weatherCode[i];
+        boolean precipLikely = isPrecipitationCode(code) || precipitationProbabilityMax[i] >= 50;
+        return new WeatherSummary(tempC, describe(code), uvIndexMax[i], precipLikely);
+    }
+
+    private int index(int location, int day) {
+        if (location < 0 || location >= locations || day < 0 || day >= days) {
+            throw new IndexOutOfBoundsException("Cell " + location + "/" + day
+                    + " outside " + locations + "x" + days);
+        }
+        return location * days + day;
+    }
+
+    /**
+     * Plain-language description of an Open-Meteo / WMO weather code.
+     */
+    public static String describe(int code) {
+        return switch (code) {
+            case 0 -> "Clear sky";
+            case 1, 2, 3 -> "Mainly clear, partly cloudy, or overcast";
+            case 45, 48 -> "Fog or depositing rime fog";
+            case 51, 53, 55 -> "Drizzle";
+            case 56, 57 -> "Freezing drizzle";
+            case 61, 63, 65 -> "Rain";
+            case 66, 67 -> "Freezing rain";
+            case 71, 73, 75 -> "Snowfall";
+            case 77 -> "Snow grains";
+            case 80, 81, 82 -> "Rain showers";
+            case 85, 86 -> "Snow showers";
+            case 95 -> "Thunderstorm";
+            case 96, 99 -> "Thunderstorm with hail";
+            default -> "Unknown conditions";
+        };
+    }
+
+    public static boolean isPrecipitationCode(int code) {
+        return switch (code) {
+            case 51, 53, 55,
+                 56, 57,
+                 61, 63, 65,
+                 66, 67,
+                 71, 73, 75,
+                 77,
+                 80, 81, 82,
+                 85, 86,
+                 95, 96, 99 -> true;
+            default -> false;
+        };
+    }
+}
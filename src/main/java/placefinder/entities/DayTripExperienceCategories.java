@@ -8,6 +8,9 @@ public class DayTripExperienceCategories {
     
     private static final Map<String, List<String>> CATEGORY_HIERARCHY = new HashMap<>();
 
+    // Every sub-category above plus its dot-separated ancestors ("catering" for "catering.cafe")
+    private static final Set<String> KNOWN_PLACE_CATEGORIES = new HashSet<>();
+
     static {
         MAIN_CATEGORY_DISPLAY_NAMES.put("landmarks_and_sightseeing", "Landmarks and Sightseeing");
         MAIN_CATEGORY_DISPLAY_NAMES.put("culture_history_and_arts", "Culture, History and Arts");
@@ -173,6 +176,15 @@ public class DayTripExperienceCategories {
                 "catering.bar",
                 "catering.pub"
         ));
+
+        for (List<String> subCategories : CATEGORY_HIERARCHY.values()) {
+            for (String category : subCategories) {
+                KNOWN_PLACE_CATEGORIES.add(category);
+                for (int dot = category.indexOf('.'); dot > 0; dot = category.indexOf('.', dot + 1)) {
+                    KNOWN_PLACE_CATEGORIES.add(category.substring(0, dot));
+                }
+            }
+        }
     }
 
     /**
@@ -237,6 +249,21 @@ public class DayTripExperienceCategories {
         return false;
     }
 
+    /**
+     * Check if a sub-category is listed under the main category
+     */
+    public static boolean isSubCategory(String mainCategory, String subCategory) {
+        List<String> subCategories = CATEGORY_HIERARCHY.get(mainCategory);
+        return subCategories != null && subCategories.contains(subCategory);
+    }
+
+    /**
+     * Check if a place category is a known sub-category or an ancestor of one
+     */
+    public static boolean isKnownPlaceCategory(String category) {
+        return KNOWN_PLACE_CATEGORIES.contains(category);
+    }
+
     /**
      * Format a category name for display (convert snake_case to Title Case)
      */
@@ -0,0 +1,86 @@
+package placefinder.entities;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Hour-by-hour forecasts for several locations on one date, in local time.
+ *
+ * Each series is one flat array indexed by {@code location * 24 + hour}:
+ * temperature and UV as floats (NaN when missing), precipitation probability
+ * as a byte percentage (-1 when missing). A day at one location costs 216
+ * bytes, so a scheduler can look hours up many times without allocating.
+ */
+public class HourlyWeatherGrid {
+
+    public static final int HOURS = 24;
+
+    private final LocalDate date;
+    private final int locations;
+
+    private final float[] temperature;
+    private final byte[] precipitationProbability;
+    private final float[] uvIndex;
+
+    /**
+     * An empty grid; fill it with {@link #set}.
+     */
+    public HourlyWeatherGrid(int locations, LocalDate date) {
+        if (locations < 0) {
+            throw new IllegalArgumentException("Negative location count: " + locations);
+        }
+        this.date = date;
+        this.locations = locations;
+
+        int cells = Math.multiplyExact(locations, HOURS);
+        this.temperature = new float[cells];
+        this.precipitationProbability = new byte[cells];
+        this.uvIndex = new float[cells];
+        Arrays.fill(temperature, Float.NaN);
+        Arrays.fill(precipitationProbability, (byte) -1);
+        Arrays.fill(uvIndex, Float.NaN);
+    }
+
+    public LocalDate getDate() { return date; }
+    public int getLocations() { return locations; }
+
+    /**
+     * @param precipitationProbability percent, or -1 if unknown
+     */
+    public void set(int location, int hour, double temperature, int precipitationProbability, double uvIndex) {
+        int i = index(location, hour);
+        this.temperature[i] = (float) temperature;
+        this.precipitationProbability[i] = (byte) (precipitationProbability < 0
+                ? -1 : Math.min(100, precipitationProbability));
+        this.uvIndex[i] = (float) uvIndex;
+    }
+
+    /**
+     * Copies a whole day at one location of another grid into this one.
+     */
+    public void copy(int location, HourlyWeatherGrid from, int fromLocation) {
+        int to = index(location, 0);
+        int src = from.index(fromLocation, 0);
+        System.arraycopy(from.temperature, src, temperature, to, HOURS);
+        System.arraycopy(from.precipitationProbability, src, precipitationProbability, to, HOURS);
+        System.arraycopy(from.uvIndex, src, uvIndex, to, HOURS);
+    }
+
+    public double getTemperature(int location, int hour) { return temperature[index(location, hour)]; }
+    public double getUvIndex(int location, int hour) { return uvIndex[index(location, hour)]; }
+
+    /**
+     * @return percent, or -1 if unknown
+     */
+    public int getPrecipitationProbability(int location, int hour) {
+        return precipitationProbability[index(location, hour)];
+    }
+
+    private int index(int location, int hour) {
+        if (location < 0 || location >= locations || hour < 0 || hour >= HOURS) {
+            throw new IndexOutOfBoundsException("Cell " + location + "/" + hour
+                    + " outside " + locations + "x" + HOURS);
+        }
+        return location * HOURS + hour;
+    }
+}
@@ -1,9 +1,11 @@
 package placefinder.entities;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 
 public class Place {
+    private static final int[] NO_CATEGORIES = new int[0];
+
     private String id;
     private String name;
     private String address;
@@ -11,7 +13,9 @@ public class Place {
     private double lon;
     private double distanceKm;
     private IndoorOutdoorType indoorOutdoorType;
-    private List<String> categories = new ArrayList<>();
+    // Ids from CategoryRegistry; the string list is only built when someone asks for it
+    private int[] categoryIds = NO_CATEGORIES;
+    private transient List<String> categoriesView;
 
     public Place() {
     }
@@ -26,9 +30,16 @@ public class Place {
         this.lon = lon;
         this.distanceKm = distanceKm;
         this.indoorOutdoorType = indoorOutdoorType;
-        if (categories != null) {
-            this.categories = new ArrayList<>(categories);
-        }
+        setCategories(categories);
+    }
+
+    /**
+     * Copy constructor; shares the (never modified) category ids.
+     */
+    public Place(Place other) {
+        this(other.id, other.name, other.address, other.lat, other.lon, other.distanceKm,
+                other.indoorOutdoorType, null);
+        this.categoryIds = other.categoryIds;
     }
 
     public String getId() { return id; }
@@ -54,9 +65,47 @@ public class Place {
         this.indoorOutdoorType = indoorOutdoorType;
     }
 
-    public List<String> getCategories() { return categories; }
+    /**
+     * Read-only view of the category names, in their original order.
+     */
+    public List<String> getCategories() {
+        List<String> view = categoriesView;
+        if (view == null) {
+            int[] ids = categoryIds;
+            view = new AbstractList<>() {
+                @Override
+                public String get(int index) {
+                    return CategoryRegistry.nameOf(ids[index]);
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+            categoriesView = view;
+        }
+        return view;
+    }
+
     public void setCategories(List<String> categories) {
-        this.categories = categories != null ? new ArrayList<>(categories) : new ArrayList<>();
+        this.categoryIds = categories == null || categories.isEmpty()
+                ? NO_CATEGORIES
+                : CategoryRegistry.idsOf(categories);
+        this.categoriesView = null;
+    }
+
+    /**
+     * True if any of this place's categories is {@code selectedCategoryId} or
+     * below it (see {@link CategoryRegistry#isWithin}).
+     */
+    public boolean hasCategoryWithin(int selectedCategoryId) {
+        for (int id : categoryIds) {
+            if (CategoryRegistry.isWithin(id, selectedCategoryId)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -2,20 +2,23 @@ package placefinder.entities;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Plan {
-    private Integer id;
-    private int userId;
-    private String name;
-    private LocalDate date;
-    private LocalTime startTime;
-    private String originAddress;
-    private Route route;
-    private double snapshotRadiusKm;
-    private Map<String, List<String>> snapshotCategories = new HashMap<>();
+/**
+ * A saved or previewed day plan. Immutable: the {@code with...} methods return
+ * a copy that shares the route and category snapshot with this one.
+ */
+public final class Plan {
+    private final Integer id;
+    private final int userId;
+    private final String name;
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final String originAddress;
+    private final Route route;
+    private final double snapshotRadiusKm;
+    private final Map<String, List<String>> snapshotCategories;
 
     public Plan(Integer id, int userId, String name,
                 LocalDate date, LocalTime startTime,
@@ -29,41 +32,50 @@ public class Plan {
         this.originAddress = originAddress;
         this.route = route;
         this.snapshotRadiusKm = snapshotRadiusKm;
-        if (snapshotCategories != null) {
-            this.snapshotCategories = new HashMap<>(snapshotCategories);
-        }
+        this.snapshotCategories = CategoryMaps.freeze(snapshotCategories);
     }
 
     public Integer getId() { return id; }
-    public void setId(Integer id) { this.id = id; }
 
     public int getUserId() { return userId; }
-    public void setUserId(int userId) { this.userId = userId; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
 
     public LocalDate getDate() { return date; }
-    public void setDate(LocalDate date) { this.date = date; }
 
     public LocalTime getStartTime() { return startTime; }
-    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
 
     public String getOriginAddress() { return originAddress; }
-    public void setOriginAddress(String originAddress) { this.originAddress = originAddress; }
 
     public Route getRoute() { return route; }
-    public void setRoute(Route route) { this.route = route; }
 
     public double getSnapshotRadiusKm() { return snapshotRadiusKm; }
-    public void setSnapshotRadiusKm(double snapshotRadiusKm) { this.snapshotRadiusKm = snapshotRadiusKm; }
 
+    /**
+     * Read-only map, shared rather than copied on each call.
+     */
     public Map<String, List<String>> getSnapshotCategories() {
-        return new HashMap<>(snapshotCategories);
+        // Free when already frozen; only copies if Gson filled the field reflectively
+        return CategoryMaps.freeze(snapshotCategories);
     }
-    
-    public void setSnapshotCategories(Map<String, List<String>> snapshotCategories) {
-        this.snapshotCategories = snapshotCategories != null
-                ? new HashMap<>(snapshotCategories) : new HashMap<>();
+
+    public Plan withId(Integer id) {
+        return new Plan(id, userId, name, date, startTime, originAddress, route,
+                snapshotRadiusKm, snapshotCategories);
+    }
+
+    public Plan withUserId(int userId) {
+        return new Plan(id, userId, name, date, startTime, originAddress, route,
+                snapshotRadiusKm, snapshotCategories);
+    }
+
+    public Plan withName(String name) {
+        return new Plan(id, userId, name, date, startTime, originAddress, route,
+                snapshotRadiusKm, snapshotCategories);
+    }
+
+    public Plan withRoute(Route route) {
+        return new Plan(id, userId, name, date, startTime, originAddress, route,
+                snapshotRadiusKm, snapshotCategories);
     }
 }
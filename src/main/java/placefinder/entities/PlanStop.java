@@ -2,11 +2,11 @@ package placefinder.entities;
 
 import java.time.LocalTime;
 
-public class PlanStop {
-    private int sequenceNumber;
-    private Place place;
-    private LocalTime startTime;
-    private LocalTime endTime;
+public final class PlanStop {
+    private final int sequenceNumber;
+    private final Place place;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
 
     public PlanStop(int sequenceNumber, Place place,
                     LocalTime startTime, LocalTime endTime) {
@@ -17,14 +17,10 @@ public class PlanStop {
     }
 
     public int getSequenceNumber() { return sequenceNumber; }
-    public void setSequenceNumber(int sequenceNumber) { this.sequenceNumber = sequenceNumber; }
 
     public Place getPlace() { return place; }
-    public void setPlace(Place place) { this.place = place; }
 
     public LocalTime getStartTime() { return startTime; }
-    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
 
     public LocalTime getEndTime() { return endTime; }
-    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
 }
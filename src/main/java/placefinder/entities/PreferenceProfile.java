@@ -1,41 +1,45 @@
 package placefinder.entities;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class PreferenceProfile {
-    private int userId;
-    private double radiusKm;
-    private Map<String, List<String>> selectedCategories = new HashMap<>();
+/**
+ * A user's search radius and selected interests. Immutable: use the
+ * {@code with...} methods to derive a changed copy, which shares everything
+ * that did not change.
+ */
+public final class PreferenceProfile {
+    private final int userId;
+    private final double radiusKm;
+    private final Map<String, List<String>> selectedCategories;
 
     public PreferenceProfile(int userId, double radiusKm) {
-        this.userId = userId;
-        this.radiusKm = radiusKm;
+        this(userId, radiusKm, null);
     }
 
-    public PreferenceProfile(int userId, double radiusKm, 
+    public PreferenceProfile(int userId, double radiusKm,
                              Map<String, List<String>> selectedCategories) {
         this.userId = userId;
         this.radiusKm = radiusKm;
-        if (selectedCategories != null) {
-            this.selectedCategories = new HashMap<>(selectedCategories);
-        }
+        this.selectedCategories = CategoryMaps.freeze(selectedCategories);
     }
 
     public int getUserId() { return userId; }
-    public void setUserId(int userId) { this.userId = userId; }
 
     public double getRadiusKm() { return radiusKm; }
-    public void setRadiusKm(double radiusKm) { this.radiusKm = radiusKm; }
 
-    public Map<String, List<String>> getSelectedCategories() { 
-        return new HashMap<>(selectedCategories);
+    /**
+     * Read-only map, shared rather than copied on each call.
+     */
+    public Map<String, List<String>> getSelectedCategories() {
+        return selectedCategories;
     }
-    
-    public void setSelectedCategories(Map<String, List<String>> selectedCategories) {
-        this.selectedCategories = selectedCategories != null 
-            ? new HashMap<>(selectedCategories) 
-            : new HashMap<>();
+
+    public PreferenceProfile withRadiusKm(double radiusKm) {
+        return new PreferenceProfile(userId, radiusKm, selectedCategories);
+    }
+
+    public PreferenceProfile withSelectedCategories(Map<String, List<String>> selectedCategories) {
+        return new PreferenceProfile(userId, radiusKm, selectedCategories);
     }
 }
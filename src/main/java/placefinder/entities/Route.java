@@ -1,19 +1,19 @@
 package placefinder.entities;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class Route {
-    private List<PlanStop> stops = new ArrayList<>();
+/**
+ * Ordered stops of a plan. Immutable; the stop list is shared, not copied.
+ */
+public final class Route {
+    private final List<PlanStop> stops;
 
     public Route(List<PlanStop> stops) {
-        if (stops != null) {
-            this.stops = new ArrayList<>(stops);
-        }
+        this.stops = stops != null ? List.copyOf(stops) : List.of();
     }
 
-    public List<PlanStop> getStops() { return stops; }
-    public void setStops(List<PlanStop> stops) {
-        this.stops = stops != null ? new ArrayList<>(stops) : new ArrayList<>();
+    public List<PlanStop> getStops() {
+        // Free when already immutable; only copies if Gson filled the field reflectively
+        return List.copyOf(stops);
     }
 }
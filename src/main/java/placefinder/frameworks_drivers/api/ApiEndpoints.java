@@ -0,0 +1,55 @@
+package placefinder.frameworks_drivers.api;
+
+/**
+ * Base URLs of the upstream APIs.
+ *
+ * Each can be overridden with a system property so the gateways can be pointed
+ * at a local stand-in (see UpstreamSimulator) without code changes, e.g.
+ * {@code -Dplacefinder.geoapify.url=http://localhost:8089}. Free-tier rate
+ * limits only apply at the real hosts (see {@link RateLimiter#forEndpoint}).
+ */
+public final class ApiEndpoints {
+
+    public static final String GEOAPIFY_PROPERTY = "placefinder.geoapify.url";
+    public static final String OPENCAGE_PROPERTY = "placefinder.opencage.url";
+    public static final String OPEN_METEO_PROPERTY = "placefinder.openmeteo.url";
+
+    private static final String GEOAPIFY_DEFAULT = "https://api.geoapify.com";
+    private static final String OPENCAGE_DEFAULT = "https://api.opencagedata.com";
+    private static final String OPEN_METEO_DEFAULT = "https://api.open-meteo.com";
+
+    private ApiEndpoints() {
+    }
+
+    public static String geoapify() {
+        return resolve(GEOAPIFY_PROPERTY, GEOAPIFY_DEFAULT);
+    }
+
+    public static String openCage() {
+        return resolve(OPENCAGE_PROPERTY, OPENCAGE_DEFAULT);
+    }
+
+    public static String openMeteo() {
+        return resolve(OPEN_METEO_PROPERTY, OPEN_METEO_DEFAULT);
+    }
+
+    /**
+     * True if the URL is one of the real API hosts rather than an override.
+     */
+    static boolean isDefault(String baseUrl) {
+        return GEOAPIFY_DEFAULT.equals(baseUrl) || OPENCAGE_DEFAULT.equals(baseUrl)
+                || OPEN_METEO_DEFAULT.equals(baseUrl);
+    }
+
+    private static String resolve(String property, String fallback) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return stripTrailingSlash(value.trim());
+    }
+
+    static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -19,6 +19,10 @@ public class GeoApifyPlacesGatewayImpl implements PlacesGateway {
         this.service = new GeoapifyPlacesService(apiKey);
     }
 
+    public GeoApifyPlacesGatewayImpl(String apiKey, String baseUrl) {
+        this.service = new GeoapifyPlacesService(apiKey, baseUrl);
+    }
+
     @Override
     public List<Place> searchPlaces(double lat, double lon, double radiusKm,
                                     Map<String, List<String>> selectedCategories) throws Exception {
@@ -37,6 +37,10 @@ import java.util.stream.Collectors;
  */
 public class GeoapifyPlacesService {
 
+    // Both are stateless, so one instance serves every cleanFeature call
+    private static final PlaceJsonParser FEATURE_PARSER = new PlaceJsonParser();
+    private static final PlaceDataCleaner FEATURE_CLEANER = new PlaceDataCleaner();
+
     private final String apiKey;
     private final HttpClient httpClient;
     private final UrlBuilder urlBuilder;
@@ -50,9 +54,20 @@ public class GeoapifyPlacesService {
      * @param apiKey The Geoapify API key
      */
     public GeoapifyPlacesService(String apiKey) {
+        this(apiKey, ApiEndpoints.geoapify());
+    }
+
+    /**
+     * Creates a new service that sends requests to a different Geoapify host,
+     * such as a local simulator.
+     *
+     * @param apiKey The Geoapify API key
+     * @param baseUrl Scheme and host of the API, e.g. "http://localhost:8089"
+     */
+    public GeoapifyPlacesService(String apiKey, String baseUrl) {
         this.apiKey = apiKey;
-        this.httpClient = new DefaultHttpClient(); // DIP: Depends on interface, not implementation
-        this.urlBuilder = new UrlBuilder();
+        this.httpClient = new DefaultHttpClient(apiKey, baseUrl); // DIP: Depends on interface, not implementation
+        this.urlBuilder = new UrlBuilder(baseUrl);
         this.jsonParser = new PlaceJsonParser();
         this.dataCleaner = new PlaceDataCleaner();
     }
@@ -66,7 +81,7 @@ public class GeoapifyPlacesService {
     public GeoapifyPlacesService(String apiKey, HttpClient httpClient) {
         this.apiKey = apiKey;
         this.httpClient = httpClient;
-        this.urlBuilder = new UrlBuilder();
+        this.urlBuilder = new UrlBuilder(ApiEndpoints.geoapify());
         this.jsonParser = new PlaceJsonParser();
         this.dataCleaner = new PlaceDataCleaner();
     }
@@ -97,6 +112,20 @@ public class GeoapifyPlacesService {
         return dataCleaner.cleanPlaces(rawPlaces);
     }
 
+    /**
+     * Parses and cleans a single GeoJSON feature exactly as API results are,
+     * for offline imports of Geoapify-shaped extracts. The distance is left at
+     * 0 since there is no search centre.
+     *
+     * @param feature A GeoJSON feature with a point geometry or lat/lon properties
+     * @return The cleaned place, or null if the feature has no properties or
+     *         invalid coordinates
+     */
+    public static CleanPlace cleanFeature(JsonObject feature) {
+        RawPlace raw = FEATURE_PARSER.parseFeature(feature);
+        return raw == null ? null : FEATURE_CLEANER.cleanPlace(raw);
+    }
+
     /**
      * Simplified search method with default categories.
      *
@@ -135,11 +164,23 @@ public class GeoapifyPlacesService {
      * SOLID: Single Responsibility Principle (SRP)
      * - Only responsible for making HTTP GET requests
      * - Delegates to existing utility class
+     * - Quota handling is delegated to the per-key, per-host RateLimiter
      */
     private static class DefaultHttpClient implements HttpClient {
+        // Geoapify free tier: 5 requests/second, 3,000 credits/day
+        private static final double REQUESTS_PER_SECOND = 5.0;
+        private static final int REQUESTS_PER_DAY = 3000;
+
+        private final RateLimiter rateLimiter;
+
+        DefaultHttpClient(String apiKey, String baseUrl) {
+            this.rateLimiter = RateLimiter.forEndpoint("geoapify", apiKey,
+                    ApiEndpoints.stripTrailingSlash(baseUrl), REQUESTS_PER_SECOND, REQUESTS_PER_DAY);
+        }
+
         @Override
         public String get(String url) throws Exception {
-            return HttpUtil.get(url);
+            return HttpUtil.get(url, rateLimiter);
         }
     }
 
@@ -154,7 +195,13 @@ public class GeoapifyPlacesService {
      * - Existing code doesn't need modification to add new features
      */
     private static class UrlBuilder {
-        private static final String BASE_URL = "https://api.geoapify.com/v2/places";
+        private static final String PLACES_PATH = "/v2/places";
+
+        private final String placesUrl;
+
+        UrlBuilder(String baseUrl) {
+            this.placesUrl = ApiEndpoints.stripTrailingSlash(baseUrl) + PLACES_PATH;
+        }
 
         public String buildSearchUrl(double lat, double lon, double radiusKm,
                                      List<String> categories, String apiKey) {
@@ -162,7 +209,7 @@ public class GeoapifyPlacesService {
             String categoriesParam = buildCategoriesParam(categories);
 
             return String.format("%s?categories=%s&filter=circle:%f,%f,%d&bias=proximity:%f,%f&limit=40&apiKey=%s",
-                BASE_URL, categoriesParam, lon, lat, (int) radiusMeters, lon, lat, apiKey);
+                placesUrl, categoriesParam, lon, lat, (int) radiusMeters, lon, lat, apiKey);
         }
 
         private String buildCategoriesParam(List<String> categories) {
@@ -197,7 +244,8 @@ public class GeoapifyPlacesService {
             this.latitude = latitude;
             this.longitude = longitude;
             this.distanceMeters = distanceMeters;
-            this.categories = categories != null ? new ArrayList<>(categories) : new ArrayList<>();
+            // Already a fresh list from extractCategories; no need to copy it again
+            this.categories = categories != null ? categories : new ArrayList<>();
         }
     }
 
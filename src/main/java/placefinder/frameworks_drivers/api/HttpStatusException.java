@@ -0,0 +1,31 @@
+package placefinder.frameworks_drivers.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown by {@link HttpUtil} when the server answers with a non-2xx status.
+ * Keeps the status code and any Retry-After hint so callers can tell a
+ * rate-limit rejection (429) apart from other failures.
+ */
+public class HttpStatusException extends IOException {
+
+    private final int status;
+    private final long retryAfterMillis;
+
+    public HttpStatusException(int status, String body, long retryAfterMillis) {
+        super("HTTP " + status + ": " + body);
+        this.status = status;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatus() { return status; }
+
+    /**
+     * @return the delay requested by the server's Retry-After header, or -1 if none was sent
+     */
+    public long getRetryAfterMillis() { return retryAfterMillis; }
+
+    public boolean isTooManyRequests() {
+        return status == 429;
+    }
+}
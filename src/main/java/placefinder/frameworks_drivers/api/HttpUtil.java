@@ -1,5 +1,10 @@
 package placefinder.frameworks_drivers.api;
 
+import placefinder.frameworks_drivers.jfr.HttpRequestEvent;
+import placefinder.frameworks_drivers.metrics.LogLinearHistogram;
+import placefinder.frameworks_drivers.metrics.MetricsRegistry;
+import placefinder.frameworks_drivers.metrics.Timer;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -7,13 +12,60 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HttpUtil {
 
+    /** How many times a request rejected with 429 is retried before giving up. */
+    private static final int MAX_RATE_LIMIT_RETRIES = 3;
+
+    // Per-upstream metrics, keyed by host so the hot path does no string building
+    private static final Map<String, Timer> UPSTREAM_TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LogLinearHistogram> RESPONSE_SIZES = new ConcurrentHashMap<>();
+
+    /**
+     * Performs a GET through the given rate limiter. The permit is taken in the
+     * calling thread's {@link RequestPriority} lane, and a 429 response pauses the
+     * limiter for the Retry-After period before the request is retried.
+     */
+    public static String get(String urlStr, RateLimiter limiter) throws IOException {
+        int attempt = 0;
+        while (true) {
+            try {
+                limiter.acquire(RequestPriority.current());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for API quota", e);
+            }
+            try {
+                return get(urlStr);
+            } catch (HttpStatusException e) {
+                if (!e.isTooManyRequests() || attempt >= MAX_RATE_LIMIT_RETRIES) {
+                    throw e;
+                }
+                limiter.onTooManyRequests(e.getRetryAfterMillis());
+                attempt++;
+            }
+        }
+    }
+
     public static String get(String urlStr) throws IOException {
+        long start = System.nanoTime();
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        String host = null;
+        boolean failed = true;
+        int status = -1;
+        long responseChars = 0;
         HttpURLConnection conn = null;
         try {
             URL url = new URL(urlStr);
+            host = url.getHost();
             conn = (HttpURLConnection) url.openConnection();
             conn.setRequestMethod("GET");
             conn.setConnectTimeout(15000);
@@ -21,12 +73,16 @@ public class HttpUtil {
             conn.setRequestProperty("User-Agent", "PlaceFinder/1.0");
             conn.setRequestProperty("Accept", "application/json");
 
-            int status = conn.getResponseCode();
+            status = conn.getResponseCode();
             InputStream is = (status >= 200 && status < 300)
                     ? conn.getInputStream()
                     : conn.getErrorStream();
 
             if (is == null) {
+                if (status == 429) {
+                    throw new HttpStatusException(status, "",
+                            parseRetryAfter(conn.getHeaderField("Retry-After")));
+                }
                 throw new IOException("No response from server, HTTP status " + status);
             }
 
@@ -37,16 +93,60 @@ public class HttpUtil {
                 while ((line = reader.readLine()) != null) {
                     sb.append(line);
                 }
+                responseChars = sb.length();
                 if (status >= 200 && status < 300) {
+                    failed = false;
+                    responseSizes(host).record(responseChars);
                     return sb.toString();
                 } else {
-                    throw new IOException("HTTP " + status + ": " + sb);
+                    throw new HttpStatusException(status, sb.toString(),
+                            parseRetryAfter(conn.getHeaderField("Retry-After")));
                 }
             }
         } finally {
             if (conn != null) {
                 conn.disconnect();
             }
+            if (host != null) {
+                upstreamTimer(host).recordSince(start, failed);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.urlTemplate = HttpRequestEvent.toTemplate(urlStr);
+                event.status = status;
+                event.responseBytes = responseChars;
+                event.commit();
+            }
+        }
+    }
+
+    private static Timer upstreamTimer(String host) {
+        return UPSTREAM_TIMERS.computeIfAbsent(host, h -> MetricsRegistry.timer("http." + h));
+    }
+
+    private static LogLinearHistogram responseSizes(String host) {
+        return RESPONSE_SIZES.computeIfAbsent(host,
+                h -> MetricsRegistry.histogram("http." + h + ".responseChars"));
+    }
+
+    /**
+     * Retry-After may be delta-seconds or an HTTP date; returns -1 if absent or unparseable.
+     */
+    private static long parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return -1;
+        }
+        String value = header.trim();
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000L;
+        } catch (NumberFormatException ignored) {
+            // fall through to date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
         }
     }
 }
@@ -11,14 +11,27 @@ import java.nio.charset.StandardCharsets;
 
 public class OpenCageGeocodingGateway implements GeocodingGateway {
 
+    // OpenCage free tier: 1 request/second, 2,500 requests/day
+    private static final double REQUESTS_PER_SECOND = 1.0;
+    private static final int REQUESTS_PER_DAY = 2500;
+
     private final String apiKey;
+    private final String baseUrl;
+    private final RateLimiter rateLimiter;
 
     public OpenCageGeocodingGateway() {
-        this.apiKey = "c2ab249430a240bbaeebb6c7ef8e01a8";
+        this("c2ab249430a240bbaeebb6c7ef8e01a8");
     }
 
     public OpenCageGeocodingGateway(String apiKey) {
+        this(apiKey, ApiEndpoints.openCage());
+    }
+
+    public OpenCageGeocodingGateway(String apiKey, String baseUrl) {
         this.apiKey = apiKey;
+        this.baseUrl = ApiEndpoints.stripTrailingSlash(baseUrl);
+        this.rateLimiter = RateLimiter.forEndpoint(
+                "opencage", apiKey, this.baseUrl, REQUESTS_PER_SECOND, REQUESTS_PER_DAY);
     }
 
     @Override
@@ -28,10 +41,10 @@ public class OpenCageGeocodingGateway implements GeocodingGateway {
         }
 
         String encoded = URLEncoder.encode(query, StandardCharsets.UTF_8);
-        String url = "https://api.opencagedata.com/geocode/v1/json?q=" + encoded +
+        String url = baseUrl + "/geocode/v1/json?q=" + encoded +
                 "&key=" + apiKey + "&limit=1";
 
-        String json = HttpUtil.get(url);
+        String json = HttpUtil.get(url, rateLimiter);
         JsonObject root = JsonParser.parseString(json).getAsJsonObject();
         JsonArray results = root.getAsJsonArray("results");
         if (results == null || results.size() == 0) {
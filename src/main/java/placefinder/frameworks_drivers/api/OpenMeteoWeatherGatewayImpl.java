@@ -1,88 +1,177 @@
 package placefinder.frameworks_drivers.api;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
-import placefinder.entities.WeatherSummary;
+import placefinder.entities.DailyWeatherGrid;
+import placefinder.entities.HourlyWeatherGrid;
+import placefinder.usecases.ports.HourlyWeatherGateway;
 import placefinder.usecases.ports.WeatherGateway;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
-public class OpenMeteoWeatherGatewayImpl implements WeatherGateway {
+/**
+ * Daily and hourly forecasts from Open-Meteo. Points are sent as comma-separated
+ * latitude/longitude lists, up to {@value #MAX_LOCATIONS_PER_REQUEST} per
+ * request, and the per-location responses are parsed straight into a
+ * {@link DailyWeatherGrid} or {@link HourlyWeatherGrid}.
+ */
+public class OpenMeteoWeatherGatewayImpl implements WeatherGateway, HourlyWeatherGateway {
+
+    // Keeps the URL a few kilobytes long at most
+    static final int MAX_LOCATIONS_PER_REQUEST = 100;
+
+    private final String baseUrl;
+
+    public OpenMeteoWeatherGatewayImpl() {
+        this(ApiEndpoints.openMeteo());
+    }
+
+    public OpenMeteoWeatherGatewayImpl(String baseUrl) {
+        this.baseUrl = ApiEndpoints.stripTrailingSlash(baseUrl);
+    }
 
     @Override
-    public WeatherSummary getDailyWeather(double lat, double lon, LocalDate date) throws Exception {
-        String url = "https://api.open-meteo.com/v1/forecast?latitude=" + lat +
-                "&longitude=" + lon +
-                "&daily=temperature_2m_max,temperature_2m_min,precipitation_probability_max,uv_index_max,weathercode" +
-                "&timezone=auto&start_date=" + date + "&end_date=" + date;
-
-        String json = HttpUtil.get(url);
-        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
-        JsonObject daily = root.getAsJsonObject("daily");
-        if (daily == null) {
-            return null;
+    public DailyWeatherGrid getDailyWeather(double[] lats, double[] lons,
+                                            LocalDate startDate, LocalDate endDate) throws Exception {
+        checkSameLength(lats, lons);
+        DailyWeatherGrid grid = new DailyWeatherGrid(lats.length, startDate, endDate);
+        for (int from = 0; from < lats.length; from += MAX_LOCATIONS_PER_REQUEST) {
+            int to = Math.min(lats.length, from + MAX_LOCATIONS_PER_REQUEST);
+            List<JsonObject> results = fetch(lats, lons, from, to,
+                    "daily=temperature_2m_max,temperature_2m_min,precipitation_probability_max,uv_index_max,weathercode",
+                    startDate, endDate);
+            for (int i = from; i < to; i++) {
+                parseDaily(results.get(i - from), i, grid);
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public HourlyWeatherGrid getHourlyWeather(double[] lats, double[] lons, LocalDate date) throws Exception {
+        checkSameLength(lats, lons);
+        HourlyWeatherGrid grid = new HourlyWeatherGrid(lats.length, date);
+        for (int from = 0; from < lats.length; from += MAX_LOCATIONS_PER_REQUEST) {
+            int to = Math.min(lats.length, from + MAX_LOCATIONS_PER_REQUEST);
+            List<JsonObject> results = fetch(lats, lons, from, to,
+                    "hourly=temperature_2m,precipitation_probability,uv_index", date, date);
+            for (int i = from; i < to; i++) {
+                parseHourly(results.get(i - from), i, grid);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * One forecast request for points {@code from..to-1}; returns their results in order.
+     */
+    private List<JsonObject> fetch(double[] lats, double[] lons, int from, int to, String variables,
+                                   LocalDate startDate, LocalDate endDate) throws Exception {
+        StringBuilder latitudes = new StringBuilder();
+        StringBuilder longitudes = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                latitudes.append(',');
+                longitudes.append(',');
+            }
+            latitudes.append(String.format(Locale.ROOT, "%.5f", lats[i]));
+            longitudes.append(String.format(Locale.ROOT, "%.5f", lons[i]));
         }
+        String url = baseUrl + "/v1/forecast?latitude=" + latitudes +
+                "&longitude=" + longitudes +
+                "&" + variables +
+                "&timezone=auto&start_date=" + startDate + "&end_date=" + endDate;
 
+        // One location comes back as an object, several as an array of objects in request order
+        JsonElement root = JsonParser.parseString(HttpUtil.get(url));
+        List<JsonObject> results = new ArrayList<>(to - from);
+        if (root.isJsonArray()) {
+            for (JsonElement result : root.getAsJsonArray()) {
+                results.add(result.getAsJsonObject());
+            }
+        } else {
+            results.add(root.getAsJsonObject());
+        }
+        if (results.size() != to - from) {
+            throw new IOException("Open-Meteo returned " + results.size()
+                    + " locations for " + (to - from) + " requested");
+        }
+        return results;
+    }
+
+    private static void parseDaily(JsonObject result, int location, DailyWeatherGrid grid) {
+        JsonObject daily = result.getAsJsonObject("daily");
+        if (daily == null) {
+            return;
+        }
+        JsonArray time = daily.getAsJsonArray("time");
         JsonArray tmaxArr = daily.getAsJsonArray("temperature_2m_max");
         JsonArray tminArr = daily.getAsJsonArray("temperature_2m_min");
         JsonArray precipArr = daily.getAsJsonArray("precipitation_probability_max");
         JsonArray uvArr = daily.getAsJsonArray("uv_index_max");
         JsonArray codeArr = daily.getAsJsonArray("weathercode");
+        if (time == null) {
+            return;
+        }
 
-        if (tmaxArr == null || tmaxArr.size() == 0 ||
-            tminArr == null || tminArr.size() == 0 ||
-            precipArr == null || precipArr.size() == 0 ||
-            uvArr == null || uvArr.size() == 0 ||
-            codeArr == null || codeArr.size() == 0) {
-            return null;
+        for (int k = 0; k < time.size(); k++) {
+            int day = grid.dayOf(LocalDate.parse(time.get(k).getAsString()));
+            if (day < 0) {
+                continue;
+            }
+            grid.set(location, day,
+                    doubleAt(tmaxArr, k),
+                    doubleAt(tminArr, k),
+                    intAt(precipArr, k),
+                    doubleAt(uvArr, k),
+                    intAt(codeArr, k));
         }
+    }
 
-        double tmax = tmaxArr.get(0).getAsDouble();
-        double tmin = tminArr.get(0).getAsDouble();
-        double tempC = (tmax + tmin) / 2.0;
-        int precipProb = precipArr.get(0).getAsInt();
-        double uvIndex = uvArr.get(0).getAsDouble();
-        int code = codeArr.get(0).getAsInt();
+    private static void parseHourly(JsonObject result, int location, HourlyWeatherGrid grid) {
+        JsonObject hourly = result.getAsJsonObject("hourly");
+        JsonArray time = hourly == null ? null : hourly.getAsJsonArray("time");
+        if (time == null) {
+            return;
+        }
+        JsonArray tempArr = hourly.getAsJsonArray("temperature_2m");
+        JsonArray precipArr = hourly.getAsJsonArray("precipitation_probability");
+        JsonArray uvArr = hourly.getAsJsonArray("uv_index");
 
-        String conditions = mapWeatherCode(code);
-        boolean precipLikely = isPrecipitationCode(code) || precipProb >= 50;
+        for (int k = 0; k < time.size(); k++) {
+            LocalDateTime hour = LocalDateTime.parse(time.get(k).getAsString());
+            if (!hour.toLocalDate().equals(grid.getDate())) {
+                continue;
+            }
+            grid.set(location, hour.getHour(), doubleAt(tempArr, k), intAt(precipArr, k), doubleAt(uvArr, k));
+        }
+    }
 
-        return new WeatherSummary(tempC, conditions, uvIndex, precipLikely);
+    private static void checkSameLength(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException(lats.length + " latitudes but " + lons.length + " longitudes");
+        }
     }
 
-    private String mapWeatherCode(int code) {
-        // based on Open-Meteo / WMO weather codes
-        return switch (code) {
-            case 0 -> "Clear sky";
-            case 1, 2, 3 -> "Mainly clear, partly cloudy, or overcast";
-            case 45, 48 -> "Fog or depositing rime fog";
-            case 51, 53, 55 -> "Drizzle";
-            case 56, 57 -> "Freezing drizzle";
-            case 61, 63, 65 -> "Rain";
-            case 66, 67 -> "Freezing rain";
-            case 71, 73, 75 -> "Snowfall";
-            case 77 -> "Snow grains";
-            case 80, 81, 82 -> "Rain showers";
-            case 85, 86 -> "Snow showers";
-            case 95 -> "Thunderstorm";
-            case 96, 99 -> "Thunderstorm with hail";
-            default -> "Unknown conditions";
-        };
+    // Open-Meteo sends null for values it has no forecast for
+    private static double doubleAt(JsonArray values, int k) {
+        if (values == null || k >= values.size() || values.get(k).isJsonNull()) {
+            return Double.NaN;
+        }
+        return values.get(k).getAsDouble();
     }
 
-    private boolean isPrecipitationCode(int code) {
-        return switch (code) {
-            case 51, 53, 55,
-                 56, 57,
-                 61, 63, 65,
-                 66, 67,
-                 71, 73, 75,
-                 77,
-                 80, 81, 82,
-                 85, 86,
-                 95, 96, 99 -> true;
-            default -> false;
-        };
+    private static int intAt(JsonArray values, int k) {
+        if (values == null || k >= values.size() || values.get(k).isJsonNull()) {
+            return -1;
+        }
+        return values.get(k).getAsInt();
     }
 }
@@ -0,0 +1,249 @@
+package placefinder.frameworks_drivers.api;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side token bucket for one API key.
+ *
+ * Each key gets a per-second bucket (refilled continuously, bursting up to one
+ * second of permits) plus a per-day counter that resets at midnight UTC.
+ * Callers in the BACKGROUND lane wait while any INTERACTIVE caller is queued,
+ * and a 429 from the server pauses the whole bucket for the Retry-After period
+ * so every thread backs off together instead of hammering the API.
+ *
+ * Limiters are shared per key through {@link #forKey}, so every gateway that
+ * uses the same key draws from the same quota. A limit of 0 turns that limit off.
+ */
+public class RateLimiter {
+
+    private static final Map<String, RateLimiter> REGISTRY = new ConcurrentHashMap<>();
+
+    /** Back-off used when a 429 arrives without a usable Retry-After header. */
+    private static final long DEFAULT_BACKOFF_MILLIS = 1000;
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int dailyLimit;
+    private final double maxTokens;
+    private final double nanosPerToken;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private int waitingInteractive;
+
+    private LocalDate day;
+    private int usedToday;
+    private long throttledTotal;
+    private long rejectedByServerTotal;
+
+    public RateLimiter(String name, double permitsPerSecond, int dailyLimit) {
+        if (permitsPerSecond < 0) {
+            throw new IllegalArgumentException("permitsPerSecond must not be negative");
+        }
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.dailyLimit = dailyLimit;
+        this.maxTokens = Math.max(1.0, permitsPerSecond);
+        // Without a per-second limit the bucket never empties, so the refill rate is moot
+        this.nanosPerToken = permitsPerSecond > 0
+                ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : TimeUnit.MILLISECONDS.toNanos(1);
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+        this.day = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the shared limiter for a key, creating it with the given limits on first use.
+     */
+    public static RateLimiter forKey(String name, double permitsPerSecond, int dailyLimit) {
+        return REGISTRY.computeIfAbsent(name, n -> new RateLimiter(n, permitsPerSecond, dailyLimit));
+    }
+
+    /**
+     * Returns the shared limiter for a service key at a base URL.
+     *
+     * The given limits (the service's free tier) apply at its real host. Any
+     * other host, such as UpstreamSimulator, gets its own unlimited limiter so
+     * load tests are not capped by the free tier. Either way the
+     * {@code placefinder.<service>.rps} and {@code placefinder.<service>.dailyLimit}
+     * system properties override the limits.
+     */
+    public static RateLimiter forEndpoint(String service, String apiKey, String baseUrl,
+                                          double permitsPerSecond, int dailyLimit) {
+        boolean realHost = ApiEndpoints.isDefault(baseUrl);
+        String name = realHost ? keyName(service, apiKey) : keyName(service, apiKey) + "@" + baseUrl;
+        return forKey(name,
+                Double.parseDouble(System.getProperty("placefinder." + service + ".rps",
+                        String.valueOf(realHost ? permitsPerSecond : 0))),
+                Integer.getInteger("placefinder." + service + ".dailyLimit", realHost ? dailyLimit : 0));
+    }
+
+    /**
+     * Builds a registry name for a service key that is safe to log:
+     * only the last four characters of the key are kept.
+     */
+    public static String keyName(String service, String apiKey) {
+        String suffix = apiKey == null ? "none"
+                : apiKey.length() <= 4 ? apiKey : apiKey.substring(apiKey.length() - 4);
+        return service + ":..." + suffix;
+    }
+
+    /**
+     * @return live usage of every limiter created so far
+     */
+    public static List<QuotaUsage> snapshotAll() {
+        List<QuotaUsage> list = new ArrayList<>();
+        for (RateLimiter limiter : REGISTRY.values()) {
+            list.add(limiter.snapshot());
+        }
+        return list;
+    }
+
+    /**
+     * Blocks until a permit is available in the given lane.
+     *
+     * @throws IOException if today's quota is already used up
+     */
+    public synchronized void acquire(RequestPriority priority) throws IOException, InterruptedException {
+        boolean interactive = priority == RequestPriority.INTERACTIVE;
+        if (interactive) {
+            waitingInteractive++;
+        }
+        boolean waited = false;
+        try {
+            while (true) {
+                rollDay();
+                if (dailyLimit > 0 && usedToday >= dailyLimit) {
+                    throw new IOException("Daily request quota reached for " + name
+                            + " (" + dailyLimit + " requests).");
+                }
+                refill();
+
+                long now = System.nanoTime();
+                long waitNanos;
+                if (now < pausedUntilNanos) {
+                    waitNanos = pausedUntilNanos - now;
+                } else if (!interactive && waitingInteractive > 0) {
+                    // Yield to the interactive lane; we are woken when it drains.
+                    waitNanos = (long) nanosPerToken;
+                } else if (permitsPerSecond == 0 || tokens >= 1.0) {
+                    if (permitsPerSecond > 0) {
+                        tokens -= 1.0;
+                    }
+                    usedToday++;
+                    return;
+                } else {
+                    waitNanos = (long) ((1.0 - tokens) * nanosPerToken);
+                }
+
+                if (!waited) {
+                    throttledTotal++;
+                    waited = true;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, 1));
+            }
+        } finally {
+            if (interactive) {
+                waitingInteractive--;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Records a 429 from the server and stops handing out permits until the
+     * requested delay has passed.
+     *
+     * @param retryAfterMillis delay from Retry-After, or a negative value if none was sent
+     */
+    public synchronized void onTooManyRequests(long retryAfterMillis) {
+        rejectedByServerTotal++;
+        long delay = retryAfterMillis >= 0 ? retryAfterMillis : DEFAULT_BACKOFF_MILLIS;
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        if (until > pausedUntilNanos) {
+            pausedUntilNanos = until;
+        }
+        tokens = 0;
+        notifyAll();
+    }
+
+    public synchronized QuotaUsage snapshot() {
+        rollDay();
+        refill();
+        return new QuotaUsage(name, permitsPerSecond, dailyLimit, usedToday,
+                tokens, throttledTotal, rejectedByServerTotal);
+    }
+
+    private void refill() {
+        if (permitsPerSecond == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        double added = (now - lastRefillNanos) / nanosPerToken;
+        if (added > 0) {
+            tokens = Math.min(maxTokens, tokens + added);
+            lastRefillNanos = now;
+        }
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            day = today;
+            usedToday = 0;
+        }
+    }
+
+    /**
+     * Point-in-time view of one key's quota consumption.
+     */
+    public static class QuotaUsage {
+        private final String name;
+        private final double permitsPerSecond;
+        private final int dailyLimit;
+        private final int usedToday;
+        private final double availableTokens;
+        private final long throttledTotal;
+        private final long rejectedByServerTotal;
+
+        public QuotaUsage(String name, double permitsPerSecond, int dailyLimit, int usedToday,
+                          double availableTokens, long throttledTotal, long rejectedByServerTotal) {
+            this.name = name;
+            this.permitsPerSecond = permitsPerSecond;
+            this.dailyLimit = dailyLimit;
+            this.usedToday = usedToday;
+            this.availableTokens = availableTokens;
+            this.throttledTotal = throttledTotal;
+            this.rejectedByServerTotal = rejectedByServerTotal;
+        }
+
+        public String getName() { return name; }
+        public double getPermitsPerSecond() { return permitsPerSecond; }
+        public int getDailyLimit() { return dailyLimit; }
+        public int getUsedToday() { return usedToday; }
+        public int getRemainingToday() {
+            return dailyLimit > 0 ? Math.max(0, dailyLimit - usedToday) : Integer.MAX_VALUE;
+        }
+        public double getAvailableTokens() { return availableTokens; }
+        /** Number of acquisitions that had to wait for a permit. */
+        public long getThrottledTotal() { return throttledTotal; }
+        /** Number of 429 responses received from the server. */
+        public long getRejectedByServerTotal() { return rejectedByServerTotal; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s today, %s, %d throttled, %d rejected", name,
+                    dailyLimit > 0 ? usedToday + "/" + dailyLimit : String.valueOf(usedToday),
+                    permitsPerSecond > 0 ? String.format("%.1f req/s", permitsPerSecond) : "no req/s limit",
+                    throttledTotal, rejectedByServerTotal);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package placefinder.frameworks_drivers.api;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Scheduling lane for outbound API calls.
+ *
+ * Calls made directly on behalf of a user (searching, geocoding a typed
+ * location) run as INTERACTIVE. Warm-up and prefetch work should wrap itself in
+ * {@link #runInBackground(Callable)} so that it only uses quota the
+ * interactive lane leaves free.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT =
+            ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * @return the lane of the calling thread, INTERACTIVE unless inside {@link #runInBackground}
+     */
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the task with every API call it makes scheduled in the background lane.
+     */
+    public static <T> T runInBackground(Callable<T> task) throws Exception {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(BACKGROUND);
+        try {
+            return task.call();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package placefinder.frameworks_drivers.batch;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Resume support for {@link BatchPlanner}.
+ *
+ * The JSONL output doubles as the checkpoint journal: each record is flushed
+ * as soon as its request finishes and carries the request key, so on restart
+ * every key already present in the output is skipped. A torn last line from a
+ * crash is cut off before new records are appended.
+ */
+public final class BatchCheckpoint {
+
+    private BatchCheckpoint() {
+    }
+
+    /**
+     * Reads the keys of completed requests and repairs a partially written tail.
+     *
+     * @param retryErrors if true, requests that previously failed are run again
+     */
+    public static Set<String> load(Path output, boolean retryErrors) throws IOException {
+        Set<String> done = new HashSet<>();
+        if (!Files.exists(output)) {
+            return done;
+        }
+        // Offsets come from the raw bytes; records end with '\n' whatever the platform
+        long validBytes = 0;
+        long offset = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(output))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                validBytes = offset;
+                // A complete line that does not parse is left in place and its request run again
+                JsonObject record = parse(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+                if (record == null) {
+                    continue;
+                }
+                boolean failed = "error".equals(stringOrNull(record, "status"));
+                String key = stringOrNull(record, "key");
+                if (key != null && !(failed && retryErrors)) {
+                    done.add(key);
+                }
+            }
+        }
+        // Only bytes after the last newline (a record torn by a crash) are cut off
+        truncate(output, validBytes);
+        return done;
+    }
+
+    private static JsonObject parse(String line) {
+        try {
+            JsonElement e = JsonParser.parseString(line);
+            return e.isJsonObject() ? e.getAsJsonObject() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String stringOrNull(JsonObject o, String name) {
+        JsonElement e = o.get(name);
+        return e == null || e.isJsonNull() ? null : e.getAsString();
+    }
+
+    private static void truncate(Path output, long validBytes) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(output.toFile(), "rw")) {
+            if (file.length() > validBytes) {
+                file.setLength(validBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package placefinder.frameworks_drivers.batch;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.entities.*;
+import placefinder.frameworks_drivers.api.GeoApifyPlacesGatewayImpl;
+import placefinder.frameworks_drivers.api.OpenCageGeocodingGateway;
+import placefinder.frameworks_drivers.api.OpenMeteoWeatherGatewayImpl;
+import placefinder.frameworks_drivers.api.RequestPriority;
+import placefinder.frameworks_drivers.cache.CachingGeocodingGateway;
+import placefinder.frameworks_drivers.cache.CachingHourlyWeatherGateway;
+import placefinder.frameworks_drivers.cache.CachingPlacesGateway;
+import placefinder.frameworks_drivers.cache.CachingPreferenceGateway;
+import placefinder.frameworks_drivers.cache.CachingWeatherGateway;
+import placefinder.frameworks_drivers.cache.SingleFlightCache;
+import placefinder.frameworks_drivers.database.Database;
+import placefinder.frameworks_drivers.database.SqlitePlacesGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePlanGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePreferenceGatewayImpl;
+import placefinder.frameworks_drivers.database.SqliteUserGatewayImpl;
+import placefinder.frameworks_drivers.metrics.MetricsProxy;
+import placefinder.usecases.buildplan.*;
+import placefinder.usecases.ports.*;
+import placefinder.usecases.preferences.FavoriteLocationResolver;
+import placefinder.usecases.saveplan.*;
+import placefinder.usecases.searchplaces.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Batch mode: generates and saves one plan per line of a JSONL file.
+ *
+ * Each input line is an object such as
+ * <pre>
+ * {"id": "campaign-17", "user": "ann@example.com", "location": "Toronto",
+ *  "date": "2026-06-01", "startTime": "10:00",
+ *  "interests": ["entertainment.museum", "leisure.park"], "maxStops": 5}
+ * </pre>
+ * {@code user} may be an email or a numeric {@code userId}; {@code interests}
+ * (a list of sub-categories or a main-category map) replaces the user's saved
+ * categories for that line only. Every line runs search → build → save through
+ * the same interactors as the app, and one JSONL record is written per line.
+ *
+ * Usage: {@code BatchPlanner <input.jsonl> <output.jsonl> [--parallelism N] [--retry-errors]}.
+ * Re-running with the same output file resumes where the previous run stopped
+ * (see {@link BatchCheckpoint}). Upstream calls are made in the BACKGROUND
+ * rate-limiter lane and share geocoding, places and weather caches, so lines
+ * for the same city and date cost one set of API calls.
+ */
+public class BatchPlanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchPlanner.class);
+
+    private static final String DEFAULT_START_TIME = "09:00";
+    private static final int DEFAULT_MAX_STOPS = 6;
+
+    private final UserGateway userGateway;
+    private final PreferenceGateway preferenceGateway;
+    private final PlanGateway planGateway;
+    private final CachingGeocodingGateway geocodingGateway;
+    private final CachingPlacesGateway placesGateway;
+    private final CachingWeatherGateway weatherGateway;
+    private final CachingHourlyWeatherGateway hourlyWeatherGateway;
+    private final SingleFlightCache<String, Integer> userIds =
+            new SingleFlightCache<>(1, TimeUnit.HOURS, 10_000);
+
+    public BatchPlanner(UserGateway userGateway,
+                        PreferenceGateway preferenceGateway,
+                        PlanGateway planGateway,
+                        GeocodingGateway geocodingGateway,
+                        PlacesGateway placesGateway,
+                        WeatherGateway weatherGateway,
+                        HourlyWeatherGateway hourlyWeatherGateway) {
+        this.userGateway = userGateway;
+        this.preferenceGateway = preferenceGateway;
+        this.planGateway = planGateway;
+        this.geocodingGateway = new CachingGeocodingGateway(geocodingGateway);
+        this.placesGateway = new CachingPlacesGateway(placesGateway);
+        this.weatherGateway = new CachingWeatherGateway(weatherGateway);
+        this.hourlyWeatherGateway = new CachingHourlyWeatherGateway(hourlyWeatherGateway);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchPlanner <input.jsonl> <output.jsonl> [--parallelism N] [--retry-errors]");
+            System.exit(2);
+        }
+        int parallelism = 8;
+        boolean retryErrors = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--parallelism") && i + 1 < args.length) {
+                parallelism = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--retry-errors")) {
+                retryErrors = true;
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        // Ensure database is initialized (triggers static init)
+        Database.getConnection().close();
+
+        BatchPlanner planner = new BatchPlanner(
+                MetricsProxy.wrap(UserGateway.class, new SqliteUserGatewayImpl(), "gateway.user"),
+                new CachingPreferenceGateway(MetricsProxy.wrap(PreferenceGateway.class,
+                        new SqlitePreferenceGatewayImpl(), "gateway.preference")),
+                MetricsProxy.wrap(PlanGateway.class, new SqlitePlanGatewayImpl(), "gateway.plan"),
+                MetricsProxy.wrap(GeocodingGateway.class, new OpenCageGeocodingGateway(), "gateway.geocoding"),
+                MetricsProxy.wrap(PlacesGateway.class, SqlitePlacesGatewayImpl.isEnabled()
+                        ? new SqlitePlacesGatewayImpl() : new GeoApifyPlacesGatewayImpl(), "gateway.places"),
+                MetricsProxy.wrap(WeatherGateway.class, new OpenMeteoWeatherGatewayImpl(), "gateway.weather"),
+                MetricsProxy.wrap(HourlyWeatherGateway.class, new OpenMeteoWeatherGatewayImpl(),
+                        "gateway.hourlyWeather"));
+        BatchProgress progress = planner.run(Paths.get(args[0]), Paths.get(args[1]), parallelism, retryErrors);
+        System.exit(progress.getFailed() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Processes every line of {@code input} not already recorded in {@code output},
+     * with at most {@code parallelism} lines in flight.
+     */
+    public BatchProgress run(Path input, Path output, int parallelism, boolean retryErrors)
+            throws IOException, InterruptedException {
+        Set<String> done = BatchCheckpoint.load(output, retryErrors);
+        if (!done.isEmpty()) {
+            LOG.info("Resuming: {} requests already completed in {}", done.size(), output);
+        }
+
+        BatchProgress progress = new BatchProgress();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, daemonThreads("batch-worker"));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(daemonThreads("batch-progress"));
+        reporter.scheduleAtFixedRate(() -> progress.report(cacheStats()), 5, 5, TimeUnit.SECONDS);
+        // Bounds the lines read ahead of the workers so huge inputs stream in constant memory
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String raw = line;
+                int number = lineNumber;
+                String key = keyOf(raw, number);
+                if (done.contains(key)) {
+                    progress.skipped();
+                    continue;
+                }
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        JsonObject record = process(raw, number, key);
+                        if ("ok".equals(record.get("status").getAsString())) {
+                            progress.succeeded();
+                        } else {
+                            progress.failed();
+                        }
+                        write(writer, record);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+        }
+        progress.report(cacheStats());
+        return progress;
+    }
+
+    /**
+     * Runs one line through search → build → save and describes the outcome.
+     */
+    JsonObject process(String raw, int lineNumber, String key) {
+        long start = System.nanoTime();
+        JsonObject record = new JsonObject();
+        record.addProperty("key", key);
+        record.addProperty("line", lineNumber);
+        String stage = "parse";
+        try {
+            JsonObject req = JsonParser.parseString(raw).getAsJsonObject();
+            String location = requireString(req, "location");
+            String date = requireString(req, "date");
+            String startTime = optString(req, "startTime", DEFAULT_START_TIME);
+            int maxStops = req.has("maxStops") ? req.get("maxStops").getAsInt() : DEFAULT_MAX_STOPS;
+
+            stage = "user";
+            int userId = resolveUser(req);
+            PreferenceGateway prefs = req.has("interests")
+                    ? new InterestsOverride(preferenceGateway, parseInterests(req.get("interests")))
+                    : preferenceGateway;
+
+            stage = "search";
+            List<SearchPlacesOutputData> searched = new ArrayList<>(1);
+            RequestPriority.runInBackground(() -> {
+                new SearchPlacesInteractor(prefs, geocodingGateway, placesGateway, weatherGateway, searched::add)
+                        .execute(new SearchPlacesInputData(userId, location, date));
+                return null;
+            });
+            SearchPlacesOutputData search = searched.get(0);
+            if (search.getErrorMessage() != null) {
+                return failure(record, stage, search.getErrorMessage(), start);
+            }
+
+            stage = "build";
+            List<Place> selected = search.getPlaces().subList(0, Math.min(maxStops, search.getPlaces().size()));
+            List<BuildPlanOutputData> built = new ArrayList<>(1);
+            RequestPriority.runInBackground(() -> {
+                new BuildPlanInteractor(prefs, new FavoriteLocationResolver(prefs, geocodingGateway),
+                        hourlyWeatherGateway, built::add)
+                        .execute(new BuildPlanInputData(userId, location, date, startTime,
+                                new ArrayList<>(selected), null));
+                return null;
+            });
+            BuildPlanOutputData build = built.get(0);
+            if (build.getErrorMessage() != null) {
+                return failure(record, stage, build.getErrorMessage(), start);
+            }
+
+            stage = "save";
+            List<SavePlanOutputData> saved = new ArrayList<>(1);
+            new SavePlanInteractor(planGateway, saved::add)
+                    .execute(new SavePlanInputData(build.getPlan(), optString(req, "name", null)));
+            SavePlanOutputData save = saved.get(0);
+            if (!save.isSuccess()) {
+                return failure(record, stage, save.getMessage(), start);
+            }
+
+            Plan plan = save.getPlan();
+            record.addProperty("status", "ok");
+            record.addProperty("planId", plan.getId());
+            record.addProperty("planName", plan.getName());
+            record.addProperty("userId", userId);
+            record.addProperty("originAddress", plan.getOriginAddress());
+            record.addProperty("stops", plan.getRoute().getStops().size());
+            record.addProperty("truncated", build.isTruncated());
+            record.addProperty("weatherUsed", search.isWeatherUsed());
+            record.addProperty("elapsedMs", elapsedMillis(start));
+            return record;
+        } catch (Exception e) {
+            return failure(record, stage, e.getMessage() != null ? e.getMessage() : e.toString(), start);
+        }
+    }
+
+    private int resolveUser(JsonObject req) throws Exception {
+        if (req.has("userId")) {
+            return req.get("userId").getAsInt();
+        }
+        String email = requireString(req, "user");
+        Integer id = userIds.get(email.toLowerCase(Locale.ROOT), () -> {
+            User user = userGateway.findByEmail(email);
+            return user != null ? user.getId() : null;
+        });
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown user: " + email);
+        }
+        return id;
+    }
+
+    /**
+     * Accepts either {"main": ["sub", ...]} or a flat list of sub-categories,
+     * which are grouped under their main category.
+     */
+    private static Map<String, List<String>> parseInterests(JsonElement json) {
+        Map<String, List<String>> result = new HashMap<>();
+        if (json.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> e : json.getAsJsonObject().entrySet()) {
+                List<String> subs = new ArrayList<>();
+                e.getValue().getAsJsonArray().forEach(s -> subs.add(s.getAsString()));
+                result.put(e.getKey(), subs);
+            }
+            return result;
+        }
+        for (JsonElement e : json.getAsJsonArray()) {
+            String sub = e.getAsString();
+            String main = mainCategoryOf(sub);
+            if (main == null) {
+                throw new IllegalArgumentException("Unknown interest: " + sub);
+            }
+            result.computeIfAbsent(main, k -> new ArrayList<>()).add(sub);
+        }
+        return result;
+    }
+
+    private static String mainCategoryOf(String subCategory) {
+        for (String main : DayTripExperienceCategories.getMainCategories()) {
+            if (DayTripExperienceCategories.getSubCategories(main).contains(subCategory)) {
+                return main;
+            }
+        }
+        return null;
+    }
+
+    private static String keyOf(String raw, int lineNumber) {
+        try {
+            JsonObject o = JsonParser.parseString(raw).getAsJsonObject();
+            for (String field : new String[]{"id", "request_id"}) {
+                if (o.has(field) && !o.get(field).isJsonNull()) {
+                    return o.get(field).getAsString();
+                }
+            }
+        } catch (RuntimeException ignored) {
+            // Reported as a parse error when the line is processed
+        }
+        return "line-" + lineNumber;
+    }
+
+    private static JsonObject failure(JsonObject record, String stage, String message, long start) {
+        record.addProperty("status", "error");
+        record.addProperty("stage", stage);
+        record.addProperty("error", message);
+        record.addProperty("elapsedMs", elapsedMillis(start));
+        return record;
+    }
+
+    private static void write(BufferedWriter writer, JsonObject record) {
+        synchronized (writer) {
+            try {
+                writer.write(record.toString());
+                writer.write('\n'); // not newLine(): BatchCheckpoint splits on '\n' on every platform
+                // Flush per record: the output is also the resume checkpoint
+                writer.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not write batch output", e);
+            }
+        }
+    }
+
+    private String cacheStats() {
+        return String.format("cache hit rates: geocode %.0f%%, places %.0f%%, weather %.0f%%, hourly weather %.0f%%",
+                geocodingGateway.getCache().getHitRate() * 100,
+                placesGateway.getCache().getHitRate() * 100,
+                weatherGateway.getCache().getHitRate() * 100,
+                hourlyWeatherGateway.getCache().getHitRate() * 100);
+    }
+
+    private static String requireString(JsonObject o, String name) {
+        String value = optString(o, name, null);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing '" + name + "'");
+        }
+        return value;
+    }
+
+    private static String optString(JsonObject o, String name, String fallback) {
+        JsonElement e = o.get(name);
+        return e == null || e.isJsonNull() ? fallback : e.getAsString();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        return new ThreadFactory() {
+            private int count;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                Thread t = new Thread(r, prefix + "-" + (++count));
+                t.setDaemon(true);
+                return t;
+            }
+        };
+    }
+
+    /**
+     * Serves the user's saved profile with the line's interests in place of
+     * the saved categories; everything else goes to the real gateway.
+     */
+    private static final class InterestsOverride implements PreferenceGateway {
+        private final PreferenceGateway delegate;
+        private final Map<String, List<String>> interests;
+
+        InterestsOverride(PreferenceGateway delegate, Map<String, List<String>> interests) {
+            this.delegate = delegate;
+            this.interests = interests;
+        }
+
+        @Override
+        public PreferenceProfile loadForUser(int userId) throws Exception {
+            PreferenceProfile profile = delegate.loadForUser(userId);
+            return new PreferenceProfile(userId, profile.getRadiusKm(), interests);
+        }
+
+        @Override
+        public void saveForUser(PreferenceProfile profile) throws Exception {
+            delegate.saveForUser(profile);
+        }
+
+        @Override
+        public List<FavoriteLocation> listFavorites(int userId) throws Exception {
+            return delegate.listFavorites(userId);
+        }
+
+        @Override
+        public FavoriteLocation addFavorite(int userId, String name, String address,
+                                            double lat, double lon) throws Exception {
+            return delegate.addFavorite(userId, name, address, lat, lon);
+        }
+
+        @Override
+        public void deleteFavorite(int favoriteId, int userId) throws Exception {
+            delegate.deleteFavorite(favoriteId, userId);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package placefinder.frameworks_drivers.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for a batch, logged periodically and at the end.
+ */
+public class BatchProgress {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchProgress.class);
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private long lastCompleted;
+    private long lastNanos = startNanos;
+
+    public void succeeded() { succeeded.increment(); }
+    public void failed() { failed.increment(); }
+    public void skipped() { skipped.increment(); }
+
+    public long getSucceeded() { return succeeded.sum(); }
+    public long getFailed() { return failed.sum(); }
+    public long getSkipped() { return skipped.sum(); }
+
+    /**
+     * Logs totals with the overall rate and the rate since the previous report.
+     */
+    public synchronized void report(String extra) {
+        long now = System.nanoTime();
+        long completed = succeeded.sum() + failed.sum();
+        double totalSeconds = Math.max(1e-9, (now - startNanos) / 1e9);
+        double windowSeconds = Math.max(1e-9, (now - lastNanos) / 1e9);
+        LOG.info("{} done ({} ok, {} failed, {} skipped) | {}/s overall, {}/s recent{}",
+                completed, succeeded.sum(), failed.sum(), skipped.sum(),
+                String.format("%.1f", completed / totalSeconds),
+                String.format("%.1f", (completed - lastCompleted) / windowSeconds),
+                extra == null ? "" : " | " + extra);
+        lastCompleted = completed;
+        lastNanos = now;
+    }
+}
@@ -0,0 +1,38 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.GeocodeResult;
+import placefinder.usecases.ports.GeocodingGateway;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches geocoding results by normalized query text.
+ */
+public class CachingGeocodingGateway implements GeocodingGateway {
+
+    private final GeocodingGateway delegate;
+    private final SingleFlightCache<String, GeocodeResult> cache;
+
+    public CachingGeocodingGateway(GeocodingGateway delegate) {
+        this(delegate, new SingleFlightCache<>(24, TimeUnit.HOURS, 10_000));
+    }
+
+    public CachingGeocodingGateway(GeocodingGateway delegate, SingleFlightCache<String, GeocodeResult> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public GeocodeResult geocode(String query) throws Exception {
+        if (query == null || query.isBlank()) {
+            return delegate.geocode(query);
+        }
+        String key = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return cache.get(key, () -> delegate.geocode(query));
+    }
+
+    public SingleFlightCache<String, GeocodeResult> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,91 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.HourlyWeatherGrid;
+import placefinder.usecases.ports.HourlyWeatherGateway;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches hourly forecasts per ~1 km grid cell and date, one single-location
+ * {@link HourlyWeatherGrid} per entry. Cells missing from the cache are
+ * fetched together with one delegate call.
+ */
+public class CachingHourlyWeatherGateway implements HourlyWeatherGateway {
+
+    private final HourlyWeatherGateway delegate;
+    private final SingleFlightCache<String, HourlyWeatherGrid> cache;
+
+    public CachingHourlyWeatherGateway(HourlyWeatherGateway delegate) {
+        this(delegate, new SingleFlightCache<>(1, TimeUnit.HOURS, 10_000));
+    }
+
+    public CachingHourlyWeatherGateway(HourlyWeatherGateway delegate,
+                                       SingleFlightCache<String, HourlyWeatherGrid> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public HourlyWeatherGrid getHourlyWeather(double[] lats, double[] lons, LocalDate date) throws Exception {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException(lats.length + " latitudes but " + lons.length + " longitudes");
+        }
+        if (lats.length == 1) {
+            return cache.get(key(lats[0], lons[0], date), () -> delegate.getHourlyWeather(lats, lons, date));
+        }
+
+        HourlyWeatherGrid result = new HourlyWeatherGrid(lats.length, date);
+        // Cache key -> index of the first point that missed; points sharing a cell share a fetch
+        Map<String, Integer> missing = new LinkedHashMap<>();
+        for (int i = 0; i < lats.length; i++) {
+            String key = key(lats[i], lons[i], date);
+            if (missing.containsKey(key)) {
+                continue;
+            }
+            HourlyWeatherGrid cached = cache.peek(key);
+            if (cached != null) {
+                result.copy(i, cached, 0);
+            } else {
+                missing.put(key, missing.size());
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        double[] fetchLats = new double[missing.size()];
+        double[] fetchLons = new double[missing.size()];
+        for (int i = lats.length - 1; i >= 0; i--) {
+            Integer j = missing.get(key(lats[i], lons[i], date));
+            if (j != null) {
+                fetchLats[j] = lats[i];
+                fetchLons[j] = lons[i];
+            }
+        }
+        HourlyWeatherGrid fetched = delegate.getHourlyWeather(fetchLats, fetchLons, date);
+        for (Map.Entry<String, Integer> e : missing.entrySet()) {
+            HourlyWeatherGrid cell = new HourlyWeatherGrid(1, date);
+            cell.copy(0, fetched, e.getValue());
+            cache.put(e.getKey(), cell);
+        }
+        for (int i = 0; i < lats.length; i++) {
+            Integer j = missing.get(key(lats[i], lons[i], date));
+            if (j != null) {
+                result.copy(i, fetched, j);
+            }
+        }
+        return result;
+    }
+
+    private static String key(double lat, double lon, LocalDate date) {
+        return String.format(Locale.ROOT, "%.2f,%.2f,%s", lat, lon, date);
+    }
+
+    public SingleFlightCache<String, HourlyWeatherGrid> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,60 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.Place;
+import placefinder.usecases.ports.PlacesGateway;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches place searches by location, radius and category selection.
+ *
+ * Callers get a fresh list of copied places each time, because interactors
+ * sort and trim the result they receive.
+ */
+public class CachingPlacesGateway implements PlacesGateway {
+
+    private final PlacesGateway delegate;
+    private final SingleFlightCache<String, List<Place>> cache;
+
+    public CachingPlacesGateway(PlacesGateway delegate) {
+        this(delegate, new SingleFlightCache<>(6, TimeUnit.HOURS, 5_000));
+    }
+
+    public CachingPlacesGateway(PlacesGateway delegate, SingleFlightCache<String, List<Place>> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<Place> searchPlaces(double lat, double lon, double radiusKm,
+                                    Map<String, List<String>> selectedCategories) throws Exception {
+        List<Place> places = cache.get(key(lat, lon, radiusKm, selectedCategories),
+                () -> delegate.searchPlaces(lat, lon, radiusKm, selectedCategories));
+        List<Place> copy = new ArrayList<>(places.size());
+        for (Place p : places) {
+            copy.add(new Place(p));
+        }
+        return copy;
+    }
+
+    public SingleFlightCache<String, List<Place>> getCache() {
+        return cache;
+    }
+
+    private static String key(double lat, double lon, double radiusKm, Map<String, List<String>> categories) {
+        StringBuilder sb = new StringBuilder();
+        // ~1 m precision: distinct geocodes of the same address collapse together
+        sb.append(String.format(Locale.ROOT, "%.5f,%.5f,%.3f", lat, lon, radiusKm));
+        if (categories != null) {
+            for (String main : new TreeSet<>(categories.keySet())) {
+                List<String> subs = categories.get(main);
+                sb.append('|').append(main).append(':');
+                if (subs != null) {
+                    sb.append(String.join(",", new TreeSet<>(subs)));
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.Plan;
+import placefinder.usecases.ports.PlanChangeListener;
+import placefinder.usecases.ports.PlanGateway;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Per-user, write-through read model of plan summaries (plans without routes)
+ * in {@link PlanGateway#NEWEST_FIRST} order.
+ *
+ * The first {@link #findPlansByUser} for a user loads the list; after that
+ * saves and deletes made through this gateway are applied to it in place, so
+ * listing plans costs no SQL and no category parsing. Each applied write is
+ * then published to the {@link PlanChangeListener}s. As with
+ * {@link CachingPreferenceGateway}, this process must be the only writer for
+ * a user's plans. Searches and single-plan reads go straight to the delegate.
+ */
+public class CachingPlanGateway implements PlanGateway {
+
+    private final PlanGateway delegate;
+    private final Map<Integer, List<Plan>> summaries = new ConcurrentHashMap<>();
+    // Serializes loads and writes per user so a slow miss cannot overwrite a newer save
+    private final Map<Integer, Object> locks = new ConcurrentHashMap<>();
+    private final List<PlanChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CachingPlanGateway(PlanGateway delegate) {
+        this.delegate = delegate;
+    }
+
+    public void addListener(PlanChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public Plan savePlan(Plan plan) throws Exception {
+        synchronized (lockFor(plan.getUserId())) {
+            Plan saved;
+            try {
+                saved = delegate.savePlan(plan);
+            } catch (Exception e) {
+                // It may still have been stored (e.g. if the wait was interrupted); reload on next read
+                summaries.remove(plan.getUserId());
+                throw e;
+            }
+            Plan summary = saved.withRoute(null);
+            List<Plan> cached = summaries.get(saved.getUserId());
+            if (cached != null) {
+                List<Plan> updated = new ArrayList<>(cached);
+                updated.removeIf(p -> p.getId().equals(summary.getId()));
+                int index = Collections.binarySearch(updated, summary, NEWEST_FIRST);
+                updated.add(index < 0 ? -index - 1 : index, summary);
+                summaries.put(saved.getUserId(), Collections.unmodifiableList(updated));
+            }
+            for (PlanChangeListener listener : listeners) {
+                listener.planSaved(summary);
+            }
+            return saved;
+        }
+    }
+
+    @Override
+    public List<Plan> findPlansByUser(int userId) throws Exception {
+        List<Plan> cached = summaries.get(userId);
+        if (cached == null) {
+            synchronized (lockFor(userId)) {
+                cached = summaries.get(userId);
+                if (cached == null) {
+                    cached = Collections.unmodifiableList(new ArrayList<>(delegate.findPlansByUser(userId)));
+                    summaries.put(userId, cached);
+                }
+            }
+        }
+        // Plans are immutable, so the read-only list itself is handed out
+        return cached;
+    }
+
+    @Override
+    public List<Plan> findPlansNear(int userId, double lat, double lon, double radiusKm) throws Exception {
+        return delegate.findPlansNear(userId, lat, lon, radiusKm);
+    }
+
+    @Override
+    public List<Plan> searchPlans(int userId, String query, int limit) throws Exception {
+        return delegate.searchPlans(userId, query, limit);
+    }
+
+    @Override
+    public Plan findPlanWithStops(int planId) throws Exception {
+        return delegate.findPlanWithStops(planId);
+    }
+
+    @Override
+    public void deletePlan(int planId, int userId) throws Exception {
+        synchronized (lockFor(userId)) {
+            try {
+                delegate.deletePlan(planId, userId);
+            } catch (Exception e) {
+                // The row may or may not be gone; reload on next read
+                summaries.remove(userId);
+                throw e;
+            }
+            List<Plan> cached = summaries.get(userId);
+            if (cached != null) {
+                List<Plan> updated = new ArrayList<>(cached);
+                updated.removeIf(p -> p.getId() == planId);
+                summaries.put(userId, Collections.unmodifiableList(updated));
+            }
+            for (PlanChangeListener listener : listeners) {
+                listener.planDeleted(planId, userId);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached plans of a user, e.g. after their rows were changed elsewhere.
+     */
+    public void invalidate(int userId) {
+        synchronized (lockFor(userId)) {
+            summaries.remove(userId);
+        }
+    }
+
+    private Object lockFor(int userId) {
+        return locks.computeIfAbsent(userId, id -> new Object());
+    }
+}
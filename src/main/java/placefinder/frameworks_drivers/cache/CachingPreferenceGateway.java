@@ -0,0 +1,135 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.FavoriteLocation;
+import placefinder.entities.PreferenceProfile;
+import placefinder.usecases.ports.PreferenceGateway;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user write-through cache for preferences and favorite locations.
+ *
+ * Reads after the first one for a user cost no SQL. Writes go to the delegate
+ * first and only then replace the cached entry, so the cache never holds data
+ * that failed to persist. This process must be the only writer for a user's
+ * rows; other processes sharing the database file keep their own caches.
+ *
+ * PreferenceProfile is immutable, so the cached profile itself is handed out.
+ * FavoriteLocation is not, so favorites are copied on the way in and out.
+ */
+public class CachingPreferenceGateway implements PreferenceGateway {
+
+    private final PreferenceGateway delegate;
+    private final Map<Integer, PreferenceProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<Integer, List<FavoriteLocation>> favorites = new ConcurrentHashMap<>();
+    // Serializes loads and writes per user so a slow miss cannot overwrite a newer save
+    private final Map<Integer, Object> locks = new ConcurrentHashMap<>();
+
+    public CachingPreferenceGateway(PreferenceGateway delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PreferenceProfile loadForUser(int userId) throws Exception {
+        PreferenceProfile profile = profiles.get(userId);
+        if (profile == null) {
+            synchronized (lockFor(userId)) {
+                profile = profiles.get(userId);
+                if (profile == null) {
+                    profile = delegate.loadForUser(userId);
+                    profiles.put(userId, profile);
+                }
+            }
+        }
+        return profile;
+    }
+
+    @Override
+    public void saveForUser(PreferenceProfile profile) throws Exception {
+        synchronized (lockFor(profile.getUserId())) {
+            delegate.saveForUser(profile);
+            profiles.put(profile.getUserId(), profile);
+        }
+    }
+
+    @Override
+    public List<FavoriteLocation> listFavorites(int userId) throws Exception {
+        List<FavoriteLocation> cached = favorites.get(userId);
+        if (cached == null) {
+            synchronized (lockFor(userId)) {
+                cached = favorites.get(userId);
+                if (cached == null) {
+                    cached = snapshotOf(delegate.listFavorites(userId));
+                    favorites.put(userId, cached);
+                }
+            }
+        }
+        return copyOf(cached);
+    }
+
+    @Override
+    public FavoriteLocation addFavorite(int userId, String name, String address, double lat, double lon) throws Exception {
+        synchronized (lockFor(userId)) {
+            FavoriteLocation added = delegate.addFavorite(userId, name, address, lat, lon);
+            List<FavoriteLocation> cached = favorites.get(userId);
+            if (added != null && cached != null) {
+                List<FavoriteLocation> updated = new ArrayList<>(cached);
+                updated.add(copy(added));
+                favorites.put(userId, Collections.unmodifiableList(updated));
+            } else if (added == null) {
+                favorites.remove(userId);
+            }
+            return added;
+        }
+    }
+
+    @Override
+    public void deleteFavorite(int favoriteId, int userId) throws Exception {
+        synchronized (lockFor(userId)) {
+            try {
+                delegate.deleteFavorite(favoriteId, userId);
+            } catch (Exception e) {
+                // The row may or may not be gone; reload on next read
+                favorites.remove(userId);
+                throw e;
+            }
+            List<FavoriteLocation> cached = favorites.get(userId);
+            if (cached != null) {
+                List<FavoriteLocation> updated = new ArrayList<>(cached);
+                updated.removeIf(f -> f.getId() != null && f.getId() == favoriteId);
+                favorites.put(userId, Collections.unmodifiableList(updated));
+            }
+        }
+    }
+
+    /**
+     * Drops everything cached for a user, e.g. after their rows were changed elsewhere.
+     */
+    public void invalidate(int userId) {
+        synchronized (lockFor(userId)) {
+            profiles.remove(userId);
+            favorites.remove(userId);
+        }
+    }
+
+    private Object lockFor(int userId) {
+        return locks.computeIfAbsent(userId, id -> new Object());
+    }
+
+    private static List<FavoriteLocation> snapshotOf(List<FavoriteLocation> list) {
+        return Collections.unmodifiableList(copyOf(list));
+    }
+
+    private static List<FavoriteLocation> copyOf(List<FavoriteLocation> list) {
+        List<FavoriteLocation> copy = new ArrayList<>(list.size());
+        for (FavoriteLocation f : list) {
+            copy.add(copy(f));
+        }
+        return copy;
+    }
+
+    private static FavoriteLocation copy(FavoriteLocation f) {
+        return new FavoriteLocation(f.getId(), f.getUserId(), f.getName(), f.getAddress(), f.getLat(), f.getLon());
+    }
+}
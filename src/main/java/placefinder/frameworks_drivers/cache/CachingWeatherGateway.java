@@ -0,0 +1,109 @@
+package placefinder.frameworks_drivers.cache;
+
+import placefinder.entities.DailyWeatherGrid;
+import placefinder.entities.WeatherSummary;
+import placefinder.usecases.ports.WeatherGateway;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches daily forecasts per ~1 km grid cell and date.
+ *
+ * Each entry is a one-cell {@link DailyWeatherGrid}. A batched lookup answers
+ * what it can from the cache and fetches the remaining cells with a single
+ * delegate call; batched misses are not coalesced with concurrent lookups.
+ */
+public class CachingWeatherGateway implements WeatherGateway {
+
+    private final WeatherGateway delegate;
+    private final SingleFlightCache<String, DailyWeatherGrid> cache;
+
+    public CachingWeatherGateway(WeatherGateway delegate) {
+        this(delegate, new SingleFlightCache<>(1, TimeUnit.HOURS, 10_000));
+    }
+
+    public CachingWeatherGateway(WeatherGateway delegate, SingleFlightCache<String, DailyWeatherGrid> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public WeatherSummary getDailyWeather(double lat, double lon, LocalDate date) throws Exception {
+        DailyWeatherGrid cell = cache.get(key(cellOf(lat, lon), date),
+                () -> delegate.getDailyWeather(new double[]{lat}, new double[]{lon}, date, date));
+        return cell.summary(0, 0);
+    }
+
+    @Override
+    public DailyWeatherGrid getDailyWeather(double[] lats, double[] lons,
+                                            LocalDate startDate, LocalDate endDate) throws Exception {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException(lats.length + " latitudes but " + lons.length + " longitudes");
+        }
+        DailyWeatherGrid result = new DailyWeatherGrid(lats.length, startDate, endDate);
+        int days = result.getDays();
+
+        // Grid cell -> index of the first point in it that missed; points sharing a cell share a fetch
+        Map<String, Integer> missing = new LinkedHashMap<>();
+        for (int i = 0; i < lats.length; i++) {
+            String cell = cellOf(lats[i], lons[i]);
+            if (missing.containsKey(cell)) {
+                continue;
+            }
+            for (int d = 0; d < days; d++) {
+                DailyWeatherGrid cached = cache.peek(key(cell, startDate.plusDays(d)));
+                if (cached == null) {
+                    missing.put(cell, missing.size());
+                    break;
+                }
+                result.copy(i, d, cached, 0, 0);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            double[] fetchLats = new double[missing.size()];
+            double[] fetchLons = new double[missing.size()];
+            for (int i = lats.length - 1; i >= 0; i--) {
+                Integer j = missing.get(cellOf(lats[i], lons[i]));
+                if (j != null) {
+                    fetchLats[j] = lats[i];
+                    fetchLons[j] = lons[i];
+                }
+            }
+            DailyWeatherGrid fetched = delegate.getDailyWeather(fetchLats, fetchLons, startDate, endDate);
+            for (Map.Entry<String, Integer> e : missing.entrySet()) {
+                for (int d = 0; d < days; d++) {
+                    LocalDate date = startDate.plusDays(d);
+                    DailyWeatherGrid cell = new DailyWeatherGrid(1, date, date);
+                    cell.copy(0, 0, fetched, e.getValue(), d);
+                    cache.put(key(e.getKey(), date), cell);
+                }
+            }
+            for (int i = 0; i < lats.length; i++) {
+                Integer j = missing.get(cellOf(lats[i], lons[i]));
+                if (j != null) {
+                    for (int d = 0; d < days; d++) {
+                        result.copy(i, d, fetched, j, d);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String cellOf(double lat, double lon) {
+        return String.format(Locale.ROOT, "%.2f,%.2f", lat, lon);
+    }
+
+    private static String key(String cell, LocalDate date) {
+        return cell + "," + date;
+    }
+
+    public SingleFlightCache<String, DailyWeatherGrid> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,152 @@
+package placefinder.frameworks_drivers.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent memoizing cache with request coalescing.
+ *
+ * When several threads ask for the same missing key at once, only the first
+ * runs the loader; the others wait for its result. Null results are cached
+ * too (e.g. "address not found"), failures are not. Entries expire after a
+ * fixed time-to-live. Once the cache grows past its size bound, expired
+ * entries are dropped first and then arbitrary ones, in the map's iteration
+ * order (not by age or use), until it is back within the bound.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SingleFlightCache(long ttl, TimeUnit unit, int maxEntries) {
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(K key, Callable<V> loader) throws Exception {
+        long now = System.nanoTime();
+        Entry<V> existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now, ttlNanos)) {
+            hits.increment();
+            return await(existing.value);
+        }
+
+        Entry<V> mine = new Entry<>(now);
+        Entry<V> winner = existing == null
+                ? entries.putIfAbsent(key, mine)
+                : (entries.replace(key, existing, mine) ? null : entries.get(key));
+        if (winner != null && winner != mine) {
+            hits.increment();
+            return await(winner.value);
+        }
+
+        misses.increment();
+        try {
+            V value = loader.call();
+            mine.value.complete(value);
+            evictIfNeeded();
+            return value;
+        } catch (Exception | Error e) {
+            entries.remove(key, mine);
+            mine.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the loaded, unexpired value for the key, or null if there is none
+     *         yet; counted as a hit or a miss like {@link #get}
+     */
+    public V peek(K key) {
+        Entry<V> existing = entries.get(key);
+        if (existing != null && !existing.isExpired(System.nanoTime(), ttlNanos)
+                && existing.value.isDone() && !existing.value.isCompletedExceptionally()) {
+            hits.increment();
+            return existing.value.join();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a value loaded outside {@link #get}, e.g. as part of a batch.
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>(System.nanoTime());
+        entry.value.complete(value);
+        entries.put(key, entry);
+        evictIfNeeded();
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.isExpired(now, ttlNanos));
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final long createdNanos;
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+
+        Entry(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - createdNanos > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package placefinder.frameworks_drivers.database;
+
+import placefinder.entities.DayTripExperienceCategories;
+
+import java.util.*;
+
+/**
+ * Converts selected category maps to and from the TEXT column format shared by
+ * preferences.selected_categories and plans.snapshot_categories.
+ *
+ * Format: mainCategory1:subCategory1,subCategory2|mainCategory2:subCategory1,subCategory2
+ */
+public final class CategoryCodec {
+
+    private CategoryCodec() {
+    }
+
+    /**
+     * Parse a stored categories string, keeping every sub-category as stored.
+     */
+    public static Map<String, List<String>> parse(String categoriesStr) {
+        return parse(categoriesStr, false);
+    }
+
+    /**
+     * Parse a stored categories string, dropping sub-categories that are no
+     * longer listed under their main category in {@link DayTripExperienceCategories}.
+     */
+    public static Map<String, List<String>> parseValid(String categoriesStr) {
+        return parse(categoriesStr, true);
+    }
+
+    private static Map<String, List<String>> parse(String categoriesStr, boolean validate) {
+        Map<String, List<String>> result = new HashMap<>();
+        if (categoriesStr == null || categoriesStr.isBlank()) {
+            return result;
+        }
+        String[] mainCategories = categoriesStr.split("\\|");
+        for (String mainCatEntry : mainCategories) {
+            if (mainCatEntry.isEmpty()) continue;
+            String[] parts = mainCatEntry.split(":", 2);
+            if (parts.length == 2) {
+                String mainCategory = parts[0].trim();
+                String subCategoriesStr = parts[1].trim();
+                if (!mainCategory.isEmpty() && !subCategoriesStr.isEmpty()) {
+                    // Get valid sub-categories for this main category
+                    List<String> validSubCategories = validate
+                            ? DayTripExperienceCategories.getSubCategories(mainCategory)
+                            : null;
+
+                    List<String> subCategories = new ArrayList<>();
+                    for (String sub : subCategoriesStr.split(",")) {
+                        String trimmed = sub.trim();
+                        if (trimmed.isEmpty()) continue;
+                        if (validSubCategories != null && !validSubCategories.contains(trimmed)) continue;
+                        subCategories.add(trimmed);
+                    }
+                    if (!subCategories.isEmpty()) {
+                        result.put(mainCategory, subCategories);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Serialize categories to the stored string form.
+     */
+    public static String serialize(Map<String, List<String>> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : categories.entrySet()) {
+            String mainCategory = entry.getKey();
+            List<String> subCategories = entry.getValue();
+            if (mainCategory != null && !mainCategory.isEmpty() &&
+                subCategories != null && !subCategories.isEmpty()) {
+                if (sb.length() > 0) {
+                    sb.append('|');
+                }
+                sb.append(mainCategory).append(':').append(String.join(",", subCategories));
+            }
+        }
+        return sb.toString();
+    }
+}
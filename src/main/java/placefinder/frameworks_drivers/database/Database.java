@@ -1,26 +1,99 @@
 package placefinder.frameworks_drivers.database;
 
+import placefinder.frameworks_drivers.jfr.JfrJdbc;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Database {
 
-    private static final String DB_URL = "jdbc:sqlite:placefinder.db";
+    /** Override with -Dplacefinder.db.url, e.g. to point load tests at a scratch file. */
+    private static final String DB_URL = System.getProperty("placefinder.db.url", "jdbc:sqlite:placefinder.db");
+    // How long a connection waits for another process's lock before failing
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private static final ReaderPool READERS =
+            new ReaderPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
 
     static {
         init();
     }
 
+    /**
+     * A pooled connection for reads; close it to return it. Writes go through
+     * {@link #writer()} instead.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+        // Wrapped only while a JFR recording is capturing SQL statements
+        return JfrJdbc.trace(READERS.borrow());
     }
 
-    private static void init() {
+    /**
+     * The single writer all application writes are queued to.
+     */
+    public static DatabaseWriter writer() {
+        return WriterHolder.WRITER;
+    }
+
+    private static final class WriterHolder {
+        static final DatabaseWriter WRITER = createWriter();
+
+        private static DatabaseWriter createWriter() {
+            try {
+                Connection conn = open();
+                try (Statement stmt = conn.createStatement()) {
+                    // Only this connection writes, so it alone needs to enforce the cascades
+                    stmt.execute("PRAGMA foreign_keys = ON");
+                    stmt.execute("PRAGMA synchronous = FULL");
+                }
+                return new DatabaseWriter(conn);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not open the database writer", e);
+            }
+        }
+    }
+
+    /**
+     * A new, unpooled connection.
+     */
+    static Connection open() throws SQLException {
+        Connection conn = DriverManager.getConnection(DB_URL);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+        }
+        return conn;
+    }
+
+    /**
+     * Creates the schema (via the static initializer) and runs a first query so
+     * the driver, its native library and the page cache are loaded before the
+     * first user action needs them. Meant to be called off the UI thread.
+     */
+    public static void warmUp() {
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
+            stmt.executeQuery("SELECT count(*) FROM users").close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Database is not usable", e);
+        }
+    }
 
+    /**
+     * Creates or upgrades the schema. A failure is fatal: carrying on with a
+     * half-migrated schema only moves the error to every later query.
+     */
+    private static void init() {
+        try (Connection conn = open();
+             Statement stmt = conn.createStatement()) {
+
+            // Readers then see the last commit without blocking the writer, and a
+            // commit appends to the log instead of rewriting pages in place
+            stmt.execute("PRAGMA journal_mode = WAL");
             stmt.execute("PRAGMA foreign_keys = ON");
 
             stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
@@ -58,8 +131,8 @@ public class Database {
                     "id INTEGER PRIMARY KEY AUTOINCREMENT," +
                     "user_id INTEGER NOT NULL," +
                     "name TEXT NOT NULL," +
-                    "date TEXT NOT NULL," +
-                    "start_time TEXT NOT NULL," +
+                    "date_day INTEGER NOT NULL," +      // LocalDate.toEpochDay()
+                    "start_minute INTEGER NOT NULL," +  // minutes after midnight
                     "origin_address TEXT NOT NULL," +
                     "snapshot_radius_km REAL NOT NULL," +
                     "snapshot_categories TEXT," +
@@ -72,22 +145,328 @@ public class Database {
                 // Column already exists, ignore
             }
 
+            // One row per place used in any plan, shared by all stops at that place.
+            // place_id is Geoapify's id; places without one belong to a single stop.
+            stmt.execute("CREATE TABLE IF NOT EXISTS places (" +
+                    "id INTEGER PRIMARY KEY," +
+                    "place_id TEXT UNIQUE," +
+                    "name TEXT NOT NULL," +
+                    "address TEXT," +
+                    "lat REAL," +
+                    "lon REAL," +
+                    "place_type TEXT NOT NULL," +
+                    "categories TEXT NOT NULL" +
+                    ")");
+
             stmt.execute("CREATE TABLE IF NOT EXISTS plan_stops (" +
                     "id INTEGER PRIMARY KEY AUTOINCREMENT," +
                     "plan_id INTEGER NOT NULL," +
                     "seq INTEGER NOT NULL," +
-                    "place_id TEXT," +
-                    "place_name TEXT NOT NULL," +
-                    "place_address TEXT," +
-                    "lat REAL," +
-                    "lon REAL," +
+                    "place_ref INTEGER," +
+                    "start_minute INTEGER NOT NULL," +
+                    "end_minute INTEGER NOT NULL," +
+                    "FOREIGN KEY(plan_id) REFERENCES plans(id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(place_ref) REFERENCES places(id)" +
+                    ")");
+
+            if (!hasColumn(stmt, "plan_stops", "place_ref")) {
+                movePlacesOutOfPlanStops(conn, stmt);
+            }
+            if (!hasColumn(stmt, "plans", "date_day")) {
+                storeDatesAndTimesAsIntegers(conn, stmt);
+            }
+
+            // Serves a user's plan list in date order and date-range filters such as upcoming plans
+            stmt.execute("CREATE INDEX IF NOT EXISTS plans_user_date ON plans(user_id, date_day, id)");
+
+            // Stops are always read, replaced and aggregated per plan
+            stmt.execute("CREATE INDEX IF NOT EXISTS plan_stops_plan_id ON plan_stops(plan_id, seq)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS plan_stops_place_ref ON plan_stops(place_ref)");
+            // A place without a Geoapify id is only used by its own stop
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_stops_place_delete AFTER DELETE ON plan_stops BEGIN " +
+                    "DELETE FROM places WHERE id = OLD.place_ref AND place_id IS NULL; " +
+                    "END");
+
+            createPlanStopIndex(stmt);
+            createPlanSearchIndex(stmt);
+
+            // Offline places, filled by PoiImporter and read by SqlitePlacesGatewayImpl
+            stmt.execute("CREATE TABLE IF NOT EXISTS poi_categories (" +
+                    "id INTEGER PRIMARY KEY," +
+                    "name TEXT NOT NULL UNIQUE" +
+                    ")");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS pois (" +
+                    "id INTEGER PRIMARY KEY," +
+                    "place_id TEXT NOT NULL UNIQUE," +
+                    "name TEXT NOT NULL," +
+                    "address TEXT NOT NULL," +
+                    "lat REAL NOT NULL," +
+                    "lon REAL NOT NULL," +
+                    "place_type TEXT NOT NULL," +
+                    "categories TEXT NOT NULL" +
+                    ")");
+
+            stmt.execute("CREATE TABLE IF NOT EXISTS poi_category_links (" +
+                    "poi_id INTEGER NOT NULL," +
+                    "category_id INTEGER NOT NULL," +
+                    "PRIMARY KEY(poi_id, category_id)," +
+                    "FOREIGN KEY(poi_id) REFERENCES pois(id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(category_id) REFERENCES poi_categories(id)" +
+                    ") WITHOUT ROWID");
+
+            // Points are stored as zero-size boxes; id matches pois.id
+            stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS poi_rtree USING rtree(" +
+                    "id, min_lat, max_lat, min_lon, max_lon)");
+
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create or upgrade the database schema", e);
+        }
+    }
+
+    private static boolean hasColumn(Statement stmt, String table, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Upgrades plan_stops from copying the place's name, address and
+     * coordinates into every row to referencing a shared places row. The most
+     * recently saved copy of each Geoapify place wins; stops whose place had no
+     * id get a place of their own. Stop ids are kept, so the stop and search
+     * indexes stay valid. All triggers are dropped because some read the old
+     * columns; init recreates them. Stops whose plan no longer exists (older
+     * versions deleted plans without cascading) are dropped rather than
+     * copied, since the new table enforces the foreign key.
+     */
+    private static void movePlacesOutOfPlanStops(Connection conn, Statement stmt) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            dropAllTriggers(stmt);
+            stmt.execute("DELETE FROM plan_stops WHERE plan_id NOT IN (SELECT id FROM plans)");
+            stmt.execute("ALTER TABLE plan_stops RENAME TO plan_stops_old");
+            stmt.execute("CREATE TABLE plan_stops (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "plan_id INTEGER NOT NULL," +
+                    "seq INTEGER NOT NULL," +
+                    "place_ref INTEGER," +
                     "start_time TEXT NOT NULL," +
                     "end_time TEXT NOT NULL," +
-                    "FOREIGN KEY(plan_id) REFERENCES plans(id) ON DELETE CASCADE" +
+                    "FOREIGN KEY(plan_id) REFERENCES plans(id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(place_ref) REFERENCES places(id)" +
+                    ")");
+            stmt.execute("INSERT INTO places(place_id, name, address, lat, lon, place_type, categories) " +
+                    "SELECT place_id, place_name, place_address, lat, lon, 'MIXED', '' FROM plan_stops_old " +
+                    "WHERE id IN (SELECT max(id) FROM plan_stops_old WHERE place_id IS NOT NULL GROUP BY place_id) " +
+                    "ON CONFLICT(place_id) DO NOTHING");
+            // Id-less places get id = offset + stop id, so the stop copy below can find them
+            long offset;
+            try (ResultSet rs = stmt.executeQuery("SELECT coalesce(max(id), 0) FROM places")) {
+                rs.next();
+                offset = rs.getLong(1);
+            }
+            // Stops saved without a place have an empty name and no coordinates
+            stmt.execute("INSERT INTO places(id, place_id, name, address, lat, lon, place_type, categories) " +
+                    "SELECT " + offset + " + id, NULL, place_name, place_address, lat, lon, 'MIXED', '' " +
+                    "FROM plan_stops_old WHERE place_id IS NULL AND (place_name <> '' OR lat IS NOT NULL)");
+            stmt.execute("INSERT INTO plan_stops(id, plan_id, seq, place_ref, start_time, end_time) " +
+                    "SELECT s.id, s.plan_id, s.seq, CASE " +
+                    "WHEN s.place_id IS NOT NULL THEN (SELECT p.id FROM places p WHERE p.place_id = s.place_id) " +
+                    "WHEN s.place_name <> '' OR s.lat IS NOT NULL THEN " + offset + " + s.id END, " +
+                    "s.start_time, s.end_time FROM plan_stops_old s");
+            stmt.execute("DROP TABLE plan_stops_old");
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Upgrades plans.date, plans.start_time, plan_stops.start_time and
+     * plan_stops.end_time from ISO text to integers: epoch days and minutes
+     * after midnight. Both tables are rebuilt (SQLite cannot change a column's
+     * type) keeping their ids, so the stop and search indexes stay valid.
+     * Foreign keys are off meanwhile, so dropping the old plans table does not
+     * cascade to the stops.
+     */
+    private static void storeDatesAndTimesAsIntegers(Connection conn, Statement stmt) throws SQLException {
+        // ISO text is "HH:mm" or "HH:mm:ss"; seconds are dropped
+        String minuteOf = "(CAST(substr(%1$s, 1, 2) AS INTEGER) * 60 + CAST(substr(%1$s, 4, 2) AS INTEGER))";
+        stmt.execute("PRAGMA foreign_keys = OFF");
+        conn.setAutoCommit(false);
+        try {
+            dropAllTriggers(stmt);
+            stmt.execute("CREATE TABLE plans_new (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "user_id INTEGER NOT NULL," +
+                    "name TEXT NOT NULL," +
+                    "date_day INTEGER NOT NULL," +
+                    "start_minute INTEGER NOT NULL," +
+                    "origin_address TEXT NOT NULL," +
+                    "snapshot_radius_km REAL NOT NULL," +
+                    "snapshot_categories TEXT," +
+                    "FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE" +
                     ")");
+            stmt.execute("INSERT INTO plans_new(id, user_id, name, date_day, start_minute, origin_address, " +
+                    "snapshot_radius_km, snapshot_categories) " +
+                    "SELECT id, user_id, name, CAST(julianday(date) - 2440587.5 AS INTEGER), " +
+                    String.format(minuteOf, "start_time") + ", origin_address, snapshot_radius_km, " +
+                    "snapshot_categories FROM plans");
+            stmt.execute("DROP TABLE plans");
+            stmt.execute("ALTER TABLE plans_new RENAME TO plans");
 
+            stmt.execute("CREATE TABLE plan_stops_new (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                    "plan_id INTEGER NOT NULL," +
+                    "seq INTEGER NOT NULL," +
+                    "place_ref INTEGER," +
+                    "start_minute INTEGER NOT NULL," +
+                    "end_minute INTEGER NOT NULL," +
+                    "FOREIGN KEY(plan_id) REFERENCES plans(id) ON DELETE CASCADE," +
+                    "FOREIGN KEY(place_ref) REFERENCES places(id)" +
+                    ")");
+            stmt.execute("INSERT INTO plan_stops_new(id, plan_id, seq, place_ref, start_minute, end_minute) " +
+                    "SELECT id, plan_id, seq, place_ref, " + String.format(minuteOf, "start_time") + ", " +
+                    String.format(minuteOf, "end_time") + " FROM plan_stops");
+            stmt.execute("DROP TABLE plan_stops");
+            stmt.execute("ALTER TABLE plan_stops_new RENAME TO plan_stops");
+            conn.commit();
         } catch (SQLException e) {
-            e.printStackTrace();
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+    }
+
+    /**
+     * Drops every trigger before a table rebuild; init recreates them afterwards.
+     */
+    private static void dropAllTriggers(Statement stmt) throws SQLException {
+        List<String> triggers = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'trigger'")) {
+            while (rs.next()) {
+                triggers.add(rs.getString(1));
+            }
+        }
+        for (String trigger : triggers) {
+            stmt.execute("DROP TRIGGER " + trigger);
+        }
+    }
+
+    /**
+     * R*Tree over the coordinates of plan_stops' places, kept in sync by triggers.
+     * Row ids match plan_stops.id. The owner's user id is a third dimension, so
+     * a per-user area query only visits that user's stops however many other
+     * users share the area; plan_id and user_id are also stored exactly as
+     * auxiliary columns. Stops saved before the index existed are copied in
+     * once, when it is created.
+     */
+    private static void createPlanStopIndex(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'plan_stops_rtree'")) {
+            exists = rs.next();
+        }
+        stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS plan_stops_rtree USING rtree(" +
+                "id, min_user, max_user, min_lat, max_lat, min_lon, max_lon, +plan_id INTEGER, +user_id INTEGER)");
+        String indexRow = "SELECT NEW.id, p.user_id, p.user_id, pl.lat, pl.lat, pl.lon, pl.lon, " +
+                "NEW.plan_id, p.user_id FROM plans p JOIN places pl ON pl.id = NEW.place_ref " +
+                "WHERE p.id = NEW.plan_id AND pl.lat IS NOT NULL AND pl.lon IS NOT NULL";
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_stops_rtree_insert AFTER INSERT ON plan_stops BEGIN " +
+                "INSERT INTO plan_stops_rtree " + indexRow + "; " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_stops_rtree_update AFTER UPDATE OF place_ref, plan_id " +
+                "ON plan_stops BEGIN " +
+                "DELETE FROM plan_stops_rtree WHERE id = OLD.id; " +
+                "INSERT INTO plan_stops_rtree " + indexRow + "; " +
+                "END");
+        // A moved place moves every stop at it
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_stops_rtree_place_update AFTER UPDATE OF lat, lon " +
+                "ON places BEGIN " +
+                "DELETE FROM plan_stops_rtree WHERE id IN (SELECT id FROM plan_stops WHERE place_ref = NEW.id); " +
+                "INSERT INTO plan_stops_rtree SELECT s.id, p.user_id, p.user_id, NEW.lat, NEW.lat, " +
+                "NEW.lon, NEW.lon, s.plan_id, p.user_id FROM plan_stops s JOIN plans p ON p.id = s.plan_id " +
+                "WHERE s.place_ref = NEW.id AND NEW.lat IS NOT NULL AND NEW.lon IS NOT NULL; " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_stops_rtree_delete AFTER DELETE ON plan_stops BEGIN " +
+                "DELETE FROM plan_stops_rtree WHERE id = OLD.id; " +
+                "END");
+        if (!exists) {
+            stmt.execute("INSERT INTO plan_stops_rtree SELECT s.id, p.user_id, p.user_id, pl.lat, pl.lat, " +
+                    "pl.lon, pl.lon, s.plan_id, p.user_id FROM plan_stops s JOIN plans p ON p.id = s.plan_id " +
+                    "JOIN places pl ON pl.id = s.place_ref WHERE pl.lat IS NOT NULL AND pl.lon IS NOT NULL");
+        }
+    }
+
+    /**
+     * FTS5 index with one row per plan (rowid = plans.id) over the plan's name
+     * and origin and the names and addresses of its stops, kept in sync by
+     * triggers. The owner is indexed as a token in its own column so a search
+     * intersects with that user's plans inside the index rather than filtering
+     * every user's matches afterwards. Existing plans are copied in once, when
+     * the index is created.
+     */
+    private static void createPlanSearchIndex(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'plan_search'")) {
+            exists = rs.next();
+        }
+        stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS plan_search USING fts5(" +
+                "owner, name, origin_address, stops, " +
+                "tokenize = 'unicode61 remove_diacritics 2', prefix = '1 2 3')");
+        String stopsOf = "(SELECT group_concat(pl.name || ' ' || coalesce(pl.address, ''), ' ') " +
+                "FROM plan_stops s JOIN places pl ON pl.id = s.place_ref WHERE s.plan_id = %s)";
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_plan_insert AFTER INSERT ON plans BEGIN " +
+                "INSERT INTO plan_search(rowid, owner, name, origin_address, stops) " +
+                "VALUES (NEW.id, 'u' || NEW.user_id, NEW.name, NEW.origin_address, " +
+                String.format(stopsOf, "NEW.id") + "); " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_plan_update " +
+                "AFTER UPDATE OF user_id, name, origin_address ON plans BEGIN " +
+                "UPDATE plan_search SET owner = 'u' || NEW.user_id, name = NEW.name, " +
+                "origin_address = NEW.origin_address WHERE rowid = NEW.id; " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_plan_delete AFTER DELETE ON plans BEGIN " +
+                "DELETE FROM plan_search WHERE rowid = OLD.id; " +
+                "END");
+        // A stop change rewrites its plan's stops column from the (few) stops of that plan
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_stop_insert AFTER INSERT ON plan_stops BEGIN " +
+                "UPDATE plan_search SET stops = " + String.format(stopsOf, "NEW.plan_id") +
+                " WHERE rowid = NEW.plan_id; " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_stop_update " +
+                "AFTER UPDATE OF plan_id, place_ref ON plan_stops BEGIN " +
+                "UPDATE plan_search SET stops = " + String.format(stopsOf, "OLD.plan_id") +
+                " WHERE rowid = OLD.plan_id; " +
+                "UPDATE plan_search SET stops = " + String.format(stopsOf, "NEW.plan_id") +
+                " WHERE rowid = NEW.plan_id; " +
+                "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_stop_delete AFTER DELETE ON plan_stops BEGIN " +
+                "UPDATE plan_search SET stops = " + String.format(stopsOf, "OLD.plan_id") +
+                " WHERE rowid = OLD.plan_id; " +
+                "END");
+        // A renamed place is renamed in every plan that visits it
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS plan_search_place_update AFTER UPDATE OF name, address " +
+                "ON places BEGIN " +
+                "UPDATE plan_search SET stops = " + String.format(stopsOf, "plan_search.rowid") +
+                " WHERE rowid IN (SELECT plan_id FROM plan_stops WHERE place_ref = NEW.id); " +
+                "END");
+        if (!exists) {
+            stmt.execute("INSERT INTO plan_search(rowid, owner, name, origin_address, stops) " +
+                    "SELECT p.id, 'u' || p.user_id, p.name, p.origin_address, " +
+                    String.format(stopsOf, "p.id") + " FROM plans p");
         }
     }
 }
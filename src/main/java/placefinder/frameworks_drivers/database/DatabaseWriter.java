@@ -0,0 +1,155 @@
+package placefinder.frameworks_drivers.database;
+
+import placefinder.frameworks_drivers.jfr.JfrJdbc;
+import placefinder.frameworks_drivers.metrics.LogLinearHistogram;
+import placefinder.frameworks_drivers.metrics.MetricsRegistry;
+import placefinder.frameworks_drivers.metrics.Timer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Owns the one connection the application writes through, on one thread.
+ *
+ * Writes are queued; the thread takes everything that has queued up (up to
+ * {@value #MAX_BATCH} writes) and runs it as a single transaction, each write
+ * inside its own savepoint so a failing write is rolled back alone. A burst
+ * of concurrent writes therefore costs one commit and one WAL fsync rather
+ * than one each, and writers never spin on SQLite's lock.
+ *
+ * Futures complete once the commit is durable (synchronous = FULL). A write
+ * whose batch fails to commit fails with the commit's exception.
+ */
+public final class DatabaseWriter {
+
+    /**
+     * A unit of work run on the writer's connection inside the batch
+     * transaction. It must not commit, roll back, change auto-commit or wait
+     * for another write (which would be queued behind it).
+     */
+    @FunctionalInterface
+    public interface Write<T> {
+        T apply(Connection conn) throws SQLException;
+    }
+
+    private static final int MAX_BATCH = 256;
+
+    private final Connection conn;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final LogLinearHistogram batchSizes = MetricsRegistry.histogram("db.writer.batchSize");
+    private final Timer commits = MetricsRegistry.timer("db.writer.commit");
+
+    DatabaseWriter(Connection conn) throws SQLException {
+        this.conn = conn;
+        conn.setAutoCommit(false);
+        Thread thread = new Thread(this::run, "db-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public <T> CompletableFuture<T> submit(Write<T> write) {
+        Pending<T> pending = new Pending<>(write);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * Submits the write and waits for its commit, rethrowing its failure.
+     * If the caller is interrupted while waiting the write may still commit.
+     */
+    public <T> T execute(Write<T> write) throws SQLException {
+        try {
+            return submit(write).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    private void run() {
+        List<Pending<?>> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            runBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void runBatch(List<Pending<?>> batch) {
+        long start = System.nanoTime();
+        batchSizes.record(batch.size());
+        SQLException commitFailure = null;
+        try {
+            for (Pending<?> pending : batch) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    // Wrapped per write, so a JFR recording started later still sees its SQL
+                    pending.result = pending.write.apply(JfrJdbc.trace(conn));
+                    conn.releaseSavepoint(savepoint);
+                } catch (Throwable t) {
+                    pending.failure = t;
+                    conn.rollback(savepoint);
+                    conn.releaseSavepoint(savepoint);
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            commitFailure = e;
+            try {
+                conn.rollback();
+            } catch (SQLException ignored) {
+                // The next batch starts a new transaction either way
+            }
+        }
+        commits.recordSince(start, commitFailure != null);
+        for (Pending<?> pending : batch) {
+            pending.complete(commitFailure);
+        }
+    }
+
+    private static final class Pending<T> {
+        final Write<T> write;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        Object result;
+        Throwable failure;
+
+        Pending(Write<T> write) {
+            this.write = write;
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(SQLException commitFailure) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (commitFailure != null) {
+                future.completeExceptionally(commitFailure);
+            } else {
+                future.complete((T) result);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package placefinder.frameworks_drivers.database;
+
+import java.util.List;
+
+/**
+ * Lat/lon box enclosing a circle, for R*Tree range queries. Rows inside the
+ * box still need a {@link #haversineKm} check, since the corners lie outside
+ * the circle.
+ */
+final class GeoBox {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    final double minLat;
+    final double maxLat;
+    /**
+     * One {min, max} longitude range normally, two when the circle crosses the
+     * antimeridian, the whole globe when it reaches a pole.
+     */
+    final List<double[]> lonRanges;
+
+    private GeoBox(double minLat, double maxLat, List<double[]> lonRanges) {
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.lonRanges = lonRanges;
+    }
+
+    static GeoBox around(double lat, double lon, double radiusKm) {
+        // Same sphere as haversineKm, so every point it accepts lies inside the box
+        double angle = radiusKm / EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        return new GeoBox(Math.max(-90.0, lat - dLat), Math.min(90.0, lat + dLat),
+                lonRanges(lat, lon, angle, dLat));
+    }
+
+    private static List<double[]> lonRanges(double lat, double lon, double angle, double dLat) {
+        double sinRatio = Math.sin(angle) / Math.cos(Math.toRadians(lat));
+        if (Math.abs(lat) + dLat >= 90.0 || angle >= Math.PI / 2 || sinRatio >= 1.0) {
+            return List.of(new double[]{-180.0, 180.0});
+        }
+        // Widest longitude offset of the circle, reached north of the centre's parallel
+        double dLon = Math.toDegrees(Math.asin(sinRatio));
+        double min = lon - dLon;
+        double max = lon + dLon;
+        if (min < -180.0) {
+            return List.of(new double[]{min + 360.0, 180.0}, new double[]{-180.0, max});
+        }
+        if (max > 180.0) {
+            return List.of(new double[]{min, 180.0}, new double[]{-180.0, max - 360.0});
+        }
+        return List.of(new double[]{min, max});
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,363 @@
+package placefinder.frameworks_drivers.database;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.frameworks_drivers.api.GeoapifyPlacesService;
+import placefinder.frameworks_drivers.api.GeoapifyPlacesService.CleanPlace;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Loads a GeoJSON extract of points of interest into the local database for
+ * {@link SqlitePlacesGatewayImpl}.
+ *
+ * Accepts a FeatureCollection or newline-delimited Feature objects. Features
+ * in Geoapify's shape (properties.categories, name, formatted, place_id) are
+ * cleaned exactly like API results. Plain OSM exports are accepted too: common
+ * amenity/tourism/leisure tags are mapped to the matching Geoapify categories,
+ * and features whose tags map to nothing are skipped. Only point geometries
+ * (or features with lat/lon properties) are imported.
+ *
+ * The file is parsed one feature at a time and written through
+ * {@link Database#writer()} in batches of {@value #BATCH_SIZE} features.
+ * Re-importing a place_id replaces the row.
+ *
+ * Usage: {@code PoiImporter <extract.geojson>}.
+ */
+public class PoiImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PoiImporter.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final Map<String, String> OSM_TAGS = new LinkedHashMap<>();
+
+    static {
+        OSM_TAGS.put("amenity=restaurant", "catering.restaurant");
+        OSM_TAGS.put("amenity=cafe", "catering.cafe");
+        OSM_TAGS.put("amenity=ice_cream", "catering.ice_cream");
+        OSM_TAGS.put("amenity=pub", "catering.pub");
+        OSM_TAGS.put("amenity=bar", "catering.bar");
+        OSM_TAGS.put("amenity=biergarten", "catering.biergarten");
+        OSM_TAGS.put("amenity=cinema", "entertainment.culture.cinema");
+        OSM_TAGS.put("amenity=theatre", "entertainment.culture.theatre");
+        OSM_TAGS.put("amenity=arts_centre", "entertainment.culture.arts_centre");
+        OSM_TAGS.put("amenity=planetarium", "entertainment.culture.planetarium");
+        OSM_TAGS.put("amenity=nightclub", "adult.nightclub");
+        OSM_TAGS.put("amenity=casino", "adult.casino");
+        OSM_TAGS.put("amenity=fountain", "tourism.attraction.fountain");
+        OSM_TAGS.put("amenity=place_of_worship", "tourism.sights.place_of_worship");
+        OSM_TAGS.put("tourism=museum", "entertainment.museum");
+        OSM_TAGS.put("tourism=gallery", "entertainment.culture.gallery");
+        OSM_TAGS.put("tourism=zoo", "entertainment.zoo");
+        OSM_TAGS.put("tourism=aquarium", "entertainment.aquarium");
+        OSM_TAGS.put("tourism=theme_park", "entertainment.theme_park");
+        OSM_TAGS.put("tourism=attraction", "tourism.attraction");
+        OSM_TAGS.put("tourism=viewpoint", "tourism.attraction.viewpoint");
+        OSM_TAGS.put("tourism=artwork", "tourism.attraction.artwork");
+        OSM_TAGS.put("tourism=picnic_site", "leisure.picnic.picnic_site");
+        OSM_TAGS.put("historic=castle", "tourism.sights.castle");
+        OSM_TAGS.put("historic=monument", "tourism.sights.memorial.monument");
+        OSM_TAGS.put("historic=memorial", "tourism.sights.memorial");
+        OSM_TAGS.put("historic=ruins", "tourism.sights.ruines");
+        OSM_TAGS.put("historic=archaeological_site", "tourism.sights.archaeological_site");
+        OSM_TAGS.put("leisure=park", "leisure.park");
+        OSM_TAGS.put("leisure=garden", "leisure.park.garden");
+        OSM_TAGS.put("leisure=nature_reserve", "leisure.park.nature_reserve");
+        OSM_TAGS.put("leisure=playground", "leisure.playground");
+        OSM_TAGS.put("leisure=water_park", "entertainment.water_park");
+        OSM_TAGS.put("leisure=stadium", "sport.stadium");
+        OSM_TAGS.put("leisure=swimming_pool", "sport.swimming_pool");
+        OSM_TAGS.put("leisure=sports_centre", "sport.sports_centre");
+        OSM_TAGS.put("leisure=ice_rink", "sport.ice_rink");
+        OSM_TAGS.put("natural=beach", "beach");
+        OSM_TAGS.put("natural=peak", "natural.mountain.peak");
+        OSM_TAGS.put("natural=spring", "natural.water.spring");
+        OSM_TAGS.put("shop=mall", "commercial.shopping_mall");
+        OSM_TAGS.put("shop=department_store", "commercial.department_store");
+        OSM_TAGS.put("shop=gift", "commercial.gift_and_souvenir");
+        OSM_TAGS.put("shop=bakery", "commercial.food_and_drink.bakery");
+    }
+
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<CleanPlace> batch = new ArrayList<>(BATCH_SIZE);
+
+    private int imported;
+    private int skipped;
+
+    private PoiImporter() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: PoiImporter <extract.geojson>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        int[] counts = importFile(Paths.get(args[0]));
+        LOG.info("Imported {} places ({} skipped) in {} ms",
+                counts[0], counts[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Imports every feature in the file.
+     *
+     * @return {imported, skipped}
+     */
+    public static int[] importFile(Path file) throws IOException, SQLException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            PoiImporter importer = new PoiImporter();
+            importer.read(new JsonReader(reader));
+            importer.flush();
+            return new int[]{importer.imported, importer.skipped};
+        }
+    }
+
+    private void read(JsonReader reader) throws IOException, SQLException {
+        reader.setLenient(true); // allows one Feature per line
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            // Stream the features array; keep any other top-level member in case this is a bare Feature
+            JsonObject top = new JsonObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("features") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        add(JsonParser.parseReader(reader));
+                    }
+                    reader.endArray();
+                } else {
+                    top.add(name, JsonParser.parseReader(reader));
+                }
+            }
+            reader.endObject();
+            if (top.has("type") && "Feature".equals(top.get("type").getAsString())) {
+                add(top);
+            }
+        }
+    }
+
+    private void add(JsonElement element) throws SQLException {
+        CleanPlace place = clean(element);
+        if (place == null || place.getAllCategories().isEmpty()) {
+            skipped++;
+            return;
+        }
+        batch.add(place);
+        if (batch.size() >= BATCH_SIZE) {
+            flush();
+            LOG.info("Imported {} places", imported);
+        }
+    }
+
+    /** Writes the parsed features as one write on the application's database writer. */
+    private void flush() throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Database.writer().execute(conn -> {
+            try (BatchWriter writer = new BatchWriter(conn)) {
+                for (CleanPlace place : batch) {
+                    writer.put(place);
+                }
+            }
+            return null;
+        });
+        imported += batch.size();
+        batch.clear();
+    }
+
+    private static CleanPlace clean(JsonElement element) {
+        if (!element.isJsonObject()) {
+            return null;
+        }
+        JsonObject feature = element.getAsJsonObject();
+        JsonObject props = feature.getAsJsonObject("properties");
+        if (props == null) {
+            return null;
+        }
+        if (!props.has("categories") && !props.has("category")) {
+            fillFromOsmTags(feature, props);
+        }
+        try {
+            return GeoapifyPlacesService.cleanFeature(feature);
+        } catch (RuntimeException e) {
+            return null; // not a point, or malformed coordinates
+        }
+    }
+
+    /**
+     * Adds Geoapify-style categories, place_id and formatted address derived
+     * from OSM tags, when the feature has them.
+     */
+    private static void fillFromOsmTags(JsonObject feature, JsonObject props) {
+        JsonArray categories = new JsonArray();
+        for (Map.Entry<String, String> tag : OSM_TAGS.entrySet()) {
+            String[] kv = tag.getKey().split("=", 2);
+            JsonElement value = props.get(kv[0]);
+            if (value != null && value.isJsonPrimitive() && value.getAsString().equals(kv[1])) {
+                categories.add(tag.getValue());
+            }
+        }
+        if (categories.isEmpty()) {
+            return;
+        }
+        props.add("categories", categories);
+        if (!props.has("place_id")) {
+            JsonElement id = feature.has("id") ? feature.get("id") : props.get("@id");
+            if (id != null && id.isJsonPrimitive()) {
+                props.addProperty("place_id", "osm:" + id.getAsString());
+            }
+        }
+        if (!props.has("formatted")) {
+            String address = osmAddress(props);
+            if (!address.isEmpty()) {
+                props.addProperty("formatted", address);
+            }
+        }
+    }
+
+    private static String osmAddress(JsonObject props) {
+        StringBuilder sb = new StringBuilder();
+        String street = tag(props, "addr:street");
+        String number = tag(props, "addr:housenumber");
+        if (street != null) {
+            sb.append(number != null ? number + " " + street : street);
+        }
+        String city = tag(props, "addr:city");
+        if (city != null) {
+            sb.append(sb.length() > 0 ? ", " : "").append(city);
+        }
+        return sb.toString();
+    }
+
+    private static String tag(JsonObject props, String key) {
+        JsonElement value = props.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    /** The statements for one batch, prepared on the writer's connection. */
+    private final class BatchWriter implements AutoCloseable {
+        private final PreparedStatement findPoi;
+        private final PreparedStatement insertPoi;
+        private final PreparedStatement updatePoi;
+        private final PreparedStatement clearLinks;
+        private final PreparedStatement insertLink;
+        private final PreparedStatement putRtree;
+        private final PreparedStatement insertCategory;
+
+        BatchWriter(Connection conn) throws SQLException {
+            this.findPoi = conn.prepareStatement("SELECT id FROM pois WHERE place_id = ?");
+            this.insertPoi = conn.prepareStatement("INSERT INTO pois(place_id, name, address, lat, lon, " +
+                    "place_type, categories) VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            this.updatePoi = conn.prepareStatement("UPDATE pois SET name = ?, address = ?, lat = ?, lon = ?, " +
+                    "place_type = ?, categories = ? WHERE id = ?");
+            this.clearLinks = conn.prepareStatement("DELETE FROM poi_category_links WHERE poi_id = ?");
+            this.insertLink = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO poi_category_links(poi_id, category_id) VALUES (?, ?)");
+            this.putRtree = conn.prepareStatement(
+                    "INSERT OR REPLACE INTO poi_rtree(id, min_lat, max_lat, min_lon, max_lon) VALUES (?, ?, ?, ?, ?)");
+            this.insertCategory = conn.prepareStatement(
+                    "INSERT INTO poi_categories(name) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+            if (categoryIds.isEmpty()) {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT id, name FROM poi_categories")) {
+                    while (rs.next()) {
+                        categoryIds.put(rs.getString("name"), rs.getInt("id"));
+                    }
+                }
+            }
+        }
+
+        void put(CleanPlace place) throws SQLException {
+            Integer poiId = existingId(place.getId());
+            // PlaceType shares its constant names with IndoorOutdoorType
+            String type = place.getPlaceType().name();
+            String categories = String.join(",", place.getAllCategories());
+            if (poiId == null) {
+                insertPoi.setString(1, place.getId());
+                insertPoi.setString(2, place.getName());
+                insertPoi.setString(3, place.getAddress());
+                insertPoi.setDouble(4, place.getLatitude());
+                insertPoi.setDouble(5, place.getLongitude());
+                insertPoi.setString(6, type);
+                insertPoi.setString(7, categories);
+                insertPoi.executeUpdate();
+                poiId = generatedId(insertPoi);
+            } else {
+                updatePoi.setString(1, place.getName());
+                updatePoi.setString(2, place.getAddress());
+                updatePoi.setDouble(3, place.getLatitude());
+                updatePoi.setDouble(4, place.getLongitude());
+                updatePoi.setString(5, type);
+                updatePoi.setString(6, categories);
+                updatePoi.setInt(7, poiId);
+                updatePoi.executeUpdate();
+                clearLinks.setInt(1, poiId);
+                clearLinks.executeUpdate();
+            }
+
+            putRtree.setInt(1, poiId);
+            putRtree.setDouble(2, place.getLatitude());
+            putRtree.setDouble(3, place.getLatitude());
+            putRtree.setDouble(4, place.getLongitude());
+            putRtree.setDouble(5, place.getLongitude());
+            putRtree.executeUpdate();
+
+            for (String category : place.getAllCategories()) {
+                insertLink.setInt(1, poiId);
+                insertLink.setInt(2, categoryId(category));
+                insertLink.executeUpdate();
+            }
+        }
+
+        private Integer existingId(String placeId) throws SQLException {
+            findPoi.setString(1, placeId);
+            try (ResultSet rs = findPoi.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+
+        private int categoryId(String name) throws SQLException {
+            Integer id = categoryIds.get(name);
+            if (id == null) {
+                insertCategory.setString(1, name);
+                insertCategory.executeUpdate();
+                id = generatedId(insertCategory);
+                categoryIds.put(name, id);
+            }
+            return id;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement ps : List.of(findPoi, insertPoi, updatePoi, clearLinks,
+                    insertLink, putRtree, insertCategory)) {
+                ps.close();
+            }
+        }
+    }
+
+    private static int generatedId(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        }
+        throw new SQLException("No id generated");
+    }
+}
@@ -0,0 +1,77 @@
+package placefinder.frameworks_drivers.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps idle connections for reads so a query does not pay for opening the
+ * file and parsing the schema. Borrowed connections are returned by
+ * {@link Connection#close()}, after any open transaction is rolled back.
+ * In WAL mode readers see the last commit and never block the writer or
+ * each other, so there is no upper bound on connections in use; at most
+ * {@code maxIdle} are kept.
+ */
+final class ReaderPool {
+
+    private final BlockingQueue<Connection> idle;
+
+    ReaderPool(int maxIdle) {
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    Connection borrow() throws SQLException {
+        Connection conn = idle.poll();
+        if (conn == null) {
+            conn = Database.open();
+        }
+        Connection target = conn;
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned[0]) {
+                                returned[0] = true;
+                                giveBack(target);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned[0] || target.isClosed();
+                        default:
+                            if (returned[0]) {
+                                throw new SQLException("Connection was returned to the pool");
+                            }
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    private void giveBack(Connection conn) {
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            if (idle.offer(conn)) {
+                return;
+            }
+        } catch (SQLException e) {
+            // Not reusable; drop it
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Nothing left to release
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package placefinder.frameworks_drivers.database;
+
+import placefinder.entities.IndoorOutdoorType;
+import placefinder.entities.Place;
+import placefinder.usecases.ports.PlacesGateway;
+
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Places search against POIs imported into the local database by
+ * {@link PoiImporter}; needs no network or API quota.
+ *
+ * The R*Tree narrows the search to a lat/lon box around the circle, the
+ * category links drop POIs outside the selected categories, and the survivors
+ * are measured with the haversine formula. Category matching and the result
+ * limit follow Geoapify: "catering" also matches "catering.restaurant", and
+ * at most {@value #LIMIT} places are returned, nearest first.
+ *
+ * Enable with {@code -Dplacefinder.places.offline=true}.
+ */
+public class SqlitePlacesGatewayImpl implements PlacesGateway {
+
+    public static final String OFFLINE_PROPERTY = "placefinder.places.offline";
+
+    private static final int LIMIT = 40;
+    // Same defaults GeoapifyPlacesService sends when no categories are selected
+    private static final List<String> DEFAULT_CATEGORIES =
+            List.of("tourism.sights", "entertainment", "leisure.park", "catering");
+
+    /**
+     * True if offline places were requested with {@value #OFFLINE_PROPERTY}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(OFFLINE_PROPERTY);
+    }
+
+    @Override
+    public List<Place> searchPlaces(double lat, double lon, double radiusKm,
+                                    Map<String, List<String>> selectedCategories) throws Exception {
+        try (Connection conn = Database.getConnection()) {
+            List<Integer> categoryIds = categoryIdsFor(conn, flatten(selectedCategories));
+            if (categoryIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            GeoBox box = GeoBox.around(lat, lon, radiusKm);
+            // Only ids and coordinates are read for the (possibly thousands of) candidates;
+            // full rows are loaded for the nearest LIMIT alone
+            List<Candidate> candidates = new ArrayList<>();
+            for (double[] lonRange : box.lonRanges) {
+                findCandidates(conn, box.minLat, box.maxLat, lonRange[0], lonRange[1], categoryIds,
+                        lat, lon, radiusKm, candidates);
+            }
+            candidates.sort(Comparator.comparingDouble(c -> c.distanceKm));
+            return load(conn, candidates.subList(0, Math.min(LIMIT, candidates.size())));
+        }
+    }
+
+    private void findCandidates(Connection conn, double minLat, double maxLat, double minLon, double maxLon,
+                                List<Integer> categoryIds, double lat, double lon, double radiusKm,
+                                List<Candidate> out) throws SQLException {
+        // The unary + stops SQLite from probing the link index once per category id;
+        // it seeks the POI's few links once and tests them against the IN list instead
+        String sql = "SELECT p.id, p.lat, p.lon " +
+                "FROM poi_rtree r JOIN pois p ON p.id = r.id " +
+                "WHERE r.max_lat >= ? AND r.min_lat <= ? AND r.max_lon >= ? AND r.min_lon <= ? " +
+                "AND EXISTS (SELECT 1 FROM poi_category_links l WHERE l.poi_id = r.id " +
+                "AND +l.category_id IN (" + placeholders(categoryIds.size()) + "))";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            ps.setDouble(i++, minLat);
+            ps.setDouble(i++, maxLat);
+            ps.setDouble(i++, minLon);
+            ps.setDouble(i++, maxLon);
+            for (int id : categoryIds) {
+                ps.setInt(i++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    double distanceKm = GeoBox.haversineKm(lat, lon, rs.getDouble(2), rs.getDouble(3));
+                    if (distanceKm <= radiusKm) { // the box corners lie outside the circle
+                        out.add(new Candidate(rs.getInt(1), distanceKm));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Place> load(Connection conn, List<Candidate> nearest) throws SQLException {
+        if (nearest.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT id, place_id, name, address, lat, lon, place_type, categories " +
+                "FROM pois WHERE id IN (" + placeholders(nearest.size()) + ")";
+        Map<Integer, Place> byId = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < nearest.size(); i++) {
+                ps.setInt(i + 1, nearest.get(i).id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    byId.put(rs.getInt("id"), new Place(
+                            rs.getString("place_id"),
+                            rs.getString("name"),
+                            rs.getString("address"),
+                            rs.getDouble("lat"),
+                            rs.getDouble("lon"),
+                            0.0,
+                            IndoorOutdoorType.valueOf(rs.getString("place_type")),
+                            Arrays.asList(rs.getString("categories").split(","))));
+                }
+            }
+        }
+        List<Place> places = new ArrayList<>(nearest.size());
+        for (Candidate candidate : nearest) {
+            Place place = byId.get(candidate.id);
+            if (place != null) {
+                place.setDistanceKm(candidate.distanceKm);
+                places.add(place);
+            }
+        }
+        return places;
+    }
+
+    /**
+     * Ids of the stored categories equal to, or below, any of the names.
+     */
+    private List<Integer> categoryIdsFor(Connection conn, List<String> names) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT id FROM poi_categories WHERE name = ? OR name GLOB ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (String name : names) {
+                ps.setString(1, name);
+                ps.setString(2, name + ".*");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<String> flatten(Map<String, List<String>> selectedCategories) {
+        Set<String> names = new LinkedHashSet<>();
+        if (selectedCategories != null) {
+            for (List<String> subCategories : selectedCategories.values()) {
+                names.addAll(subCategories);
+            }
+        }
+        return names.isEmpty() ? DEFAULT_CATEGORIES : new ArrayList<>(names);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static final class Candidate {
+        final int id;
+        final double distanceKm;
+
+        Candidate(int id, double distanceKm) {
+            this.id = id;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
@@ -7,134 +7,334 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class SqlitePlanGatewayImpl implements PlanGateway {
 
+    // Plans loaded per query in findPlansNear, well under SQLite's parameter limit
+    private static final int ID_CHUNK = 500;
+    // Upper bound on how far plan_stops_rtree's float coordinates are from the stored ones
+    private static final double INDEX_PRECISION_KM = 0.01;
+
     @Override
-    public void savePlan(Plan plan) throws Exception {
-        if (plan.getId() == null) {
-            insertPlan(plan);
-        } else {
-            updatePlan(plan);
-        }
-        // stops
-        deleteStopsForPlan(plan.getId());
-        insertStops(plan);
+    public Plan savePlan(Plan plan) throws Exception {
+        // The plan row and its stops are one write, so a failed save leaves the old plan intact
+        return Database.writer().execute(conn -> {
+            Plan saved;
+            if (plan.getId() == null) {
+                saved = plan.withId(insertPlan(conn, plan));
+            } else {
+                updatePlan(conn, plan);
+                saved = plan;
+            }
+            // stops
+            deleteStopsForPlan(conn, saved.getId());
+            insertStops(conn, saved);
+            return saved;
+        });
     }
 
-    private void insertPlan(Plan plan) throws Exception {
-        String sql = "INSERT INTO plans(user_id, name, date, start_time, origin_address, " +
+    private Integer insertPlan(Connection conn, Plan plan) throws SQLException {
+        String sql = "INSERT INTO plans(user_id, name, date_day, start_minute, origin_address, " +
                 "snapshot_radius_km, snapshot_categories) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, plan.getUserId());
             ps.setString(2, plan.getName());
-            ps.setString(3, plan.getDate().toString());
-            ps.setString(4, plan.getStartTime().toString());
+            ps.setLong(3, TimeCodec.day(plan.getDate()));
+            ps.setInt(4, TimeCodec.minute(plan.getStartTime()));
             ps.setString(5, plan.getOriginAddress());
             ps.setDouble(6, plan.getSnapshotRadiusKm());
-            ps.setString(7, serializeCategories(plan.getSnapshotCategories()));
+            ps.setString(7, CategoryCodec.serialize(plan.getSnapshotCategories()));
             ps.executeUpdate();
             try (ResultSet rs = ps.getGeneratedKeys()) {
                 if (rs.next()) {
-                    plan.setId(rs.getInt(1));
+                    return rs.getInt(1);
                 }
             }
         }
+        return null;
     }
 
-    private void updatePlan(Plan plan) throws Exception {
-        String sql = "UPDATE plans SET name = ?, date = ?, start_time = ?, origin_address = ?, " +
+    private void updatePlan(Connection conn, Plan plan) throws SQLException {
+        String sql = "UPDATE plans SET name = ?, date_day = ?, start_minute = ?, origin_address = ?, " +
                 "snapshot_radius_km = ?, snapshot_categories = ? WHERE id = ? AND user_id = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, plan.getName());
-            ps.setString(2, plan.getDate().toString());
-            ps.setString(3, plan.getStartTime().toString());
+            ps.setLong(2, TimeCodec.day(plan.getDate()));
+            ps.setInt(3, TimeCodec.minute(plan.getStartTime()));
             ps.setString(4, plan.getOriginAddress());
             ps.setDouble(5, plan.getSnapshotRadiusKm());
-            ps.setString(6, serializeCategories(plan.getSnapshotCategories()));
+            ps.setString(6, CategoryCodec.serialize(plan.getSnapshotCategories()));
             ps.setInt(7, plan.getId());
             ps.setInt(8, plan.getUserId());
-            ps.executeUpdate();
+            // Missing or someone else's plan: fail before its stops are replaced
+            if (ps.executeUpdate() == 0) {
+                throw new SQLException("Plan not found.");
+            }
         }
     }
 
-    private void deleteStopsForPlan(Integer planId) throws Exception {
+    private void deleteStopsForPlan(Connection conn, Integer planId) throws SQLException {
         if (planId == null) return;
         String sql = "DELETE FROM plan_stops WHERE plan_id = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, planId);
             ps.executeUpdate();
         }
     }
 
-    private void insertStops(Plan plan) throws Exception {
+    private void insertStops(Connection conn, Plan plan) throws SQLException {
         if (plan.getRoute() == null || plan.getRoute().getStops() == null) return;
-        String sql = "INSERT INTO plan_stops(plan_id, seq, place_id, place_name, place_address, " +
-                "lat, lon, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = Database.getConnection();
+        String sql = "INSERT INTO plan_stops(plan_id, seq, place_ref, start_minute, end_minute) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        try (PlaceWriter places = new PlaceWriter(conn);
              PreparedStatement ps = conn.prepareStatement(sql)) {
             for (PlanStop stop : plan.getRoute().getStops()) {
                 ps.setInt(1, plan.getId());
                 ps.setInt(2, stop.getSequenceNumber());
-                ps.setString(3, stop.getPlace() != null ? stop.getPlace().getId() : null);
-                ps.setString(4, stop.getPlace() != null ? stop.getPlace().getName() : "");
-                ps.setString(5, stop.getPlace() != null ? stop.getPlace().getAddress() : null);
                 if (stop.getPlace() != null) {
-                    ps.setDouble(6, stop.getPlace().getLat());
-                    ps.setDouble(7, stop.getPlace().getLon());
+                    ps.setLong(3, places.store(stop.getPlace()));
                 } else {
-                    ps.setNull(6, Types.REAL);
-                    ps.setNull(7, Types.REAL);
+                    ps.setNull(3, Types.INTEGER);
                 }
-                ps.setString(8, stop.getStartTime().toString());
-                ps.setString(9, stop.getEndTime().toString());
+                ps.setInt(4, TimeCodec.minute(stop.getStartTime()));
+                ps.setInt(5, TimeCodec.minute(stop.getEndTime()));
                 ps.addBatch();
             }
             ps.executeBatch();
         }
     }
 
+    /**
+     * Stores places in the shared places table. A place with a Geoapify id is
+     * written once and reused by every stop at it. Saving a plan never rewrites
+     * that row: the copy comes from the client, and other users' plans (and
+     * their search and area indexes) read the same row. A place without an id
+     * gets a row of its own.
+     */
+    private static final class PlaceWriter implements AutoCloseable {
+        private final PreparedStatement insertShared;
+        private final PreparedStatement findId;
+        private final PreparedStatement insert;
+
+        PlaceWriter(Connection conn) throws SQLException {
+            String columns = "name, address, lat, lon, place_type, categories";
+            insertShared = conn.prepareStatement("INSERT INTO places(place_id, " + columns + ") " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT(place_id) DO NOTHING");
+            findId = conn.prepareStatement("SELECT id FROM places WHERE place_id = ?");
+            insert = conn.prepareStatement("INSERT INTO places(" + columns + ") VALUES (?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+        }
+
+        /**
+         * @return the places row id for the place
+         */
+        long store(Place place) throws SQLException {
+            if (place.getId() == null) {
+                bind(insert, 1, place);
+                insert.executeUpdate();
+                try (ResultSet rs = insert.getGeneratedKeys()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }
+            insertShared.setString(1, place.getId());
+            bind(insertShared, 2, place);
+            insertShared.executeUpdate();
+            findId.setString(1, place.getId());
+            try (ResultSet rs = findId.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private static void bind(PreparedStatement ps, int first, Place place) throws SQLException {
+            IndoorOutdoorType type = place.getIndoorOutdoorType() != null
+                    ? place.getIndoorOutdoorType() : IndoorOutdoorType.MIXED;
+            ps.setString(first, place.getName() != null ? place.getName() : "");
+            ps.setString(first + 1, place.getAddress());
+            ps.setDouble(first + 2, place.getLat());
+            ps.setDouble(first + 3, place.getLon());
+            ps.setString(first + 4, type.name());
+            ps.setString(first + 5, String.join(",", place.getCategories()));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            insertShared.close();
+            findId.close();
+            insert.close();
+        }
+    }
+
     @Override
     public List<Plan> findPlansByUser(int userId) throws Exception {
-        String sql = "SELECT id, user_id, name, date, start_time, origin_address, " +
-                "snapshot_radius_km, snapshot_categories FROM plans WHERE user_id = ? ORDER BY date DESC, id DESC";
+        String sql = "SELECT id, user_id, name, date_day, start_minute, origin_address, " +
+                "snapshot_radius_km, snapshot_categories FROM plans WHERE user_id = ? ORDER BY date_day DESC, id DESC";
         List<Plan> list = new ArrayList<>();
         try (Connection conn = Database.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    Integer id = rs.getInt("id");
-                    LocalDate date = LocalDate.parse(rs.getString("date"));
-                    LocalTime start = LocalTime.parse(rs.getString("start_time"));
-                    double radius = rs.getDouble("snapshot_radius_km");
-                    String categoriesStr = rs.getString("snapshot_categories");
-                    Map<String, List<String>> categories = parseCategories(categoriesStr);
-                    Plan plan = new Plan(
-                            id,
-                            rs.getInt("user_id"),
-                            rs.getString("name"),
-                            date,
-                            start,
-                            rs.getString("origin_address"),
-                            null,
-                            radius,
-                            categories
-                    );
-                    list.add(plan);
+                    list.add(planWithoutRoute(rs));
                 }
             }
         }
         return list;
     }
 
+    @Override
+    public List<Plan> findPlansNear(int userId, double lat, double lon, double radiusKm) throws Exception {
+        // The user is a dimension of the R*Tree, so only this user's stops in the box are visited
+        String stopsSql = "SELECT id, plan_id, min_lat, max_lat, min_lon, max_lon FROM plan_stops_rtree " +
+                "WHERE min_user <= ? AND max_user >= ? AND max_lat >= ? AND min_lat <= ? " +
+                "AND max_lon >= ? AND min_lon <= ? AND user_id = ?";
+        GeoBox box = GeoBox.around(lat, lon, radiusKm);
+        Set<Integer> planIds = new HashSet<>();
+        List<Integer> borderlineStops = new ArrayList<>();
+        try (Connection conn = Database.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(stopsSql)) {
+                for (double[] lonRange : box.lonRanges) {
+                    ps.setInt(1, userId);
+                    ps.setInt(2, userId);
+                    ps.setDouble(3, box.minLat);
+                    ps.setDouble(4, box.maxLat);
+                    ps.setDouble(5, lonRange[0]);
+                    ps.setDouble(6, lonRange[1]);
+                    ps.setInt(7, userId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            // The index stores 32-bit floats rounded outwards, so its box centre is
+                            // within a few metres of the saved point; only stops that close to the
+                            // edge of the circle need their exact coordinates
+                            double stopLat = (rs.getDouble(3) + rs.getDouble(4)) / 2;
+                            double stopLon = (rs.getDouble(5) + rs.getDouble(6)) / 2;
+                            double distanceKm = GeoBox.haversineKm(lat, lon, stopLat, stopLon);
+                            if (distanceKm <= radiusKm - INDEX_PRECISION_KM) {
+                                planIds.add(rs.getInt(2));
+                            } else if (distanceKm <= radiusKm + INDEX_PRECISION_KM) {
+                                borderlineStops.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                }
+            }
+            if (!borderlineStops.isEmpty()) {
+                try (PreparedStatement ps = conn.prepareStatement("SELECT s.plan_id, pl.lat, pl.lon " +
+                        "FROM plan_stops s JOIN places pl ON pl.id = s.place_ref WHERE s.id = ?")) {
+                    for (int stopId : borderlineStops) {
+                        ps.setInt(1, stopId);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            if (rs.next() && GeoBox.haversineKm(lat, lon, rs.getDouble(2), rs.getDouble(3)) <= radiusKm) {
+                                planIds.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                }
+            }
+            if (planIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            // Primary-key lookups, so the cost follows the number of matches, not of plans
+            List<Integer> ids = new ArrayList<>(planIds);
+            List<Plan> list = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += ID_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK));
+                String plansSql = "SELECT id, user_id, name, date_day, start_minute, origin_address, " +
+                        "snapshot_radius_km, snapshot_categories FROM plans WHERE user_id = ? AND id IN (" +
+                        String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(plansSql)) {
+                    ps.setInt(1, userId);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 2, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            list.add(planWithoutRoute(rs));
+                        }
+                    }
+                }
+            }
+            list.sort(NEWEST_FIRST);
+            return list;
+        }
+    }
+
+    @Override
+    public List<Plan> searchPlans(int userId, String query, int limit) throws Exception {
+        String match = matchExpression(userId, query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        // bm25 weights per column: owner, name, origin_address, stops. The MATCH runs
+        // inside the index and only the top rows are joined to plans.
+        String sql = "SELECT p.id, p.user_id, p.name, p.date_day, p.start_minute, p.origin_address, " +
+                "p.snapshot_radius_km, p.snapshot_categories " +
+                "FROM plan_search s JOIN plans p ON p.id = s.rowid " +
+                "WHERE plan_search MATCH ? AND p.user_id = ? " +
+                "ORDER BY bm25(plan_search, 0.0, 10.0, 4.0, 1.0), p.date_day DESC, p.id DESC LIMIT ?";
+        List<Plan> list = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, match);
+            ps.setInt(2, userId);
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(planWithoutRoute(rs));
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Turns free text into an FTS5 query: the owner token, then every word of
+     * the text quoted (so FTS5 operators typed by the user are plain text),
+     * restricted to the searchable columns. Only the last word, the one still
+     * being typed, is a prefix: FTS5 has to collect every user's matches for a
+     * prefix longer than its prefix index, while whole words are intersected
+     * with the owner's few rows inside the index.
+     *
+     * @return null if the text has no words
+     */
+    private static String matchExpression(int userId, String text) {
+        if (text == null) {
+            return null;
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{M}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        StringJoiner terms = new StringJoiner(" AND ");
+        for (int i = 0; i < words.size(); i++) {
+            terms.add("\"" + words.get(i) + (i == words.size() - 1 ? "\"*" : "\""));
+        }
+        return "owner : \"u" + userId + "\" AND {name origin_address stops} : (" + terms + ")";
+    }
+
+    private static Plan planWithoutRoute(ResultSet rs) throws SQLException {
+        return new Plan(
+                rs.getInt("id"),
+                rs.getInt("user_id"),
+                rs.getString("name"),
+                TimeCodec.date(rs.getLong("date_day")),
+                TimeCodec.time(rs.getInt("start_minute")),
+                rs.getString("origin_address"),
+                null,
+                rs.getDouble("snapshot_radius_km"),
+                CategoryCodec.parse(rs.getString("snapshot_categories"))
+        );
+    }
+
     @Override
     public Plan findPlanWithStops(int planId) throws Exception {
-        String sql = "SELECT id, user_id, name, date, start_time, origin_address, " +
+        String sql = "SELECT id, user_id, name, date_day, start_minute, origin_address, " +
                 "snapshot_radius_km, snapshot_categories FROM plans WHERE id = ?";
         try (Connection conn = Database.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -145,12 +345,12 @@ public class SqlitePlanGatewayImpl implements PlanGateway {
                 }
                 Integer id = rs.getInt("id");
                 int userId = rs.getInt("user_id");
-                LocalDate date = LocalDate.parse(rs.getString("date"));
-                LocalTime start = LocalTime.parse(rs.getString("start_time"));
+                LocalDate date = TimeCodec.date(rs.getLong("date_day"));
+                LocalTime start = TimeCodec.time(rs.getInt("start_minute"));
                 String originAddress = rs.getString("origin_address");
                 double radius = rs.getDouble("snapshot_radius_km");
                 String categoriesStr = rs.getString("snapshot_categories");
-                Map<String, List<String>> categories = parseCategories(categoriesStr);
+                Map<String, List<String>> categories = CategoryCodec.parse(categoriesStr);
 
                 List<PlanStop> stops = loadStopsForPlan(conn, id);
                 Route route = new Route(stops);
@@ -162,32 +362,36 @@ public class SqlitePlanGatewayImpl implements PlanGateway {
     }
 
     private List<PlanStop> loadStopsForPlan(Connection conn, int planId) throws Exception {
-        String sql = "SELECT seq, place_id, place_name, place_address, lat, lon, start_time, end_time " +
-                "FROM plan_stops WHERE plan_id = ? ORDER BY seq";
+        String sql = "SELECT s.seq, s.start_minute, s.end_minute, pl.id AS place_ref, pl.place_id, pl.name, " +
+                "pl.address, pl.lat, pl.lon, pl.place_type, pl.categories " +
+                "FROM plan_stops s LEFT JOIN places pl ON pl.id = s.place_ref WHERE s.plan_id = ? ORDER BY s.seq";
         List<PlanStop> stops = new ArrayList<>();
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, planId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    String placeId = rs.getString("place_id");
-                    String name = rs.getString("place_name");
-                    String address = rs.getString("place_address");
-                    Double lat = rs.getObject("lat") != null ? rs.getDouble("lat") : null;
-                    Double lon = rs.getObject("lon") != null ? rs.getDouble("lon") : null;
-
                     Place place = new Place();
-                    place.setId(placeId);
-                    place.setName(name);
-                    place.setAddress(address);
-                    if (lat != null) place.setLat(lat);
-                    if (lon != null) place.setLon(lon);
                     place.setDistanceKm(0);
-                    place.setIndoorOutdoorType(IndoorOutdoorType.MIXED);
-                    place.setCategories(new ArrayList<>());
+                    if (rs.getObject("place_ref") != null) {
+                        place.setId(rs.getString("place_id"));
+                        place.setName(rs.getString("name"));
+                        place.setAddress(rs.getString("address"));
+                        if (rs.getObject("lat") != null) place.setLat(rs.getDouble("lat"));
+                        if (rs.getObject("lon") != null) place.setLon(rs.getDouble("lon"));
+                        place.setIndoorOutdoorType(IndoorOutdoorType.valueOf(rs.getString("place_type")));
+                        String categories = rs.getString("categories");
+                        place.setCategories(categories.isEmpty()
+                                ? new ArrayList<>() : Arrays.asList(categories.split(",")));
+                    } else {
+                        // Saved without a place, as an empty one
+                        place.setName("");
+                        place.setIndoorOutdoorType(IndoorOutdoorType.MIXED);
+                        place.setCategories(new ArrayList<>());
+                    }
 
                     int seq = rs.getInt("seq");
-                    LocalTime start = LocalTime.parse(rs.getString("start_time"));
-                    LocalTime end = LocalTime.parse(rs.getString("end_time"));
+                    LocalTime start = TimeCodec.time(rs.getInt("start_minute"));
+                    LocalTime end = TimeCodec.time(rs.getInt("end_minute"));
                     stops.add(new PlanStop(seq, place, start, end));
                 }
             }
@@ -198,62 +402,12 @@ public class SqlitePlanGatewayImpl implements PlanGateway {
     @Override
     public void deletePlan(int planId, int userId) throws Exception {
         String sql = "DELETE FROM plans WHERE id = ? AND user_id = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, planId);
-            ps.setInt(2, userId);
-            ps.executeUpdate();
-        }
-    }
-
-    /**
-     * Parse categories string
-     * Format: mainCategory1:subCategory1,subCategory2|mainCategory2:subCategory1,subCategory2
-     */
-    private Map<String, List<String>> parseCategories(String categoriesStr) {
-        Map<String, List<String>> result = new HashMap<>();
-        if (categoriesStr == null || categoriesStr.isBlank()) {
-            return result;
-        }
-        String[] mainCategories = categoriesStr.split("\\|");
-        for (String mainCatEntry : mainCategories) {
-            if (mainCatEntry.isEmpty()) continue;
-            String[] parts = mainCatEntry.split(":", 2);
-            if (parts.length == 2) {
-                String mainCategory = parts[0].trim();
-                String subCategoriesStr = parts[1].trim();
-                if (!mainCategory.isEmpty() && !subCategoriesStr.isEmpty()) {
-                    List<String> subCategories = Arrays.stream(subCategoriesStr.split(","))
-                            .map(String::trim)
-                            .filter(s -> !s.isEmpty())
-                            .collect(Collectors.toList());
-                    if (!subCategories.isEmpty()) {
-                        result.put(mainCategory, subCategories);
-                    }
-                }
+        Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, planId);
+                ps.setInt(2, userId);
+                return ps.executeUpdate();
             }
-        }
-        return result;
-    }
-
-    /**
-     * Serialize categories to string
-     * Format: mainCategory1:subCategory1,subCategory2|mainCategory2:subCategory1,subCategory2
-     */
-    private String serializeCategories(Map<String, List<String>> categories) {
-        if (categories == null || categories.isEmpty()) {
-            return "";
-        }
-        List<String> entries = new ArrayList<>();
-        for (Map.Entry<String, List<String>> entry : categories.entrySet()) {
-            String mainCategory = entry.getKey();
-            List<String> subCategories = entry.getValue();
-            if (mainCategory != null && !mainCategory.isEmpty() && 
-                subCategories != null && !subCategories.isEmpty()) {
-                String subCategoriesStr = String.join(",", subCategories);
-                entries.add(mainCategory + ":" + subCategoriesStr);
-            }
-        }
-        return String.join("|", entries);
+        });
     }
 }
@@ -1,13 +1,11 @@
 package placefinder.frameworks_drivers.database;
 
-import placefinder.entities.DayTripExperienceCategories;
 import placefinder.entities.FavoriteLocation;
 import placefinder.entities.PreferenceProfile;
 import placefinder.usecases.ports.PreferenceGateway;
 
 import java.sql.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class SqlitePreferenceGatewayImpl implements PreferenceGateway {
 
@@ -21,40 +19,43 @@ public class SqlitePreferenceGatewayImpl implements PreferenceGateway {
                 if (rs.next()) {
                     double radius = rs.getDouble("radius_km");
                     String selectedCategoriesStr = rs.getString("selected_categories");
-                    Map<String, List<String>> selectedCategories = parseSelectedCategories(selectedCategoriesStr);
+                    Map<String, List<String>> selectedCategories = CategoryCodec.parseValid(selectedCategoriesStr);
                     return new PreferenceProfile(userId, radius, selectedCategories);
                 }
             }
         }
 
-        // create default if not exists
+        // create default if not exists; a row written concurrently wins
         PreferenceProfile profile = new PreferenceProfile(userId, 2.0, new HashMap<>());
-        saveForUser(profile);
+        String insertDefault = "INSERT INTO preferences(user_id, radius_km, selected_categories) VALUES (?, ?, ?) " +
+                "ON CONFLICT(user_id) DO NOTHING";
+        Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(insertDefault)) {
+                ps.setInt(1, userId);
+                ps.setDouble(2, profile.getRadiusKm());
+                ps.setString(3, CategoryCodec.serialize(profile.getSelectedCategories()));
+                return ps.executeUpdate();
+            }
+        });
         return profile;
     }
 
     @Override
     public void saveForUser(PreferenceProfile profile) throws Exception {
-        String update = "UPDATE preferences SET radius_km = ?, selected_categories = ? WHERE user_id = ?";
-        String insert = "INSERT INTO preferences(user_id, radius_km, selected_categories) VALUES (?, ?, ?)";
+        // Single UPSERT statement instead of UPDATE followed by a conditional INSERT
+        String upsert = "INSERT INTO preferences(user_id, radius_km, selected_categories) VALUES (?, ?, ?) " +
+                "ON CONFLICT(user_id) DO UPDATE SET radius_km = excluded.radius_km, " +
+                "selected_categories = excluded.selected_categories";
 
-        String selectedCategoriesStr = serializeSelectedCategories(profile.getSelectedCategories());
-        try (Connection conn = Database.getConnection()) {
-            try (PreparedStatement ps = conn.prepareStatement(update)) {
-                ps.setDouble(1, profile.getRadiusKm());
-                ps.setString(2, selectedCategoriesStr);
-                ps.setInt(3, profile.getUserId());
-                int updated = ps.executeUpdate();
-                if (updated == 0) {
-                    try (PreparedStatement ins = conn.prepareStatement(insert)) {
-                        ins.setInt(1, profile.getUserId());
-                        ins.setDouble(2, profile.getRadiusKm());
-                        ins.setString(3, selectedCategoriesStr);
-                        ins.executeUpdate();
-                    }
-                }
+        String selectedCategoriesStr = CategoryCodec.serialize(profile.getSelectedCategories());
+        Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(upsert)) {
+                ps.setInt(1, profile.getUserId());
+                ps.setDouble(2, profile.getRadiusKm());
+                ps.setString(3, selectedCategoriesStr);
+                return ps.executeUpdate();
             }
-        }
+        });
     }
 
     @Override
@@ -83,89 +84,34 @@ public class SqlitePreferenceGatewayImpl implements PreferenceGateway {
     @Override
     public FavoriteLocation addFavorite(int userId, String name, String address, double lat, double lon) throws Exception {
         String sql = "INSERT INTO favorite_locations(user_id, name, address, lat, lon) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setInt(1, userId);
-            ps.setString(2, name);
-            ps.setString(3, address);
-            ps.setDouble(4, lat);
-            ps.setDouble(5, lon);
-            ps.executeUpdate();
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    int id = rs.getInt(1);
-                    return new FavoriteLocation(id, userId, name, address, lat, lon);
+        return Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setInt(1, userId);
+                ps.setString(2, name);
+                ps.setString(3, address);
+                ps.setDouble(4, lat);
+                ps.setDouble(5, lon);
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        int id = rs.getInt(1);
+                        return new FavoriteLocation(id, userId, name, address, lat, lon);
+                    }
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     @Override
     public void deleteFavorite(int favoriteId, int userId) throws Exception {
         String sql = "DELETE FROM favorite_locations WHERE id = ? AND user_id = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, favoriteId);
-            ps.setInt(2, userId);
-            ps.executeUpdate();
-        }
-    }
-
-    /**
-     * Parse selectedCategories string
-     * Format: mainCategory1:subCategory1,subCategory2|mainCategory2:subCategory1,subCategory2
-     */
-    private Map<String, List<String>> parseSelectedCategories(String selectedCategoriesStr) {
-        Map<String, List<String>> result = new HashMap<>();
-        if (selectedCategoriesStr == null || selectedCategoriesStr.isBlank()) {
-            return result;
-        }
-        String[] mainCategories = selectedCategoriesStr.split("\\|");
-        for (String mainCatEntry : mainCategories) {
-            if (mainCatEntry.isEmpty()) continue;
-            String[] parts = mainCatEntry.split(":", 2);
-            if (parts.length == 2) {
-                String mainCategory = parts[0].trim();
-                String subCategoriesStr = parts[1].trim();
-                if (!mainCategory.isEmpty() && !subCategoriesStr.isEmpty()) {
-                    // Get valid sub-categories for this main category
-                    List<String> validSubCategories = DayTripExperienceCategories.getSubCategories(mainCategory);
-                    
-                    // Filter out invalid sub-categories from database
-                    List<String> subCategories = Arrays.stream(subCategoriesStr.split(","))
-                            .map(String::trim)
-                            .filter(s -> !s.isEmpty())
-                            .filter(validSubCategories::contains)  // Only keep valid sub-categories
-                            .collect(Collectors.toList());
-                    
-                    if (!subCategories.isEmpty()) {
-                        result.put(mainCategory, subCategories);
-                    }
-                }
+        Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, favoriteId);
+                ps.setInt(2, userId);
+                return ps.executeUpdate();
             }
-        }
-        return result;
-    }
-
-    /**
-     * Serialize selectedCategories to string
-     * Format: mainCategory1:subCategory1,subCategory2|mainCategory2:subCategory1,subCategory2
-     */
-    private String serializeSelectedCategories(Map<String, List<String>> selectedCategories) {
-        if (selectedCategories == null || selectedCategories.isEmpty()) {
-            return "";
-        }
-        List<String> entries = new ArrayList<>();
-        for (Map.Entry<String, List<String>> entry : selectedCategories.entrySet()) {
-            String mainCategory = entry.getKey();
-            List<String> subCategories = entry.getValue();
-            if (mainCategory != null && !mainCategory.isEmpty() && 
-                subCategories != null && !subCategories.isEmpty()) {
-                String subCategoriesStr = String.join(",", subCategories);
-                entries.add(mainCategory + ":" + subCategoriesStr);
-            }
-        }
-        return String.join("|", entries);
+        });
     }
 }
@@ -60,31 +60,34 @@ public class SqliteUserGatewayImpl implements UserGateway {
 
     private void insert(User user) throws Exception {
         String sql = "INSERT INTO users(name, email, password_hash, home_city) VALUES (?, ?, ?, ?)";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, user.getName());
-            ps.setString(2, user.getEmail());
-            ps.setString(3, user.getPasswordHash());
-            ps.setString(4, user.getHomeCity());
-            ps.executeUpdate();
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    user.setId(rs.getInt(1));
+        Integer id = Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, user.getName());
+                ps.setString(2, user.getEmail());
+                ps.setString(3, user.getPasswordHash());
+                ps.setString(4, user.getHomeCity());
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    return rs.next() ? rs.getInt(1) : null;
                 }
             }
+        });
+        if (id != null) {
+            user.setId(id);
         }
     }
 
     private void update(User user) throws Exception {
         String sql = "UPDATE users SET name = ?, email = ?, password_hash = ?, home_city = ? WHERE id = ?";
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, user.getName());
-            ps.setString(2, user.getEmail());
-            ps.setString(3, user.getPasswordHash());
-            ps.setString(4, user.getHomeCity());
-            ps.setInt(5, user.getId());
-            ps.executeUpdate();
-        }
+        Database.writer().execute(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, user.getName());
+                ps.setString(2, user.getEmail());
+                ps.setString(3, user.getPasswordHash());
+                ps.setString(4, user.getHomeCity());
+                ps.setInt(5, user.getId());
+                return ps.executeUpdate();
+            }
+        });
     }
 }
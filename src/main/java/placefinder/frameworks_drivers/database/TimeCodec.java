@@ -0,0 +1,42 @@
+package placefinder.frameworks_drivers.database;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Converts plan dates and times to and from their INTEGER columns: dates as
+ * epoch days, times as minutes after midnight (seconds are not stored).
+ *
+ * Decoding a time needs no parsing or allocation: all 1440 possible values
+ * are created once and shared, which is safe because LocalTime is immutable.
+ */
+public final class TimeCodec {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final LocalTime[] TIMES = new LocalTime[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            TIMES[minute] = LocalTime.of(minute / 60, minute % 60);
+        }
+    }
+
+    private TimeCodec() {
+    }
+
+    public static long day(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    public static LocalDate date(long day) {
+        return LocalDate.ofEpochDay(day);
+    }
+
+    public static int minute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public static LocalTime time(int minute) {
+        return TIMES[minute];
+    }
+}
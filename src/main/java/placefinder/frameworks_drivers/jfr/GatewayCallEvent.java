@@ -0,0 +1,26 @@
+package placefinder.frameworks_drivers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call through a port (geocode, weather, places, SQLite gateways).
+ */
+@Name("placefinder.GatewayCall")
+@Label("Gateway Call")
+@Description("Call to a gateway port method")
+@Category({"PlaceFinder", "Gateways"})
+@Enabled(true)
+@StackTrace(false)
+public class GatewayCallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Failed")
+    public boolean failed;
+}
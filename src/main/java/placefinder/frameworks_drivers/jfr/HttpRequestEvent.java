@@ -0,0 +1,53 @@
+package placefinder.frameworks_drivers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One outbound HTTP request made through HttpUtil.
+ */
+@Name("placefinder.HttpRequest")
+@Label("HTTP Request")
+@Description("Outbound request to an upstream API")
+@Category({"PlaceFinder", "HTTP"})
+@Enabled(true)
+@StackTrace(false)
+public class HttpRequestEvent extends jdk.jfr.Event {
+
+    @Label("URL Template")
+    @Description("URL with query values removed, e.g. https://host/path?q={}&key={}")
+    public String urlTemplate;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+
+    /**
+     * Strips query values (which carry API keys and user input) and keeps
+     * only the parameter names.
+     */
+    public static String toTemplate(String url) {
+        int q = url.indexOf('?');
+        if (q < 0) {
+            return url;
+        }
+        StringBuilder sb = new StringBuilder(url.length()).append(url, 0, q + 1);
+        String[] params = url.substring(q + 1).split("&");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            int eq = params[i].indexOf('=');
+            sb.append(eq < 0 ? params[i] : params[i].substring(0, eq)).append("={}");
+        }
+        return sb.toString();
+    }
+}
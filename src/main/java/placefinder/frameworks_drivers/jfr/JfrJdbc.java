@@ -0,0 +1,106 @@
+package placefinder.frameworks_drivers.jfr;
+
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Emits a {@link SqlStatementEvent} for every statement run on a connection.
+ *
+ * Connections are only wrapped while a JFR recording has the event enabled;
+ * otherwise the raw driver connection is returned and the cost is a single
+ * boolean check per {@link #trace} call.
+ */
+public final class JfrJdbc {
+
+    private static final EventType SQL_EVENT_TYPE = EventType.getEventType(SqlStatementEvent.class);
+
+    private JfrJdbc() {
+    }
+
+    public static Connection trace(Connection conn) {
+        if (!SQL_EVENT_TYPE.isEnabled()) {
+            return conn;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(conn));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JfrJdbc.invoke(target, method, args);
+            if (result instanceof PreparedStatement && args != null && args.length > 0
+                    && args[0] instanceof String) {
+                return Proxy.newProxyInstance(
+                        PreparedStatement.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof Statement && !(result instanceof PreparedStatement)) {
+                return Proxy.newProxyInstance(
+                        Statement.class.getClassLoader(),
+                        new Class<?>[]{Statement.class},
+                        new StatementHandler((Statement) result, null));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return JfrJdbc.invoke(target, method, args);
+            }
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            boolean failed = true;
+            try {
+                Object result = JfrJdbc.invoke(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.sql = preparedSql != null ? preparedSql
+                            : (args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : null);
+                    event.method = method.getName();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package placefinder.frameworks_drivers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One statement executed against placefinder.db.
+ */
+@Name("placefinder.SqlStatement")
+@Label("SQL Statement")
+@Category({"PlaceFinder", "Database"})
+@Enabled(true)
+@StackTrace(false)
+public class SqlStatementEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
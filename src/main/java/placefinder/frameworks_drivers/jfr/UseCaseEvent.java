@@ -0,0 +1,27 @@
+package placefinder.frameworks_drivers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One interactor execute() call.
+ */
+@Name("placefinder.UseCase")
+@Label("Use Case")
+@Description("Execution of one interactor")
+@Category({"PlaceFinder", "Use Cases"})
+@Enabled(true)
+@StackTrace(false)
+public class UseCaseEvent extends jdk.jfr.Event {
+
+    @Label("Use Case")
+    public String useCase;
+
+    @Label("Failed")
+    @Description("True if execute() threw instead of presenting")
+    public boolean failed;
+}
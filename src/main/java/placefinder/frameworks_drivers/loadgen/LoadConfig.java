@@ -0,0 +1,83 @@
+package placefinder.frameworks_drivers.loadgen;
+
+import placefinder.frameworks_drivers.simulator.SimulatorConfig;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings for {@link LoadGenerator}, read from {@code load.*} system properties.
+ *
+ * The stubbed upstreams reuse the simulator's {@code sim.<upstream>.*} fault
+ * properties, so the same flags shape latency in both tools.
+ */
+public class LoadConfig {
+
+    private final int users;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int rampSeconds;
+    private final double thinkMillis;
+    private final Map<LoadGenerator.Operation, Integer> mix;
+    private final long seed;
+    private final SimulatorConfig upstreams;
+
+    public LoadConfig(int users, int durationSeconds, int warmupSeconds, int rampSeconds,
+                      double thinkMillis, Map<LoadGenerator.Operation, Integer> mix,
+                      long seed, SimulatorConfig upstreams) {
+        this.users = users;
+        this.durationSeconds = durationSeconds;
+        this.warmupSeconds = warmupSeconds;
+        this.rampSeconds = rampSeconds;
+        this.thinkMillis = thinkMillis;
+        this.mix = mix;
+        this.seed = seed;
+        this.upstreams = upstreams;
+    }
+
+    /**
+     * Defaults: 50 virtual users for 60 s after a 10 s warm-up, 500 ms mean
+     * think time and a mix of login:10,search:30,build:25,save:20,list:15.
+     */
+    public static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Integer.getInteger("load.users", 50),
+                Integer.getInteger("load.durationSec", 60),
+                Integer.getInteger("load.warmupSec", 10),
+                Integer.getInteger("load.rampSec", 5),
+                Double.parseDouble(System.getProperty("load.thinkMs", "500")),
+                parseMix(System.getProperty("load.mix", "login:10,search:30,build:25,save:20,list:15")),
+                Long.getLong("load.seed", 42L),
+                SimulatorConfig.fromSystemProperties());
+    }
+
+    static Map<LoadGenerator.Operation, Integer> parseMix(String spec) {
+        Map<LoadGenerator.Operation, Integer> mix = new EnumMap<>(LoadGenerator.Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected op:weight");
+            }
+            LoadGenerator.Operation op = LoadGenerator.Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + op);
+            }
+            mix.put(op, weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Request mix has no positive weights: " + spec);
+        }
+        return mix;
+    }
+
+    public int getUsers() { return users; }
+    public int getDurationSeconds() { return durationSeconds; }
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public int getRampSeconds() { return rampSeconds; }
+    public double getThinkMillis() { return thinkMillis; }
+    public Map<LoadGenerator.Operation, Integer> getMix() { return mix; }
+    public long getSeed() { return seed; }
+    public SimulatorConfig getUpstreams() { return upstreams; }
+}
@@ -0,0 +1,346 @@
+package placefinder.frameworks_drivers.loadgen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.entities.Place;
+import placefinder.entities.Plan;
+import placefinder.frameworks_drivers.cache.CachingPreferenceGateway;
+import placefinder.frameworks_drivers.database.Database;
+import placefinder.frameworks_drivers.database.SqlitePlanGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePreferenceGatewayImpl;
+import placefinder.frameworks_drivers.database.SqliteUserGatewayImpl;
+import placefinder.frameworks_drivers.metrics.MetricsProxy;
+import placefinder.frameworks_drivers.metrics.MetricsRegistry;
+import placefinder.frameworks_drivers.metrics.Timer;
+import placefinder.frameworks_drivers.simulator.SyntheticDataset;
+import placefinder.usecases.buildplan.*;
+import placefinder.usecases.login.*;
+import placefinder.usecases.plans.*;
+import placefinder.usecases.ports.*;
+import placefinder.usecases.preferences.*;
+import placefinder.usecases.register.*;
+import placefinder.usecases.saveplan.*;
+import placefinder.usecases.searchplaces.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-user load generator for the interactors.
+ *
+ * Each virtual user logs in once and then loops: pick an operation from the
+ * weighted mix, run it through the real interactor, sleep an exponentially
+ * distributed think time. Operations that need earlier state (build needs a
+ * search, save needs a build) run their prerequisites first. The SQLite
+ * gateways are real; geocoding, places and weather are {@link StubUpstreams}
+ * with injected latency, so the database layer is what saturates.
+ *
+ * Run with a scratch database, e.g.
+ * {@code -Dplacefinder.db.url=jdbc:sqlite:/tmp/load.db -Dload.users=200 -Dload.thinkMs=100},
+ * see {@link LoadConfig} for the other settings. The final report lists
+ * throughput, latency percentiles, error rates and the most common error
+ * messages per use case, followed by per-gateway timings.
+ */
+public class LoadGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int MAX_STOPS = 5;
+    private static final Map<String, List<String>> CATEGORIES = Map.of(
+            "culture_history_and_arts", List.of("entertainment.museum", "entertainment.culture.gallery"),
+            "nature_parks_and_outdoors", List.of("leisure.park"),
+            "food_and_drink_experiences", List.of("catering.restaurant", "catering.cafe"));
+
+    /** The use cases the generator can drive. */
+    public enum Operation {
+        LOGIN, SEARCH, BUILD, SAVE, LIST;
+
+        String metricName() {
+            return "load." + name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final LoadConfig config;
+    private final UserGateway userGateway;
+    private final PreferenceGateway preferenceGateway;
+    private final PlanGateway planGateway;
+    private final GeocodingGateway geocodingGateway;
+    private final PlacesGateway placesGateway;
+    private final WeatherGateway weatherGateway;
+    private final HourlyWeatherGateway hourlyWeatherGateway;
+    private final List<String> cities = new ArrayList<>();
+    private final Operation[] weightedOps;
+    private final Map<Operation, Map<String, LongAdder>> errorMessages = new EnumMap<>(Operation.class);
+
+    private volatile boolean measuring;
+    private volatile long measureStartNanos;
+
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+        StubUpstreams stubs = new StubUpstreams(config.getUpstreams());
+        this.userGateway = MetricsProxy.wrap(UserGateway.class, new SqliteUserGatewayImpl(), "gateway.user");
+        this.preferenceGateway = new CachingPreferenceGateway(MetricsProxy.wrap(PreferenceGateway.class,
+                new SqlitePreferenceGatewayImpl(), "gateway.preference"));
+        this.planGateway = MetricsProxy.wrap(PlanGateway.class, new SqlitePlanGatewayImpl(), "gateway.plan");
+        this.geocodingGateway = MetricsProxy.wrap(GeocodingGateway.class, stubs.geocoding(), "gateway.geocoding");
+        this.placesGateway = MetricsProxy.wrap(PlacesGateway.class, stubs.places(), "gateway.places");
+        this.weatherGateway = MetricsProxy.wrap(WeatherGateway.class, stubs.weather(), "gateway.weather");
+        this.hourlyWeatherGateway = MetricsProxy.wrap(HourlyWeatherGateway.class, stubs.hourlyWeather(),
+                "gateway.hourlyWeather");
+        for (SyntheticDataset.City city : stubs.getDataset().getCities()) {
+            cities.add(city.getName());
+        }
+
+        List<Operation> ops = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> e : config.getMix().entrySet()) {
+            for (int i = 0; i < e.getValue(); i++) {
+                ops.add(e.getKey());
+            }
+        }
+        this.weightedOps = ops.toArray(new Operation[0]);
+        for (Operation op : Operation.values()) {
+            errorMessages.put(op, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Ensure database is initialized (triggers static init)
+        Database.getConnection().close();
+        new LoadGenerator(LoadConfig.fromSystemProperties()).run();
+    }
+
+    public void run() throws Exception {
+        LOG.info("Load test: {} users, {}s warm-up, {}s measured, {}ms think time, mix {}",
+                config.getUsers(), config.getWarmupSeconds(), config.getDurationSeconds(),
+                config.getThinkMillis(), config.getMix());
+        List<Integer> userIds = setUpUsers();
+
+        long startNanos = System.nanoTime();
+        long warmupEnd = startNanos + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        long rampNanos = TimeUnit.SECONDS.toNanos(config.getRampSeconds());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            long startDelay = userIds.size() > 1 ? rampNanos * i / (userIds.size() - 1) : 0;
+            VirtualUser vu = new VirtualUser(i, config.getSeed() + i, startNanos + startDelay, end);
+            Thread t = new Thread(vu, "vu-" + i);
+            t.setDaemon(true);
+            threads.add(t);
+            t.start();
+        }
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "load-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.schedule(() -> {
+            measureStartNanos = System.nanoTime();
+            measuring = true;
+            LOG.info("Warm-up finished; measuring");
+        }, warmupEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+        ticker.scheduleAtFixedRate(this::logProgress, 10, 10, TimeUnit.SECONDS);
+
+        for (Thread t : threads) {
+            t.join();
+        }
+        ticker.shutdownNow();
+        double seconds = (System.nanoTime() - measureStartNanos) / 1e9;
+        System.out.println(report(seconds));
+    }
+
+    /**
+     * Registers load-test accounts on first use and gives each the same
+     * preferences so that searches are comparable.
+     */
+    private List<Integer> setUpUsers() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < config.getUsers(); i++) {
+            String email = "load-user-" + i + "@example.com";
+            if (userGateway.findByEmail(email) == null) {
+                new RegisterInteractor(userGateway, out -> {
+                    if (!out.isSuccess()) throw new IllegalStateException(out.getMessage());
+                }).execute(new RegisterInputData("Load User " + i, email, PASSWORD, "Toronto"));
+            }
+            int id = userGateway.findByEmail(email).getId();
+            new UpdatePreferencesInteractor(preferenceGateway, out -> {
+                if (!out.isSuccess()) throw new IllegalStateException(out.getMessage());
+            }).execute(new UpdatePreferencesInputData(id, 3.0, CATEGORIES));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void logProgress() {
+        long total = 0;
+        for (Operation op : Operation.values()) {
+            total += MetricsRegistry.timer(op.metricName()).getCount();
+        }
+        if (measuring) {
+            double seconds = (System.nanoTime() - measureStartNanos) / 1e9;
+            LOG.info("{} operations measured, {} ops/s", total, String.format("%.1f", total / seconds));
+        }
+    }
+
+    private String report(double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%-8s %8s %9s %7s %9s %9s %9s %9s%n",
+                "usecase", "count", "ops/s", "err%", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Operation op : Operation.values()) {
+            Timer t = MetricsRegistry.timer(op.metricName());
+            if (t.getCount() == 0) continue;
+            sb.append(String.format("%-8s %8d %9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    op.name().toLowerCase(Locale.ROOT), t.getCount(), t.getCount() / seconds,
+                    t.getErrorRate() * 100, t.getPercentileMillis(0.50), t.getPercentileMillis(0.90),
+                    t.getPercentileMillis(0.99), t.getMaxMillis()));
+            errorMessages.get(op).entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                    .limit(3)
+                    .forEach(e -> sb.append(String.format("           %6d x %s%n", e.getValue().sum(), e.getKey())));
+        }
+        sb.append(String.format("%nGateway timings (including warm-up)%n"));
+        for (Timer t : MetricsRegistry.timers().values()) {
+            if (!t.getName().startsWith("gateway.") || t.getCount() == 0) continue;
+            sb.append(String.format("  %-40s n=%-8d err=%-6d p50=%8.2fms p99=%8.2fms max=%8.2fms%n",
+                    t.getName(), t.getCount(), t.getErrorCount(), t.getPercentileMillis(0.50),
+                    t.getPercentileMillis(0.99), t.getMaxMillis()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One simulated user with its own presenters, so its state never mixes with other users'.
+     */
+    private final class VirtualUser implements Runnable {
+        private final int index;
+        private final Random random;
+        private final long startNanos;
+        private final long endNanos;
+
+        private final String email;
+        private int userId = -1;
+        private List<Place> lastPlaces;
+        private Plan lastPlan;
+        private String lastLocation;
+        private String lastDate;
+
+        // Per-user presenters: each records the latest output for this user only
+        private LoginOutputData loginOut;
+        private SearchPlacesOutputData searchOut;
+        private BuildPlanOutputData buildOut;
+        private SavePlanOutputData saveOut;
+        private ListPlansOutputData listOut;
+
+        private final LoginInputBoundary login;
+        private final SearchPlacesInputBoundary search;
+        private final BuildPlanInputBoundary build;
+        private final SavePlanInputBoundary save;
+        private final ListPlansInputBoundary list;
+
+        VirtualUser(int index, long seed, long startNanos, long endNanos) {
+            this.index = index;
+            this.random = new Random(seed);
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.email = "load-user-" + index + "@example.com";
+            this.login = new LoginInteractor(userGateway, out -> loginOut = out);
+            this.search = new SearchPlacesInteractor(preferenceGateway, geocodingGateway, placesGateway,
+                    weatherGateway, out -> searchOut = out);
+            this.build = new BuildPlanInteractor(preferenceGateway,
+                    new FavoriteLocationResolver(preferenceGateway, geocodingGateway), hourlyWeatherGateway,
+                    out -> buildOut = out);
+            this.save = new SavePlanInteractor(planGateway, out -> saveOut = out);
+            this.list = new ListPlansInteractor(planGateway, out -> listOut = out);
+        }
+
+        @Override
+        public void run() {
+            try {
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, startNanos - System.nanoTime()));
+                perform(Operation.LOGIN);
+                while (System.nanoTime() < endNanos) {
+                    perform(weightedOps[random.nextInt(weightedOps.length)]);
+                    think();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOG.error("Virtual user {} stopped", index, e);
+            }
+        }
+
+        private void perform(Operation op) {
+            switch (op) {
+                case BUILD -> {
+                    if (lastPlaces == null || lastPlaces.isEmpty()) perform(Operation.SEARCH);
+                }
+                case SAVE -> {
+                    if (lastPlan == null) perform(Operation.BUILD);
+                }
+                case SEARCH, LIST -> {
+                    if (userId < 0) perform(Operation.LOGIN);
+                }
+                default -> { }
+            }
+            long start = System.nanoTime();
+            String error = execute(op);
+            if (measuring && start >= measureStartNanos) {
+                MetricsRegistry.timer(op.metricName()).recordSince(start, error != null);
+                if (error != null) {
+                    errorMessages.get(op).computeIfAbsent(error, k -> new LongAdder()).increment();
+                }
+            }
+        }
+
+        /**
+         * @return null on success, otherwise the message the use case presented
+         */
+        private String execute(Operation op) {
+            switch (op) {
+                case LOGIN: {
+                    login.execute(new LoginInputData(email, PASSWORD));
+                    if (!loginOut.isSuccess()) return loginOut.getMessage();
+                    userId = loginOut.getUser().getId();
+                    return null;
+                }
+                case SEARCH: {
+                    lastLocation = cities.get(random.nextInt(cities.size()));
+                    lastDate = LocalDate.now().plusDays(random.nextInt(14)).toString();
+                    search.execute(new SearchPlacesInputData(userId, lastLocation, lastDate));
+                    lastPlaces = searchOut.getPlaces();
+                    return searchOut.getErrorMessage();
+                }
+                case BUILD: {
+                    if (lastPlaces == null || lastPlaces.isEmpty()) return "No places to build from";
+                    List<Place> selected = new ArrayList<>(lastPlaces.subList(0, Math.min(MAX_STOPS, lastPlaces.size())));
+                    build.execute(new BuildPlanInputData(userId, lastLocation, lastDate,
+                            String.format("%02d:00", 8 + random.nextInt(6)), selected, null));
+                    lastPlan = buildOut.getPlan();
+                    return buildOut.getErrorMessage();
+                }
+                case SAVE: {
+                    save.execute(new SavePlanInputData(lastPlan, "Load plan " + index));
+                    lastPlan = null;
+                    return saveOut.isSuccess() ? null : saveOut.getMessage();
+                }
+                case LIST: {
+                    list.execute(new ListPlansInputData(userId));
+                    return listOut.getErrorMessage();
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + op);
+            }
+        }
+
+        private void think() throws InterruptedException {
+            double mean = config.getThinkMillis();
+            if (mean <= 0) return;
+            double millis = -mean * Math.log(1 - random.nextDouble());
+            TimeUnit.MICROSECONDS.sleep((long) (millis * 1000));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package placefinder.frameworks_drivers.loadgen;
+
+import placefinder.entities.*;
+import placefinder.frameworks_drivers.simulator.SimulatorConfig;
+import placefinder.frameworks_drivers.simulator.SyntheticDataset;
+import placefinder.usecases.ports.GeocodingGateway;
+import placefinder.usecases.ports.HourlyWeatherGateway;
+import placefinder.usecases.ports.PlacesGateway;
+import placefinder.usecases.ports.WeatherGateway;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-ins for the external gateways.
+ *
+ * They answer from the simulator's {@link SyntheticDataset} without any HTTP,
+ * after sleeping for a log-normal delay and optionally failing, as described by
+ * each upstream's {@link SimulatorConfig.FaultProfile}. This keeps the load on
+ * the SQLite gateways, which are the part under test.
+ */
+public class StubUpstreams {
+
+    private static final int PLACES_LIMIT = 40;
+
+    private final SyntheticDataset dataset;
+    private final SimulatorConfig config;
+
+    public StubUpstreams(SimulatorConfig config) {
+        this.config = config;
+        this.dataset = new SyntheticDataset(config.getSeed(), config.getPlacesPerCity());
+    }
+
+    public SyntheticDataset getDataset() {
+        return dataset;
+    }
+
+    public GeocodingGateway geocoding() {
+        return query -> {
+            delay(config.getOpenCage(), "geocoding");
+            SyntheticDataset.GeocodeMatch match = dataset.geocode(query);
+            return match == null ? null : new GeocodeResult(match.getLat(), match.getLon(), match.getFormatted());
+        };
+    }
+
+    public PlacesGateway places() {
+        return (lat, lon, radiusKm, selectedCategories) -> {
+            delay(config.getGeoapify(), "places");
+            Set<String> categories = new HashSet<>();
+            if (selectedCategories == null || selectedCategories.isEmpty()) {
+                categories.addAll(List.of("tourism.sights", "entertainment", "leisure.park", "catering"));
+            } else {
+                selectedCategories.values().forEach(categories::addAll);
+            }
+            List<Place> places = new ArrayList<>();
+            for (SyntheticDataset.PlaceHit hit : dataset.searchPlaces(lat, lon, radiusKm * 1000, categories, PLACES_LIMIT)) {
+                SyntheticDataset.SyntheticPlace p = hit.getPlace();
+                places.add(new Place(p.getId(), p.getName(), p.getFormattedAddress(), p.getLat(), p.getLon(),
+                        Math.round(hit.getDistanceMeters()) / 1000.0, IndoorOutdoorType.UNKNOWN, p.getCategories()));
+            }
+            return places;
+        };
+    }
+
+    public WeatherGateway weather() {
+        return (lats, lons, startDate, endDate) -> {
+            delay(config.getOpenMeteo(), "weather");
+            DailyWeatherGrid grid = new DailyWeatherGrid(lats.length, startDate, endDate);
+            for (int i = 0; i < lats.length; i++) {
+                for (int d = 0; d < grid.getDays(); d++) {
+                    SyntheticDataset.DailyWeather w = dataset.weatherFor(lats[i], lons[i], startDate.plusDays(d));
+                    grid.set(i, d, w.getTemperatureMax(), w.getTemperatureMin(),
+                            w.getPrecipitationProbability(), w.getUvIndex(), w.getWeatherCode());
+                }
+            }
+            return grid;
+        };
+    }
+
+    public HourlyWeatherGateway hourlyWeather() {
+        return (lats, lons, date) -> {
+            delay(config.getOpenMeteo(), "weather");
+            HourlyWeatherGrid grid = new HourlyWeatherGrid(lats.length, date);
+            for (int i = 0; i < lats.length; i++) {
+                SyntheticDataset.HourlyWeather w = dataset.hourlyWeatherFor(lats[i], lons[i], date);
+                for (int h = 0; h < HourlyWeatherGrid.HOURS; h++) {
+                    grid.set(i, h, w.getTemperature(h), w.getPrecipitationProbability(h), w.getUvIndex(h));
+                }
+            }
+            return grid;
+        };
+    }
+
+    private static void delay(SimulatorConfig.FaultProfile profile, String upstream) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double millis = profile.getMedianMillis() * Math.exp(profile.getSigma() * random.nextGaussian());
+        TimeUnit.MICROSECONDS.sleep((long) (millis * 1000));
+        if (random.nextDouble() < profile.getErrorRate()) {
+            throw new IOException("Injected " + upstream + " failure");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package placefinder.frameworks_drivers.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative long values with log-linear buckets.
+ *
+ * Values below 16 get an exact bucket each. Every power-of-two range above
+ * that is split into 8 linear sub-buckets, so any recorded value is reported
+ * within 12.5% of its true size. Recording is a couple of shifts plus one
+ * atomic increment and allocates nothing; the fixed 488-slot array covers the
+ * full positive long range.
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_LIMIT = 16;
+    private static final int BUCKET_COUNT = EXACT_LIMIT + (63 - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        total.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() { return total.sum(); }
+    public long getSum() { return sum.sum(); }
+    public long getMax() { return max.get(); }
+
+    public double getMean() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @param quantile value between 0 and 1, e.g. 0.99
+     * @return an estimate of the value at that quantile, or 0 if nothing was recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * n);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_LIMIT + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int k = index - EXACT_LIMIT;
+        int exponent = k / SUB_BUCKETS + 4;
+        int sub = k % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (SUB_BUCKETS + (long) sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + width / 2;
+    }
+}
@@ -0,0 +1,139 @@
+package placefinder.frameworks_drivers.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes every registered metric as read-only attributes of the MBean
+ * {@code placefinder:type=Metrics}.
+ *
+ * Attributes are named {@code <metric>.<stat>}, for example
+ * {@code usecase.searchPlaces.p99Millis}. The attribute list is rebuilt on each
+ * {@link #getMBeanInfo()} call, so metrics created after registration show up
+ * the next time JConsole or VisualVM refreshes.
+ */
+public class MetricsJmx implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "placefinder:type=Metrics";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsJmx.class);
+
+    private static final String[] TIMER_STATS = {
+            "count", "errorCount", "errorRate", "meanMillis", "p50Millis", "p99Millis", "maxMillis"
+    };
+    private static final String[] HISTOGRAM_STATS = {"count", "mean", "p50", "p99", "max"};
+
+    /**
+     * Registers the MBean with the platform server; repeated calls are ignored.
+     */
+    public static synchronized void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsJmx(), name);
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not register metrics MBean", e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        int dot = attribute.lastIndexOf('.');
+        if (dot <= 0) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        String metric = attribute.substring(0, dot);
+        String stat = attribute.substring(dot + 1);
+
+        Timer timer = MetricsRegistry.timers().get(metric);
+        if (timer != null) {
+            switch (stat) {
+                case "count": return timer.getCount();
+                case "errorCount": return timer.getErrorCount();
+                case "errorRate": return timer.getErrorRate();
+                case "meanMillis": return timer.getMeanMillis();
+                case "p50Millis": return timer.getPercentileMillis(0.50);
+                case "p99Millis": return timer.getPercentileMillis(0.99);
+                case "maxMillis": return timer.getMaxMillis();
+                default: break;
+            }
+        }
+        LogLinearHistogram histogram = MetricsRegistry.histograms().get(metric);
+        if (histogram != null) {
+            switch (stat) {
+                case "count": return histogram.getCount();
+                case "mean": return histogram.getMean();
+                case "p50": return histogram.getValueAtQuantile(0.50);
+                case "p99": return histogram.getValueAtQuantile(0.99);
+                case "max": return histogram.getMax();
+                default: break;
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+                // skip unknown attributes, as the DynamicMBean contract allows
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attrs = new ArrayList<>();
+        for (Map.Entry<String, Timer> e : MetricsRegistry.timers().entrySet()) {
+            for (String stat : TIMER_STATS) {
+                String type = stat.endsWith("Count") || stat.equals("count")
+                        ? Long.class.getName() : Double.class.getName();
+                attrs.add(new MBeanAttributeInfo(e.getKey() + "." + stat, type,
+                        stat + " of " + e.getKey(), true, false, false));
+            }
+        }
+        for (Map.Entry<String, LogLinearHistogram> e : MetricsRegistry.histograms().entrySet()) {
+            for (String stat : HISTOGRAM_STATS) {
+                String type = stat.equals("mean") ? Double.class.getName() : Long.class.getName();
+                attrs.add(new MBeanAttributeInfo(e.getKey() + "." + stat, type,
+                        stat + " of " + e.getKey(), true, false, false));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "PlaceFinder latency and throughput metrics",
+                attrs.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
@@ -0,0 +1,95 @@
+package placefinder.frameworks_drivers.metrics;
+
+import placefinder.frameworks_drivers.jfr.GatewayCallEvent;
+import placefinder.frameworks_drivers.jfr.UseCaseEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wraps a port or input boundary so that every interface method call is timed.
+ *
+ * Used at the composition root so that interactors and gateways stay free of
+ * metrics code: {@code MetricsProxy.wrap(PlanGateway.class, impl, "gateway.plan")}
+ * records {@code gateway.plan.savePlan}, {@code gateway.plan.findPlansByUser}, ...
+ * A call that throws counts as an error.
+ *
+ * Each call is also emitted as a JFR {@link UseCaseEvent} (for {@code usecase.*}
+ * prefixes) or {@link GatewayCallEvent}, so a recording shows the
+ * search, geocode, weather and places calls nested on one timeline.
+ */
+public final class MetricsProxy implements InvocationHandler {
+
+    private static final String USE_CASE_PREFIX = "usecase.";
+
+    private final Object target;
+    private final Map<Method, Timer> timers;
+    private final boolean useCase;
+
+    private MetricsProxy(Object target, Map<Method, Timer> timers, boolean useCase) {
+        this.target = target;
+        this.timers = timers;
+        this.useCase = useCase;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> iface, T target, String prefix) {
+        Map<Method, Timer> timers = new HashMap<>();
+        for (Method m : iface.getMethods()) {
+            timers.put(m, MetricsRegistry.timer(prefix + "." + m.getName()));
+        }
+        return (T) Proxy.newProxyInstance(
+                iface.getClassLoader(),
+                new Class<?>[]{iface},
+                new MetricsProxy(target, timers, prefix.startsWith(USE_CASE_PREFIX)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            // toString/equals/hashCode
+            return invokeTarget(method, args);
+        }
+        long start = System.nanoTime();
+        jdk.jfr.Event event = useCase ? new UseCaseEvent() : new GatewayCallEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invokeTarget(method, args);
+            failed = false;
+            return result;
+        } finally {
+            timer.recordSince(start, failed);
+            event.end();
+            if (event.shouldCommit()) {
+                commit(event, timer.getName(), failed);
+            }
+        }
+    }
+
+    private static void commit(jdk.jfr.Event event, String name, boolean failed) {
+        if (event instanceof UseCaseEvent) {
+            UseCaseEvent e = (UseCaseEvent) event;
+            e.useCase = name;
+            e.failed = failed;
+        } else {
+            GatewayCallEvent e = (GatewayCallEvent) event;
+            e.operation = name;
+            e.failed = failed;
+        }
+        event.commit();
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package placefinder.frameworks_drivers.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide home for timers and size histograms.
+ *
+ * Names are dotted paths: {@code usecase.searchPlaces},
+ * {@code gateway.plan.findPlansByUser}, {@code http.api.geoapify.com}.
+ * Look a metric up once and keep the reference; the hot path then only
+ * touches the metric itself.
+ */
+public final class MetricsRegistry {
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LogLinearHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * Histogram for non-latency values such as payload sizes in bytes.
+     */
+    public static LogLinearHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new LogLinearHistogram());
+    }
+
+    /**
+     * @return all timers sorted by name
+     */
+    public static Map<String, Timer> timers() {
+        return new TreeMap<>(TIMERS);
+    }
+
+    /**
+     * @return all histograms sorted by name
+     */
+    public static Map<String, LogLinearHistogram> histograms() {
+        return new TreeMap<>(HISTOGRAMS);
+    }
+}
@@ -0,0 +1,75 @@
+package placefinder.frameworks_drivers.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.frameworks_drivers.api.RateLimiter;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs a summary of every metric through slf4j at a fixed interval.
+ * Figures are cumulative since start-up.
+ */
+public final class MetricsReporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private static ScheduledExecutorService scheduler;
+
+    private MetricsReporter() {
+    }
+
+    /**
+     * Starts the periodic report on a daemon thread; repeated calls are ignored.
+     */
+    public static synchronized void start(long interval, TimeUnit unit) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(MetricsReporter::report, interval, interval, unit);
+    }
+
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public static void report() {
+        if (!LOG.isInfoEnabled()) {
+            return;
+        }
+        Map<String, Timer> timers = MetricsRegistry.timers();
+        Map<String, LogLinearHistogram> histograms = MetricsRegistry.histograms();
+        if (timers.isEmpty() && histograms.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Metrics summary");
+        for (Timer t : timers.values()) {
+            if (t.getCount() == 0) continue;
+            sb.append(String.format("%n  %-45s n=%-7d err=%-5d p50=%8.2fms p99=%8.2fms max=%8.2fms",
+                    t.getName(), t.getCount(), t.getErrorCount(),
+                    t.getPercentileMillis(0.50), t.getPercentileMillis(0.99), t.getMaxMillis()));
+        }
+        for (Map.Entry<String, LogLinearHistogram> e : histograms.entrySet()) {
+            LogLinearHistogram h = e.getValue();
+            if (h.getCount() == 0) continue;
+            sb.append(String.format("%n  %-45s n=%-7d p50=%-9d p99=%-9d max=%d",
+                    e.getKey(), h.getCount(), h.getValueAtQuantile(0.50),
+                    h.getValueAtQuantile(0.99), h.getMax()));
+        }
+        for (RateLimiter.QuotaUsage usage : RateLimiter.snapshotAll()) {
+            sb.append("\n  quota ").append(usage);
+        }
+        LOG.info(sb.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package placefinder.frameworks_drivers.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs start-up milestones relative to JVM launch.
+ *
+ * Each {@link #mark} line shows the time since the JVM started (so class
+ * loading before {@code main} is included) and, for work done on background
+ * threads, how long that phase itself took.
+ */
+public final class StartupTimings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTimings.class);
+
+    // ProcessHandle rather than the management beans: loading JMX here would slow start-up
+    private static final Instant PROCESS_START =
+            ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Logs that a milestone was reached.
+     */
+    public static void mark(String milestone) {
+        LOG.info("startup +{}ms  {} [{}]", sinceJvmStartMillis(), milestone, Thread.currentThread().getName());
+    }
+
+    /**
+     * Runs one start-up phase, logging its duration and recording it as {@code startup.<phase>}.
+     */
+    public static void phase(String phase, Runnable work) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            work.run();
+            failed = false;
+        } finally {
+            MetricsRegistry.timer("startup." + phase).recordSince(start, failed);
+            LOG.info("startup +{}ms  {} {} in {}ms [{}]", sinceJvmStartMillis(), phase,
+                    failed ? "failed" : "done",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    Thread.currentThread().getName());
+        }
+    }
+
+    private static long sinceJvmStartMillis() {
+        return Duration.between(PROCESS_START, Instant.now()).toMillis();
+    }
+}
@@ -0,0 +1,49 @@
+package placefinder.frameworks_drivers.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram plus an error counter for one operation
+ * (a use case, a gateway method or an upstream host).
+ */
+public class Timer {
+
+    private final String name;
+    private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one call that started at {@code startNanos} (from {@link System#nanoTime()}).
+     */
+    public void recordSince(long startNanos, boolean failed) {
+        latencyNanos.record(System.nanoTime() - startNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return latencyNanos.getCount(); }
+    public long getErrorCount() { return errors.sum(); }
+
+    public double getErrorRate() {
+        long n = latencyNanos.getCount();
+        return n == 0 ? 0.0 : (double) errors.sum() / n;
+    }
+
+    public double getMeanMillis() { return latencyNanos.getMean() / TimeUnit.MILLISECONDS.toNanos(1); }
+    public double getMaxMillis() { return toMillis(latencyNanos.getMax()); }
+
+    public double getPercentileMillis(double quantile) {
+        return toMillis(latencyNanos.getValueAtQuantile(quantile));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,646 @@
+package placefinder.frameworks_drivers.server;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.entities.DayTripExperienceCategories;
+import placefinder.entities.FavoriteLocation;
+import placefinder.entities.Place;
+import placefinder.entities.Plan;
+import placefinder.frameworks_drivers.metrics.MetricsProxy;
+import placefinder.frameworks_drivers.metrics.MetricsRegistry;
+import placefinder.frameworks_drivers.metrics.Timer;
+import placefinder.usecases.buildplan.*;
+import placefinder.usecases.login.*;
+import placefinder.usecases.plans.*;
+import placefinder.usecases.ports.*;
+import placefinder.usecases.preferences.*;
+import placefinder.usecases.register.*;
+import placefinder.usecases.saveplan.*;
+import placefinder.usecases.searchplaces.*;
+import placefinder.usecases.weatheradvice.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * JSON endpoints for the HTTP API.
+ *
+ * Every request builds its own interactor around a presenter that captures the
+ * output data for that request only, so concurrent sessions never share view
+ * model state. Interactors are cheap to construct (they only hold gateway
+ * references); the gateways themselves are shared and thread-safe.
+ *
+ * <pre>
+ * POST   /api/register                  {name, email, password, homeCity}
+ * POST   /api/login                     {email, password} -> {token, user}
+ * POST   /api/logout
+ * GET    /api/preferences
+ * PUT    /api/preferences               {radiusKm, selectedCategories}
+ * GET    /api/favorites?prefix=..       favorites whose name starts with prefix
+ * GET    /api/favorites/nearest?lat=..&lon=..
+ * POST   /api/favorites                 {name, address}
+ * DELETE /api/favorites/{id}
+ * POST   /api/search                    {location, date}
+ * POST   /api/plans/build               {location, date, startTime, places, existingPlanId?}
+ * POST   /api/plans                     {plan, name}
+ * GET    /api/plans                     optional ?near=..&radiusKm=.. (default 5) or ?q=..
+ * GET    /api/plans/{id}
+ * DELETE /api/plans/{id}
+ * POST   /api/plans/{id}/apply-preferences
+ * GET    /api/weather?location=..&date=..
+ * GET    /api/health
+ * </pre>
+ * All endpoints except register, login, weather and health need an
+ * {@code Authorization: Bearer <token>} header.
+ */
+public class ApiRoutes implements HttpHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApiRoutes.class);
+    private static final Type PLACE_LIST = new TypeToken<List<Place>>() { }.getType();
+    private static final Type CATEGORY_MAP = new TypeToken<Map<String, List<String>>>() { }.getType();
+    // Timer names of the routes listed above; any other request is timed as api.unmatched,
+    // so scanning for unknown paths cannot create timers without bound
+    private static final Set<String> ROUTES = Set.of(
+            "POST.api.register", "POST.api.login", "POST.api.logout",
+            "GET.api.preferences", "PUT.api.preferences",
+            "GET.api.favorites", "GET.api.favorites.nearest", "POST.api.favorites", "DELETE.api.favorites.id",
+            "POST.api.search",
+            "POST.api.plans.build", "POST.api.plans", "GET.api.plans", "GET.api.plans.id",
+            "DELETE.api.plans.id", "POST.api.plans.id.apply-preferences",
+            "GET.api.weather", "GET.api.health");
+
+    private final UserGateway userGateway;
+    private final PreferenceGateway preferenceGateway;
+    private final PlanGateway planGateway;
+    private final GeocodingGateway geocodingGateway;
+    private final PlacesGateway placesGateway;
+    private final WeatherGateway weatherGateway;
+    private final HourlyWeatherGateway hourlyWeatherGateway;
+    private final SessionStore sessions;
+    private final FavoriteLocationResolver locationResolver;
+    private final Gson gson = JsonSupport.gson();
+
+    public ApiRoutes(UserGateway userGateway,
+                     PreferenceGateway preferenceGateway,
+                     PlanGateway planGateway,
+                     GeocodingGateway geocodingGateway,
+                     PlacesGateway placesGateway,
+                     WeatherGateway weatherGateway,
+                     HourlyWeatherGateway hourlyWeatherGateway,
+                     SessionStore sessions) {
+        this.userGateway = userGateway;
+        this.preferenceGateway = preferenceGateway;
+        this.planGateway = planGateway;
+        this.geocodingGateway = geocodingGateway;
+        this.placesGateway = placesGateway;
+        this.weatherGateway = weatherGateway;
+        this.hourlyWeatherGateway = hourlyWeatherGateway;
+        this.sessions = sessions;
+        this.locationResolver = new FavoriteLocationResolver(preferenceGateway, geocodingGateway);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        List<String> path = segments(exchange.getRequestURI().getPath());
+        String route = routeName(method, path);
+        Timer timer = MetricsRegistry.timer(ROUTES.contains(route) ? "api." + route : "api.unmatched");
+        long start = System.nanoTime();
+        int status = 500;
+        try {
+            Response response = dispatch(exchange, method, path);
+            status = response.status;
+            send(exchange, response.status, response.body);
+        } catch (ApiException e) {
+            status = e.status;
+            send(exchange, e.status, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            LOG.error("Unhandled error on {} {}", method, exchange.getRequestURI(), e);
+            send(exchange, 500, error("Internal server error"));
+        } finally {
+            timer.recordSince(start, status >= 500);
+            exchange.close();
+        }
+    }
+
+    private Response dispatch(HttpExchange ex, String method, List<String> path) throws IOException {
+        if (path.isEmpty() || !path.get(0).equals("api") || path.size() < 2) {
+            throw new ApiException(404, "Not found");
+        }
+        String resource = path.get(1);
+        int size = path.size();
+
+        switch (resource) {
+            case "health":
+                requireMethod(method, "GET");
+                JsonObject health = new JsonObject();
+                health.addProperty("status", "ok");
+                health.addProperty("sessions", sessions.size());
+                return Response.ok(health);
+            case "register":
+                requireMethod(method, "POST");
+                return register(readBody(ex));
+            case "login":
+                requireMethod(method, "POST");
+                return login(readBody(ex));
+            case "logout":
+                requireMethod(method, "POST");
+                sessions.remove(bearerToken(ex));
+                return Response.ok(new JsonObject());
+            case "weather":
+                requireMethod(method, "GET");
+                return weather(query(ex));
+            case "preferences":
+                if (size == 2 && method.equals("GET")) return getPreferences(userId(ex));
+                if (size == 2 && method.equals("PUT")) return updatePreferences(userId(ex), readBody(ex));
+                break;
+            case "favorites":
+                if (size == 2 && method.equals("GET")) return findFavorites(userId(ex), query(ex));
+                if (size == 3 && path.get(2).equals("nearest") && method.equals("GET")) {
+                    return nearestFavorite(userId(ex), query(ex));
+                }
+                if (size == 2 && method.equals("POST")) return addFavorite(userId(ex), readBody(ex));
+                if (size == 3 && method.equals("DELETE")) return deleteFavorite(userId(ex), pathId(path, 2));
+                break;
+            case "search":
+                if (size == 2 && method.equals("POST")) return search(userId(ex), readBody(ex));
+                break;
+            case "plans":
+                if (size == 2 && method.equals("GET")) return listPlans(userId(ex), query(ex));
+                if (size == 2 && method.equals("POST")) return savePlan(userId(ex), readBody(ex));
+                if (size == 3 && path.get(2).equals("build") && method.equals("POST")) {
+                    return buildPlan(userId(ex), readBody(ex));
+                }
+                if (size == 3 && method.equals("GET")) return getPlan(userId(ex), pathId(path, 2));
+                if (size == 3 && method.equals("DELETE")) return deletePlan(userId(ex), pathId(path, 2));
+                if (size == 4 && path.get(3).equals("apply-preferences") && method.equals("POST")) {
+                    return applyPreferences(userId(ex), pathId(path, 2));
+                }
+                break;
+            default:
+                throw new ApiException(404, "Not found");
+        }
+        throw new ApiException(405, "Method not allowed");
+    }
+
+    // ===== Accounts =====
+
+    private Response register(JsonObject body) {
+        Captured<RegisterOutputData> out = new Captured<>();
+        useCase(RegisterInputBoundary.class, new RegisterInteractor(userGateway, out::set), "register")
+                .execute(new RegisterInputData(
+                        string(body, "name"), string(body, "email"),
+                        string(body, "password"), string(body, "homeCity")));
+        RegisterOutputData data = out.get();
+        return data.isSuccess() ? Response.of(201, message(data.getMessage()))
+                : Response.of(422, error(data.getMessage()));
+    }
+
+    private Response login(JsonObject body) {
+        Captured<LoginOutputData> out = new Captured<>();
+        useCase(LoginInputBoundary.class, new LoginInteractor(userGateway, out::set), "login")
+                .execute(new LoginInputData(string(body, "email"), string(body, "password")));
+        LoginOutputData data = out.get();
+        if (!data.isSuccess() || data.getUser() == null) {
+            return Response.of(401, error(data.getMessage()));
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("token", sessions.create(data.getUser().getId()));
+        json.add("user", JsonSupport.user(data.getUser()));
+        return Response.ok(json);
+    }
+
+    // ===== Preferences =====
+
+    private Response getPreferences(int userId) {
+        Captured<GetPreferencesOutputData> out = new Captured<>();
+        useCase(GetPreferencesInputBoundary.class,
+                new GetPreferencesInteractor(preferenceGateway, out::set), "getPreferences")
+                .execute(new GetPreferencesInputData(userId));
+        GetPreferencesOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data));
+    }
+
+    private Response updatePreferences(int userId, JsonObject body) {
+        Map<String, List<String>> categories = body.has("selectedCategories")
+                ? parsed(() -> gson.fromJson(body.get("selectedCategories"), CATEGORY_MAP))
+                : new HashMap<>();
+        requireKnownCategories(categories);
+        Captured<UpdatePreferencesOutputData> out = new Captured<>();
+        useCase(UpdatePreferencesInputBoundary.class,
+                new UpdatePreferencesInteractor(preferenceGateway, out::set), "updatePreferences")
+                .execute(new UpdatePreferencesInputData(userId, number(body, "radiusKm"), categories));
+        return status(out.get().isSuccess(), out.get().getMessage());
+    }
+
+    private Response addFavorite(int userId, JsonObject body) {
+        Captured<AddFavoriteOutputData> out = new Captured<>();
+        useCase(AddFavoriteInputBoundary.class,
+                new AddFavoriteInteractor(preferenceGateway, geocodingGateway, out::set), "addFavorite")
+                .execute(new AddFavoriteInputData(userId, string(body, "name"), string(body, "address")));
+        AddFavoriteOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.of(201, gson.toJsonTree(data.getFavorite()));
+    }
+
+    private Response findFavorites(int userId, Map<String, String> query) {
+        try {
+            return Response.ok(gson.toJsonTree(
+                    locationResolver.favoritesStartingWith(userId, query.getOrDefault("prefix", ""))));
+        } catch (Exception e) {
+            LOG.error("Favorite lookup failed for user {}", userId, e);
+            throw new ApiException(500, "Could not load favorites");
+        }
+    }
+
+    private Response nearestFavorite(int userId, Map<String, String> query) {
+        double lat = parsed(() -> Double.parseDouble(query.getOrDefault("lat", "")));
+        double lon = parsed(() -> Double.parseDouble(query.getOrDefault("lon", "")));
+        FavoriteLocation nearest;
+        try {
+            nearest = locationResolver.nearestFavorite(userId, lat, lon);
+        } catch (Exception e) {
+            LOG.error("Favorite lookup failed for user {}", userId, e);
+            throw new ApiException(500, "Could not load favorites");
+        }
+        if (nearest == null) {
+            throw new ApiException(404, "No favorite locations saved");
+        }
+        JsonObject json = gson.toJsonTree(nearest).getAsJsonObject();
+        json.addProperty("distanceKm",
+                FavoriteIndex.distanceKm(lat, lon, nearest.getLat(), nearest.getLon()));
+        return Response.ok(json);
+    }
+
+    private Response deleteFavorite(int userId, int favoriteId) {
+        Captured<DeleteFavoriteOutputData> out = new Captured<>();
+        useCase(DeleteFavoriteInputBoundary.class,
+                new DeleteFavoriteInteractor(preferenceGateway, out::set), "deleteFavorite")
+                .execute(new DeleteFavoriteInputData(userId, favoriteId));
+        return status(out.get().isSuccess(), out.get().getMessage());
+    }
+
+    // ===== Search / build / save =====
+
+    private Response search(int userId, JsonObject body) {
+        Captured<SearchPlacesOutputData> out = new Captured<>();
+        useCase(SearchPlacesInputBoundary.class,
+                new SearchPlacesInteractor(preferenceGateway, locationResolver, placesGateway,
+                        weatherGateway, out::set), "searchPlaces")
+                .execute(new SearchPlacesInputData(userId, string(body, "location"), string(body, "date")));
+        SearchPlacesOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data));
+    }
+
+    private Response buildPlan(int userId, JsonObject body) {
+        List<Place> places = body.has("places")
+                ? parsed(() -> gson.<List<Place>>fromJson(body.get("places"), PLACE_LIST)) : List.of();
+        Integer existingPlanId = body.has("existingPlanId") && !body.get("existingPlanId").isJsonNull()
+                ? parsed(() -> body.get("existingPlanId").getAsInt()) : null;
+        Captured<BuildPlanOutputData> out = new Captured<>();
+        useCase(BuildPlanInputBoundary.class,
+                new BuildPlanInteractor(preferenceGateway, locationResolver, hourlyWeatherGateway, out::set),
+                "buildPlan")
+                .execute(new BuildPlanInputData(userId, string(body, "location"), string(body, "date"),
+                        string(body, "startTime"), places, existingPlanId));
+        BuildPlanOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data));
+    }
+
+    private Response savePlan(int userId, JsonObject body) {
+        if (!body.has("plan") || !body.get("plan").isJsonObject()) {
+            throw new ApiException(400, "Missing 'plan'");
+        }
+        Plan plan = parsed(() -> gson.fromJson(body.get("plan"), Plan.class)).withUserId(userId);
+        // Applying the plan's preferences later would hand these to the category registry
+        requireKnownCategories(plan.getSnapshotCategories());
+        if (plan.getId() != null) {
+            requireOwnPlan(userId, plan.getId());
+        }
+        Captured<SavePlanOutputData> out = new Captured<>();
+        useCase(SavePlanInputBoundary.class, new SavePlanInteractor(planGateway, out::set), "savePlan")
+                .execute(new SavePlanInputData(plan, optionalString(body, "name")));
+        SavePlanOutputData data = out.get();
+        return data.isSuccess() ? Response.of(201, gson.toJsonTree(data.getPlan()))
+                : Response.of(422, error(data.getMessage()));
+    }
+
+    // ===== Plans =====
+
+    private Response listPlans(int userId, Map<String, String> query) {
+        if (query.containsKey("near")) {
+            return plansNear(userId, query.get("near"),
+                    parsed(() -> Double.parseDouble(query.getOrDefault("radiusKm", "5"))));
+        }
+        if (query.containsKey("q")) {
+            return searchPlans(userId, query.get("q"));
+        }
+        Captured<ListPlansOutputData> out = new Captured<>();
+        useCase(ListPlansInputBoundary.class, new ListPlansInteractor(planGateway, out::set), "listPlans")
+                .execute(new ListPlansInputData(userId));
+        ListPlansOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data.getPlans()));
+    }
+
+    private Response plansNear(int userId, String near, double radiusKm) {
+        Captured<FindPlansNearOutputData> out = new Captured<>();
+        useCase(FindPlansNearInputBoundary.class,
+                new FindPlansNearInteractor(planGateway, locationResolver, out::set), "findPlansNear")
+                .execute(new FindPlansNearInputData(userId, near, radiusKm));
+        FindPlansNearOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data.getPlans()));
+    }
+
+    private Response searchPlans(int userId, String q) {
+        Captured<SearchPlansOutputData> out = new Captured<>();
+        useCase(SearchPlansInputBoundary.class, new SearchPlansInteractor(planGateway, out::set), "searchPlans")
+                .execute(new SearchPlansInputData(userId, q));
+        SearchPlansOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data.getPlans()));
+    }
+
+    private Response getPlan(int userId, int planId) {
+        Captured<GetPlanDetailsOutputData> out = new Captured<>();
+        useCase(GetPlanDetailsInputBoundary.class,
+                new GetPlanDetailsInteractor(planGateway, out::set), "getPlanDetails")
+                .execute(new GetPlanDetailsInputData(planId));
+        GetPlanDetailsOutputData data = out.get();
+        // Plans of other users are reported as missing rather than forbidden
+        if (data.getPlan() == null || data.getPlan().getUserId() != userId) {
+            return Response.of(404, error(data.getErrorMessage() != null
+                    ? data.getErrorMessage() : "Plan not found."));
+        }
+        return Response.ok(gson.toJsonTree(data.getPlan()));
+    }
+
+    /** Plans of other users are reported as missing, as in {@link #getPlan}. */
+    private void requireOwnPlan(int userId, int planId) {
+        Plan stored;
+        try {
+            stored = planGateway.findPlanWithStops(planId);
+        } catch (Exception e) {
+            LOG.error("Plan lookup failed for plan {}", planId, e);
+            throw new ApiException(500, "Could not load plan");
+        }
+        if (stored == null || stored.getUserId() != userId) {
+            throw new ApiException(404, "Plan not found.");
+        }
+    }
+
+    private Response deletePlan(int userId, int planId) {
+        Captured<DeletePlanOutputData> out = new Captured<>();
+        useCase(DeletePlanInputBoundary.class, new DeletePlanInteractor(planGateway, out::set), "deletePlan")
+                .execute(new DeletePlanInputData(planId, userId));
+        return status(out.get().isSuccess(), out.get().getMessage());
+    }
+
+    private Response applyPreferences(int userId, int planId) {
+        requireOwnPlan(userId, planId);
+        Captured<ApplyPreferencesFromPlanOutputData> out = new Captured<>();
+        useCase(ApplyPreferencesFromPlanInputBoundary.class,
+                new ApplyPreferencesFromPlanInteractor(planGateway, preferenceGateway, out::set),
+                "applyPreferencesFromPlan")
+                .execute(new ApplyPreferencesFromPlanInputData(planId, userId));
+        return status(out.get().isSuccess(), out.get().getMessage());
+    }
+
+    // ===== Weather =====
+
+    private Response weather(Map<String, String> query) {
+        String location = query.get("location");
+        if (location == null || location.isBlank()) {
+            throw new ApiException(400, "Missing 'location'");
+        }
+        Captured<WeatherAdviceOutputData> out = new Captured<>();
+        useCase(WeatherAdviceInputBoundary.class,
+                new WeatherAdviceInteractor(geocodingGateway, weatherGateway, out::set), "weatherAdvice")
+                .execute(new WeatherAdviceInputData(location, query.get("date")));
+        WeatherAdviceOutputData data = out.get();
+        return data.getErrorMessage() != null ? Response.of(422, error(data.getErrorMessage()))
+                : Response.ok(gson.toJsonTree(data));
+    }
+
+    // ===== Helpers =====
+
+    /** Times the per-request interactor under the same names the desktop app uses. */
+    private static <T> T useCase(Class<T> boundary, T interactor, String name) {
+        return MetricsProxy.wrap(boundary, interactor, "usecase." + name);
+    }
+
+    private int userId(HttpExchange ex) {
+        Integer userId = sessions.resolve(bearerToken(ex));
+        if (userId == null) {
+            throw new ApiException(401, "Missing or expired session. Please log in.");
+        }
+        return userId;
+    }
+
+    private static String bearerToken(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+
+    /**
+     * Rejects categories outside {@link DayTripExperienceCategories}; every name that gets
+     * through is interned by the category registry for the life of the process.
+     */
+    private static void requireKnownCategories(Map<String, List<String>> categories) {
+        if (categories == null) {
+            return;
+        }
+        for (Map.Entry<String, List<String>> entry : categories.entrySet()) {
+            if (!DayTripExperienceCategories.getMainCategories().contains(entry.getKey())) {
+                throw new ApiException(400, "Unknown category: " + entry.getKey());
+            }
+            if (entry.getValue() == null) {
+                continue;
+            }
+            for (String subCategory : entry.getValue()) {
+                if (!DayTripExperienceCategories.isSubCategory(entry.getKey(), subCategory)) {
+                    throw new ApiException(400, "Unknown category: " + subCategory);
+                }
+            }
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Method not allowed");
+        }
+    }
+
+    private static JsonObject readBody(HttpExchange ex) throws IOException {
+        try (Reader reader = new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement element = parsed(() -> JsonParser.parseReader(reader));
+            if (!element.isJsonObject()) {
+                throw new ApiException(400, "Request body must be a JSON object");
+            }
+            return element.getAsJsonObject();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> list = new ArrayList<>();
+        for (String s : path.split("/")) {
+            if (!s.isEmpty()) list.add(s);
+        }
+        return list;
+    }
+
+    /** Metric name for a request, with ids replaced so that timers stay bounded. */
+    private static String routeName(String method, List<String> path) {
+        StringBuilder sb = new StringBuilder(method);
+        for (String s : path) {
+            sb.append('.').append(s.chars().allMatch(Character::isDigit) ? "id" : s);
+        }
+        return sb.toString();
+    }
+
+    private static int pathId(List<String> path, int index) {
+        try {
+            return Integer.parseInt(path.get(index));
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    private static String string(JsonObject body, String name) {
+        JsonElement e = body.get(name);
+        return e == null || e.isJsonNull() ? "" : parsed(e::getAsString);
+    }
+
+    private static String optionalString(JsonObject body, String name) {
+        JsonElement e = body.get(name);
+        return e == null || e.isJsonNull() ? null : parsed(e::getAsString);
+    }
+
+    private static double number(JsonObject body, String name) {
+        JsonElement e = body.get(name);
+        if (e == null || e.isJsonNull()) {
+            throw new ApiException(400, "Missing '" + name + "'");
+        }
+        return parsed(e::getAsDouble);
+    }
+
+    /**
+     * Runs a conversion of request input, answering Gson and number errors with 400.
+     * Only input is parsed here: the same exception types from anywhere else are
+     * internal failures and reach the 500 handler.
+     */
+    private static <T> T parsed(Supplier<T> conversion) {
+        try {
+            return conversion.get();
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException
+                 | NumberFormatException e) {
+            throw new ApiException(400, "Malformed request: " + e.getMessage());
+        }
+    }
+
+    private static Response status(boolean success, String message) {
+        return success ? Response.ok(message(message)) : Response.of(422, error(message));
+    }
+
+    private static JsonObject message(String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("message", message);
+        return json;
+    }
+
+    private static JsonObject error(String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("error", message != null ? message : "Request failed");
+        return json;
+    }
+
+    private static void send(HttpExchange ex, int status, JsonElement body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Presenter for a single request: keeps whatever the interactor presents.
+     */
+    private static final class Captured<T> {
+        private T value;
+
+        void set(T value) {
+            this.value = value;
+        }
+
+        T get() {
+            if (value == null) {
+                throw new ApiException(500, "Use case finished without presenting a result");
+            }
+            return value;
+        }
+    }
+
+    private static final class Response {
+        private final int status;
+        private final JsonElement body;
+
+        private Response(int status, JsonElement body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(JsonElement body) {
+            return new Response(200, body);
+        }
+
+        static Response of(int status, JsonElement body) {
+            return new Response(status, body);
+        }
+    }
+
+    /**
+     * Ends a request with the given status and message.
+     */
+    static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
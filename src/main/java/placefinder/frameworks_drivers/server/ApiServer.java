@@ -0,0 +1,156 @@
+package placefinder.frameworks_drivers.server;
+
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.frameworks_drivers.api.GeoApifyPlacesGatewayImpl;
+import placefinder.frameworks_drivers.api.OpenCageGeocodingGateway;
+import placefinder.frameworks_drivers.api.OpenMeteoWeatherGatewayImpl;
+import placefinder.frameworks_drivers.cache.CachingHourlyWeatherGateway;
+import placefinder.frameworks_drivers.cache.CachingPreferenceGateway;
+import placefinder.frameworks_drivers.database.Database;
+import placefinder.frameworks_drivers.database.SqlitePlacesGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePlanGatewayImpl;
+import placefinder.frameworks_drivers.database.SqlitePreferenceGatewayImpl;
+import placefinder.frameworks_drivers.database.SqliteUserGatewayImpl;
+import placefinder.frameworks_drivers.metrics.MetricsJmx;
+import placefinder.frameworks_drivers.metrics.MetricsProxy;
+import placefinder.frameworks_drivers.metrics.MetricsReporter;
+import placefinder.usecases.ports.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless entry point: serves the use cases as a JSON API (see {@link ApiRoutes})
+ * instead of opening the Swing frame, so one JVM can serve many users.
+ *
+ * Start with {@code TravelSchedulerApp --server} or run this class directly.
+ * Settings are system properties: {@code server.port} (default 8080),
+ * {@code server.maxThreads} (default 256, only used without virtual threads)
+ * and {@code server.drainSeconds} (default 10).
+ *
+ * Requests run on a virtual thread each when the JVM supports them (Java 21+);
+ * on older JVMs a bounded platform-thread pool is used instead. Either way a
+ * request that blocks on SQLite or an upstream API only parks its own thread.
+ */
+public class ApiServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApiServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int drainSeconds;
+    private boolean stopped;
+
+    public ApiServer(int port, int maxThreads, int drainSeconds,
+                     UserGateway userGateway,
+                     PreferenceGateway preferenceGateway,
+                     PlanGateway planGateway,
+                     GeocodingGateway geocodingGateway,
+                     PlacesGateway placesGateway,
+                     WeatherGateway weatherGateway,
+                     HourlyWeatherGateway hourlyWeatherGateway) throws IOException {
+        this.drainSeconds = drainSeconds;
+        this.executor = newRequestExecutor(maxThreads);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        SessionStore sessions = new SessionStore(12, TimeUnit.HOURS);
+        server.createContext("/api/", new ApiRoutes(userGateway, preferenceGateway, planGateway,
+                geocodingGateway, placesGateway, weatherGateway, hourlyWeatherGateway, sessions));
+        server.setExecutor(executor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Ensure database is initialized (triggers static init)
+        Database.getConnection().close();
+
+        UserGateway userGateway = MetricsProxy.wrap(UserGateway.class,
+                new SqliteUserGatewayImpl(), "gateway.user");
+        PreferenceGateway preferenceGateway = new CachingPreferenceGateway(MetricsProxy.wrap(PreferenceGateway.class,
+                new SqlitePreferenceGatewayImpl(), "gateway.preference"));
+        PlanGateway planGateway = MetricsProxy.wrap(PlanGateway.class,
+                new SqlitePlanGatewayImpl(), "gateway.plan");
+        GeocodingGateway geocodingGateway = MetricsProxy.wrap(GeocodingGateway.class,
+                new OpenCageGeocodingGateway(), "gateway.geocoding");
+        PlacesGateway placesGateway = MetricsProxy.wrap(PlacesGateway.class,
+                SqlitePlacesGatewayImpl.isEnabled() ? new SqlitePlacesGatewayImpl() : new GeoApifyPlacesGatewayImpl(),
+                "gateway.places");
+        WeatherGateway weatherGateway = MetricsProxy.wrap(WeatherGateway.class,
+                new OpenMeteoWeatherGatewayImpl(), "gateway.weather");
+        // Same stop ordering as the desktop app; rebuilding for the same day and area reuses the forecast
+        HourlyWeatherGateway hourlyWeatherGateway = new CachingHourlyWeatherGateway(MetricsProxy.wrap(
+                HourlyWeatherGateway.class, new OpenMeteoWeatherGatewayImpl(), "gateway.hourlyWeather"));
+
+        MetricsJmx.register();
+        MetricsReporter.start(1, TimeUnit.MINUTES);
+
+        ApiServer server = new ApiServer(
+                Integer.getInteger("server.port", 8080),
+                Integer.getInteger("server.maxThreads", 256),
+                Integer.getInteger("server.drainSeconds", 10),
+                userGateway, preferenceGateway, planGateway,
+                geocodingGateway, placesGateway, weatherGateway, hourlyWeatherGateway);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "api-server-shutdown"));
+        server.start();
+    }
+
+    public void start() {
+        server.start();
+        LOG.info("API server listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Graceful shutdown: stop accepting connections, let in-flight requests
+     * finish for up to the drain period, then stop the worker threads.
+     */
+    public synchronized void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        LOG.info("API server draining (up to {}s)", drainSeconds);
+        server.stop(drainSeconds);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainSeconds, TimeUnit.SECONDS)) {
+                LOG.warn("Requests still running after drain period; interrupting them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        MetricsReporter.report();
+        LOG.info("API server stopped");
+    }
+
+    /**
+     * One virtual thread per request where available, otherwise a fixed-size pool
+     * whose queue absorbs bursts.
+     */
+    private static ExecutorService newRequestExecutor(int maxThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            LOG.info("Using a virtual thread per request");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.info("Virtual threads unavailable; using a pool of {} request threads", maxThreads);
+        }
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "api-request-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
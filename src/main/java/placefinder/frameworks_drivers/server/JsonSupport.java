@@ -0,0 +1,151 @@
+package placefinder.frameworks_drivers.server;
+
+import com.google.gson.*;
+import com.google.gson.reflect.TypeToken;
+import placefinder.entities.DayTripExperienceCategories;
+import placefinder.entities.IndoorOutdoorType;
+import placefinder.entities.Place;
+import placefinder.entities.Plan;
+import placefinder.entities.Route;
+import placefinder.entities.User;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared Gson configuration for the HTTP API.
+ *
+ * Entities are plain classes, so Gson maps them field by field; this adds
+ * ISO-8601 adapters for the java.time fields and instance creators so that
+ * entities read from a request body get the same defaults as their constructors.
+ * Place has an explicit adapter because it stores category ids internally but
+ * exposes category names on the wire; names outside the known set are dropped.
+ */
+public final class JsonSupport {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
+            .registerTypeAdapter(Plan.class, (InstanceCreator<Plan>) type ->
+                    new Plan(null, 0, null, null, null, null, new Route(new ArrayList<>()), 0, null))
+            .registerTypeAdapter(Route.class, (InstanceCreator<Route>) type -> new Route(new ArrayList<>()))
+            .registerTypeAdapter(Place.class, new PlaceAdapter())
+            .serializeSpecialFloatingPointValues()
+            .create();
+
+    private JsonSupport() {
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * Public view of a user; the password hash never leaves the server.
+     */
+    public static JsonObject user(User user) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", user.getId());
+        json.addProperty("name", user.getName());
+        json.addProperty("email", user.getEmail());
+        json.addProperty("homeCity", user.getHomeCity());
+        return json;
+    }
+
+    private static class LocalDateAdapter implements JsonSerializer<LocalDate>, JsonDeserializer<LocalDate> {
+        @Override
+        public JsonElement serialize(LocalDate src, Type type, JsonSerializationContext ctx) {
+            return new JsonPrimitive(src.toString());
+        }
+
+        @Override
+        public LocalDate deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) {
+            try {
+                return LocalDate.parse(json.getAsString());
+            } catch (RuntimeException e) {
+                throw new JsonParseException("Invalid date (expected YYYY-MM-DD): " + json);
+            }
+        }
+    }
+
+    private static class LocalTimeAdapter implements JsonSerializer<LocalTime>, JsonDeserializer<LocalTime> {
+        @Override
+        public JsonElement serialize(LocalTime src, Type type, JsonSerializationContext ctx) {
+            return new JsonPrimitive(src.toString());
+        }
+
+        @Override
+        public LocalTime deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) {
+            try {
+                return LocalTime.parse(json.getAsString());
+            } catch (RuntimeException e) {
+                throw new JsonParseException("Invalid time (expected HH:MM): " + json);
+            }
+        }
+    }
+
+    private static class PlaceAdapter implements JsonSerializer<Place>, JsonDeserializer<Place> {
+        private static final Type STRING_LIST = new TypeToken<List<String>>() { }.getType();
+
+        @Override
+        public JsonElement serialize(Place src, Type type, JsonSerializationContext ctx) {
+            JsonObject json = new JsonObject();
+            json.addProperty("id", src.getId());
+            json.addProperty("name", src.getName());
+            json.addProperty("address", src.getAddress());
+            json.addProperty("lat", src.getLat());
+            json.addProperty("lon", src.getLon());
+            json.addProperty("distanceKm", src.getDistanceKm());
+            json.add("indoorOutdoorType", ctx.serialize(src.getIndoorOutdoorType()));
+            json.add("categories", ctx.serialize(src.getCategories(), STRING_LIST));
+            return json;
+        }
+
+        @Override
+        public Place deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) {
+            if (!json.isJsonObject()) {
+                throw new JsonParseException("Expected a place object: " + json);
+            }
+            JsonObject obj = json.getAsJsonObject();
+            return new Place(
+                    text(obj, "id"),
+                    text(obj, "name"),
+                    text(obj, "address"),
+                    number(obj, "lat"),
+                    number(obj, "lon"),
+                    number(obj, "distanceKm"),
+                    ctx.deserialize(obj.get("indoorOutdoorType"), IndoorOutdoorType.class),
+                    knownCategories(ctx.deserialize(obj.get("categories"), STRING_LIST)));
+        }
+
+        /**
+         * Drops categories outside {@link DayTripExperienceCategories} (such as Geoapify's
+         * "building") rather than letting a request body grow the category registry.
+         */
+        private static List<String> knownCategories(List<String> categories) {
+            if (categories == null) {
+                return null;
+            }
+            List<String> known = new ArrayList<>(categories.size());
+            for (String category : categories) {
+                if (DayTripExperienceCategories.isKnownPlaceCategory(category)) {
+                    known.add(category);
+                }
+            }
+            return known;
+        }
+
+        private static String text(JsonObject obj, String name) {
+            JsonElement e = obj.get(name);
+            return e == null || e.isJsonNull() ? null : e.getAsString();
+        }
+
+        private static double number(JsonObject obj, String name) {
+            JsonElement e = obj.get(name);
+            return e == null || e.isJsonNull() ? 0 : e.getAsDouble();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package placefinder.frameworks_drivers.server;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory bearer tokens for the HTTP API.
+ *
+ * A successful login yields an opaque random token that maps to the user id;
+ * tokens expire after a period without use. Sessions do not survive a restart,
+ * which is acceptable because clients simply log in again.
+ */
+public class SessionStore {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int PURGE_EVERY = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private int createdSincePurge;
+
+    public SessionStore(long idleTimeout, TimeUnit unit) {
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    public String create(int userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(userId, System.nanoTime()));
+        maybePurge();
+        return token;
+    }
+
+    /**
+     * @return the user id for a live token, or null if unknown or expired
+     */
+    public Integer resolve(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - session.lastUsedNanos > idleTimeoutNanos) {
+            sessions.remove(token);
+            return null;
+        }
+        session.lastUsedNanos = now;
+        return session.userId;
+    }
+
+    public void remove(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void maybePurge() {
+        synchronized (this) {
+            if (++createdSincePurge < PURGE_EVERY) {
+                return;
+            }
+            createdSincePurge = 0;
+        }
+        long now = System.nanoTime();
+        sessions.values().removeIf(s -> now - s.lastUsedNanos > idleTimeoutNanos);
+    }
+
+    private static final class Session {
+        private final int userId;
+        private volatile long lastUsedNanos;
+
+        Session(int userId, long lastUsedNanos) {
+            this.userId = userId;
+            this.lastUsedNanos = lastUsedNanos;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package placefinder.frameworks_drivers.simulator;
+
+/**
+ * Settings for {@link UpstreamSimulator}.
+ *
+ * Every value can be set with a system property, e.g.
+ * {@code -Dsim.port=8089 -Dsim.geoapify.medianMs=120 -Dsim.opencage.throttleRate=0.05}.
+ * Fault settings are per upstream so that one API can be made slow or flaky
+ * while the others behave.
+ */
+public class SimulatorConfig {
+
+    public static final String GEOAPIFY = "geoapify";
+    public static final String OPENCAGE = "opencage";
+    public static final String OPEN_METEO = "openmeteo";
+
+    private final int port;
+    private final long seed;
+    private final int placesPerCity;
+    private final FaultProfile geoapify;
+    private final FaultProfile openCage;
+    private final FaultProfile openMeteo;
+
+    public SimulatorConfig(int port, long seed, int placesPerCity,
+                           FaultProfile geoapify, FaultProfile openCage, FaultProfile openMeteo) {
+        this.port = port;
+        this.seed = seed;
+        this.placesPerCity = placesPerCity;
+        this.geoapify = geoapify;
+        this.openCage = openCage;
+        this.openMeteo = openMeteo;
+    }
+
+    /**
+     * Reads the configuration from {@code sim.*} system properties, falling back
+     * to a fast, fault-free setup on port 8089.
+     */
+    public static SimulatorConfig fromSystemProperties() {
+        return new SimulatorConfig(
+                Integer.getInteger("sim.port", 8089),
+                Long.getLong("sim.seed", 42L),
+                Integer.getInteger("sim.placesPerCity", 400),
+                FaultProfile.fromSystemProperties(GEOAPIFY),
+                FaultProfile.fromSystemProperties(OPENCAGE),
+                FaultProfile.fromSystemProperties(OPEN_METEO));
+    }
+
+    public int getPort() { return port; }
+    public long getSeed() { return seed; }
+    public int getPlacesPerCity() { return placesPerCity; }
+    public FaultProfile getGeoapify() { return geoapify; }
+    public FaultProfile getOpenCage() { return openCage; }
+    public FaultProfile getOpenMeteo() { return openMeteo; }
+
+    /**
+     * Latency and failure behaviour of one simulated upstream.
+     *
+     * Latency is log-normal: {@code medianMillis * exp(sigma * N(0,1))}, which
+     * gives the long right tail seen on real APIs. A sigma of 0 makes every
+     * response take exactly the median.
+     */
+    public static class FaultProfile {
+        private final double medianMillis;
+        private final double sigma;
+        private final double errorRate;
+        private final double throttleRate;
+        private final int retryAfterSeconds;
+        private final int maxRequestsPerSecond;
+
+        /**
+         * @param errorRate            fraction of requests answered with 500/503
+         * @param throttleRate         fraction of requests answered with 429
+         * @param retryAfterSeconds    Retry-After sent with every 429
+         * @param maxRequestsPerSecond server-side quota, 0 for none; excess requests get 429
+         */
+        public FaultProfile(double medianMillis, double sigma, double errorRate, double throttleRate,
+                            int retryAfterSeconds, int maxRequestsPerSecond) {
+            this.medianMillis = medianMillis;
+            this.sigma = sigma;
+            this.errorRate = errorRate;
+            this.throttleRate = throttleRate;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+        }
+
+        public static FaultProfile fromSystemProperties(String upstream) {
+            String prefix = "sim." + upstream + ".";
+            return new FaultProfile(
+                    doubleProperty(prefix + "medianMs", 50),
+                    doubleProperty(prefix + "sigma", 0.5),
+                    doubleProperty(prefix + "errorRate", 0),
+                    doubleProperty(prefix + "throttleRate", 0),
+                    Integer.getInteger(prefix + "retryAfterSec", 1),
+                    Integer.getInteger(prefix + "maxRps", 0));
+        }
+
+        public double getMedianMillis() { return medianMillis; }
+        public double getSigma() { return sigma; }
+        public double getErrorRate() { return errorRate; }
+        public double getThrottleRate() { return throttleRate; }
+        public int getRetryAfterSeconds() { return retryAfterSeconds; }
+        public int getMaxRequestsPerSecond() { return maxRequestsPerSecond; }
+
+        @Override
+        public String toString() {
+            return String.format("median=%.0fms sigma=%.2f errors=%.1f%% 429s=%.1f%% maxRps=%s",
+                    medianMillis, sigma, errorRate * 100, throttleRate * 100,
+                    maxRequestsPerSecond > 0 ? maxRequestsPerSecond : "none");
+        }
+    }
+
+    private static double doubleProperty(String name, double fallback) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + name + ": " + value, e);
+        }
+    }
+}
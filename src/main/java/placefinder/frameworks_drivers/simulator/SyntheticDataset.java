@@ -0,0 +1,405 @@
+package placefinder.frameworks_drivers.simulator;
+
+import placefinder.entities.DayTripExperienceCategories;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Deterministic cities, points of interest and weather for {@link UpstreamSimulator}.
+ *
+ * Everything is derived from a single seed, so two runs with the same seed
+ * return byte-identical responses and benchmark results stay comparable.
+ * POIs are scattered around a fixed list of real city centres and carry real
+ * Geoapify category keys taken from {@link DayTripExperienceCategories}.
+ */
+public class SyntheticDataset {
+
+    /** POIs are placed within this distance of their city centre. */
+    private static final double CITY_RADIUS_KM = 15.0;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final String[][] CITIES = {
+            {"Toronto", "Ontario", "Canada", "ca", "43.6532", "-79.3832"},
+            {"Montreal", "Quebec", "Canada", "ca", "45.5019", "-73.5674"},
+            {"Vancouver", "British Columbia", "Canada", "ca", "49.2827", "-123.1207"},
+            {"Ottawa", "Ontario", "Canada", "ca", "45.4215", "-75.6972"},
+            {"Calgary", "Alberta", "Canada", "ca", "51.0447", "-114.0719"},
+            {"Quebec City", "Quebec", "Canada", "ca", "46.8139", "-71.2080"},
+            {"New York", "New York", "United States", "us", "40.7128", "-74.0060"},
+            {"Chicago", "Illinois", "United States", "us", "41.8781", "-87.6298"},
+            {"San Francisco", "California", "United States", "us", "37.7749", "-122.4194"},
+            {"Boston", "Massachusetts", "United States", "us", "42.3601", "-71.0589"},
+            {"Seattle", "Washington", "United States", "us", "47.6062", "-122.3321"},
+            {"London", "England", "United Kingdom", "gb", "51.5072", "-0.1276"},
+            {"Paris", "Ile-de-France", "France", "fr", "48.8566", "2.3522"},
+            {"Berlin", "Berlin", "Germany", "de", "52.5200", "13.4050"},
+            {"Madrid", "Community of Madrid", "Spain", "es", "40.4168", "-3.7038"},
+            {"Rome", "Lazio", "Italy", "it", "41.9028", "12.4964"},
+            {"Amsterdam", "North Holland", "Netherlands", "nl", "52.3676", "4.9041"},
+            {"Vienna", "Vienna", "Austria", "at", "48.2082", "16.3738"},
+            {"Tokyo", "Tokyo", "Japan", "jp", "35.6762", "139.6503"},
+            {"Seoul", "Seoul", "South Korea", "kr", "37.5665", "126.9780"},
+            {"Sydney", "New South Wales", "Australia", "au", "-33.8688", "151.2093"},
+            {"Melbourne", "Victoria", "Australia", "au", "-37.8136", "144.9631"},
+            {"Cape Town", "Western Cape", "South Africa", "za", "-33.9249", "18.4241"},
+            {"Buenos Aires", "Buenos Aires", "Argentina", "ar", "-34.6037", "-58.3816"}
+    };
+
+    private static final String[] NAME_PREFIXES = {
+            "Old", "Grand", "Royal", "Harbour", "Maple", "Riverside", "Golden", "Union",
+            "Victoria", "Lakeside", "Hilltop", "Central", "Queen's", "North", "Market", "Garden"
+    };
+
+    private static final String[] STREETS = {
+            "Main Street", "King Street", "Queen Street", "Front Street", "Park Avenue",
+            "Church Street", "High Street", "Station Road", "Market Square", "Mill Lane"
+    };
+
+    /** WMO codes the weather generator draws from, roughly in order of frequency. */
+    private static final int[] WEATHER_CODES = {0, 1, 2, 3, 3, 45, 51, 61, 63, 80, 95};
+
+    private final long seed;
+    private final List<City> cities;
+
+    public SyntheticDataset(long seed, int placesPerCity) {
+        this.seed = seed;
+        List<String> categories = leafCategories();
+        Random random = new Random(seed);
+        List<City> list = new ArrayList<>();
+        for (String[] row : CITIES) {
+            City city = new City(row[0], row[1], row[2], row[3],
+                    Double.parseDouble(row[4]), Double.parseDouble(row[5]));
+            for (int i = 0; i < placesPerCity; i++) {
+                city.places.add(generatePlace(city, i, categories, random));
+            }
+            list.add(city);
+        }
+        this.cities = Collections.unmodifiableList(list);
+    }
+
+    public List<City> getCities() {
+        return cities;
+    }
+
+    /**
+     * Resolves free text to a point. The first city named in the query wins;
+     * the rest of the text shifts the point by up to 3 km so that distinct
+     * addresses in one city get distinct coordinates.
+     *
+     * @return the match, or null if no known city is mentioned
+     */
+    public GeocodeMatch geocode(String query) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        for (City city : cities) {
+            if (normalized.contains(city.name.toLowerCase(Locale.ROOT))) {
+                if (normalized.trim().equals(city.name.toLowerCase(Locale.ROOT))) {
+                    return new GeocodeMatch(city, city.lat, city.lon, city.name + ", " + city.state + ", " + city.country);
+                }
+                Random random = new Random(seed ^ normalized.hashCode());
+                double[] point = offset(city.lat, city.lon, random.nextDouble() * 3.0, random.nextDouble() * 360);
+                return new GeocodeMatch(city, point[0], point[1],
+                        capitalizeWords(query.trim()) + ", " + city.state + ", " + city.country);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * POIs within {@code radiusMeters} of the point whose categories include one
+     * of {@code categories}, nearest first.
+     */
+    public List<PlaceHit> searchPlaces(double lat, double lon, double radiusMeters,
+                                       Set<String> categories, int limit) {
+        double radiusKm = radiusMeters / 1000.0;
+        List<PlaceHit> hits = new ArrayList<>();
+        for (City city : cities) {
+            if (haversineKm(lat, lon, city.lat, city.lon) > radiusKm + CITY_RADIUS_KM) {
+                continue;
+            }
+            for (SyntheticPlace place : city.places) {
+                if (!matches(place, categories)) {
+                    continue;
+                }
+                double d = haversineKm(lat, lon, place.lat, place.lon);
+                if (d <= radiusKm) {
+                    hits.add(new PlaceHit(place, d * 1000.0));
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(PlaceHit::getDistanceMeters));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Daily weather for a location. Temperature follows latitude and season;
+     * the rest is drawn from a generator keyed on the day and a ~1 km grid cell,
+     * so repeated requests for the same place and day agree.
+     */
+    public DailyWeather weatherFor(double lat, double lon, LocalDate date) {
+        long cell = Math.round(lat * 100) * 100_003L + Math.round(lon * 100);
+        Random random = new Random(seed ^ (cell * 31 + date.toEpochDay()));
+
+        double seasonal = Math.cos(2 * Math.PI * (date.getDayOfYear() - 200) / 365.0);
+        if (lat < 0) {
+            seasonal = -seasonal;
+        }
+        double mean = 27 - 0.45 * Math.abs(lat) + 11 * seasonal + random.nextGaussian() * 3;
+        double spread = 4 + random.nextDouble() * 6;
+        int code = WEATHER_CODES[random.nextInt(WEATHER_CODES.length)];
+        int precipitation = code >= 51 ? 50 + random.nextInt(50) : random.nextInt(40);
+        double uv = Math.max(0, Math.round((6 + 4 * seasonal - Math.abs(lat) / 15
+                + random.nextGaussian()) * 10) / 10.0);
+        return new DailyWeather(round1(mean + spread / 2), round1(mean - spread / 2), precipitation, uv, code);
+    }
+
+    /**
+     * Hour-by-hour weather consistent with {@link #weatherFor}: temperature swings
+     * between the day's min and max, UV follows the sun, and the day's rain
+     * chance applies to one wet spell with drier hours around it.
+     */
+    public HourlyWeather hourlyWeatherFor(double lat, double lon, LocalDate date) {
+        DailyWeather daily = weatherFor(lat, lon, date);
+        long cell = Math.round(lat * 100) * 100_003L + Math.round(lon * 100);
+        Random random = new Random(seed ^ (cell * 37 + date.toEpochDay()) ^ 0x5DEECE66DL);
+        int wetStart = 6 + random.nextInt(14);
+        int wetEnd = wetStart + 2 + random.nextInt(5);
+
+        double mean = (daily.getTemperatureMax() + daily.getTemperatureMin()) / 2;
+        double amplitude = (daily.getTemperatureMax() - daily.getTemperatureMin()) / 2;
+        double[] temperature = new double[24];
+        int[] precipitation = new int[24];
+        double[] uv = new double[24];
+        for (int h = 0; h < 24; h++) {
+            // coldest around 03:00, warmest around 15:00
+            temperature[h] = round1(mean + amplitude * Math.cos(2 * Math.PI * (h - 15) / 24.0));
+            precipitation[h] = h >= wetStart && h < wetEnd
+                    ? daily.getPrecipitationProbability()
+                    : daily.getPrecipitationProbability() / 5;
+            uv[h] = h > 6 && h < 18 ? round1(daily.getUvIndex() * Math.sin(Math.PI * (h - 6) / 12.0)) : 0;
+        }
+        return new HourlyWeather(temperature, precipitation, uv);
+    }
+
+    private boolean matches(SyntheticPlace place, Set<String> categories) {
+        for (String c : place.categories) {
+            if (categories.contains(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SyntheticPlace generatePlace(City city, int index, List<String> categories, Random random) {
+        String category = categories.get(random.nextInt(categories.size()));
+        // Spread points with density falling off from the centre
+        double distance = CITY_RADIUS_KM * Math.sqrt(random.nextDouble()) * random.nextDouble();
+        double[] point = offset(city.lat, city.lon, distance, random.nextDouble() * 360);
+
+        String name = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " " + nounFor(category);
+        String street = STREETS[random.nextInt(STREETS.length)];
+        int number = 1 + random.nextInt(999);
+        String id = String.format("sim-%s-%s-%05d", city.countryCode,
+                city.name.toLowerCase(Locale.ROOT).replace(' ', '_'), index);
+        return new SyntheticPlace(id, name, city, street, String.valueOf(number),
+                point[0], point[1], withParents(category), random.nextInt(4) != 0);
+    }
+
+    /** Every sub-category used by the planner, e.g. "entertainment.museum". */
+    private static List<String> leafCategories() {
+        Set<String> all = new TreeSet<>();
+        for (String main : DayTripExperienceCategories.getMainCategories()) {
+            all.addAll(DayTripExperienceCategories.getSubCategories(main));
+        }
+        return new ArrayList<>(all);
+    }
+
+    /** "catering.restaurant.pizza" becomes [catering, catering.restaurant, catering.restaurant.pizza]. */
+    private static List<String> withParents(String category) {
+        List<String> list = new ArrayList<>();
+        int dot = category.indexOf('.');
+        while (dot > 0) {
+            list.add(category.substring(0, dot));
+            dot = category.indexOf('.', dot + 1);
+        }
+        list.add(category);
+        return list;
+    }
+
+    private static String nounFor(String category) {
+        String last = category.substring(category.lastIndexOf('.') + 1);
+        return capitalizeWords(last.replace('_', ' '));
+    }
+
+    private static String capitalizeWords(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean upper = true;
+        for (char c : text.toCharArray()) {
+            sb.append(upper ? Character.toUpperCase(c) : c);
+            upper = c == ' ';
+        }
+        return sb.toString();
+    }
+
+    private static double round1(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    /** Moves a point {@code distanceKm} along {@code bearingDeg} on a sphere. */
+    private static double[] offset(double lat, double lon, double distanceKm, double bearingDeg) {
+        double d = distanceKm / EARTH_RADIUS_KM;
+        double bearing = Math.toRadians(bearingDeg);
+        double lat1 = Math.toRadians(lat);
+        double lon1 = Math.toRadians(lon);
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(d) + Math.cos(lat1) * Math.sin(d) * Math.cos(bearing));
+        double lon2 = lon1 + Math.atan2(Math.sin(bearing) * Math.sin(d) * Math.cos(lat1),
+                Math.cos(d) - Math.sin(lat1) * Math.sin(lat2));
+        return new double[]{Math.toDegrees(lat2), Math.toDegrees(lon2)};
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    public static class City {
+        private final String name;
+        private final String state;
+        private final String country;
+        private final String countryCode;
+        private final double lat;
+        private final double lon;
+        private final List<SyntheticPlace> places = new ArrayList<>();
+
+        City(String name, String state, String country, String countryCode, double lat, double lon) {
+            this.name = name;
+            this.state = state;
+            this.country = country;
+            this.countryCode = countryCode;
+            this.lat = lat;
+            this.lon = lon;
+        }
+
+        public String getName() { return name; }
+        public String getState() { return state; }
+        public String getCountry() { return country; }
+        public String getCountryCode() { return countryCode; }
+        public double getLat() { return lat; }
+        public double getLon() { return lon; }
+        public List<SyntheticPlace> getPlaces() { return places; }
+    }
+
+    public static class SyntheticPlace {
+        private final String id;
+        private final String name;
+        private final City city;
+        private final String street;
+        private final String houseNumber;
+        private final double lat;
+        private final double lon;
+        private final List<String> categories;
+        private final boolean hasOpeningHours;
+
+        SyntheticPlace(String id, String name, City city, String street, String houseNumber,
+                       double lat, double lon, List<String> categories, boolean hasOpeningHours) {
+            this.id = id;
+            this.name = name;
+            this.city = city;
+            this.street = street;
+            this.houseNumber = houseNumber;
+            this.lat = lat;
+            this.lon = lon;
+            this.categories = categories;
+            this.hasOpeningHours = hasOpeningHours;
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public City getCity() { return city; }
+        public String getStreet() { return street; }
+        public String getHouseNumber() { return houseNumber; }
+        public double getLat() { return lat; }
+        public double getLon() { return lon; }
+        public List<String> getCategories() { return categories; }
+        public boolean hasOpeningHours() { return hasOpeningHours; }
+
+        public String getFormattedAddress() {
+            return name + ", " + houseNumber + " " + street + ", " + city.name + ", " + city.country;
+        }
+    }
+
+    public static class PlaceHit {
+        private final SyntheticPlace place;
+        private final double distanceMeters;
+
+        PlaceHit(SyntheticPlace place, double distanceMeters) {
+            this.place = place;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public SyntheticPlace getPlace() { return place; }
+        public double getDistanceMeters() { return distanceMeters; }
+    }
+
+    public static class GeocodeMatch {
+        private final City city;
+        private final double lat;
+        private final double lon;
+        private final String formatted;
+
+        GeocodeMatch(City city, double lat, double lon, String formatted) {
+            this.city = city;
+            this.lat = lat;
+            this.lon = lon;
+            this.formatted = formatted;
+        }
+
+        public City getCity() { return city; }
+        public double getLat() { return lat; }
+        public double getLon() { return lon; }
+        public String getFormatted() { return formatted; }
+    }
+
+    public static class HourlyWeather {
+        private final double[] temperature;
+        private final int[] precipitationProbability;
+        private final double[] uvIndex;
+
+        HourlyWeather(double[] temperature, int[] precipitationProbability, double[] uvIndex) {
+            this.temperature = temperature;
+            this.precipitationProbability = precipitationProbability;
+            this.uvIndex = uvIndex;
+        }
+
+        public double getTemperature(int hour) { return temperature[hour]; }
+        public int getPrecipitationProbability(int hour) { return precipitationProbability[hour]; }
+        public double getUvIndex(int hour) { return uvIndex[hour]; }
+    }
+
+    public static class DailyWeather {
+        private final double temperatureMax;
+        private final double temperatureMin;
+        private final int precipitationProbability;
+        private final double uvIndex;
+        private final int weatherCode;
+
+        DailyWeather(double temperatureMax, double temperatureMin, int precipitationProbability,
+                     double uvIndex, int weatherCode) {
+            this.temperatureMax = temperatureMax;
+            this.temperatureMin = temperatureMin;
+            this.precipitationProbability = precipitationProbability;
+            this.uvIndex = uvIndex;
+            this.weatherCode = weatherCode;
+        }
+
+        public double getTemperatureMax() { return temperatureMax; }
+        public double getTemperatureMin() { return temperatureMin; }
+        public int getPrecipitationProbability() { return precipitationProbability; }
+        public double getUvIndex() { return uvIndex; }
+        public int getWeatherCode() { return weatherCode; }
+    }
+}
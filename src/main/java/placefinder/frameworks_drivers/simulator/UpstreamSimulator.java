@@ -0,0 +1,544 @@
+package placefinder.frameworks_drivers.simulator;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import placefinder.frameworks_drivers.api.ApiEndpoints;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the Geoapify, OpenCage and Open-Meteo APIs.
+ *
+ * Serves {@code /v2/places}, {@code /geocode/v1/json} and {@code /v1/forecast}
+ * with responses in the same shape as the real services, built from a
+ * {@link SyntheticDataset}. Each upstream can be given its own latency
+ * distribution, error rate, random 429s and a hard requests-per-second quota
+ * (see {@link SimulatorConfig}), so the HTTP layer, rate limiter and caches
+ * can be exercised end to end without network access or API quota.
+ *
+ * Run standalone with {@code java -cp ... placefinder.frameworks_drivers.simulator.UpstreamSimulator}
+ * and start the app with the printed {@code -Dplacefinder.*.url} flags, or
+ * embed it and call {@link #pointGatewaysHere()} before building the gateways.
+ */
+public class UpstreamSimulator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamSimulator.class);
+
+    private static final int DEFAULT_PLACES_LIMIT = 20;
+    private static final int MAX_PLACES_LIMIT = 500;
+    private static final int MAX_FORECAST_DAYS = 16;
+    private static final double MAX_LATENCY_MILLIS = 30_000;
+
+    private static final Set<String> DAILY_VARIABLES = Set.of(
+            "temperature_2m_max", "temperature_2m_min", "precipitation_probability_max",
+            "uv_index_max", "weathercode");
+    private static final Set<String> HOURLY_VARIABLES = Set.of(
+            "temperature_2m", "precipitation_probability", "uv_index");
+
+    private final SimulatorConfig config;
+    private final SyntheticDataset dataset;
+    private final List<Route> routes = new ArrayList<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public UpstreamSimulator(SimulatorConfig config) {
+        this.config = config;
+        this.dataset = new SyntheticDataset(config.getSeed(), config.getPlacesPerCity());
+    }
+
+    public static void main(String[] args) throws Exception {
+        UpstreamSimulator simulator = new UpstreamSimulator(SimulatorConfig.fromSystemProperties());
+        simulator.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::close, "simulator-shutdown"));
+
+        String base = simulator.getBaseUrl();
+        System.out.println("Upstream simulator listening on " + base);
+        System.out.println("Point the app at it with:");
+        System.out.println("  -D" + ApiEndpoints.GEOAPIFY_PROPERTY + "=" + base
+                + " -D" + ApiEndpoints.OPENCAGE_PROPERTY + "=" + base
+                + " -D" + ApiEndpoints.OPEN_METEO_PROPERTY + "=" + base);
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Binds to the loopback interface and starts serving. A port of 0 picks a free port.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "simulator-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 0);
+        register(new Route("/v2/places", SimulatorConfig.GEOAPIFY, config.getGeoapify(), this::places));
+        register(new Route("/geocode/v1/json", SimulatorConfig.OPENCAGE, config.getOpenCage(), this::geocode));
+        register(new Route("/v1/forecast", SimulatorConfig.OPEN_METEO, config.getOpenMeteo(), this::forecast));
+        server.setExecutor(executor);
+        server.start();
+
+        LOG.info("Simulator started on {} with {} cities, {} places per city (seed {})",
+                getBaseUrl(), dataset.getCities().size(), config.getPlacesPerCity(), config.getSeed());
+        for (Route route : routes) {
+            LOG.info("  {} -> {}", route.path, route.profile);
+        }
+    }
+
+    /**
+     * @return scheme, host and port to use as a gateway base URL
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Simulator is not running");
+        }
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Sets the {@link ApiEndpoints} system properties so that gateways created
+     * afterwards with their default constructors talk to this simulator.
+     */
+    public void pointGatewaysHere() {
+        String base = getBaseUrl();
+        System.setProperty(ApiEndpoints.GEOAPIFY_PROPERTY, base);
+        System.setProperty(ApiEndpoints.OPENCAGE_PROPERTY, base);
+        System.setProperty(ApiEndpoints.OPEN_METEO_PROPERTY, base);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        for (Route route : routes) {
+            LOG.info("{}: {} requests, {} errors injected, {} throttled",
+                    route.path, route.requests.sum(), route.errors.sum(), route.throttled.sum());
+        }
+        server = null;
+    }
+
+    private void register(Route route) {
+        routes.add(route);
+        server.createContext(route.path, route);
+    }
+
+    // ===== Geoapify =====
+
+    private JsonObject places(Map<String, String> params) {
+        requireParam(params, "apiKey", 401);
+        String filter = requireParam(params, "filter", 400);
+        if (!filter.startsWith("circle:")) {
+            throw new SimulatedFailure(400, "Only circle filters are supported");
+        }
+        String[] circle = filter.substring("circle:".length()).split(",");
+        if (circle.length != 3) {
+            throw new SimulatedFailure(400, "Invalid circle filter: " + filter);
+        }
+        double lon = parseDouble(circle[0], "filter");
+        double lat = parseDouble(circle[1], "filter");
+        double radius = parseDouble(circle[2], "filter");
+        Set<String> categories = new HashSet<>(Arrays.asList(requireParam(params, "categories", 400).split(",")));
+        int limit = Math.min(MAX_PLACES_LIMIT,
+                (int) parseDouble(params.getOrDefault("limit", String.valueOf(DEFAULT_PLACES_LIMIT)), "limit"));
+
+        JsonArray features = new JsonArray();
+        for (SyntheticDataset.PlaceHit hit : dataset.searchPlaces(lat, lon, radius, categories, limit)) {
+            features.add(toFeature(hit));
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("type", "FeatureCollection");
+        root.add("features", features);
+        return root;
+    }
+
+    private JsonObject toFeature(SyntheticDataset.PlaceHit hit) {
+        SyntheticDataset.SyntheticPlace place = hit.getPlace();
+        SyntheticDataset.City city = place.getCity();
+
+        JsonObject props = new JsonObject();
+        props.addProperty("name", place.getName());
+        props.addProperty("country", city.getCountry());
+        props.addProperty("country_code", city.getCountryCode());
+        props.addProperty("state", city.getState());
+        props.addProperty("city", city.getName());
+        props.addProperty("street", place.getStreet());
+        props.addProperty("housenumber", place.getHouseNumber());
+        props.addProperty("lon", place.getLon());
+        props.addProperty("lat", place.getLat());
+        props.addProperty("formatted", place.getFormattedAddress());
+        props.addProperty("address_line1", place.getName());
+        props.addProperty("address_line2", place.getHouseNumber() + " " + place.getStreet()
+                + ", " + city.getName() + ", " + city.getCountry());
+        JsonArray categories = new JsonArray();
+        place.getCategories().forEach(categories::add);
+        props.add("categories", categories);
+        JsonArray details = new JsonArray();
+        details.add("details");
+        props.add("details", details);
+        JsonObject datasource = new JsonObject();
+        datasource.addProperty("sourcename", "simulator");
+        JsonObject raw = new JsonObject();
+        raw.addProperty("name", place.getName());
+        if (place.hasOpeningHours()) {
+            raw.addProperty("opening_hours", "Mo-Su 09:00-21:00");
+        }
+        datasource.add("raw", raw);
+        props.add("datasource", datasource);
+        props.addProperty("distance", Math.round(hit.getDistanceMeters()));
+        props.addProperty("place_id", place.getId());
+
+        JsonObject geometry = new JsonObject();
+        geometry.addProperty("type", "Point");
+        JsonArray coordinates = new JsonArray();
+        coordinates.add(place.getLon());
+        coordinates.add(place.getLat());
+        geometry.add("coordinates", coordinates);
+
+        JsonObject feature = new JsonObject();
+        feature.addProperty("type", "Feature");
+        feature.add("properties", props);
+        feature.add("geometry", geometry);
+        return feature;
+    }
+
+    // ===== OpenCage =====
+
+    private JsonObject geocode(Map<String, String> params) {
+        requireParam(params, "key", 401);
+        String query = requireParam(params, "q", 400);
+
+        JsonArray results = new JsonArray();
+        SyntheticDataset.GeocodeMatch match = dataset.geocode(query);
+        if (match != null) {
+            JsonObject geometry = new JsonObject();
+            geometry.addProperty("lat", match.getLat());
+            geometry.addProperty("lng", match.getLon());
+            JsonObject components = new JsonObject();
+            components.addProperty("city", match.getCity().getName());
+            components.addProperty("state", match.getCity().getState());
+            components.addProperty("country", match.getCity().getCountry());
+            components.addProperty("country_code", match.getCity().getCountryCode());
+
+            JsonObject result = new JsonObject();
+            result.addProperty("confidence", 7);
+            result.addProperty("formatted", match.getFormatted());
+            result.add("components", components);
+            result.add("geometry", geometry);
+            results.add(result);
+        }
+
+        JsonObject status = new JsonObject();
+        status.addProperty("code", 200);
+        status.addProperty("message", "OK");
+        JsonObject root = new JsonObject();
+        root.add("results", results);
+        root.add("status", status);
+        root.addProperty("total_results", results.size());
+        return root;
+    }
+
+    // ===== Open-Meteo =====
+
+    /**
+     * Like Open-Meteo, comma-separated coordinate lists get one result per
+     * location, returned as an array in request order.
+     */
+    private JsonElement forecast(Map<String, String> params) {
+        String[] lats = requireParam(params, "latitude", 400).split(",");
+        String[] lons = requireParam(params, "longitude", 400).split(",");
+        if (lats.length != lons.length) {
+            throw new SimulatedFailure(400, "Parameter 'latitude' and 'longitude' must have the same number of elements");
+        }
+        LocalDate start = parseDate(params.get("start_date"), LocalDate.now());
+        LocalDate end = parseDate(params.get("end_date"), start.plusDays(6));
+        if (end.isBefore(start) || end.toEpochDay() - start.toEpochDay() >= MAX_FORECAST_DAYS) {
+            throw new SimulatedFailure(400, "Parameter 'start_date' must be before 'end_date' and within "
+                    + MAX_FORECAST_DAYS + " days");
+        }
+        List<String> daily = variables(params, "daily", DAILY_VARIABLES);
+        List<String> hourly = variables(params, "hourly", HOURLY_VARIABLES);
+
+        if (lats.length == 1) {
+            return forecastFor(parseDouble(lats[0], "latitude"), parseDouble(lons[0], "longitude"),
+                    start, end, daily, hourly);
+        }
+        JsonArray results = new JsonArray();
+        for (int i = 0; i < lats.length; i++) {
+            results.add(forecastFor(parseDouble(lats[i], "latitude"), parseDouble(lons[i], "longitude"),
+                    start, end, daily, hourly));
+        }
+        return results;
+    }
+
+    private static List<String> variables(Map<String, String> params, String name, Set<String> known) {
+        List<String> variables = new ArrayList<>();
+        for (String v : params.getOrDefault(name, "").split(",")) {
+            if (v.isEmpty()) continue;
+            if (!known.contains(v)) {
+                throw new SimulatedFailure(400, "Cannot initialize WeatherVariable from invalid String value " + v);
+            }
+            variables.add(v);
+        }
+        return variables;
+    }
+
+    private JsonObject forecastFor(double lat, double lon, LocalDate start, LocalDate end,
+                                   List<String> dailyVariables, List<String> hourlyVariables) {
+        JsonObject root = new JsonObject();
+        root.addProperty("latitude", lat);
+        root.addProperty("longitude", lon);
+        root.addProperty("timezone", "GMT");
+        if (!hourlyVariables.isEmpty()) {
+            root.add("hourly", hourlyFor(lat, lon, start, end, hourlyVariables));
+        }
+        if (!dailyVariables.isEmpty()) {
+            root.add("daily", dailyFor(lat, lon, start, end, dailyVariables));
+        }
+        return root;
+    }
+
+    private JsonObject dailyFor(double lat, double lon, LocalDate start, LocalDate end, List<String> variables) {
+        JsonArray time = new JsonArray();
+        Map<String, JsonArray> series = new LinkedHashMap<>();
+        for (String v : variables) {
+            series.put(v, new JsonArray());
+        }
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            time.add(day.toString());
+            SyntheticDataset.DailyWeather weather = dataset.weatherFor(lat, lon, day);
+            for (Map.Entry<String, JsonArray> e : series.entrySet()) {
+                switch (e.getKey()) {
+                    case "temperature_2m_max" -> e.getValue().add(weather.getTemperatureMax());
+                    case "temperature_2m_min" -> e.getValue().add(weather.getTemperatureMin());
+                    case "precipitation_probability_max" -> e.getValue().add(weather.getPrecipitationProbability());
+                    case "uv_index_max" -> e.getValue().add(weather.getUvIndex());
+                    case "weathercode" -> e.getValue().add(weather.getWeatherCode());
+                    default -> { }
+                }
+            }
+        }
+        JsonObject daily = new JsonObject();
+        daily.add("time", time);
+        series.forEach(daily::add);
+        return daily;
+    }
+
+    private JsonObject hourlyFor(double lat, double lon, LocalDate start, LocalDate end, List<String> variables) {
+        JsonArray time = new JsonArray();
+        Map<String, JsonArray> series = new LinkedHashMap<>();
+        for (String v : variables) {
+            series.put(v, new JsonArray());
+        }
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            SyntheticDataset.HourlyWeather weather = dataset.hourlyWeatherFor(lat, lon, day);
+            for (int h = 0; h < 24; h++) {
+                time.add(String.format(Locale.ROOT, "%sT%02d:00", day, h));
+                for (Map.Entry<String, JsonArray> e : series.entrySet()) {
+                    switch (e.getKey()) {
+                        case "temperature_2m" -> e.getValue().add(weather.getTemperature(h));
+                        case "precipitation_probability" -> e.getValue().add(weather.getPrecipitationProbability(h));
+                        case "uv_index" -> e.getValue().add(weather.getUvIndex(h));
+                        default -> { }
+                    }
+                }
+            }
+        }
+        JsonObject hourly = new JsonObject();
+        hourly.add("time", time);
+        series.forEach(hourly::add);
+        return hourly;
+    }
+
+    // ===== Request plumbing =====
+
+    private static String requireParam(Map<String, String> params, String name, int status) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new SimulatedFailure(status, "Missing parameter '" + name + "'");
+        }
+        return value;
+    }
+
+    private static double parseDouble(String value, String name) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SimulatedFailure(400, "Invalid value for '" + name + "': " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value, LocalDate fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new SimulatedFailure(400, "Invalid date: " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Builds a JSON response body from the query parameters, or throws
+     * {@link SimulatedFailure} for a client error.
+     */
+    private interface Responder {
+        JsonElement respond(Map<String, String> params);
+    }
+
+    /**
+     * An error response the simulator sends on purpose.
+     */
+    private static class SimulatedFailure extends RuntimeException {
+        private final int status;
+
+        SimulatedFailure(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * One endpoint: injects faults and latency according to its profile, then answers.
+     */
+    private static class Route implements HttpHandler {
+        private final String path;
+        private final String upstream;
+        private final SimulatorConfig.FaultProfile profile;
+        private final Responder responder;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        private long windowSecond;
+        private int windowCount;
+
+        Route(String path, String upstream, SimulatorConfig.FaultProfile profile, Responder responder) {
+            this.path = path;
+            this.upstream = upstream;
+            this.profile = profile;
+            this.responder = responder;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            requests.increment();
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    send(exchange, 405, error(405, "Method not allowed"), -1);
+                    return;
+                }
+                if (overQuota() || ThreadLocalRandom.current().nextDouble() < profile.getThrottleRate()) {
+                    throttled.increment();
+                    send(exchange, 429, error(429, "Too many requests"), profile.getRetryAfterSeconds());
+                    return;
+                }
+                sleepLatency();
+                if (ThreadLocalRandom.current().nextDouble() < profile.getErrorRate()) {
+                    errors.increment();
+                    int status = ThreadLocalRandom.current().nextBoolean() ? 500 : 503;
+                    send(exchange, status, error(status, "Simulated " + upstream + " failure"), -1);
+                    return;
+                }
+                JsonElement body;
+                try {
+                    body = responder.respond(parseQuery(exchange.getRequestURI().getRawQuery()));
+                } catch (SimulatedFailure e) {
+                    send(exchange, e.status, error(e.status, e.getMessage()), -1);
+                    return;
+                }
+                send(exchange, 200, body, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOG.warn("Simulator error on {}", path, e);
+                send(exchange, 500, error(500, "Internal simulator error"), -1);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /** Fixed one-second window; good enough to trip a client that ignores its quota. */
+        private synchronized boolean overQuota() {
+            int max = profile.getMaxRequestsPerSecond();
+            if (max <= 0) {
+                return false;
+            }
+            long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            if (second != windowSecond) {
+                windowSecond = second;
+                windowCount = 0;
+            }
+            return ++windowCount > max;
+        }
+
+        private void sleepLatency() throws InterruptedException {
+            double millis = profile.getMedianMillis()
+                    * Math.exp(profile.getSigma() * ThreadLocalRandom.current().nextGaussian());
+            long nanos = (long) (Math.min(millis, MAX_LATENCY_MILLIS) * 1_000_000);
+            if (nanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            }
+        }
+
+        private static JsonObject error(int status, String message) {
+            JsonObject body = new JsonObject();
+            body.addProperty("statusCode", status);
+            body.addProperty("error", true);
+            body.addProperty("reason", message);
+            return body;
+        }
+
+        private static void send(HttpExchange exchange, int status, JsonElement body,
+                                 int retryAfterSeconds) throws IOException {
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (retryAfterSeconds >= 0) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package placefinder.frameworks_drivers.view.components.swing.list;
+
+import javax.swing.AbstractListModel;
+import java.util.*;
+
+/**
+ * List model backed by an immutable snapshot of its elements.
+ *
+ * Readers get the snapshot itself ({@link #snapshot()}) instead of copying
+ * element by element, and every mutation builds the next snapshot in one pass
+ * and fires one event per contiguous run of changed rows, rather than one per
+ * element as {@link javax.swing.DefaultListModel} does. Combined with a fixed
+ * cell size on the JList (see {@link javax.swing.JList#setPrototypeCellValue}),
+ * lists of tens of thousands of elements only lay out and paint the rows in view.
+ *
+ * Like other Swing models, use it on the event dispatch thread only.
+ */
+public class SnapshotListModel<E> extends AbstractListModel<E> {
+
+    private List<E> elements = List.of();
+
+    @Override
+    public int getSize() {
+        return elements.size();
+    }
+
+    @Override
+    public E getElementAt(int index) {
+        return elements.get(index);
+    }
+
+    /**
+     * The current elements; an unmodifiable list that later mutations do not change.
+     */
+    public List<E> snapshot() {
+        return elements;
+    }
+
+    /**
+     * Replaces all elements, firing at most one removed, one added and one changed event.
+     */
+    public void setAll(List<? extends E> newElements) {
+        int oldSize = elements.size();
+        elements = Collections.unmodifiableList(new ArrayList<>(newElements));
+        int newSize = elements.size();
+        if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        } else if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        }
+        if (Math.min(oldSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+    }
+
+    public void clear() {
+        setAll(List.of());
+    }
+
+    /**
+     * Appends the elements that are not already in the list (by {@code equals}).
+     */
+    public void addAllAbsent(Collection<? extends E> toAdd) {
+        Set<E> present = new HashSet<>(elements);
+        List<E> added = new ArrayList<>();
+        for (E e : toAdd) {
+            if (present.add(e)) {
+                added.add(e);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        int start = elements.size();
+        List<E> next = new ArrayList<>(start + added.size());
+        next.addAll(elements);
+        next.addAll(added);
+        elements = Collections.unmodifiableList(next);
+        fireIntervalAdded(this, start, elements.size() - 1);
+    }
+
+    /**
+     * Inserts {@code toInsert.get(i)} so that it ends up at {@code positions[i]}.
+     * Positions must be ascending and refer to the list after the insertion,
+     * as if the elements were inserted one by one in order.
+     *
+     * @throws IndexOutOfBoundsException if a position is out of range; the
+     *         list is then left unchanged
+     */
+    public void insertAll(int[] positions, List<? extends E> toInsert) {
+        for (int i = 0; i < positions.length; i++) {
+            // Before the i-th insertion the list holds elements.size() + i elements
+            if (positions[i] < (i == 0 ? 0 : positions[i - 1] + 1) || positions[i] > elements.size() + i) {
+                throw new IndexOutOfBoundsException("Position " + positions[i] + " for insertion " + i);
+            }
+        }
+        List<E> next = new ArrayList<>(elements.size() + toInsert.size());
+        int source = 0;
+        for (int i = 0; i < positions.length; i++) {
+            while (next.size() < positions[i]) {
+                next.add(elements.get(source++));
+            }
+            next.add(toInsert.get(i));
+        }
+        while (source < elements.size()) {
+            next.add(elements.get(source++));
+        }
+        elements = Collections.unmodifiableList(next);
+        for (int i = 0; i < positions.length; ) {
+            int runEnd = i;
+            while (runEnd + 1 < positions.length && positions[runEnd + 1] == positions[runEnd] + 1) {
+                runEnd++;
+            }
+            fireIntervalAdded(this, positions[i], positions[runEnd]);
+            i = runEnd + 1;
+        }
+    }
+
+    public void remove(int index) {
+        List<E> next = new ArrayList<>(elements);
+        next.remove(index);
+        elements = Collections.unmodifiableList(next);
+        fireIntervalRemoved(this, index, index);
+    }
+
+    /**
+     * Moves one element, firing a single changed event over the rows in between.
+     */
+    public void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        List<E> next = new ArrayList<>(elements);
+        next.add(to, next.remove(from));
+        elements = Collections.unmodifiableList(next);
+        fireContentsChanged(this, Math.min(from, to), Math.max(from, to));
+    }
+}
@@ -10,21 +10,23 @@ import java.awt.*;
 
 public class Table extends JTable {
 
+    private static final EmptyBorder CELL_BORDER = new EmptyBorder(0, 10, 0, 10);
+
     public Table() {
         setShowHorizontalLines(true);
         setGridColor(new Color(230, 230, 230));
         setRowHeight(40);
         getTableHeader().setReorderingAllowed(false);
 
-        // Custom header renderer
+        // Custom header renderer; one label, restyled per column
+        TableHeader header = new TableHeader("");
         getTableHeader().setDefaultRenderer(new DefaultTableCellRenderer() {
             @Override
             public Component getTableCellRendererComponent(
                     JTable table, Object value, boolean isSelected,
                     boolean hasFocus, int row, int column) {
 
-                String text = value != null ? value.toString() : "";
-                TableHeader header = new TableHeader(text);
+                header.setText(value != null ? value.toString() : "");
                 // center the actions column (assumed index 3)
                 if (column == 3) {
                     header.setHorizontalAlignment(JLabel.CENTER);
@@ -54,7 +56,7 @@ public class Table extends JTable {
                 }
 
                 if (com instanceof JLabel) {
-                    ((JLabel) com).setBorder(new EmptyBorder(0, 10, 0, 10));
+                    ((JLabel) com).setBorder(CELL_BORDER);
                 }
                 return com;
             }
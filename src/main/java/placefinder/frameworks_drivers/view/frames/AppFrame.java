@@ -1,11 +1,14 @@
 package placefinder.frameworks_drivers.view.frames;
 
 import placefinder.entities.Plan;
+import placefinder.frameworks_drivers.metrics.MetricsRegistry;
 import placefinder.interface_adapters.controllers.*;
 import placefinder.interface_adapters.viewmodels.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
 
 public class AppFrame extends JFrame {
 
@@ -43,7 +46,7 @@ public class AppFrame extends JFrame {
     public static final String CARD_WEATHER = "weather";
     public static final String CARD_PLAN_DETAILS = "planDetails";
 
-    // Panels
+    // Panels (all but login are created on first navigation)
     private LoginPanel loginPanel;
     private RegisterPanel registerPanel;
     private DashboardPanel dashboardPanel;
@@ -95,26 +98,94 @@ public class AppFrame extends JFrame {
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
 
-        loginPanel = new LoginPanel(this, loginController, loginVM);
-        registerPanel = new RegisterPanel(this, registerController, registerVM);
-        dashboardPanel = new DashboardPanel(this, dashboardController, dashboardVM, planDetailsVM);
-        preferencesPanel = new PreferencesPanel(this, preferencesController, preferencesVM);
-        planBuilderPanel = new PlanBuilderPanel(this, planCreationController, planCreationVM, weatherAdviceController, weatherAdviceVM);
-        weatherAdvicePanel = new WeatherAdvicePanel(this, weatherAdviceController, weatherAdviceVM);
-        planDetailsPanel = new PlanDetailsPanel( dashboardController, dashboardVM, planDetailsVM, this);
-
-        mainPanel.add(loginPanel, CARD_LOGIN);
-        mainPanel.add(registerPanel, CARD_REGISTER);
-        mainPanel.add(dashboardPanel, CARD_DASHBOARD);
-        mainPanel.add(preferencesPanel, CARD_PREFERENCES);
-        mainPanel.add(planBuilderPanel, CARD_PLAN);
-        mainPanel.add(weatherAdvicePanel, CARD_WEATHER);
-        mainPanel.add(planDetailsPanel, CARD_PLAN_DETAILS);
+        // Only the login card is built up front; the others on first navigation
+        loginPanel = addCard(CARD_LOGIN, () -> new LoginPanel(this, loginController, loginVM));
 
         setContentPane(mainPanel);
         showLogin();
     }
 
+    /**
+     * Builds a card, adds it to the layout and records how long it took as
+     * {@code ui.panel.<card>}.
+     */
+    private <T extends JComponent> T addCard(String card, Supplier<T> factory) {
+        long start = System.nanoTime();
+        T panel = factory.get();
+        mainPanel.add(panel, card);
+        MetricsRegistry.timer("ui.panel." + card).recordSince(start, false);
+        return panel;
+    }
+
+    private RegisterPanel registerPanel() {
+        if (registerPanel == null) {
+            registerPanel = addCard(CARD_REGISTER, () -> new RegisterPanel(this, registerController, registerVM));
+        }
+        return registerPanel;
+    }
+
+    private DashboardPanel dashboardPanel() {
+        if (dashboardPanel == null) {
+            dashboardPanel = addCard(CARD_DASHBOARD,
+                    () -> new DashboardPanel(this, dashboardController, dashboardVM, planDetailsVM));
+        }
+        return dashboardPanel;
+    }
+
+    private PreferencesPanel preferencesPanel() {
+        if (preferencesPanel == null) {
+            preferencesPanel = addCard(CARD_PREFERENCES,
+                    () -> new PreferencesPanel(this, preferencesController, preferencesVM));
+        }
+        return preferencesPanel;
+    }
+
+    private PlanBuilderPanel planBuilderPanel() {
+        if (planBuilderPanel == null) {
+            planBuilderPanel = addCard(CARD_PLAN, () -> new PlanBuilderPanel(this, planCreationController,
+                    planCreationVM, weatherAdviceController, weatherAdviceVM));
+        }
+        return planBuilderPanel;
+    }
+
+    private WeatherAdvicePanel weatherAdvicePanel() {
+        if (weatherAdvicePanel == null) {
+            weatherAdvicePanel = addCard(CARD_WEATHER,
+                    () -> new WeatherAdvicePanel(this, weatherAdviceController, weatherAdviceVM));
+        }
+        return weatherAdvicePanel;
+    }
+
+    private PlanDetailsPanel planDetailsPanel() {
+        if (planDetailsPanel == null) {
+            planDetailsPanel = addCard(CARD_PLAN_DETAILS,
+                    () -> new PlanDetailsPanel(dashboardController, dashboardVM, planDetailsVM, this));
+        }
+        return planDetailsPanel;
+    }
+
+    /**
+     * Touches the fonts the components use so that font files are parsed and
+     * glyph caches filled off the event thread. Safe to call from any thread.
+     */
+    public static void preloadFonts() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            for (int style : new int[]{Font.PLAIN, Font.BOLD}) {
+                for (int size : new int[]{12, 13, 14, 18, 24}) {
+                    Font font = new Font("sansserif", style, size);
+                    g.setFont(font);
+                    g.getFontMetrics().stringWidth("PlaceFinder 0123456789 abcdefghijklmnopqrstuvwxyz");
+                    g.drawString("PlaceFinder", 0, 0);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
     void showCard(String card) {
         cardLayout.show(mainPanel, card);
     }
@@ -126,38 +197,40 @@ public class AppFrame extends JFrame {
     }
 
     public void showRegister() {
+        registerPanel();
         showCard(CARD_REGISTER);
     }
 
     public void showDashboard() {
+        DashboardPanel panel = dashboardPanel();
         if (currentUserId != null) {
-            dashboardPanel.refreshPlans();
+            panel.refreshPlans();
         }
         showCard(CARD_DASHBOARD);
     }
 
     public void showPreferences() {
-        preferencesPanel.loadForCurrentUser();
+        preferencesPanel().loadForCurrentUser();
         showCard(CARD_PREFERENCES);
     }
 
     public void showNewPlan() {
-        planBuilderPanel.setupForNewPlan();
+        planBuilderPanel().setupForNewPlan();
         showCard(CARD_PLAN);
     }
 
     public void showWeatherAdvice() {
-        weatherAdvicePanel.resetFields();
+        weatherAdvicePanel().resetFields();
         showCard(CARD_WEATHER);
     }
 
     public void showPlanDetails() {
-        planDetailsPanel.showFromViewModel();
+        planDetailsPanel().showFromViewModel();
         showCard(CARD_PLAN_DETAILS);
     }
 
     public void openPlanEditorWithPlan(Plan plan) {
-        planBuilderPanel.editExistingPlan(plan);
+        planBuilderPanel().editExistingPlan(plan);
         showCard(CARD_PLAN);
     }
 
@@ -8,15 +8,17 @@ import placefinder.frameworks_drivers.view.components.swing.table.RowActionHandl
 import placefinder.entities.Plan;
 import placefinder.interface_adapters.controllers.DashboardController;
 import placefinder.interface_adapters.viewmodels.DashboardViewModel;
+import placefinder.interface_adapters.viewmodels.DashboardViewModel.PlansChange;
 import placefinder.interface_adapters.viewmodels.PlanDetailsViewModel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 public class DashboardPanel extends JPanel {
@@ -32,11 +34,22 @@ public class DashboardPanel extends JPanel {
     private JLabel lastPlanDateValue;
 
     private Table planTable;                      // <-- use our custom Table
-    private DefaultTableModel planTableModel;
-    private final List<Plan> planRows = new ArrayList<>();
+    private final PlanTableModel planTableModel = new PlanTableModel();
 
     private JLabel messageLabel;
 
+    private JTextField areaField;
+    private JComboBox<String> radiusBox;
+    private Button filterButton;
+    private String activeArea;          // null while all plans are shown
+    private double activeRadiusKm;
+
+    private JTextField searchField;
+    private Timer searchTimer;
+    private String activeSearch;        // null unless the table shows search results
+    private boolean searchRunning;
+    private boolean searchPending;      // the text changed while a search was running
+
     public DashboardPanel(AppFrame appFrame,
                           DashboardController dashboardController,
                           DashboardViewModel dashboardVM,
@@ -46,6 +59,13 @@ public class DashboardPanel extends JPanel {
         this.dashboardVM = dashboardVM;
         this.planDetailsVM = planDetailsVM;
         initUI();
+        dashboardVM.addPlansListener(change -> {
+            if (SwingUtilities.isEventDispatchThread()) {
+                applyPlansChange(change);
+            } else {
+                SwingUtilities.invokeLater(() -> applyPlansChange(change));
+            }
+        });
     }
 
     @Override
@@ -179,17 +199,13 @@ public class DashboardPanel extends JPanel {
         JLabel plansLabel = new JLabel("My Plans");
         plansLabel.setFont(new Font("sansserif", Font.BOLD, 16));
         plansLabel.setForeground(new Color(50, 50, 50));
-        tableCard.add(plansLabel, BorderLayout.NORTH);
 
-        // 4 columns: Name, Date, Location, Actions
-        planTableModel = new DefaultTableModel(
-                new Object[]{"Name", "Date", "Location", "Actions"}, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                // Only actions column is editable (to allow button clicks)
-                return column == 3;
-            }
-        };
+        JPanel plansHeader = new JPanel(new BorderLayout(10, 0));
+        plansHeader.setOpaque(false);
+        plansHeader.add(plansLabel, BorderLayout.WEST);
+        plansHeader.add(createSearchBar(), BorderLayout.CENTER);
+        plansHeader.add(createAreaFilterBar(), BorderLayout.EAST);
+        tableCard.add(plansHeader, BorderLayout.NORTH);
 
         planTable = new Table();
         planTable.setModel(planTableModel);
@@ -243,6 +259,88 @@ public class DashboardPanel extends JPanel {
         card.add(messageLabel, BorderLayout.SOUTH);
     }
 
+    /**
+     * Search-as-you-type box. Typing restarts a short timer; when it fires, one
+     * search runs in the background and the table shows its results. Changes
+     * made while a search runs are searched for when it finishes, so searches
+     * never overlap and results cannot arrive out of order.
+     */
+    private JPanel createSearchBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+        bar.setOpaque(false);
+
+        JLabel searchLabel = new JLabel("Search");
+        searchLabel.setFont(new Font("sansserif", Font.PLAIN, 12));
+        searchLabel.setForeground(new Color(90, 90, 90));
+
+        searchField = new JTextField(14);
+        searchField.setFont(new Font("sansserif", Font.PLAIN, 12));
+        searchField.setToolTipText("Plan names, places and addresses");
+
+        searchTimer = new Timer(250, e -> runSearch());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
+
+        bar.add(searchLabel);
+        bar.add(searchField);
+        return bar;
+    }
+
+    /**
+     * "Near [location] [radius] Filter / Show all": limits the table to plans
+     * with a stop in that area.
+     */
+    private JPanel createAreaFilterBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        bar.setOpaque(false);
+
+        JLabel nearLabel = new JLabel("Near");
+        nearLabel.setFont(new Font("sansserif", Font.PLAIN, 12));
+        nearLabel.setForeground(new Color(90, 90, 90));
+
+        areaField = new JTextField(14);
+        areaField.setFont(new Font("sansserif", Font.PLAIN, 12));
+        areaField.setToolTipText("An address, city or favorite location");
+        areaField.addActionListener(e -> applyAreaFilter());
+
+        radiusBox = new JComboBox<>(new String[]{"1 km", "2 km", "5 km", "10 km", "25 km", "50 km"});
+        radiusBox.setSelectedItem("5 km");
+        radiusBox.setFont(new Font("sansserif", Font.PLAIN, 12));
+
+        filterButton = new Button();
+        filterButton.setText("Filter");
+        styleSmallButton(filterButton, new Color(7, 164, 121));
+        filterButton.addActionListener(e -> applyAreaFilter());
+
+        Button showAllButton = new Button();
+        showAllButton.setText("Show all");
+        styleSmallButton(showAllButton, new Color(0, 92, 75));
+        showAllButton.addActionListener(e -> refreshPlans());
+
+        bar.add(nearLabel);
+        bar.add(areaField);
+        bar.add(radiusBox);
+        bar.add(filterButton);
+        bar.add(showAllButton);
+        return bar;
+    }
+
+    private void styleSmallButton(Button btn, Color background) {
+        btn.setBackground(background);
+        btn.setForeground(Color.WHITE);
+        btn.setFont(new Font("sansserif", Font.BOLD, 11));
+        btn.setPreferredSize(new Dimension(80, 26));
+    }
+
     private void stylePrimaryButton(Button btn) {
         btn.setBackground(new Color(7, 164, 121));
         btn.setForeground(Color.WHITE);
@@ -287,6 +385,9 @@ public class DashboardPanel extends JPanel {
         return valueLabel;
     }
 
+    /**
+     * Shows every saved plan, clearing any area filter.
+     */
     public void refreshPlans() {
         Integer userId = appFrame.getCurrentUserId();
         if (userId == null) {
@@ -297,23 +398,130 @@ public class DashboardPanel extends JPanel {
                 : "Traveler";
         welcomeLabel.setText("Welcome, " + userName);
 
+        activeArea = null;
+        activeSearch = null;
+        areaField.setText("");
+        searchField.setText("");
         dashboardController.loadPlans(userId);
+        showPlans();
+    }
+
+    private void runSearch() {
+        if (searchRunning) {
+            searchPending = true;
+            return;
+        }
+        Integer userId = appFrame.getCurrentUserId();
+        String query = searchField.getText().trim();
+        if (userId == null) {
+            return;
+        }
+        if (query.isEmpty()) {
+            if (activeSearch != null) {
+                refreshPlans();
+            }
+            return;
+        }
+
+        searchRunning = true;
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                dashboardController.searchPlans(userId, query);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                searchRunning = false;
+                if (searchPending) {
+                    // These results are already out of date
+                    searchPending = false;
+                    runSearch();
+                    return;
+                }
+                if (dashboardVM.getErrorMessage() != null) {
+                    messageLabel.setText(dashboardVM.getErrorMessage());
+                    return;
+                }
+                activeSearch = query;
+                activeArea = null;
+                areaField.setText("");
+                showPlans();
+            }
+        }.execute();
+    }
 
-        planRows.clear();
-        planTableModel.setRowCount(0);
-        for (Plan p : dashboardVM.getPlans()) {
-            planRows.add(p);
-            planTableModel.addRow(new Object[]{
-                    p.getName(),
-                    p.getDate(),
-                    p.getOriginAddress(),
-                    ""   // Actions column (icons only; value not used)
-            });
+    private void applyAreaFilter() {
+        Integer userId = appFrame.getCurrentUserId();
+        String area = areaField.getText().trim();
+        if (userId == null) {
+            return;
+        }
+        if (area.isEmpty()) {
+            refreshPlans();
+            return;
         }
+        double radiusKm = Double.parseDouble(((String) radiusBox.getSelectedItem()).replace(" km", ""));
 
-        updateStats(planRows);
+        // Resolving an address may need a geocoding call, so keep it off the event thread
+        filterButton.setEnabled(false);
+        messageLabel.setText("Finding plans near " + area + "...");
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                dashboardController.findPlansNear(userId, area, radiusKm);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                filterButton.setEnabled(true);
+                if (dashboardVM.getErrorMessage() != null) {
+                    messageLabel.setText(dashboardVM.getErrorMessage());
+                    return;
+                }
+                activeArea = area;
+                activeRadiusKm = radiusKm;
+                activeSearch = null;
+                searchField.setText("");
+                showPlans();
+            }
+        }.execute();
+    }
+
+    /**
+     * Brings the table up to date with the view model's plan list. Changes are
+     * applied row by row, so saving or deleting a plan repaints one row rather
+     * than rebuilding the table.
+     */
+    private void applyPlansChange(PlansChange change) {
+        if (change.getKind() != PlansChange.Kind.INSERTED && planTable.isEditing()) {
+            // The row being edited may be the one that moves or goes away
+            planTable.getCellEditor().cancelCellEditing();
+        }
+        if (planTableModel.apply(change)) {
+            updateStats(planTableModel.rows);
+        }
+    }
 
-        if (planRows.isEmpty()) {
+    /**
+     * Updates the message under the table to describe what it shows.
+     */
+    private void showPlans() {
+        List<Plan> planRows = planTableModel.rows;
+
+        String areaFilter = dashboardVM.getAreaFilter();
+        String searchQuery = dashboardVM.getSearchQuery();
+        if (searchQuery != null) {
+            messageLabel.setText(planRows.isEmpty()
+                    ? "No saved plans match \"" + searchQuery + "\"."
+                    : "Showing " + planRows.size() + " best match(es) for \"" + searchQuery + "\".");
+        } else if (areaFilter != null) {
+            messageLabel.setText(planRows.isEmpty()
+                    ? "No saved plans " + areaFilter + "."
+                    : "Showing " + planRows.size() + " plan(s) " + areaFilter + ".");
+        } else if (planRows.isEmpty()) {
             messageLabel.setText("You have no saved plans yet. Create one using 'Make a New Plan'.");
         } else {
             messageLabel.setText(dashboardVM.getMessage() != null ? dashboardVM.getMessage() : " ");
@@ -344,10 +552,10 @@ public class DashboardPanel extends JPanel {
 
     private Plan getSelectedPlan() {
         int row = planTable.getSelectedRow();
-        if (row < 0 || row >= planRows.size()) {
+        if (row < 0 || row >= planTableModel.rows.size()) {
             return null;
         }
-        return planRows.get(row);
+        return planTableModel.rows.get(row);
     }
 
     private void viewSelectedPlan() {
@@ -385,8 +593,13 @@ public class DashboardPanel extends JPanel {
                 "Confirm Delete",
                 JOptionPane.YES_NO_OPTION);
         if (confirm == JOptionPane.YES_OPTION) {
+            // The row is removed by the plan-deleted event, whatever the table shows
             dashboardController.deletePlan(userId, selected.getId());
-            refreshPlans();
+            if (dashboardVM.getErrorMessage() != null) {
+                messageLabel.setText(dashboardVM.getErrorMessage());
+            } else {
+                showPlans();
+            }
         }
     }
 
@@ -409,4 +622,65 @@ public class DashboardPanel extends JPanel {
                 "Preferences Applied",
                 JOptionPane.INFORMATION_MESSAGE);
     }
+
+    /**
+     * Shows the view model's plan list, one plan per row.
+     */
+    private static final class PlanTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Name", "Date", "Location", "Actions"};
+
+        private List<Plan> rows = List.of();
+        private long version;
+
+        /**
+         * @return false if the change was already covered by a later one
+         */
+        boolean apply(PlansChange change) {
+            if (change.getVersion() <= version) {
+                return false;
+            }
+            boolean next = change.getVersion() == version + 1;
+            rows = change.getPlans();
+            version = change.getVersion();
+            if (!next) {
+                // Some changes were skipped, so row indexes cannot be trusted
+                fireTableDataChanged();
+                return true;
+            }
+            int index = change.getIndex();
+            switch (change.getKind()) {
+                case INSERTED -> fireTableRowsInserted(index, index);
+                case UPDATED -> fireTableRowsUpdated(index, index);
+                case REMOVED -> fireTableRowsDeleted(index, index);
+                default -> fireTableDataChanged();
+            }
+            return true;
+        }
+
+        @Override
+        public int getRowCount() { return rows.size(); }
+
+        @Override
+        public int getColumnCount() { return COLUMNS.length; }
+
+        @Override
+        public String getColumnName(int column) { return COLUMNS[column]; }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Plan p = rows.get(row);
+            return switch (column) {
+                case 0 -> p.getName();
+                case 1 -> p.getDate();
+                case 2 -> p.getOriginAddress();
+                default -> "";   // Actions column (icons only; value not used)
+            };
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            // Only actions column is editable (to allow button clicks)
+            return column == 3;
+        }
+    }
 }
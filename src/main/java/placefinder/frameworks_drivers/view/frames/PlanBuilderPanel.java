@@ -3,6 +3,7 @@ package placefinder.frameworks_drivers.view.frames;
 import placefinder.frameworks_drivers.view.components.swing.Button;
 import placefinder.frameworks_drivers.view.components.swing.MyTextFieldSecondary;
 import placefinder.frameworks_drivers.view.components.swing.PanelRound;
+import placefinder.frameworks_drivers.view.components.swing.list.SnapshotListModel;
 import placefinder.entities.Plan;
 import placefinder.entities.PlanStop;
 import placefinder.entities.Place;
@@ -17,7 +18,9 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class PlanBuilderPanel extends JPanel {
 
@@ -33,9 +36,14 @@ public class PlanBuilderPanel extends JPanel {
     private MyTextFieldSecondary dateField;
     private MyTextFieldSecondary startTimeField;
 
-    private DefaultListModel<Place> recommendedModel;
+    // Stands in for every row when the lists size their cells, so no row is measured
+    private static final Place PROTOTYPE_PLACE = new Place(null, "A fairly long place name",
+            "123 Some Long Street Name, City", 0, 0, 0, IndoorOutdoorType.MIXED, List.of());
+    private static final EmptyBorder PLACE_CELL_BORDER = new EmptyBorder(2, 4, 2, 4);
+
+    private final SnapshotListModel<Place> recommendedModel = new SnapshotListModel<>();
     private JList<Place> recommendedList;
-    private DefaultListModel<Place> selectedModel;
+    private final SnapshotListModel<Place> selectedModel = new SnapshotListModel<>();
     private JList<Place> selectedList;
 
     private JTextArea planPreviewArea;
@@ -43,8 +51,13 @@ public class PlanBuilderPanel extends JPanel {
     private JLabel infoLabel;
     private JLabel errorLabel;
 
+    private Button searchButton;
+
     private Integer editingPlanId = null;
 
+    // True while a search may still stream places into recommendedModel (EDT only)
+    private boolean streamingResults = false;
+
     public PlanBuilderPanel(AppFrame appFrame,
                             PlanCreationController planCreationController,
                             PlanCreationViewModel planCreationVM,
@@ -56,6 +69,8 @@ public class PlanBuilderPanel extends JPanel {
         this.weatherAdviceController = weatherAdviceController;
         this.weatherAdviceVM = weatherAdviceVM;
         initUI();
+        planCreationVM.setRecommendedPlacesListener((places, positions) ->
+                SwingUtilities.invokeLater(() -> insertRecommended(places, positions)));
     }
 
     @Override
@@ -138,7 +153,7 @@ public class PlanBuilderPanel extends JPanel {
 
         tgc.gridx = 3;
         tgc.weightx = 0.2;
-        Button searchButton = new Button();
+        searchButton = new Button();
         searchButton.setText("Search places");
         searchButton.setBackground(new Color(7, 164, 121));
         searchButton.setForeground(Color.WHITE);
@@ -162,17 +177,17 @@ public class PlanBuilderPanel extends JPanel {
         listsPanel.setOpaque(false);
         center.add(listsPanel, BorderLayout.CENTER);
 
-        recommendedModel = new DefaultListModel<>();
         recommendedList = new JList<>(recommendedModel);
         recommendedList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         recommendedList.setVisibleRowCount(10);
         recommendedList.setCellRenderer(createPlaceRenderer());
+        recommendedList.setPrototypeCellValue(PROTOTYPE_PLACE);
 
-        selectedModel = new DefaultListModel<>();
         selectedList = new JList<>(selectedModel);
         selectedList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         selectedList.setVisibleRowCount(10);
         selectedList.setCellRenderer(createPlaceRenderer());
+        selectedList.setPrototypeCellValue(PROTOTYPE_PLACE);
 
         JPanel recPanel = new JPanel(new BorderLayout(5, 5));
         recPanel.setOpaque(false);
@@ -311,7 +326,17 @@ public class PlanBuilderPanel extends JPanel {
         bottom.add(actions, BorderLayout.SOUTH);
     }
 
+    /**
+     * One label per list, restyled for each visible row. Cell sizes come from
+     * {@link #PROTOTYPE_PLACE}, so only rows being painted are rendered.
+     */
     private ListCellRenderer<? super Place> createPlaceRenderer() {
+        // Show (Indoor) / (Outdoor) / (Mixed)
+        Map<IndoorOutdoorType, String> typeTexts = new EnumMap<>(IndoorOutdoorType.class);
+        for (IndoorOutdoorType type : IndoorOutdoorType.values()) {
+            String pretty = type.name().toLowerCase().replace('_', ' ');
+            typeTexts.put(type, " (" + Character.toUpperCase(pretty.charAt(0)) + pretty.substring(1) + ")");
+        }
         return new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
@@ -319,19 +344,11 @@ public class PlanBuilderPanel extends JPanel {
                 JLabel lbl = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 if (value instanceof Place) {
                     Place place = (Place) value;
-
-                    // Show (Indoor) / (Outdoor) / (Mixed)
-                    String typeText = "";
                     IndoorOutdoorType type = place.getIndoorOutdoorType();
-                    if (type != null) {
-                        String pretty = type.name().toLowerCase().replace('_', ' ');
-                        pretty = Character.toUpperCase(pretty.charAt(0)) + pretty.substring(1);
-                        typeText = " (" + pretty + ")";
-                    }
-
+                    String typeText = type != null ? typeTexts.get(type) : "";
                     lbl.setText(place.getName() + typeText + "  \u2013  " + place.getAddress());
                 }
-                lbl.setBorder(new EmptyBorder(2, 4, 2, 4));
+                lbl.setBorder(PLACE_CELL_BORDER);
                 return lbl;
             }
         };
@@ -349,6 +366,7 @@ public class PlanBuilderPanel extends JPanel {
 
     public void setupForNewPlan() {
         editingPlanId = null;
+        streamingResults = false;
         locationField.setText("");
         dateField.setText(LocalDate.now().toString());
         startTimeField.setText("13:00");
@@ -363,6 +381,7 @@ public class PlanBuilderPanel extends JPanel {
     public void editExistingPlan(Plan plan) {
         if (plan == null) return;
         editingPlanId = plan.getId();
+        streamingResults = false;
         locationField.setText(plan.getOriginAddress());
         if (plan.getDate() != null) {
             dateField.setText(plan.getDate().toString());
@@ -375,12 +394,13 @@ public class PlanBuilderPanel extends JPanel {
             startTimeField.setText("");
         }
         recommendedModel.clear();
-        selectedModel.clear();
+        List<Place> stops = new ArrayList<>();
         if (plan.getRoute() != null && plan.getRoute().getStops() != null) {
             for (PlanStop stop : plan.getRoute().getStops()) {
-                selectedModel.addElement(stop.getPlace());
+                stops.add(stop.getPlace());
             }
         }
+        selectedModel.setAll(stops);
         planPreviewArea.setText(buildPlanPreviewText(plan));
         infoLabel.setText("Editing existing plan: " + plan.getName());
         errorLabel.setText(" ");
@@ -409,12 +429,61 @@ public class PlanBuilderPanel extends JPanel {
             return;
         }
 
-        // 1) Get places
-        planCreationController.searchPlaces(userId, loc, date);
+        // Places stream into the list as each interest returns (see insertRecommended);
+        // the search and the weather lookup run off the event thread.
         recommendedModel.clear();
-        for (Place p : planCreationVM.getRecommendedPlaces()) {
-            recommendedModel.addElement(p);
+        errorLabel.setText(" ");
+        infoLabel.setText("Searching places...");
+        weatherAdviceArea.setText("");
+        searchButton.setEnabled(false);
+        streamingResults = true;
+
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                // 1) Get places
+                planCreationController.searchPlaces(userId, loc, date);
+                // 2) Get weather advice using the working WeatherAdvice use case;
+                // prefer the resolved address so favorite names also work there
+                String origin = planCreationVM.getOriginAddress();
+                weatherAdviceController.getAdvice(origin != null ? origin : loc, date);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                searchButton.setEnabled(true);
+                if (!streamingResults) {
+                    return; // panel was reset while searching
+                }
+                streamingResults = false;
+                showSearchResults();
+            }
+        }.execute();
+    }
+
+    /**
+     * Applies one partial batch from the view model as a single model update,
+     * firing one interval-added event per run of adjacent new places.
+     */
+    private void insertRecommended(List<Place> places, int[] positions) {
+        if (!streamingResults) {
+            return;
+        }
+        try {
+            recommendedModel.insertAll(positions, places);
+        } catch (IndexOutOfBoundsException e) {
+            return; // out of step; showSearchResults() will rebuild
         }
+        infoLabel.setText("Searching places... " + recommendedModel.getSize() + " found so far");
+    }
+
+    private void showSearchResults() {
+        List<Place> finalPlaces = planCreationVM.getRecommendedPlaces();
+        if (!sameAsModel(finalPlaces)) {
+            recommendedModel.setAll(finalPlaces);
+        }
+        infoLabel.setText(" ");
 
         if (planCreationVM.getErrorMessage() != null) {
             errorLabel.setText(planCreationVM.getErrorMessage());
@@ -422,9 +491,6 @@ public class PlanBuilderPanel extends JPanel {
             errorLabel.setText(" ");
         }
 
-        // 2) Get weather advice using the working WeatherAdvice use case
-        weatherAdviceController.getAdvice(loc, date);
-
         String adviceText;
         if (weatherAdviceVM.getErrorMessage() != null) {
             adviceText = "Unable to retrieve weather advice: " + weatherAdviceVM.getErrorMessage();
@@ -444,8 +510,7 @@ public class PlanBuilderPanel extends JPanel {
         // 3) Optionally append indoor/outdoor bias based on recommended places
         int indoor = 0;
         int outdoor = 0;
-        for (int i = 0; i < recommendedModel.size(); i++) {
-            Place p = recommendedModel.getElementAt(i);
+        for (Place p : recommendedModel.snapshot()) {
             if (p.getIndoorOutdoorType() == null) continue;
             switch (p.getIndoorOutdoorType()) {
                 case INDOOR -> indoor++;
@@ -472,19 +537,26 @@ public class PlanBuilderPanel extends JPanel {
         }
     }
 
-    private void addSelectedPlaces() {
-        List<Place> selected = recommendedList.getSelectedValuesList();
-        for (Place p : selected) {
-            if (!selectedModel.contains(p)) {
-                selectedModel.addElement(p);
+    private boolean sameAsModel(List<Place> places) {
+        if (places.size() != recommendedModel.getSize()) {
+            return false;
+        }
+        for (int i = 0; i < places.size(); i++) {
+            if (places.get(i) != recommendedModel.getElementAt(i)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private void addSelectedPlaces() {
+        selectedModel.addAllAbsent(recommendedList.getSelectedValuesList());
     }
 
     private void removeSelectedPlace() {
-        Place sel = selectedList.getSelectedValue();
-        if (sel != null) {
-            selectedModel.removeElement(sel);
+        int idx = selectedList.getSelectedIndex();
+        if (idx >= 0) {
+            selectedModel.remove(idx);
         }
     }
 
@@ -494,21 +566,15 @@ public class PlanBuilderPanel extends JPanel {
             return;
         }
         int newIdx = idx + delta;
-        if (newIdx < 0 || newIdx >= selectedModel.size()) {
+        if (newIdx < 0 || newIdx >= selectedModel.getSize()) {
             return;
         }
-        Place p = selectedModel.get(idx);
-        selectedModel.remove(idx);
-        selectedModel.add(newIdx, p);
+        selectedModel.move(idx, newIdx);
         selectedList.setSelectedIndex(newIdx);
     }
 
     private List<Place> getSelectedPlacesList() {
-        List<Place> list = new ArrayList<>();
-        for (int i = 0; i < selectedModel.size(); i++) {
-            list.add(selectedModel.getElementAt(i));
-        }
-        return list;
+        return selectedModel.snapshot();
     }
 
     private void generatePlan() {
@@ -5,6 +5,7 @@ import placefinder.frameworks_drivers.view.components.swing.MyTextField;
 import placefinder.frameworks_drivers.view.components.swing.PanelRound;
 import placefinder.entities.DayTripExperienceCategories;
 import placefinder.entities.FavoriteLocation;
+import placefinder.entities.WeatherSummary;
 import placefinder.interface_adapters.controllers.PreferencesController;
 import placefinder.interface_adapters.viewmodels.PreferencesViewModel;
 
@@ -38,6 +39,11 @@ public class PreferencesPanel extends JPanel {
         this.preferencesController = preferencesController;
         this.preferencesVM = preferencesVM;
         initUI();
+        preferencesVM.addChangeListener(properties -> {
+            if (properties.contains("favoriteWeather")) {
+                favList.repaint();
+            }
+        });
     }
 
     @Override
@@ -204,7 +210,12 @@ public class PreferencesPanel extends JPanel {
                 JLabel lbl = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 if (value instanceof FavoriteLocation) {
                     FavoriteLocation fav = (FavoriteLocation) value;
-                    lbl.setText(fav.getName() + "  \u2013  " + fav.getAddress());
+                    WeatherSummary weather = fav.getId() != null
+                            ? preferencesVM.getFavoriteWeather().get(fav.getId()) : null;
+                    lbl.setText(weather == null
+                            ? fav.getName() + "  \u2013  " + fav.getAddress()
+                            : String.format("%s  \u2013  %s   (%.0f\u00B0C, %s)", fav.getName(), fav.getAddress(),
+                                    weather.getTemperatureC(), weather.getConditions()));
                 }
                 lbl.setBorder(new EmptyBorder(2, 4, 2, 4));
                 return lbl;
@@ -291,10 +302,29 @@ public class PreferencesPanel extends JPanel {
                 ? preferencesVM.getErrorMessage()
                 : preferencesVM.getMessage();
         messageLabel.setText(msg != null ? msg : " ");
+
+        loadFavoriteWeather(userId);
     }
 
     // ===== Internal helpers =====
 
+    /**
+     * Fetches today's weather for every favorite in one background request;
+     * the list repaints when the view model reports it.
+     */
+    private void loadFavoriteWeather(int userId) {
+        if (favListModel.isEmpty()) {
+            return;
+        }
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                preferencesController.loadFavoriteWeather(userId);
+                return null;
+            }
+        }.execute();
+    }
+
     private void updateSubCategoriesPanel() {
         saveCurrentMainCategorySelection();
         
@@ -427,6 +457,7 @@ public class PreferencesPanel extends JPanel {
         }
         favNameField.setText("");
         favAddressField.setText("");
+        loadFavoriteWeather(userId);
     }
 
     private void deleteFavorite() {
@@ -23,6 +23,8 @@ public class WeatherAdvicePanel extends JPanel {
     private JTextArea summaryArea;
     private JTextArea adviceArea;
     private JLabel errorLabel;
+    private Button getAdviceButton;
+    private boolean adviceRequested;    // the view model's changes are for this panel (EDT only)
 
     public WeatherAdvicePanel(AppFrame appFrame,
                               WeatherAdviceController weatherAdviceController,
@@ -31,6 +33,12 @@ public class WeatherAdvicePanel extends JPanel {
         this.weatherAdviceController = weatherAdviceController;
         this.weatherAdviceVM = weatherAdviceVM;
         initUI();
+        // Delivered on the event thread, once per presenter call
+        weatherAdviceVM.addChangeListener(properties -> {
+            if (adviceRequested) {
+                showAdvice();
+            }
+        });
     }
 
     @Override
@@ -237,7 +245,7 @@ public class WeatherAdvicePanel extends JPanel {
         JPanel buttonsRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         buttonsRow.setOpaque(false);
 
-        Button getAdviceButton = new Button();
+        getAdviceButton = new Button();
         getAdviceButton.setText("Get advice");
         getAdviceButton.setBackground(new Color(7, 164, 121));
         getAdviceButton.setForeground(Color.WHITE);
@@ -274,8 +282,27 @@ public class WeatherAdvicePanel extends JPanel {
                     JOptionPane.WARNING_MESSAGE);
             return;
         }
-        weatherAdviceController.getAdvice(location, date.isEmpty() ? null : date);
 
+        // Geocoding and the forecast are network calls, so keep them off the event thread
+        adviceRequested = true;
+        getAdviceButton.setEnabled(false);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                weatherAdviceController.getAdvice(location, date.isEmpty() ? null : date);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                // The view model's last change was queued before this, so it is already shown
+                adviceRequested = false;
+                getAdviceButton.setEnabled(true);
+            }
+        }.execute();
+    }
+
+    private void showAdvice() {
         if (weatherAdviceVM.getErrorMessage() != null) {
             errorLabel.setText(weatherAdviceVM.getErrorMessage());
             summaryArea.setText("");
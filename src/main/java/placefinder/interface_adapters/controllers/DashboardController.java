@@ -4,13 +4,19 @@ import placefinder.interface_adapters.viewmodels.DashboardViewModel;
 import placefinder.interface_adapters.viewmodels.PlanDetailsViewModel;
 import placefinder.usecases.plans.*;
 
+import java.text.DecimalFormat;
+
 public class DashboardController implements
         ListPlansOutputBoundary,
+        FindPlansNearOutputBoundary,
+        SearchPlansOutputBoundary,
         DeletePlanOutputBoundary,
         ApplyPreferencesFromPlanOutputBoundary,
         GetPlanDetailsOutputBoundary {
 
     private final ListPlansInputBoundary listPlansInteractor;
+    private final FindPlansNearInputBoundary findPlansNearInteractor;
+    private final SearchPlansInputBoundary searchPlansInteractor;
     private final DeletePlanInputBoundary deletePlanInteractor;
     private final ApplyPreferencesFromPlanInputBoundary applyPreferencesFromPlanInteractor;
     private final GetPlanDetailsInputBoundary getPlanDetailsInteractor;
@@ -19,12 +25,16 @@ public class DashboardController implements
     private final PlanDetailsViewModel planDetailsViewModel;
 
     public DashboardController(ListPlansInputBoundary listPlansInteractor,
+                               FindPlansNearInputBoundary findPlansNearInteractor,
+                               SearchPlansInputBoundary searchPlansInteractor,
                                DeletePlanInputBoundary deletePlanInteractor,
                                ApplyPreferencesFromPlanInputBoundary applyPreferencesFromPlanInteractor,
                                GetPlanDetailsInputBoundary getPlanDetailsInteractor,
                                DashboardViewModel dashboardViewModel,
                                PlanDetailsViewModel planDetailsViewModel) {
         this.listPlansInteractor = listPlansInteractor;
+        this.findPlansNearInteractor = findPlansNearInteractor;
+        this.searchPlansInteractor = searchPlansInteractor;
         this.deletePlanInteractor = deletePlanInteractor;
         this.applyPreferencesFromPlanInteractor = applyPreferencesFromPlanInteractor;
         this.getPlanDetailsInteractor = getPlanDetailsInteractor;
@@ -38,6 +48,18 @@ public class DashboardController implements
         listPlansInteractor.execute(new ListPlansInputData(userId));
     }
 
+    public void findPlansNear(int userId, String locationText, double radiusKm) {
+        dashboardViewModel.setErrorMessage(null);
+        dashboardViewModel.setMessage(null);
+        findPlansNearInteractor.execute(new FindPlansNearInputData(userId, locationText, radiusKm));
+    }
+
+    public void searchPlans(int userId, String query) {
+        dashboardViewModel.setErrorMessage(null);
+        dashboardViewModel.setMessage(null);
+        searchPlansInteractor.execute(new SearchPlansInputData(userId, query));
+    }
+
     public void deletePlan(int userId, int planId) {
         dashboardViewModel.setErrorMessage(null);
         deletePlanInteractor.execute(new DeletePlanInputData(planId, userId));
@@ -55,46 +77,90 @@ public class DashboardController implements
 
     @Override
     public void present(ListPlansOutputData outputData) {
-        if (outputData.getErrorMessage() != null) {
-            dashboardViewModel.setPlans(java.util.List.of());
-            dashboardViewModel.setErrorMessage(outputData.getErrorMessage());
-        } else {
-            dashboardViewModel.setPlans(outputData.getPlans());
-            dashboardViewModel.setErrorMessage(null);
-        }
+        dashboardViewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                dashboardViewModel.setPlans(java.util.List.of());
+                dashboardViewModel.setErrorMessage(outputData.getErrorMessage());
+            } else {
+                dashboardViewModel.setPlans(outputData.getPlans());
+                dashboardViewModel.setErrorMessage(null);
+            }
+            dashboardViewModel.setAreaFilter(null);
+            dashboardViewModel.setSearchQuery(null);
+        });
+    }
+
+    @Override
+    public void present(FindPlansNearOutputData outputData) {
+        dashboardViewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                dashboardViewModel.setErrorMessage(outputData.getErrorMessage());
+            } else {
+                dashboardViewModel.setPlans(outputData.getPlans());
+                dashboardViewModel.setAreaFilter(areaDescription(outputData));
+                dashboardViewModel.setSearchQuery(null);
+                dashboardViewModel.setErrorMessage(null);
+            }
+        });
+    }
+
+    @Override
+    public void present(SearchPlansOutputData outputData) {
+        dashboardViewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                dashboardViewModel.setErrorMessage(outputData.getErrorMessage());
+            } else {
+                dashboardViewModel.setPlans(outputData.getPlans());
+                dashboardViewModel.setSearchQuery(outputData.getQuery());
+                dashboardViewModel.setAreaFilter(null);
+                dashboardViewModel.setErrorMessage(null);
+            }
+        });
+    }
+
+    /** e.g. "within 5 km of 100 Queen St W, Toronto" */
+    public static String areaDescription(FindPlansNearOutputData outputData) {
+        return String.format("within %s km of %s",
+                new DecimalFormat("0.#").format(outputData.getRadiusKm()),
+                outputData.getOriginAddress());
     }
 
     @Override
     public void present(DeletePlanOutputData outputData) {
-        if (outputData.isSuccess()) {
-            dashboardViewModel.setMessage(outputData.getMessage());
-            dashboardViewModel.setErrorMessage(null);
-            // actual removal from list should be triggered by caller with specific planId,
-            // or re-load the list; simplest is to re-call loadPlans() after delete.
-        } else {
-            dashboardViewModel.setErrorMessage(outputData.getMessage());
-        }
+        dashboardViewModel.update(() -> {
+            if (outputData.isSuccess()) {
+                dashboardViewModel.setMessage(outputData.getMessage());
+                dashboardViewModel.setErrorMessage(null);
+                // The row itself is removed by the plan gateway's plan-deleted event
+            } else {
+                dashboardViewModel.setErrorMessage(outputData.getMessage());
+            }
+        });
     }
 
     @Override
     public void present(ApplyPreferencesFromPlanOutputData outputData) {
-        if (outputData.isSuccess()) {
-            dashboardViewModel.setMessage(outputData.getMessage());
-            dashboardViewModel.setErrorMessage(null);
-        } else {
-            dashboardViewModel.setErrorMessage(outputData.getMessage());
-        }
+        dashboardViewModel.update(() -> {
+            if (outputData.isSuccess()) {
+                dashboardViewModel.setMessage(outputData.getMessage());
+                dashboardViewModel.setErrorMessage(null);
+            } else {
+                dashboardViewModel.setErrorMessage(outputData.getMessage());
+            }
+        });
     }
 
     @Override
     public void present(GetPlanDetailsOutputData outputData) {
-        if (outputData.getErrorMessage() != null) {
-            planDetailsViewModel.setPlan(null);
-            planDetailsViewModel.setErrorMessage(outputData.getErrorMessage());
-        } else {
-            planDetailsViewModel.setPlan(outputData.getPlan());
-            planDetailsViewModel.setErrorMessage(null);
-        }
+        planDetailsViewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                planDetailsViewModel.setPlan(null);
+                planDetailsViewModel.setErrorMessage(outputData.getErrorMessage());
+            } else {
+                planDetailsViewModel.setPlan(outputData.getPlan());
+                planDetailsViewModel.setErrorMessage(null);
+            }
+        });
     }
 
     public DashboardViewModel getDashboardViewModel() { return dashboardViewModel; }
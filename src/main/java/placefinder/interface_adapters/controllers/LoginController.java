@@ -21,13 +21,15 @@ public class LoginController implements LoginOutputBoundary {
 
     @Override
     public void present(LoginOutputData outputData) {
-        if (outputData.isSuccess()) {
-            viewModel.setLoggedInUser(outputData.getUser());
-            viewModel.setErrorMessage(null);
-        } else {
-            viewModel.setLoggedInUser(null);
-            viewModel.setErrorMessage(outputData.getMessage());
-        }
+        viewModel.update(() -> {
+            if (outputData.isSuccess()) {
+                viewModel.setLoggedInUser(outputData.getUser());
+                viewModel.setErrorMessage(null);
+            } else {
+                viewModel.setLoggedInUser(null);
+                viewModel.setErrorMessage(outputData.getMessage());
+            }
+        });
     }
 
     public LoginViewModel getViewModel() { return viewModel; }
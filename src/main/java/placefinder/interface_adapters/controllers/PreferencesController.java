@@ -4,6 +4,7 @@ import placefinder.entities.FavoriteLocation;
 import placefinder.interface_adapters.viewmodels.PreferencesViewModel;
 import placefinder.usecases.preferences.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -11,12 +12,14 @@ public class PreferencesController implements
         GetPreferencesOutputBoundary,
         UpdatePreferencesOutputBoundary,
         AddFavoriteOutputBoundary,
-        DeleteFavoriteOutputBoundary {
+        DeleteFavoriteOutputBoundary,
+        GetFavoriteWeatherOutputBoundary {
 
     private final GetPreferencesInputBoundary getPreferencesInteractor;
     private final UpdatePreferencesInputBoundary updatePreferencesInteractor;
     private final AddFavoriteInputBoundary addFavoriteInteractor;
     private final DeleteFavoriteInputBoundary deleteFavoriteInteractor;
+    private final GetFavoriteWeatherInputBoundary getFavoriteWeatherInteractor;
 
     private final PreferencesViewModel viewModel;
 
@@ -24,11 +27,13 @@ public class PreferencesController implements
                                  UpdatePreferencesInputBoundary updatePreferencesInteractor,
                                  AddFavoriteInputBoundary addFavoriteInteractor,
                                  DeleteFavoriteInputBoundary deleteFavoriteInteractor,
+                                 GetFavoriteWeatherInputBoundary getFavoriteWeatherInteractor,
                                  PreferencesViewModel viewModel) {
         this.getPreferencesInteractor = getPreferencesInteractor;
         this.updatePreferencesInteractor = updatePreferencesInteractor;
         this.addFavoriteInteractor = addFavoriteInteractor;
         this.deleteFavoriteInteractor = deleteFavoriteInteractor;
+        this.getFavoriteWeatherInteractor = getFavoriteWeatherInteractor;
         this.viewModel = viewModel;
     }
 
@@ -55,47 +60,69 @@ public class PreferencesController implements
         deleteFavoriteInteractor.execute(new DeleteFavoriteInputData(userId, favoriteId));
     }
 
+    /**
+     * Fetches today's weather for all favorites in one request. Leaves the
+     * messages alone, so it can run in the background after another action.
+     */
+    public void loadFavoriteWeather(int userId) {
+        getFavoriteWeatherInteractor.execute(new GetFavoriteWeatherInputData(userId, LocalDate.now()));
+    }
+
     @Override
     public void present(GetPreferencesOutputData outputData) {
-        if (outputData.getErrorMessage() != null) {
-            viewModel.setErrorMessage(outputData.getErrorMessage());
-            return;
-        }
-        viewModel.setRadiusKm(outputData.getRadiusKm());
-        viewModel.setFavorites(outputData.getFavorites());
-        viewModel.setSelectedCategories(outputData.getSelectedCategories());
+        viewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                viewModel.setErrorMessage(outputData.getErrorMessage());
+                return;
+            }
+            viewModel.setRadiusKm(outputData.getRadiusKm());
+            viewModel.setFavorites(outputData.getFavorites());
+            viewModel.setSelectedCategories(outputData.getSelectedCategories());
+        });
     }
 
     @Override
     public void present(UpdatePreferencesOutputData outputData) {
-        if (outputData.isSuccess()) {
-            viewModel.setMessage(outputData.getMessage());
-            viewModel.setErrorMessage(null);
-        } else {
-            viewModel.setErrorMessage(outputData.getMessage());
-        }
+        viewModel.update(() -> {
+            if (outputData.isSuccess()) {
+                viewModel.setMessage(outputData.getMessage());
+                viewModel.setErrorMessage(null);
+            } else {
+                viewModel.setErrorMessage(outputData.getMessage());
+            }
+        });
     }
 
     @Override
     public void present(AddFavoriteOutputData outputData) {
-        if (outputData.getErrorMessage() != null) {
-            viewModel.setErrorMessage(outputData.getErrorMessage());
-            return;
-        }
-        FavoriteLocation fav = outputData.getFavorite();
-        if (fav != null) {
-            viewModel.addFavorite(fav);
-        }
+        viewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                viewModel.setErrorMessage(outputData.getErrorMessage());
+                return;
+            }
+            FavoriteLocation fav = outputData.getFavorite();
+            if (fav != null) {
+                viewModel.addFavorite(fav);
+            }
+        });
     }
 
     @Override
     public void present(DeleteFavoriteOutputData outputData) {
-        if (outputData.isSuccess()) {
-            viewModel.setMessage(outputData.getMessage());
-            viewModel.setErrorMessage(null);
-        } else {
-            viewModel.setErrorMessage(outputData.getMessage());
-        }
+        viewModel.update(() -> {
+            if (outputData.isSuccess()) {
+                viewModel.setMessage(outputData.getMessage());
+                viewModel.setErrorMessage(null);
+            } else {
+                viewModel.setErrorMessage(outputData.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void present(GetFavoriteWeatherOutputData outputData) {
+        // Weather is decoration on the list; a failed forecast just shows none
+        viewModel.setFavoriteWeather(outputData.getWeatherByFavoriteId());
     }
 
     public PreferencesViewModel getViewModel() { return viewModel; }
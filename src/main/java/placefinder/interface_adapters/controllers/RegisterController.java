@@ -21,8 +21,10 @@ public class RegisterController implements RegisterOutputBoundary {
 
     @Override
     public void present(RegisterOutputData outputData) {
-        viewModel.setSuccess(outputData.isSuccess());
-        viewModel.setMessage(outputData.getMessage());
+        viewModel.update(() -> {
+            viewModel.setSuccess(outputData.isSuccess());
+            viewModel.setMessage(outputData.getMessage());
+        });
     }
 
     public RegisterViewModel getViewModel() { return viewModel; }
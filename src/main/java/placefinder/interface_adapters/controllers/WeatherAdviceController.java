@@ -23,15 +23,17 @@ public class WeatherAdviceController implements WeatherAdviceOutputBoundary {
 
     @Override
     public void present(WeatherAdviceOutputData outputData) {
-        if (outputData.getErrorMessage() != null) {
-            viewModel.setErrorMessage(outputData.getErrorMessage());
-            viewModel.setSummary(null);
-            viewModel.setAdvice(null);
-        } else {
-            viewModel.setSummary(outputData.getSummary());
-            viewModel.setAdvice(outputData.getAdvice());
-            viewModel.setErrorMessage(null);
-        }
+        viewModel.update(() -> {
+            if (outputData.getErrorMessage() != null) {
+                viewModel.setErrorMessage(outputData.getErrorMessage());
+                viewModel.setSummary(null);
+                viewModel.setAdvice(null);
+            } else {
+                viewModel.setSummary(outputData.getSummary());
+                viewModel.setAdvice(outputData.getAdvice());
+                viewModel.setErrorMessage(null);
+            }
+        });
     }
 
     public WeatherAdviceViewModel getViewModel() { return viewModel; }
@@ -1,31 +1,161 @@
 package placefinder.interface_adapters.viewmodels;
 
 import placefinder.entities.Plan;
+import placefinder.usecases.ports.PlanGateway;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class DashboardViewModel {
-    private List<Plan> plans = new ArrayList<>();
+public class DashboardViewModel extends ObservableViewModel {
+    private volatile List<Plan> plans = List.of();
+    private long plansVersion;
+    private final List<PlansListener> plansListeners = new CopyOnWriteArrayList<>();
     private String message;
     private String errorMessage;
+    private String areaFilter;
+    private String searchQuery;
+
+    /**
+     * Told about every change to the plan list, on the thread that made it.
+     * Unlike property changes these are not coalesced, since each carries the
+     * row it touched.
+     */
+    public interface PlansListener {
+        void plansChanged(PlansChange change);
+    }
+
+    /**
+     * One change to the plan list: a single row inserted, updated or removed
+     * at {@code index}, or the whole list replaced. Versions increase by one
+     * per change, so a listener holding the list of {@code version - 1} can
+     * apply the row change alone; any other listener should take
+     * {@link #getPlans()} wholesale.
+     */
+    public static final class PlansChange {
+        public enum Kind { INSERTED, UPDATED, REMOVED, REPLACED }
+
+        private final Kind kind;
+        private final int index;
+        private final List<Plan> plans;
+        private final long version;
+
+        private PlansChange(Kind kind, int index, List<Plan> plans, long version) {
+            this.kind = kind;
+            this.index = index;
+            this.plans = plans;
+            this.version = version;
+        }
+
+        public Kind getKind() { return kind; }
+        /** The changed row, or -1 for {@link Kind#REPLACED}. */
+        public int getIndex() { return index; }
+        /** The whole list after the change. */
+        public List<Plan> getPlans() { return plans; }
+        public long getVersion() { return version; }
+    }
 
     public List<Plan> getPlans() {
-        return Collections.unmodifiableList(plans);
+        return plans;
+    }
+
+    public synchronized void setPlans(List<Plan> plans) {
+        // Plans are immutable, so the list can be shared once it is read-only
+        this.plans = plans != null ? List.copyOf(plans) : List.of();
+        fire(PlansChange.Kind.REPLACED, -1);
+    }
+
+    public void addPlansListener(PlansListener listener) {
+        plansListeners.add(listener);
     }
 
-    public void setPlans(List<Plan> plans) {
-        this.plans = plans != null ? new ArrayList<>(plans) : new ArrayList<>();
+    /**
+     * Applies a saved plan to the list. While all plans are shown it is moved
+     * to, or inserted at, its place in {@link PlanGateway#NEWEST_FIRST} order;
+     * a filtered list or search result only has its copy of the plan replaced.
+     */
+    public synchronized void planSaved(Plan plan) {
+        if (plan.getId() == null) {
+            return;
+        }
+        int old = indexOf(plan.getId());
+        if (areaFilter != null || searchQuery != null) {
+            if (old >= 0) {
+                replace(old, plan);
+            }
+            return;
+        }
+        List<Plan> updated = new ArrayList<>(plans);
+        if (old >= 0) {
+            updated.remove(old);
+        }
+        int index = Collections.binarySearch(updated, plan, PlanGateway.NEWEST_FIRST);
+        index = index < 0 ? -index - 1 : index;
+        if (index == old) {
+            replace(old, plan);
+            return;
+        }
+        if (old >= 0) {
+            removeAt(old);
+        }
+        List<Plan> inserted = new ArrayList<>(plans);
+        inserted.add(index, plan);
+        this.plans = Collections.unmodifiableList(inserted);
+        fire(PlansChange.Kind.INSERTED, index);
     }
 
-    public void removePlanById(int id) {
-        this.plans.removeIf(p -> p.getId() != null && p.getId() == id);
+    public synchronized void removePlanById(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    private int indexOf(int id) {
+        List<Plan> current = plans;
+        for (int i = 0; i < current.size(); i++) {
+            Integer planId = current.get(i).getId();
+            if (planId != null && planId == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void replace(int index, Plan plan) {
+        List<Plan> updated = new ArrayList<>(plans);
+        updated.set(index, plan);
+        this.plans = Collections.unmodifiableList(updated);
+        fire(PlansChange.Kind.UPDATED, index);
+    }
+
+    private void removeAt(int index) {
+        List<Plan> updated = new ArrayList<>(plans);
+        updated.remove(index);
+        this.plans = Collections.unmodifiableList(updated);
+        fire(PlansChange.Kind.REMOVED, index);
+    }
+
+    private void fire(PlansChange.Kind kind, int index) {
+        changed("plans");
+        PlansChange change = new PlansChange(kind, index, plans, ++plansVersion);
+        for (PlansListener listener : plansListeners) {
+            listener.plansChanged(change);
+        }
     }
 
     public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
+    public void setMessage(String message) { this.message = message; changed("message"); }
 
     public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; changed("errorMessage"); }
+
+    /** Description of the area the plan list is limited to, or null when all plans are shown. */
+    public String getAreaFilter() { return areaFilter; }
+    public void setAreaFilter(String areaFilter) { this.areaFilter = areaFilter; changed("areaFilter"); }
+
+    /** The text the plan list is a search result for, or null when it is not. */
+    public String getSearchQuery() { return searchQuery; }
+    public void setSearchQuery(String searchQuery) { this.searchQuery = searchQuery; changed("searchQuery"); }
 }
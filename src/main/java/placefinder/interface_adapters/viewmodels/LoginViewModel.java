@@ -2,13 +2,13 @@ package placefinder.interface_adapters.viewmodels;
 
 import placefinder.entities.User;
 
-public class LoginViewModel {
+public class LoginViewModel extends ObservableViewModel {
     private User loggedInUser;
     private String errorMessage;
 
     public User getLoggedInUser() { return loggedInUser; }
-    public void setLoggedInUser(User loggedInUser) { this.loggedInUser = loggedInUser; }
+    public void setLoggedInUser(User loggedInUser) { this.loggedInUser = loggedInUser; changed("loggedInUser"); }
 
     public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; changed("errorMessage"); }
 }
@@ -0,0 +1,113 @@
+package placefinder.interface_adapters.viewmodels;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Base for view models that tell listeners which of their properties changed.
+ *
+ * Setters call {@link #changed}. Changes are collected and handed to the
+ * listeners in one call through the {@linkplain #setDispatcher dispatcher}:
+ * the desktop app dispatches on the Swing event thread, so however many
+ * setters a presenter calls before the next event is processed, a panel
+ * updates once. {@link #update} makes a group of setters a transaction:
+ * none of its changes are delivered before it returns, even when the event
+ * thread would otherwise run in between.
+ *
+ * Setters may be called from any thread. A listener sees every value set
+ * before the change it is told about, since both pass through this object's
+ * lock.
+ */
+public abstract class ObservableViewModel {
+
+    /**
+     * Told which properties changed, named after their getters without the
+     * get/is prefix (e.g. "errorMessage").
+     */
+    public interface ChangeListener {
+        void propertiesChanged(Set<String> properties);
+    }
+
+    // Runs changes in the caller's thread until the UI installs its own
+    private static volatile Executor dispatcher = Runnable::run;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<String> pending = new LinkedHashSet<>();   // guarded by this
+    private int openUpdates;                                     // guarded by this
+    private boolean flushScheduled;                              // guarded by this
+
+    /**
+     * Sets where all view models deliver their changes, e.g. {@code SwingUtilities::invokeLater}.
+     */
+    public static void setDispatcher(Executor executor) {
+        dispatcher = executor;
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Runs the changes as one transaction; listeners hear about all of them
+     * together, after they are all made.
+     */
+    public void update(Runnable changes) {
+        synchronized (this) {
+            openUpdates++;
+        }
+        try {
+            changes.run();
+        } finally {
+            boolean schedule;
+            synchronized (this) {
+                openUpdates--;
+                schedule = scheduleFlushIfDue();
+            }
+            if (schedule) {
+                dispatcher.execute(this::flush);
+            }
+        }
+    }
+
+    /**
+     * Records that a property changed; call after storing the new value.
+     */
+    protected void changed(String property) {
+        if (listeners.isEmpty()) {
+            return; // nobody to tell; the common case outside the desktop app
+        }
+        boolean schedule;
+        synchronized (this) {
+            pending.add(property);
+            schedule = scheduleFlushIfDue();
+        }
+        if (schedule) {
+            dispatcher.execute(this::flush);
+        }
+    }
+
+    // Caller holds the lock
+    private boolean scheduleFlushIfDue() {
+        if (openUpdates > 0 || flushScheduled || pending.isEmpty()) {
+            return false;
+        }
+        flushScheduled = true;
+        return true;
+    }
+
+    private void flush() {
+        Set<String> properties;
+        synchronized (this) {
+            flushScheduled = false;
+            if (openUpdates > 0 || pending.isEmpty()) {
+                return; // the transaction still open schedules another flush when it ends
+            }
+            properties = Collections.unmodifiableSet(new LinkedHashSet<>(pending));
+            pending.clear();
+        }
+        for (ChangeListener listener : listeners) {
+            listener.propertiesChanged(properties);
+        }
+    }
+}
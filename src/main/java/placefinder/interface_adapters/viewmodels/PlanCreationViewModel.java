@@ -7,9 +7,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class PlanCreationViewModel {
+public class PlanCreationViewModel extends ObservableViewModel {
 
-    private List<Place> recommendedPlaces = new ArrayList<>();
+    // Immutable and replaced on change, so readers on any thread can hold on to it
+    private volatile List<Place> recommendedPlaces = List.of();
     private String originAddress;
     private boolean weatherUsed;
 
@@ -23,12 +24,46 @@ public class PlanCreationViewModel {
     private String infoMessage;
     private String errorMessage;
 
+    // Notified as partial search results are merged into recommendedPlaces
+    private RecommendedPlacesListener recommendedPlacesListener;
+
+    /**
+     * Receives places as they are inserted into the recommended list during a
+     * search. May be called from a worker thread.
+     */
+    public interface RecommendedPlacesListener {
+        void placesInserted(List<Place> places, int[] positions);
+    }
+
     public List<Place> getRecommendedPlaces() {
-        return Collections.unmodifiableList(recommendedPlaces);
+        return recommendedPlaces;
     }
 
     public void setRecommendedPlaces(List<Place> places) {
-        this.recommendedPlaces = places != null ? new ArrayList<>(places) : new ArrayList<>();
+        // copyOf keeps an already immutable list as is
+        this.recommendedPlaces = places != null ? List.copyOf(places) : List.of();
+        changed("recommendedPlaces");
+    }
+
+    /**
+     * Inserts {@code places.get(i)} at {@code positions[i]}, in order, and tells the
+     * listener. Positions must be ascending (see SearchPlacesPartialOutputData).
+     */
+    public void insertRecommendedPlaces(List<Place> places, int[] positions) {
+        List<Place> merged = new ArrayList<>(recommendedPlaces.size() + places.size());
+        merged.addAll(recommendedPlaces);
+        for (int i = 0; i < places.size(); i++) {
+            merged.add(positions[i], places.get(i));
+        }
+        recommendedPlaces = Collections.unmodifiableList(merged);
+        changed("recommendedPlaces");
+        if (recommendedPlacesListener != null) {
+            recommendedPlacesListener.placesInserted(places, positions);
+        }
+    }
+
+    public void setRecommendedPlacesListener(RecommendedPlacesListener listener) {
+        this.recommendedPlacesListener = listener;
     }
 
     public String getOriginAddress() {
@@ -37,6 +72,7 @@ public class PlanCreationViewModel {
 
     public void setOriginAddress(String originAddress) {
         this.originAddress = originAddress;
+        changed("originAddress");
     }
 
     public boolean isWeatherUsed() {
@@ -45,6 +81,7 @@ public class PlanCreationViewModel {
 
     public void setWeatherUsed(boolean weatherUsed) {
         this.weatherUsed = weatherUsed;
+        changed("weatherUsed");
     }
 
     public Plan getPlanPreview() {
@@ -53,6 +90,7 @@ public class PlanCreationViewModel {
 
     public void setPlanPreview(Plan planPreview) {
         this.planPreview = planPreview;
+        changed("planPreview");
     }
 
     public boolean isPlanTruncated() {
@@ -61,6 +99,7 @@ public class PlanCreationViewModel {
 
     public void setPlanTruncated(boolean planTruncated) {
         this.planTruncated = planTruncated;
+        changed("planTruncated");
     }
 
     public Plan getLastSavedPlan() {
@@ -69,6 +108,7 @@ public class PlanCreationViewModel {
 
     public void setLastSavedPlan(Plan lastSavedPlan) {
         this.lastSavedPlan = lastSavedPlan;
+        changed("lastSavedPlan");
     }
 
     public String getInfoMessage() {
@@ -77,6 +117,7 @@ public class PlanCreationViewModel {
 
     public void setInfoMessage(String infoMessage) {
         this.infoMessage = infoMessage;
+        changed("infoMessage");
     }
 
     public String getErrorMessage() {
@@ -85,6 +126,7 @@ public class PlanCreationViewModel {
 
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
+        changed("errorMessage");
     }
 
     // NEW: weather advice getter/setter
@@ -94,5 +136,6 @@ public class PlanCreationViewModel {
 
     public void setWeatherAdvice(String weatherAdvice) {
         this.weatherAdvice = weatherAdvice;
+        changed("weatherAdvice");
     }
 }
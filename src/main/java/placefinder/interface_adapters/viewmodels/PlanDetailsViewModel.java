@@ -2,13 +2,13 @@ package placefinder.interface_adapters.viewmodels;
 
 import placefinder.entities.Plan;
 
-public class PlanDetailsViewModel {
+public class PlanDetailsViewModel extends ObservableViewModel {
     private Plan plan;
     private String errorMessage;
 
     public Plan getPlan() { return plan; }
-    public void setPlan(Plan plan) { this.plan = plan; }
+    public void setPlan(Plan plan) { this.plan = plan; changed("plan"); }
 
     public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; changed("errorMessage"); }
 }
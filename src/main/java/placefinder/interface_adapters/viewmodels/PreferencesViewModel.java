@@ -1,22 +1,25 @@
 package placefinder.interface_adapters.viewmodels;
 
 import placefinder.entities.FavoriteLocation;
+import placefinder.entities.WeatherSummary;
 
 import java.util.*;
 
-public class PreferencesViewModel {
+public class PreferencesViewModel extends ObservableViewModel {
     private double radiusKm = 2.0;
     private List<FavoriteLocation> favorites = new ArrayList<>();
     private Map<String, List<String>> selectedCategories = new HashMap<>();
+    private Map<Integer, WeatherSummary> favoriteWeather = Map.of();
     private String message;
     private String errorMessage;
 
     public double getRadiusKm() { return radiusKm; }
-    public void setRadiusKm(double radiusKm) { this.radiusKm = radiusKm; }
+    public void setRadiusKm(double radiusKm) { this.radiusKm = radiusKm; changed("radiusKm"); }
 
     public List<FavoriteLocation> getFavorites() { return Collections.unmodifiableList(favorites); }
     public void setFavorites(List<FavoriteLocation> favorites) {
         this.favorites = favorites != null ? new ArrayList<>(favorites) : new ArrayList<>();
+        changed("favorites");
     }
 
     public Map<String, List<String>> getSelectedCategories() {
@@ -27,20 +30,31 @@ public class PreferencesViewModel {
         this.selectedCategories = selectedCategories != null 
             ? new HashMap<>(selectedCategories) 
             : new HashMap<>();
+        changed("selectedCategories");
     }
 
     public void addFavorite(FavoriteLocation favorite) {
         if (favorite == null) return;
         this.favorites.add(favorite);
+        changed("favorites");
     }
 
     public void removeFavoriteById(int id) {
-        this.favorites.removeIf(f -> f.getId() != null && f.getId() == id);
+        if (this.favorites.removeIf(f -> f.getId() != null && f.getId() == id)) {
+            changed("favorites");
+        }
+    }
+
+    /** Today's weather keyed by favorite id; favorites without a forecast are absent. */
+    public Map<Integer, WeatherSummary> getFavoriteWeather() { return favoriteWeather; }
+    public void setFavoriteWeather(Map<Integer, WeatherSummary> favoriteWeather) {
+        this.favoriteWeather = favoriteWeather != null ? Map.copyOf(favoriteWeather) : Map.of();
+        changed("favoriteWeather");
     }
 
     public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
+    public void setMessage(String message) { this.message = message; changed("message"); }
 
     public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; changed("errorMessage"); }
 }
@@ -1,12 +1,12 @@
 package placefinder.interface_adapters.viewmodels;
 
-public class RegisterViewModel {
+public class RegisterViewModel extends ObservableViewModel {
     private boolean success;
     private String message;
 
     public boolean isSuccess() { return success; }
-    public void setSuccess(boolean success) { this.success = success; }
+    public void setSuccess(boolean success) { this.success = success; changed("success"); }
 
     public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
+    public void setMessage(String message) { this.message = message; changed("message"); }
 }
@@ -1,16 +1,16 @@
 package placefinder.interface_adapters.viewmodels;
 
-public class WeatherAdviceViewModel {
+public class WeatherAdviceViewModel extends ObservableViewModel {
     private String summary;
     private String advice;
     private String errorMessage;
 
     public String getSummary() { return summary; }
-    public void setSummary(String summary) { this.summary = summary; }
+    public void setSummary(String summary) { this.summary = summary; changed("summary"); }
 
     public String getAdvice() { return advice; }
-    public void setAdvice(String advice) { this.advice = advice; }
+    public void setAdvice(String advice) { this.advice = advice; changed("advice"); }
 
     public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; changed("errorMessage"); }
 }
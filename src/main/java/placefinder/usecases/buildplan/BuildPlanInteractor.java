@@ -2,7 +2,9 @@ package placefinder.usecases.buildplan;
 
 import placefinder.entities.*;
 import placefinder.usecases.ports.GeocodingGateway;
+import placefinder.usecases.ports.HourlyWeatherGateway;
 import placefinder.usecases.ports.PreferenceGateway;
+import placefinder.usecases.preferences.FavoriteLocationResolver;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -12,14 +14,33 @@ import java.util.List;
 public class BuildPlanInteractor implements BuildPlanInputBoundary {
 
     private final PreferenceGateway preferenceGateway;
-    private final GeocodingGateway geocodingGateway;
+    private final FavoriteLocationResolver locationResolver;
+    private final HourlyWeatherGateway hourlyWeatherGateway;
     private final BuildPlanOutputBoundary presenter;
 
     public BuildPlanInteractor(PreferenceGateway preferenceGateway,
                                GeocodingGateway geocodingGateway,
                                BuildPlanOutputBoundary presenter) {
+        this(preferenceGateway, new FavoriteLocationResolver(preferenceGateway, geocodingGateway), presenter);
+    }
+
+    public BuildPlanInteractor(PreferenceGateway preferenceGateway,
+                               FavoriteLocationResolver locationResolver,
+                               BuildPlanOutputBoundary presenter) {
+        this(preferenceGateway, locationResolver, null, presenter);
+    }
+
+    /**
+     * @param hourlyWeatherGateway used to move outdoor stops into dry hours;
+     *                             null keeps stops in the order they were selected
+     */
+    public BuildPlanInteractor(PreferenceGateway preferenceGateway,
+                               FavoriteLocationResolver locationResolver,
+                               HourlyWeatherGateway hourlyWeatherGateway,
+                               BuildPlanOutputBoundary presenter) {
         this.preferenceGateway = preferenceGateway;
-        this.geocodingGateway = geocodingGateway;
+        this.locationResolver = locationResolver;
+        this.hourlyWeatherGateway = hourlyWeatherGateway;
         this.presenter = presenter;
     }
 
@@ -31,7 +52,7 @@ public class BuildPlanInteractor implements BuildPlanInputBoundary {
                         "Please select at least one place."));
                 return;
             }
-            GeocodeResult geo = geocodingGateway.geocode(inputData.getLocationText());
+            GeocodeResult geo = locationResolver.resolve(inputData.getUserId(), inputData.getLocationText());
             if (geo == null) {
                 presenter.present(new BuildPlanOutputData(null, false,
                         "Could not find that location."));
@@ -43,17 +64,23 @@ public class BuildPlanInteractor implements BuildPlanInputBoundary {
             LocalTime current = start;
             LocalTime dayEnd = LocalTime.of(23, 59);
 
+            // One hour per stop; places that would run past 23:59 (or wrap past midnight) are dropped
+            List<Place> selected = inputData.getSelectedPlaces();
+            int slots = 0;
+            while (slots < selected.size() && !current.plusHours(slots + 1L).isAfter(dayEnd)
+                    && current.plusHours(slots + 1L).isAfter(current)) {
+                slots++;
+            }
+            boolean truncated = slots < selected.size();
+            List<Place> places = selected.subList(0, slots);
+
+            int[] order = weatherOrder(places, date, start);
+            boolean reordered = false;
             List<PlanStop> stops = new ArrayList<>();
-            int seq = 1;
-            boolean truncated = false;
-            for (Place p : inputData.getSelectedPlaces()) {
+            for (int s = 0; s < slots; s++) {
+                reordered |= order[s] != s;
                 LocalTime end = current.plusHours(1);
-                if (end.isAfter(dayEnd)) {
-                    truncated = true;
-                    break;
-                }
-                stops.add(new PlanStop(seq, p, current, end));
-                seq++;
+                stops.add(new PlanStop(s + 1, places.get(order[s]), current, end));
                 current = end;
             }
 
@@ -69,9 +96,48 @@ public class BuildPlanInteractor implements BuildPlanInputBoundary {
                     profile.getRadiusKm(),
                     profile.getSelectedCategories()
             );
-            presenter.present(new BuildPlanOutputData(plan, truncated, null));
+            presenter.present(new BuildPlanOutputData(plan, truncated, reordered, null));
         } catch (Exception e) {
             presenter.present(new BuildPlanOutputData(null, false, e.getMessage()));
         }
     }
+
+    /**
+     * @return {@code order[slot]} = index into places; the identity when there
+     *         is no weather to go on
+     */
+    private int[] weatherOrder(List<Place> places, LocalDate date, LocalTime start) {
+        int n = places.size();
+        int[] identity = new int[n];
+        for (int i = 0; i < n; i++) {
+            identity[i] = i;
+        }
+        if (hourlyWeatherGateway == null || n < 2 || !hasOutdoorStop(places)) {
+            return identity;
+        }
+        HourlyWeatherGrid weather;
+        try {
+            double[] lats = new double[n];
+            double[] lons = new double[n];
+            for (int i = 0; i < n; i++) {
+                lats[i] = places.get(i).getLat();
+                lons[i] = places.get(i).getLon();
+            }
+            weather = hourlyWeatherGateway.getHourlyWeather(lats, lons, date);
+        } catch (Exception e) {
+            // weather API failed – keep the order the places were selected in
+            return identity;
+        }
+        return WeatherAwareStopOrder.order(WeatherAwareStopOrder.costs(places, weather, start), n);
+    }
+
+    private static boolean hasOutdoorStop(List<Place> places) {
+        for (Place p : places) {
+            if (p.getIndoorOutdoorType() == IndoorOutdoorType.OUTDOOR
+                    || p.getIndoorOutdoorType() == IndoorOutdoorType.MIXED) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -5,15 +5,23 @@ import placefinder.entities.Plan;
 public class BuildPlanOutputData {
     private final Plan plan;
     private final boolean truncated;
+    private final boolean reorderedForWeather;
     private final String errorMessage;
 
     public BuildPlanOutputData(Plan plan, boolean truncated, String errorMessage) {
+        this(plan, truncated, false, errorMessage);
+    }
+
+    public BuildPlanOutputData(Plan plan, boolean truncated, boolean reorderedForWeather, String errorMessage) {
         this.plan = plan;
         this.truncated = truncated;
+        this.reorderedForWeather = reorderedForWeather;
         this.errorMessage = errorMessage;
     }
 
     public Plan getPlan() { return plan; }
     public boolean isTruncated() { return truncated; }
+    /** True if the stops are not in the order the places were selected, to dodge bad weather. */
+    public boolean isReorderedForWeather() { return reorderedForWeather; }
     public String getErrorMessage() { return errorMessage; }
 }
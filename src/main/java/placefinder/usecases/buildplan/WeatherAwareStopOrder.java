@@ -0,0 +1,144 @@
+package placefinder.usecases.buildplan;
+
+import placefinder.entities.HourlyWeatherGrid;
+import placefinder.entities.IndoorOutdoorType;
+import placefinder.entities.Place;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Orders stops over consecutive one-hour slots so that outdoor visits land
+ * in the driest, mildest hours and indoor visits take the wet ones.
+ *
+ * Every place/slot pair is priced once up front from the hourly grid, so a
+ * candidate ordering is scored by summing one matrix entry per stop and a
+ * swap of two stops by four. The search starts from the user's order and
+ * keeps applying the best improving swap; when weather makes no difference
+ * (a dry day, or only indoor stops) the user's order is kept as is.
+ */
+final class WeatherAwareStopOrder {
+
+    private static final double EPSILON = 1e-9;
+
+    private WeatherAwareStopOrder() {
+    }
+
+    /**
+     * @param weather hourly grid whose location {@code i} is {@code places.get(i)}
+     * @return {@code cost[place * n + slot]} for n places and n hourly slots from {@code start}
+     */
+    static double[] costs(List<Place> places, HourlyWeatherGrid weather, LocalTime start) {
+        int n = places.size();
+        double[] hourCost = new double[HourlyWeatherGrid.HOURS + 1];
+        double[] cost = new double[n * n];
+        // A slot starting at 10:20 spends 2/3 of its time in the 10:00 hour and 1/3 in the 11:00 hour
+        double tail = start.getMinute() / 60.0;
+        for (int i = 0; i < n; i++) {
+            double weight = weightOf(places.get(i).getIndoorOutdoorType());
+            if (weight == 0) {
+                continue;
+            }
+            for (int h = 0; h < HourlyWeatherGrid.HOURS; h++) {
+                hourCost[h] = discomfort(weather, i, h);
+            }
+            for (int s = 0; s < n; s++) {
+                int h = start.getHour() + s;
+                if (h >= HourlyWeatherGrid.HOURS) {
+                    break;
+                }
+                cost[i * n + s] = weight * ((1 - tail) * hourCost[h] + tail * hourCost[h + 1]);
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * @return {@code order[slot]} = index of the place visited in that slot
+     */
+    static int[] order(double[] cost, int n) {
+        int[] order = new int[n];
+        for (int s = 0; s < n; s++) {
+            order[s] = s;
+        }
+        // Each pass weighs all n(n-1)/2 swaps; every applied swap lowers the total, so this ends
+        for (int pass = 0; pass < n * n; pass++) {
+            double bestDelta = -EPSILON;
+            int bestA = -1;
+            int bestB = -1;
+            for (int a = 0; a < n; a++) {
+                int pa = order[a];
+                for (int b = a + 1; b < n; b++) {
+                    int pb = order[b];
+                    double delta = cost[pa * n + b] + cost[pb * n + a]
+                            - cost[pa * n + a] - cost[pb * n + b];
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestA = a;
+                        bestB = b;
+                    }
+                }
+            }
+            if (bestA < 0) {
+                break;
+            }
+            swap(order, bestA, bestB);
+        }
+        // Swaps can leave interchangeable stops (e.g. two indoor ones) out of the user's
+        // order; undo every inversion that costs nothing to undo
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    int pa = order[a];
+                    int pb = order[b];
+                    if (pa > pb && Math.abs(cost[pa * n + b] + cost[pb * n + a]
+                            - cost[pa * n + a] - cost[pb * n + b]) <= EPSILON) {
+                        swap(order, a, b);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void swap(int[] order, int a, int b) {
+        int tmp = order[a];
+        order[a] = order[b];
+        order[b] = tmp;
+    }
+
+    private static double weightOf(IndoorOutdoorType type) {
+        if (type == null) {
+            return 0;
+        }
+        return switch (type) {
+            case OUTDOOR -> 1.0;
+            case MIXED -> 0.5;
+            default -> 0;
+        };
+    }
+
+    /**
+     * How unpleasant an hour is to spend outside: the chance of rain, plus
+     * heat above 30 °C, cold below 5 °C and UV above 7. Unknown values count as fine.
+     */
+    private static double discomfort(HourlyWeatherGrid weather, int location, int hour) {
+        double cost = 0;
+        int rain = weather.getPrecipitationProbability(location, hour);
+        if (rain > 0) {
+            cost += rain / 100.0;
+        }
+        double temperature = weather.getTemperature(location, hour);
+        if (!Double.isNaN(temperature)) {
+            cost += Math.max(0, temperature - 30) / 10 + Math.max(0, 5 - temperature) / 10;
+        }
+        double uv = weather.getUvIndex(location, hour);
+        if (!Double.isNaN(uv)) {
+            cost += Math.max(0, uv - 7) / 10;
+        }
+        return cost;
+    }
+}
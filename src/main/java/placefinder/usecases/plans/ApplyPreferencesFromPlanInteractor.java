@@ -27,9 +27,9 @@ public class ApplyPreferencesFromPlanInteractor implements ApplyPreferencesFromP
                 presenter.present(new ApplyPreferencesFromPlanOutputData(false, "Plan not found."));
                 return;
             }
-            PreferenceProfile profile = preferenceGateway.loadForUser(inputData.getUserId());
-            profile.setRadiusKm(plan.getSnapshotRadiusKm());
-            profile.setSelectedCategories(plan.getSnapshotCategories());
+            PreferenceProfile profile = preferenceGateway.loadForUser(inputData.getUserId())
+                    .withRadiusKm(plan.getSnapshotRadiusKm())
+                    .withSelectedCategories(plan.getSnapshotCategories());
             preferenceGateway.saveForUser(profile);
             presenter.present(new ApplyPreferencesFromPlanOutputData(true,
                     "Preferences updated from plan."));
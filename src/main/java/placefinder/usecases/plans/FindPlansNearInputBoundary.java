@@ -0,0 +1,5 @@
+package placefinder.usecases.plans;
+
+public interface FindPlansNearInputBoundary {
+    void execute(FindPlansNearInputData inputData);
+}
@@ -0,0 +1,17 @@
+package placefinder.usecases.plans;
+
+public class FindPlansNearInputData {
+    private final int userId;
+    private final String locationText;
+    private final double radiusKm;
+
+    public FindPlansNearInputData(int userId, String locationText, double radiusKm) {
+        this.userId = userId;
+        this.locationText = locationText;
+        this.radiusKm = radiusKm;
+    }
+
+    public int getUserId() { return userId; }
+    public String getLocationText() { return locationText; }
+    public double getRadiusKm() { return radiusKm; }
+}
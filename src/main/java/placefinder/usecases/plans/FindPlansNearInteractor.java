@@ -0,0 +1,58 @@
+package placefinder.usecases.plans;
+
+import placefinder.entities.GeocodeResult;
+import placefinder.entities.Plan;
+import placefinder.usecases.ports.PlanGateway;
+import placefinder.usecases.preferences.FavoriteLocationResolver;
+
+import java.util.List;
+
+/**
+ * Lists a user's saved plans that have a stop within a radius of a location,
+ * e.g. "everything I planned within 5 km of home". The location may be a
+ * favorite's name or any address.
+ */
+public class FindPlansNearInteractor implements FindPlansNearInputBoundary {
+
+    private final PlanGateway planGateway;
+    private final FavoriteLocationResolver locationResolver;
+    private final FindPlansNearOutputBoundary presenter;
+
+    public FindPlansNearInteractor(PlanGateway planGateway,
+                                   FavoriteLocationResolver locationResolver,
+                                   FindPlansNearOutputBoundary presenter) {
+        this.planGateway = planGateway;
+        this.locationResolver = locationResolver;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute(FindPlansNearInputData inputData) {
+        double radiusKm = inputData.getRadiusKm();
+        try {
+            String locationText = inputData.getLocationText();
+            if (locationText == null || locationText.isBlank()) {
+                presenter.present(failure("Please enter a location.", radiusKm));
+                return;
+            }
+            if (!(radiusKm > 0)) {
+                presenter.present(failure("Radius must be greater than 0 km.", radiusKm));
+                return;
+            }
+            GeocodeResult geo = locationResolver.resolve(inputData.getUserId(), locationText.trim());
+            if (geo == null) {
+                presenter.present(failure("Could not find that location.", radiusKm));
+                return;
+            }
+            List<Plan> plans = planGateway.findPlansNear(
+                    inputData.getUserId(), geo.getLat(), geo.getLon(), radiusKm);
+            presenter.present(new FindPlansNearOutputData(plans, geo.getFormattedAddress(), radiusKm, null));
+        } catch (Exception e) {
+            presenter.present(failure(e.getMessage(), radiusKm));
+        }
+    }
+
+    private static FindPlansNearOutputData failure(String message, double radiusKm) {
+        return new FindPlansNearOutputData(List.of(), null, radiusKm, message);
+    }
+}
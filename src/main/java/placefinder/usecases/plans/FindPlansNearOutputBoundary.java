@@ -0,0 +1,5 @@
+package placefinder.usecases.plans;
+
+public interface FindPlansNearOutputBoundary {
+    void present(FindPlansNearOutputData outputData);
+}
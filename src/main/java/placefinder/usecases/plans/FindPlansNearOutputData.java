@@ -0,0 +1,24 @@
+package placefinder.usecases.plans;
+
+import placefinder.entities.Plan;
+import java.util.List;
+
+public class FindPlansNearOutputData {
+    private final List<Plan> plans;
+    private final String originAddress;
+    private final double radiusKm;
+    private final String errorMessage;
+
+    public FindPlansNearOutputData(List<Plan> plans, String originAddress, double radiusKm, String errorMessage) {
+        this.plans = plans;
+        this.originAddress = originAddress;
+        this.radiusKm = radiusKm;
+        this.errorMessage = errorMessage;
+    }
+
+    public List<Plan> getPlans() { return plans; }
+    /** The resolved address the search was centred on. */
+    public String getOriginAddress() { return originAddress; }
+    public double getRadiusKm() { return radiusKm; }
+    public String getErrorMessage() { return errorMessage; }
+}
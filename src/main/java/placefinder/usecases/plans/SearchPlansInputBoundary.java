@@ -0,0 +1,5 @@
+package placefinder.usecases.plans;
+
+public interface SearchPlansInputBoundary {
+    void execute(SearchPlansInputData inputData);
+}
@@ -0,0 +1,14 @@
+package placefinder.usecases.plans;
+
+public class SearchPlansInputData {
+    private final int userId;
+    private final String query;
+
+    public SearchPlansInputData(int userId, String query) {
+        this.userId = userId;
+        this.query = query;
+    }
+
+    public int getUserId() { return userId; }
+    public String getQuery() { return query; }
+}
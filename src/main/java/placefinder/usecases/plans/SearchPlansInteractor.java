@@ -0,0 +1,40 @@
+package placefinder.usecases.plans;
+
+import placefinder.entities.Plan;
+import placefinder.usecases.ports.PlanGateway;
+
+import java.util.List;
+
+/**
+ * Finds a user's saved plans by words in their name, origin or stops. Meant to
+ * run on every keystroke, so only the best {@value #MAX_RESULTS} matches are
+ * loaded.
+ */
+public class SearchPlansInteractor implements SearchPlansInputBoundary {
+
+    public static final int MAX_RESULTS = 50;
+
+    private final PlanGateway planGateway;
+    private final SearchPlansOutputBoundary presenter;
+
+    public SearchPlansInteractor(PlanGateway planGateway,
+                                 SearchPlansOutputBoundary presenter) {
+        this.planGateway = planGateway;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute(SearchPlansInputData inputData) {
+        String query = inputData.getQuery() == null ? "" : inputData.getQuery().trim();
+        try {
+            if (query.isEmpty()) {
+                presenter.present(new SearchPlansOutputData(List.of(), query, "Please enter something to search for."));
+                return;
+            }
+            List<Plan> plans = planGateway.searchPlans(inputData.getUserId(), query, MAX_RESULTS);
+            presenter.present(new SearchPlansOutputData(plans, query, null));
+        } catch (Exception e) {
+            presenter.present(new SearchPlansOutputData(List.of(), query, e.getMessage()));
+        }
+    }
+}
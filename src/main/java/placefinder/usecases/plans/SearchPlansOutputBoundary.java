@@ -0,0 +1,5 @@
+package placefinder.usecases.plans;
+
+public interface SearchPlansOutputBoundary {
+    void present(SearchPlansOutputData outputData);
+}
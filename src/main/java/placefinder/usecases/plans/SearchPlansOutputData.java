@@ -0,0 +1,21 @@
+package placefinder.usecases.plans;
+
+import placefinder.entities.Plan;
+import java.util.List;
+
+public class SearchPlansOutputData {
+    private final List<Plan> plans;
+    private final String query;
+    private final String errorMessage;
+
+    public SearchPlansOutputData(List<Plan> plans, String query, String errorMessage) {
+        this.plans = plans;
+        this.query = query;
+        this.errorMessage = errorMessage;
+    }
+
+    /** Best matches first, at most {@link SearchPlansInteractor#MAX_RESULTS}. */
+    public List<Plan> getPlans() { return plans; }
+    public String getQuery() { return query; }
+    public String getErrorMessage() { return errorMessage; }
+}
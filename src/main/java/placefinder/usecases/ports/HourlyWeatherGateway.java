@@ -0,0 +1,14 @@
+package placefinder.usecases.ports;
+
+import placefinder.entities.HourlyWeatherGrid;
+
+import java.time.LocalDate;
+
+public interface HourlyWeatherGateway {
+
+    /**
+     * Hourly forecasts for every point ({@code lats[i]}, {@code lons[i]}) on the
+     * date, in the points' local time; location {@code i} of the grid is point {@code i}.
+     */
+    HourlyWeatherGrid getHourlyWeather(double[] lats, double[] lons, LocalDate date) throws Exception;
+}
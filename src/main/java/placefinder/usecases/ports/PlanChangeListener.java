@@ -0,0 +1,17 @@
+package placefinder.usecases.ports;
+
+import placefinder.entities.Plan;
+
+/**
+ * Told about each plan written through a gateway that publishes changes,
+ * after the write has been stored. Called on the writing thread, in write
+ * order for any one user.
+ */
+public interface PlanChangeListener {
+    /**
+     * @param plan the plan as stored, without its route
+     */
+    void planSaved(Plan plan);
+
+    void planDeleted(int planId, int userId);
+}
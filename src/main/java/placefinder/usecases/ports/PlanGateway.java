@@ -1,11 +1,48 @@
 package placefinder.usecases.ports;
 
 import placefinder.entities.Plan;
+
+import java.util.Comparator;
 import java.util.List;
 
 public interface PlanGateway {
-    void savePlan(Plan plan) throws Exception;
+    /**
+     * The order {@link #findPlansByUser} and {@link #findPlansNear} return plans
+     * in: latest date first, then most recently created.
+     */
+    Comparator<Plan> NEWEST_FIRST = Comparator.comparing(Plan::getDate).reversed()
+            .thenComparing(Comparator.comparing(Plan::getId).reversed());
+
+
+    /**
+     * Inserts a plan without an id or replaces the stored one. Replacing fails,
+     * changing nothing, unless the stored plan belongs to the plan's user.
+     *
+     * @return the plan as stored, carrying its generated id
+     */
+    Plan savePlan(Plan plan) throws Exception;
+
+    /**
+     * @return the user's plans, without routes, in {@link #NEWEST_FIRST} order
+     */
     List<Plan> findPlansByUser(int userId) throws Exception;
+
+    /**
+     * Like {@link #findPlansByUser}, restricted to plans with at least one stop
+     * within {@code radiusKm} of the point.
+     */
+    List<Plan> findPlansNear(int userId, double lat, double lon, double radiusKm) throws Exception;
+
+    /**
+     * Full-text search over the user's plan names and origins and the names and
+     * addresses of their stops. Every word of the query must match a word of
+     * the plan, the last one as a prefix since it may still be being typed;
+     * best matches come first.
+     *
+     * @return at most {@code limit} plans, without routes
+     */
+    List<Plan> searchPlans(int userId, String query, int limit) throws Exception;
+
     Plan findPlanWithStops(int planId) throws Exception;
     void deletePlan(int planId, int userId) throws Exception;
 }
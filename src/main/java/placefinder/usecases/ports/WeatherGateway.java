@@ -1,8 +1,23 @@
 package placefinder.usecases.ports;
 
+import placefinder.entities.DailyWeatherGrid;
 import placefinder.entities.WeatherSummary;
 import java.time.LocalDate;
 
 public interface WeatherGateway {
-    WeatherSummary getDailyWeather(double lat, double lon, LocalDate date) throws Exception;
+
+    /**
+     * Daily forecasts for every point ({@code lats[i]}, {@code lons[i]}) over
+     * {@code startDate..endDate}, fetched in as few round trips as the service allows.
+     * Location {@code i} of the grid is point {@code i}.
+     */
+    DailyWeatherGrid getDailyWeather(double[] lats, double[] lons,
+                                     LocalDate startDate, LocalDate endDate) throws Exception;
+
+    /**
+     * @return the day's weather at one point, or null if the forecast has no data for it
+     */
+    default WeatherSummary getDailyWeather(double lat, double lon, LocalDate date) throws Exception {
+        return getDailyWeather(new double[]{lat}, new double[]{lon}, date, date).summary(0, 0);
+    }
 }
@@ -0,0 +1,173 @@
+package placefinder.usecases.preferences;
+
+import placefinder.entities.FavoriteLocation;
+
+import java.util.*;
+
+/**
+ * Read-only lookup structure over one user's favorite locations.
+ *
+ * Names are kept in a sorted map keyed by their normalized form, so exact and
+ * prefix matches are a floor/tail lookup. Coordinates go into a k-d tree built
+ * over points on the unit sphere; straight-line distance there orders points
+ * the same way as great-circle distance, so nearest-neighbour search needs no
+ * special handling near the poles or the antimeridian.
+ */
+public final class FavoriteIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final long fingerprint;
+    private final NavigableMap<String, List<FavoriteLocation>> byName = new TreeMap<>();
+    private final Node root;
+
+    private FavoriteIndex(List<FavoriteLocation> favorites, long fingerprint) {
+        this.fingerprint = fingerprint;
+        List<Node> nodes = new ArrayList<>(favorites.size());
+        for (FavoriteLocation f : favorites) {
+            if (f.getName() != null) {
+                byName.computeIfAbsent(normalize(f.getName()), k -> new ArrayList<>(1)).add(f);
+            }
+            nodes.add(new Node(f));
+        }
+        this.root = build(nodes, 0);
+    }
+
+    public static FavoriteIndex of(List<FavoriteLocation> favorites) {
+        return new FavoriteIndex(favorites, fingerprintOf(favorites));
+    }
+
+    /**
+     * True if this index was built from favorites equal to these (same ids,
+     * names and coordinates, in the same order).
+     */
+    public boolean isCurrentFor(List<FavoriteLocation> favorites) {
+        return fingerprint == fingerprintOf(favorites);
+    }
+
+    /**
+     * @return the favorite whose name equals the text ignoring case and extra
+     *         spaces, or null; when several share a name the first added wins
+     */
+    public FavoriteLocation exactMatch(String text) {
+        if (text == null) {
+            return null;
+        }
+        List<FavoriteLocation> matches = byName.get(normalize(text));
+        return matches == null ? null : matches.get(0);
+    }
+
+    /**
+     * @return favorites whose name starts with the prefix, in name order
+     */
+    public List<FavoriteLocation> startingWith(String prefix) {
+        String key = prefix == null ? "" : normalize(prefix);
+        List<FavoriteLocation> result = new ArrayList<>();
+        for (Map.Entry<String, List<FavoriteLocation>> entry : byName.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            result.addAll(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return the favorite closest to the point, or null if there are none
+     */
+    public FavoriteLocation nearest(double lat, double lon) {
+        if (root == null) {
+            return null;
+        }
+        double[] target = toUnitVector(lat, lon);
+        Node[] best = new Node[1];
+        double[] bestDist = {Double.POSITIVE_INFINITY};
+        nearest(root, target, best, bestDist);
+        return best[0].favorite;
+    }
+
+    /**
+     * Great-circle distance in km.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double chord = Math.sqrt(squaredDistance(toUnitVector(lat1, lon1), toUnitVector(lat2, lon2)));
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    static String normalize(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static long fingerprintOf(List<FavoriteLocation> favorites) {
+        long h = favorites.size();
+        for (FavoriteLocation f : favorites) {
+            h = 31 * h + Objects.hashCode(f.getId());
+            h = 31 * h + Objects.hashCode(f.getName());
+            h = 31 * h + Double.hashCode(f.getLat());
+            h = 31 * h + Double.hashCode(f.getLon());
+        }
+        return h;
+    }
+
+    // ===== 3-d tree over unit vectors =====
+
+    private static final class Node {
+        final FavoriteLocation favorite;
+        final double[] point;
+        int axis;
+        Node left;
+        Node right;
+
+        Node(FavoriteLocation favorite) {
+            this.favorite = favorite;
+            this.point = toUnitVector(favorite.getLat(), favorite.getLon());
+        }
+    }
+
+    private static Node build(List<Node> nodes, int depth) {
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        int axis = depth % 3;
+        nodes.sort(Comparator.comparingDouble(n -> n.point[axis]));
+        int median = nodes.size() / 2;
+        Node node = nodes.get(median);
+        node.axis = axis;
+        node.left = build(new ArrayList<>(nodes.subList(0, median)), depth + 1);
+        node.right = build(new ArrayList<>(nodes.subList(median + 1, nodes.size())), depth + 1);
+        return node;
+    }
+
+    private static void nearest(Node node, double[] target, Node[] best, double[] bestDist) {
+        if (node == null) {
+            return;
+        }
+        double d = squaredDistance(node.point, target);
+        if (d < bestDist[0]) {
+            bestDist[0] = d;
+            best[0] = node;
+        }
+        double delta = target[node.axis] - node.point[node.axis];
+        Node near = delta < 0 ? node.left : node.right;
+        Node far = delta < 0 ? node.right : node.left;
+        nearest(near, target, best, bestDist);
+        // Only cross the splitting plane if a closer point could lie beyond it
+        if (delta * delta < bestDist[0]) {
+            nearest(far, target, best, bestDist);
+        }
+    }
+
+    private static double[] toUnitVector(double lat, double lon) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lon);
+        double cosPhi = Math.cos(phi);
+        return new double[]{cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
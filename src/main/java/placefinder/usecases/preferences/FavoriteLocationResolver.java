@@ -0,0 +1,67 @@
+package placefinder.usecases.preferences;
+
+import placefinder.entities.FavoriteLocation;
+import placefinder.entities.GeocodeResult;
+import placefinder.usecases.ports.GeocodingGateway;
+import placefinder.usecases.ports.PreferenceGateway;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns typed location text into coordinates, answering from the user's
+ * favorite locations before falling back to the geocoding API.
+ *
+ * Text that names a favorite (ignoring case and extra spaces) resolves to its
+ * stored coordinates without a network call. The per-user {@link FavoriteIndex}
+ * is rebuilt only when that user's favorites have changed.
+ */
+public class FavoriteLocationResolver {
+
+    private final PreferenceGateway preferenceGateway;
+    private final GeocodingGateway geocodingGateway;
+    private final Map<Integer, FavoriteIndex> indexes = new ConcurrentHashMap<>();
+
+    public FavoriteLocationResolver(PreferenceGateway preferenceGateway,
+                                    GeocodingGateway geocodingGateway) {
+        this.preferenceGateway = preferenceGateway;
+        this.geocodingGateway = geocodingGateway;
+    }
+
+    /**
+     * @return coordinates for the text, or null if neither a favorite nor the
+     *         geocoder knows it
+     */
+    public GeocodeResult resolve(int userId, String locationText) throws Exception {
+        FavoriteLocation favorite = indexFor(userId).exactMatch(locationText);
+        if (favorite != null) {
+            return new GeocodeResult(favorite.getLat(), favorite.getLon(), favorite.getAddress());
+        }
+        return geocodingGateway.geocode(locationText);
+    }
+
+    /**
+     * @return the user's favorites whose name starts with the prefix
+     */
+    public List<FavoriteLocation> favoritesStartingWith(int userId, String prefix) throws Exception {
+        return indexFor(userId).startingWith(prefix);
+    }
+
+    /**
+     * @return the user's favorite closest to the point, or null if they have none
+     */
+    public FavoriteLocation nearestFavorite(int userId, double lat, double lon) throws Exception {
+        return indexFor(userId).nearest(lat, lon);
+    }
+
+    private FavoriteIndex indexFor(int userId) throws Exception {
+        List<FavoriteLocation> favorites = preferenceGateway.listFavorites(userId);
+        FavoriteIndex index = indexes.get(userId);
+        if (index == null || !index.isCurrentFor(favorites)) {
+            index = FavoriteIndex.of(favorites);
+            indexes.put(userId, index);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,5 @@
+package placefinder.usecases.preferences;
+
+public interface GetFavoriteWeatherInputBoundary {
+    void execute(GetFavoriteWeatherInputData inputData);
+}
@@ -0,0 +1,16 @@
+package placefinder.usecases.preferences;
+
+import java.time.LocalDate;
+
+public class GetFavoriteWeatherInputData {
+    private final int userId;
+    private final LocalDate date;
+
+    public GetFavoriteWeatherInputData(int userId, LocalDate date) {
+        this.userId = userId;
+        this.date = date;
+    }
+
+    public int getUserId() { return userId; }
+    public LocalDate getDate() { return date; }
+}
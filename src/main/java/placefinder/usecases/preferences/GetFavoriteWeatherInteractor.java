@@ -0,0 +1,58 @@
+package placefinder.usecases.preferences;
+
+import placefinder.entities.DailyWeatherGrid;
+import placefinder.entities.FavoriteLocation;
+import placefinder.entities.WeatherSummary;
+import placefinder.usecases.ports.PreferenceGateway;
+import placefinder.usecases.ports.WeatherGateway;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One day's weather at all of a user's favorite locations, fetched with a
+ * single batched forecast request.
+ */
+public class GetFavoriteWeatherInteractor implements GetFavoriteWeatherInputBoundary {
+
+    private final PreferenceGateway preferenceGateway;
+    private final WeatherGateway weatherGateway;
+    private final GetFavoriteWeatherOutputBoundary presenter;
+
+    public GetFavoriteWeatherInteractor(PreferenceGateway preferenceGateway,
+                                        WeatherGateway weatherGateway,
+                                        GetFavoriteWeatherOutputBoundary presenter) {
+        this.preferenceGateway = preferenceGateway;
+        this.weatherGateway = weatherGateway;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void execute(GetFavoriteWeatherInputData inputData) {
+        LocalDate date = inputData.getDate() != null ? inputData.getDate() : LocalDate.now();
+        try {
+            List<FavoriteLocation> favorites = preferenceGateway.listFavorites(inputData.getUserId());
+            Map<Integer, WeatherSummary> weather = new HashMap<>();
+            if (!favorites.isEmpty()) {
+                double[] lats = new double[favorites.size()];
+                double[] lons = new double[favorites.size()];
+                for (int i = 0; i < favorites.size(); i++) {
+                    lats[i] = favorites.get(i).getLat();
+                    lons[i] = favorites.get(i).getLon();
+                }
+                DailyWeatherGrid grid = weatherGateway.getDailyWeather(lats, lons, date, date);
+                for (int i = 0; i < favorites.size(); i++) {
+                    WeatherSummary summary = grid.summary(i, 0);
+                    if (summary != null && favorites.get(i).getId() != null) {
+                        weather.put(favorites.get(i).getId(), summary);
+                    }
+                }
+            }
+            presenter.present(new GetFavoriteWeatherOutputData(date, weather, null));
+        } catch (Exception e) {
+            presenter.present(new GetFavoriteWeatherOutputData(date, Map.of(), e.getMessage()));
+        }
+    }
+}
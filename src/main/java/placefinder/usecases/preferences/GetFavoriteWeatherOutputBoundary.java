@@ -0,0 +1,5 @@
+package placefinder.usecases.preferences;
+
+public interface GetFavoriteWeatherOutputBoundary {
+    void present(GetFavoriteWeatherOutputData outputData);
+}
@@ -0,0 +1,25 @@
+package placefinder.usecases.preferences;
+
+import placefinder.entities.WeatherSummary;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class GetFavoriteWeatherOutputData {
+    private final LocalDate date;
+    private final Map<Integer, WeatherSummary> weatherByFavoriteId;
+    private final String errorMessage;
+
+    public GetFavoriteWeatherOutputData(LocalDate date,
+                                        Map<Integer, WeatherSummary> weatherByFavoriteId,
+                                        String errorMessage) {
+        this.date = date;
+        this.weatherByFavoriteId = weatherByFavoriteId;
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDate getDate() { return date; }
+    /** Favorites the forecast has no data for are left out. */
+    public Map<Integer, WeatherSummary> getWeatherByFavoriteId() { return weatherByFavoriteId; }
+    public String getErrorMessage() { return errorMessage; }
+}
@@ -3,7 +3,6 @@ package placefinder.usecases.preferences;
 import placefinder.entities.PreferenceProfile;
 import placefinder.usecases.ports.PreferenceGateway;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,13 +42,9 @@ public class UpdatePreferencesInteractor implements UpdatePreferencesInputBounda
                 return;
             }
             
-            PreferenceProfile profile = preferenceGateway.loadForUser(inputData.getUserId());
-            profile.setRadiusKm(inputData.getRadiusKm());
-            if (selectedCategories != null) {
-                profile.setSelectedCategories(new HashMap<>(selectedCategories));
-            } else {
-                profile.setSelectedCategories(new HashMap<>());
-            }
+            PreferenceProfile profile = preferenceGateway.loadForUser(inputData.getUserId())
+                    .withRadiusKm(inputData.getRadiusKm())
+                    .withSelectedCategories(selectedCategories);
             preferenceGateway.saveForUser(profile);
             presenter.present(new UpdatePreferencesOutputData(true, "Preferences saved."));
         } catch (Exception e) {
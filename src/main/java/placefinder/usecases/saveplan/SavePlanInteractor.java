@@ -30,9 +30,8 @@ public class SavePlanInteractor implements SavePlanInputBoundary {
             if (finalName == null || finalName.trim().isEmpty()) {
                 finalName = "Plan - " + plan.getDate() + " - " + plan.getOriginAddress();
             }
-            plan.setName(finalName);
-            planGateway.savePlan(plan);
-            presenter.present(new SavePlanOutputData(true, "Plan saved.", plan));
+            Plan saved = planGateway.savePlan(plan.withName(finalName));
+            presenter.present(new SavePlanOutputData(true, "Plan saved.", saved));
         } catch (Exception e) {
             presenter.present(new SavePlanOutputData(false, e.getMessage(), null));
         }
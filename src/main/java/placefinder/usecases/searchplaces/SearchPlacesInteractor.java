@@ -5,6 +5,7 @@ import placefinder.usecases.ports.GeocodingGateway;
 import placefinder.usecases.ports.PlacesGateway;
 import placefinder.usecases.ports.PreferenceGateway;
 import placefinder.usecases.ports.WeatherGateway;
+import placefinder.usecases.preferences.FavoriteLocationResolver;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -13,7 +14,7 @@ import java.util.stream.Collectors;
 public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
 
     private final PreferenceGateway preferenceGateway;
-    private final GeocodingGateway geocodingGateway;
+    private final FavoriteLocationResolver locationResolver;
     private final PlacesGateway placesGateway;
     private final WeatherGateway weatherGateway;
     private final SearchPlacesOutputBoundary presenter;
@@ -23,8 +24,17 @@ public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
                                   PlacesGateway placesGateway,
                                   WeatherGateway weatherGateway,
                                   SearchPlacesOutputBoundary presenter) {
+        this(preferenceGateway, new FavoriteLocationResolver(preferenceGateway, geocodingGateway),
+                placesGateway, weatherGateway, presenter);
+    }
+
+    public SearchPlacesInteractor(PreferenceGateway preferenceGateway,
+                                  FavoriteLocationResolver locationResolver,
+                                  PlacesGateway placesGateway,
+                                  WeatherGateway weatherGateway,
+                                  SearchPlacesOutputBoundary presenter) {
         this.preferenceGateway = preferenceGateway;
-        this.geocodingGateway = geocodingGateway;
+        this.locationResolver = locationResolver;
         this.placesGateway = placesGateway;
         this.weatherGateway = weatherGateway;
         this.presenter = presenter;
@@ -35,7 +45,7 @@ public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
         try {
             PreferenceProfile profile = preferenceGateway.loadForUser(inputData.getUserId());
 
-            GeocodeResult geo = geocodingGateway.geocode(inputData.getLocationText());
+            GeocodeResult geo = locationResolver.resolve(inputData.getUserId(), inputData.getLocationText());
             if (geo == null) {
                 presenter.present(new SearchPlacesOutputData(
                         List.of(),
@@ -67,23 +77,40 @@ public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
 
             List<Place> places = new ArrayList<>();
             Map<String, List<String>> selectedCategories = profile.getSelectedCategories();
+            boolean wet = weather != null && weather.isPrecipitationLikely();
+            int[] selectedIds = selectedCategoryIds(selectedCategories);
 
             // If user has no interests, just search general places
             if (selectedCategories == null || selectedCategories.isEmpty()) {
                 places.addAll(placesGateway.searchPlaces(
                         geo.getLat(), geo.getLon(), profile.getRadiusKm(), null
                 ));
+                rankPlaces(places, selectedIds, wet);
             } else {
-                // For each interest, pull up to 5 places
+                // For each interest, pull up to 5 places and merge them into the ranking
+                // straight away so the presenter can show them before the next call returns.
+                List<Double> scores = new ArrayList<>();
+                int completed = 0;
                 for (Map.Entry<String, List<String>> entry : selectedCategories.entrySet()) {
                     Map<String, List<String>> singleInterestMap = Map.of(entry.getKey(), entry.getValue());
 
                     List<Place> result = placesGateway.searchPlaces(
                             geo.getLat(), geo.getLon(), profile.getRadiusKm(), singleInterestMap
                     );
+                    completed++;
 
                     if (!result.isEmpty()) {
-                        places.addAll(result.stream().limit(5).toList());
+                        List<Place> batch = new ArrayList<>(result.stream().limit(5).toList());
+                        int[] positions = mergeRanked(places, scores, batch, selectedIds, wet);
+                        presenter.presentPartial(new SearchPlacesPartialOutputData(
+                                batch,
+                                positions,
+                                entry.getKey(),
+                                completed,
+                                selectedCategories.size(),
+                                geo.getFormattedAddress(),
+                                weatherUsed
+                        ));
                     }
                 }
             }
@@ -99,9 +126,8 @@ public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
                 return;
             }
 
-            rankPlaces(places, selectedCategories, weather);
             presenter.present(new SearchPlacesOutputData(
-                    places,
+                    List.copyOf(places),
                     geo.getFormattedAddress(),
                     weatherUsed,
                     weatherAdvice,
@@ -118,32 +144,64 @@ public class SearchPlacesInteractor implements SearchPlacesInputBoundary {
         }
     }
 
-    private void rankPlaces(List<Place> places,
-                            Map<String, List<String>> selectedCategories,
-                            WeatherSummary weather) {
-        boolean wet = weather != null && weather.isPrecipitationLikely();
-        places.sort(Comparator.comparingDouble((Place p) -> -scorePlace(p, selectedCategories, wet)));
+    private void rankPlaces(List<Place> places, int[] selectedIds, boolean wet) {
+        places.sort(Comparator.comparingDouble((Place p) -> -scorePlace(p, selectedIds, wet)));
+    }
+
+    /**
+     * Registry ids of every selected sub-category, resolved once per search so
+     * scoring compares ints instead of strings.
+     */
+    private static int[] selectedCategoryIds(Map<String, List<String>> selectedCategories) {
+        if (selectedCategories == null || selectedCategories.isEmpty()) {
+            return new int[0];
+        }
+        List<String> selectedSubCategories = selectedCategories.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        return CategoryRegistry.idsOf(selectedSubCategories);
     }
 
-    private double scorePlace(Place place,
-                              Map<String, List<String>> selectedCategories,
+    /**
+     * Sorts the batch by score and inserts each place into the ranked list after
+     * any place with an equal score, which gives the same order as one stable
+     * sort over everything at the end.
+     *
+     * @return the final position of each batch place, ascending
+     */
+    private int[] mergeRanked(List<Place> ranked,
+                              List<Double> rankedScores,
+                              List<Place> batch,
+                              int[] selectedIds,
                               boolean wet) {
+        Map<Place, Double> batchScores = new IdentityHashMap<>();
+        for (Place place : batch) {
+            batchScores.put(place, scorePlace(place, selectedIds, wet));
+        }
+        batch.sort(Comparator.comparingDouble((Place p) -> -batchScores.get(p)));
+
+        int[] positions = new int[batch.size()];
+        int index = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            double score = batchScores.get(batch.get(i));
+            while (index < ranked.size() && rankedScores.get(index) >= score) {
+                index++;
+            }
+            ranked.add(index, batch.get(i));
+            rankedScores.add(index, score);
+            positions[i] = index;
+            index++;
+        }
+        return positions;
+    }
+
+    private double scorePlace(Place place, int[] selectedIds, boolean wet) {
         double score = 0;
 
-        if (selectedCategories != null && !selectedCategories.isEmpty()) {
-            List<String> selectedSubCategories = selectedCategories.values().stream()
-                    .flatMap(List::stream)
-                    .collect(Collectors.toList());
-
-            List<String> placeCategories = place.getCategories();
-            for (String selectedCategory : selectedSubCategories) {
-                for (String placeCategory : placeCategories) {
-                    if (placeCategory.equals(selectedCategory)
-                            || placeCategory.startsWith(selectedCategory)) {
-                        score += 10;
-                        break;
-                    }
-                }
+        // A selected category matches itself or any of its sub-categories
+        for (int selectedId : selectedIds) {
+            if (place.hasCategoryWithin(selectedId)) {
+                score += 10;
             }
         }
 
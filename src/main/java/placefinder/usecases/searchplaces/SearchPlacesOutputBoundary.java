@@ -1,5 +1,16 @@
 package placefinder.usecases.searchplaces;
 
 public interface SearchPlacesOutputBoundary {
+
+    /**
+     * Final result: the complete ranked list, or an error. Always called exactly once.
+     */
     void present(SearchPlacesOutputData outputData);
+
+    /**
+     * Called as each interest's places arrive, before {@link #present}. Presenters
+     * that only care about the final list can ignore it.
+     */
+    default void presentPartial(SearchPlacesPartialOutputData partialData) {
+    }
 }
@@ -0,0 +1,68 @@
+package placefinder.usecases.searchplaces;
+
+import placefinder.entities.Place;
+
+import java.util.List;
+
+/**
+ * One interest's worth of newly found places, already merged into the running
+ * ranking.
+ *
+ * {@code positions[i]} is where {@code places.get(i)} now sits in the full list.
+ * Positions are ascending, so inserting each place at its position in order
+ * reproduces the ranked list without re-sorting it.
+ */
+public class SearchPlacesPartialOutputData {
+
+    private final List<Place> places;
+    private final int[] positions;
+    private final String interest;
+    private final int completedInterests;
+    private final int totalInterests;
+    private final String originAddress;
+    private final boolean weatherUsed;
+
+    public SearchPlacesPartialOutputData(List<Place> places,
+                                         int[] positions,
+                                         String interest,
+                                         int completedInterests,
+                                         int totalInterests,
+                                         String originAddress,
+                                         boolean weatherUsed) {
+        this.places = places;
+        this.positions = positions;
+        this.interest = interest;
+        this.completedInterests = completedInterests;
+        this.totalInterests = totalInterests;
+        this.originAddress = originAddress;
+        this.weatherUsed = weatherUsed;
+    }
+
+    public List<Place> getPlaces() {
+        return places;
+    }
+
+    public int[] getPositions() {
+        return positions;
+    }
+
+    public String getInterest() {
+        return interest;
+    }
+
+    public int getCompletedInterests() {
+        return completedInterests;
+    }
+
+    public int getTotalInterests() {
+        return totalInterests;
+    }
+
+    public String getOriginAddress() {
+        return originAddress;
+    }
+
+    public boolean isWeatherUsed() {
+        return weatherUsed;
+    }
+}